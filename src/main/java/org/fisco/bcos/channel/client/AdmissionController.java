@@ -0,0 +1,257 @@
+package org.fisco.bcos.channel.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the transactions of a group waiting for their receipt. The limit adapts additive increase
+ * multiplicative decrease: each receipt raises it by about one per limit receipts up to the
+ * maximum, a full transaction pool or a receipt timeout cuts it by the decrease factor, at most
+ * once per limit completions so a burst of failures of the same window counts once.
+ *
+ * <p>Callers acquire permits before sending, waiting up to a timeout or failing fast, and release
+ * them with the outcome of the transaction.
+ */
+public class AdmissionController {
+
+    /** outcome of an admitted transaction */
+    public enum Outcome {
+        SUCCESS, // receipt received
+        CONGESTION, // transaction pool full or receipt timeout
+        DROPPED // not sent, the limit is not changed
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final int maxInFlight;
+    private int minInFlight = 1;
+    private double decreaseFactor = 0.5;
+
+    private double limit;
+    private int inFlight = 0;
+    // completions since the last decrease, the first congestion always decreases
+    private long completedSinceDecrease = Long.MAX_VALUE;
+
+    private long acquired = 0;
+    // successful tryAcquire calls, a batch is one acquisition of several permits
+    private long acquisitions = 0;
+    private long rejected = 0;
+    private long congestions = 0;
+    private long decreases = 0;
+    private long queueNanos = 0;
+
+    /** @param maxInFlight maximum and initial number of transactions in flight */
+    public AdmissionController(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(" max in flight must be at least 1: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.limit = maxInFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMinInFlight() {
+        return minInFlight;
+    }
+
+    /** @param minInFlight lowest limit a congestion can decrease to, default 1 */
+    public void setMinInFlight(int minInFlight) {
+        if (minInFlight < 1 || minInFlight > maxInFlight) {
+            throw new IllegalArgumentException(" invalid min in flight: " + minInFlight);
+        }
+        lock.lock();
+        try {
+            this.minInFlight = minInFlight;
+            limit = Math.max(limit, minInFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getDecreaseFactor() {
+        return decreaseFactor;
+    }
+
+    /** @param decreaseFactor factor applied to the limit on congestion, default 0.5 */
+    public void setDecreaseFactor(double decreaseFactor) {
+        if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException(" invalid decrease factor: " + decreaseFactor);
+        }
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    /** @return true if a permit is acquired without waiting */
+    public boolean tryAcquire() {
+        try {
+            return tryAcquire(1, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * acquire permits, all or none. Permits more than the limit are granted when nothing is in
+     * flight.
+     *
+     * @param permits number of transactions
+     * @param timeout longest time to wait, 0 to fail fast
+     * @param unit unit of timeout
+     * @return true if the permits are acquired, false if rejected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (inFlight > 0 && inFlight + permits > (int) limit) {
+                if (remaining <= 0) {
+                    ++rejected;
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+
+            inFlight += permits;
+            acquired += permits;
+            ++acquisitions;
+            queueNanos += System.nanoTime() - start;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * release permits of completed transactions
+     *
+     * @param permits number of transactions
+     * @param outcome outcome of the transactions
+     */
+    public void release(int permits, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight -= permits;
+            if (outcome != Outcome.DROPPED) {
+                if (completedSinceDecrease != Long.MAX_VALUE) {
+                    completedSinceDecrease += permits;
+                }
+            }
+
+            if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxInFlight, limit + (double) permits / limit);
+            } else if (outcome == Outcome.CONGESTION) {
+                congestions += permits;
+                if (completedSinceDecrease >= (long) limit) {
+                    limit = Math.max(minInFlight, limit * decreaseFactor);
+                    completedSinceDecrease = 0;
+                    ++decreases;
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return current limit of transactions in flight */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return permits granted */
+    public long getAcquiredCount() {
+        lock.lock();
+        try {
+            return acquired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return acquisitions rejected after their timeout */
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return transactions completed with a full transaction pool or a timeout */
+    public long getCongestionCount() {
+        lock.lock();
+        try {
+            return congestions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return times the limit was decreased */
+    public long getDecreaseCount() {
+        lock.lock();
+        try {
+            return decreases;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return average time a successful acquisition waited for its permits, in milliseconds, a
+     *     batch counting as one acquisition
+     */
+    public double getAverageQueueMillis() {
+        lock.lock();
+        try {
+            return acquisitions == 0 ? 0 : queueNanos / 1e6 / acquisitions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "AdmissionController{limit="
+                    + (int) limit
+                    + ", inFlight="
+                    + inFlight
+                    + ", acquired="
+                    + acquired
+                    + ", rejected="
+                    + rejected
+                    + ", congestions="
+                    + congestions
+                    + ", decreases="
+                    + decreases
+                    + "}";
+        } finally {
+            lock.unlock();
+        }
+    }
+}
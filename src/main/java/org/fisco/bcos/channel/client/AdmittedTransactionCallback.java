@@ -0,0 +1,58 @@
+package org.fisco.bcos.channel.client;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.fisco.bcos.web3j.protocol.channel.StatusCode;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/** Receipt callback holding a permit of the {@link AdmissionController} until it completes. */
+class AdmittedTransactionCallback extends TransactionSucCallback {
+    private final TransactionSucCallback callback;
+    private final AdmissionController admissionController;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    AdmittedTransactionCallback(
+            TransactionSucCallback callback, AdmissionController admissionController) {
+        this.callback = callback;
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void onResponse(TransactionReceipt response) {
+        release(
+                isTxPoolFull(response)
+                        ? AdmissionController.Outcome.CONGESTION
+                        : AdmissionController.Outcome.SUCCESS);
+        callback.onResponse(response);
+    }
+
+    @Override
+    public void onTimeout() {
+        release(AdmissionController.Outcome.CONGESTION);
+        callback.onTimeout();
+    }
+
+    /** release the permit once, later calls are ignored */
+    void release(AdmissionController.Outcome outcome) {
+        if (released.compareAndSet(false, true)) {
+            admissionController.release(1, outcome);
+        }
+    }
+
+    static boolean isTxPoolFull(TransactionReceipt receipt) {
+        if (receipt == null) {
+            return false;
+        }
+        if (StatusCode.TxPoolIsFull.equals(receipt.getStatus())) {
+            return true;
+        }
+        // errors of sendRawTransaction only carry the message
+        String message = receipt.getMessage();
+        if (message == null) {
+            return false;
+        }
+        message = message.toLowerCase();
+        return message.contains("txpoolisfull")
+                || message.contains("txpool is full")
+                || message.contains("transaction pool is full");
+    }
+}
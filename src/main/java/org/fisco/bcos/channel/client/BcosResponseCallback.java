@@ -3,6 +3,7 @@ package org.fisco.bcos.channel.client;
 import io.netty.util.Timeout;
 import org.fisco.bcos.channel.dto.BcosResponse;
 import org.fisco.bcos.channel.protocol.ChannelMessageError;
+import org.fisco.bcos.channel.selector.ChannelNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,6 +11,9 @@ public abstract class BcosResponseCallback {
     private static Logger logger = LoggerFactory.getLogger(BcosResponseCallback.class);
 
     private Timeout timeout;
+    // node the request was sent to, released when the request completes
+    private ChannelNode node;
+    private long sendTime;
 
     public abstract void onResponse(BcosResponse response);
 
@@ -32,4 +36,17 @@ public abstract class BcosResponseCallback {
     public void setTimeout(Timeout timeout) {
         this.timeout = timeout;
     }
+
+    void setNode(ChannelNode node) {
+        this.node = node;
+        this.sendTime = System.nanoTime();
+        node.getStats().onSend();
+    }
+
+    void releaseNode(boolean error) {
+        if (node != null) {
+            node.getStats().onComplete(System.nanoTime() - sendTime, error);
+            node = null;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package org.fisco.bcos.channel.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.socket.SocketChannel;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Block number of a group without locks: each connection has its slot updated by its block
+ * notifies, the highest number of the slots is kept with compare and set and the group block number
+ * follows it. The block limit of the transactions is derived from the group block number and only
+ * computed again when one of them changes.
+ */
+public class BlockNumberTracker {
+    // block number before any is known, the block number is queried from the node then
+    public static final long UNKNOWN = 0;
+
+    private final Map<Channel, Slot> slots = new ConcurrentHashMap<Channel, Slot>();
+    // highest block number notified, reset when the last connection is removed
+    private final AtomicLong highest = new AtomicLong(UNKNOWN);
+    private final AtomicLong blockNumber = new AtomicLong(UNKNOWN);
+    private volatile CachedBlockLimit blockLimit = new CachedBlockLimit(0, 0);
+
+    /**
+     * update the block number notified by a connection
+     *
+     * @param channel connection of the node
+     * @param number block number of the node
+     * @return true if the block number of the group increased
+     */
+    public boolean update(Channel channel, long number) {
+        Slot slot = slots.get(channel);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(channel, Slot::new);
+        }
+        slot.blockNumber = number;
+
+        long current = highest.get();
+        while (number > current && !highest.compareAndSet(current, number)) {
+            current = highest.get();
+        }
+        return raise(highest.get());
+    }
+
+    /**
+     * raise the block number of the group, lower numbers are ignored
+     *
+     * @return true if the block number increased
+     */
+    public boolean raise(long number) {
+        long current = blockNumber.get();
+        while (number > current) {
+            if (blockNumber.compareAndSet(current, number)) {
+                return true;
+            }
+            current = blockNumber.get();
+        }
+        return false;
+    }
+
+    /** @param number block number of the group, may be lower than the current one */
+    public void set(long number) {
+        blockNumber.set(number);
+    }
+
+    /** @return block number of the group */
+    public long getBlockNumber() {
+        return blockNumber.get();
+    }
+
+    /**
+     * @param channel closed connection, its slot is removed, the highest block number is forgotten
+     *     with the last slot
+     */
+    public void remove(Channel channel) {
+        if (slots.remove(channel) != null && slots.isEmpty()) {
+            highest.set(UNKNOWN);
+        }
+    }
+
+    /**
+     * @param limit blocks a transaction stays valid for
+     * @return block number of the group plus the limit
+     */
+    public BigInteger getBlockLimit(int limit) {
+        CachedBlockLimit cached = blockLimit;
+        long number = blockNumber.get();
+        if (cached.blockNumber != number || cached.limit != limit) {
+            cached = new CachedBlockLimit(number, limit);
+            blockLimit = cached;
+        }
+        return cached.value;
+    }
+
+    /** @return block number notified by each node, keyed by host and port */
+    public Map<String, BigInteger> getNodeBlockNumbers() {
+        Map<String, BigInteger> blockNumbers = new ConcurrentHashMap<String, BigInteger>();
+        for (Slot slot : slots.values()) {
+            blockNumbers.put(slot.endpoint, BigInteger.valueOf(slot.blockNumber));
+        }
+        return blockNumbers;
+    }
+
+    private static class Slot {
+        private final String endpoint;
+        private volatile long blockNumber;
+
+        Slot(Channel channel) {
+            if (channel instanceof SocketChannel
+                    && ((SocketChannel) channel).remoteAddress() != null) {
+                endpoint =
+                        ((SocketChannel) channel).remoteAddress().getAddress().getHostAddress()
+                                + ((SocketChannel) channel).remoteAddress().getPort();
+            } else {
+                endpoint = String.valueOf(channel.remoteAddress());
+            }
+        }
+    }
+
+    private static class CachedBlockLimit {
+        private final long blockNumber;
+        private final int limit;
+        private final BigInteger value;
+
+        CachedBlockLimit(long blockNumber, int limit) {
+            this.blockNumber = blockNumber;
+            this.limit = limit;
+            this.value = BigInteger.valueOf(blockNumber + limit);
+        }
+    }
+}
@@ -165,6 +165,12 @@ public class CallContract {
         return FunctionReturnDecoder.decode(data, Utils.convert(typeReferencesList));
     }
 
+    public List<Type> decode(byte[] data, TypeReference<?>... typeReferences) {
+        if (data.length == 0) return null;
+        List<TypeReference<?>> typeReferencesList = Arrays.<TypeReference<?>>asList(typeReferences);
+        return FunctionReturnDecoder.decode(data, Utils.convert(typeReferencesList));
+    }
+
     public List<Object> decode(String data, String retType) throws Exception {
         List<Object> result = new ArrayList<>();
         if (!retType.equals("") && data != null) {
@@ -1,6 +1,5 @@
 package org.fisco.bcos.channel.client;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.Timeout;
 import java.security.SecureRandom;
@@ -135,11 +134,7 @@ public abstract class ChannelResponseCallback {
                             getFromConnection().getHost(), getFromConnection().getPort());
 
             if (ctx != null && ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
-                ByteBuf out = ctx.alloc().buffer();
-                message.writeHeader(out);
-                message.writeExtra(out);
-
-                ctx.writeAndFlush(out);
+                ctx.writeAndFlush(message);
 
                 logger.debug(
                         "send message to "
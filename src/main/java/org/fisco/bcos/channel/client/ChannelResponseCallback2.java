@@ -1,17 +1,18 @@
 package org.fisco.bcos.channel.client;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.Timeout;
-import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import org.fisco.bcos.channel.dto.ChannelMessage2;
 import org.fisco.bcos.channel.dto.ChannelResponse;
 import org.fisco.bcos.channel.handler.ChannelConnections;
 import org.fisco.bcos.channel.handler.ChannelHandlerContextHelper;
 import org.fisco.bcos.channel.handler.ConnectionInfo;
 import org.fisco.bcos.channel.protocol.ChannelMessageError;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.channel.selector.ChannelNodeIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,16 +74,11 @@ public abstract class ChannelResponseCallback2 {
             // 选取客户端节点
             logger.debug("Number of local nodes:{}", fromConnectionInfos.size());
 
-            setFromConnection(null);
-            if (fromConnectionInfos.size() > 0) {
-                Random random = new SecureRandom();
-                Integer index = random.nextInt(fromConnectionInfos.size());
+            setFromConnection(selectFromConnection());
+            if (getFromConnection() != null) {
+                logger.debug("selected peer: {}", getFromConnection());
 
-                logger.debug("selected index: {}, peer: {}", index, fromConnectionInfos.get(index));
-
-                setFromConnection(fromConnectionInfos.get(index));
-
-                fromConnectionInfos.remove(fromConnectionInfos.get(index));
+                fromConnectionInfos.remove(getFromConnection());
             }
 
             if (getFromConnection() == null) {
@@ -98,11 +94,7 @@ public abstract class ChannelResponseCallback2 {
                             getFromConnection().getHost(), getFromConnection().getPort());
 
             if (ctx != null && ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
-                ByteBuf out = ctx.alloc().buffer();
-                message.writeHeader(out);
-                message.writeExtra(out);
-
-                ctx.writeAndFlush(out);
+                ctx.writeAndFlush(message);
 
                 logger.debug(
                         "send message to  {}:{} success ",
@@ -139,6 +131,40 @@ public abstract class ChannelResponseCallback2 {
         }
     }
 
+    /** the node chosen by the load balancer, a random one if none of the remaining is connected */
+    private ConnectionInfo selectFromConnection() {
+        if (fromConnectionInfos.isEmpty()) {
+            return null;
+        }
+
+        List<ChannelNode> candidates = new ArrayList<ChannelNode>(fromConnectionInfos.size());
+        for (ConnectionInfo connectionInfo : fromConnectionInfos) {
+            ChannelNode node =
+                    fromChannelConnections.getNode(
+                            fromChannelConnections.getNetworkConnectionByHost(
+                                    connectionInfo.getHost(), connectionInfo.getPort()));
+            if (node != null) {
+                candidates.add(node);
+            }
+        }
+
+        ChannelNode node =
+                fromChannelConnections
+                        .getNodeSelectionStrategy()
+                        .select(ChannelNodeIndex.Snapshot.of(candidates));
+        if (node != null) {
+            for (ConnectionInfo connectionInfo : fromConnectionInfos) {
+                if (node.getEndpoint()
+                        .equals(connectionInfo.getHost() + ":" + connectionInfo.getPort())) {
+                    return connectionInfo;
+                }
+            }
+        }
+
+        return fromConnectionInfos.get(
+                ThreadLocalRandom.current().nextInt(fromConnectionInfos.size()));
+    }
+
     public ConnectionInfo getFromConnection() {
         return fromConnection;
     }
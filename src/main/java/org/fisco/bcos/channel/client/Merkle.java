@@ -2,11 +2,17 @@ package org.fisco.bcos.channel.client;
 
 import java.util.Arrays;
 import java.util.List;
-import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.core.methods.response.MerkleProofUnit;
 
 public class Merkle {
     public static String calculateMerkleRoot(List<MerkleProofUnit> merkleProofUnits, String hash) {
+        return calculateMerkleRoot(merkleProofUnits, hash, CryptoSuite.getDefault());
+    }
+
+    /** calculate the root with the nodes hashed by the crypto suite of the chain */
+    public static String calculateMerkleRoot(
+            List<MerkleProofUnit> merkleProofUnits, String hash, CryptoSuite cryptoSuite) {
         if (merkleProofUnits == null) {
             return hash;
         }
@@ -15,7 +21,7 @@ public class Merkle {
             String left = splicing(merkleProofUnit.getLeft());
             String right = splicing(merkleProofUnit.getRight());
             String input = splicing("0x", left, result.substring(2), right);
-            result = Hash.sha3(input);
+            result = cryptoSuite.hash(input);
         }
         return result;
     }
@@ -0,0 +1,308 @@
+package org.fisco.bcos.channel.client;
+
+import io.netty.channel.ChannelHandlerContext;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.channel.dto.BcosRequest;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameter;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the receipts lost with a connection. Receipts are pushed on the connection the
+ * transaction was sent on, when it drops the transactions waiting there are moved to the
+ * reconciliation set, and each new block notified by the remaining nodes triggers a scan of the
+ * blocks committed since the transactions were sent: the blocks are fetched together, the receipts
+ * of the transactions found in them are queried together and delivered to their {@link
+ * TransactionSucCallback} as if pushed.
+ *
+ * <p>Transactions are matched by their hash, computed from the signed transaction of the
+ * sendRawTransaction request when it is sent, so those whose response was lost with the connection
+ * are reconciled too. For other requests the hash returned by the node is used, they time out if
+ * the response was lost.
+ */
+public class ReceiptReconciler {
+    private static Logger logger = LoggerFactory.getLogger(ReceiptReconciler.class);
+
+    private final Web3j web3j;
+    private Service service;
+    private int maxBlocksPerScan = 50;
+
+    // transactions waiting for their pushed receipt, by seq
+    private final Map<String, SentTransaction> sentTransactions = new ConcurrentHashMap<>();
+    // transactions of lost connections, by transaction hash
+    private final Map<String, SentTransaction> reconciling = new ConcurrentHashMap<>();
+    // next block to scan, Long.MAX_VALUE if nothing to reconcile
+    private final AtomicLong nextBlock = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicBoolean scanning = new AtomicBoolean(false);
+
+    private final AtomicLong reconciledCount = new AtomicLong(0);
+    private final AtomicLong unmatchedCount = new AtomicLong(0);
+    private final AtomicLong scannedBlockCount = new AtomicLong(0);
+
+    /** @param web3j web3j of the group, blocks and receipts are queried with it */
+    public ReceiptReconciler(Web3j web3j) {
+        this.web3j = web3j;
+    }
+
+    void setService(Service service) {
+        this.service = service;
+    }
+
+    public int getMaxBlocksPerScan() {
+        return maxBlocksPerScan;
+    }
+
+    /** @param maxBlocksPerScan blocks fetched by one scan, the next notify continues */
+    public void setMaxBlocksPerScan(int maxBlocksPerScan) {
+        this.maxBlocksPerScan = maxBlocksPerScan;
+    }
+
+    void onSent(BcosRequest request, ChannelHandlerContext ctx, long blockNumber) {
+        SentTransaction sentTransaction =
+                new SentTransaction(request.getMessageID(), ctx, blockNumber);
+        sentTransaction.transactionHash = transactionHash(request);
+        sentTransactions.put(sentTransaction.seq, sentTransaction);
+    }
+
+    // hash of the signed transaction of a sendRawTransaction request, null for other requests
+    private String transactionHash(BcosRequest request) {
+        if (!(request.getJsonContent() instanceof Request)) {
+            return null;
+        }
+
+        Request<?, ?> jsonRequest = (Request<?, ?>) request.getJsonContent();
+        List<?> params = jsonRequest.getParams();
+        if (!"sendRawTransaction".equals(jsonRequest.getMethod())
+                || params == null
+                || params.isEmpty()
+                || !(params.get(params.size() - 1) instanceof String)) {
+            return null;
+        }
+        return web3j.getCryptoSuite().hash((String) params.get(params.size() - 1));
+    }
+
+    void onTransactionHash(String seq, String transactionHash) {
+        SentTransaction sentTransaction = sentTransactions.get(seq);
+        if (sentTransaction == null || sentTransaction.transactionHash != null) {
+            return;
+        }
+
+        sentTransaction.transactionHash = transactionHash;
+        if (sentTransaction.lost) {
+            // the response came through after the connection was closed
+            reconcile(sentTransaction);
+        }
+    }
+
+    void onCompleted(String seq) {
+        SentTransaction sentTransaction = sentTransactions.remove(seq);
+        if (sentTransaction != null && sentTransaction.transactionHash != null) {
+            reconciling.remove(sentTransaction.transactionHash, sentTransaction);
+        }
+    }
+
+    /**
+     * move the transactions waiting for their receipt on the connection to the reconciliation set
+     *
+     * @param ctx closed connection
+     */
+    public void onDisconnect(ChannelHandlerContext ctx) {
+        int lost = 0;
+        for (SentTransaction sentTransaction : sentTransactions.values()) {
+            if (sentTransaction.ctx != ctx) {
+                continue;
+            }
+
+            ++lost;
+            sentTransaction.lost = true;
+            if (sentTransaction.transactionHash != null) {
+                reconcile(sentTransaction);
+            } else {
+                unmatchedCount.incrementAndGet();
+            }
+        }
+
+        if (lost > 0) {
+            logger.info(
+                    " connection lost, transactions to reconcile: {}, reconciling: {}",
+                    lost,
+                    reconciling.size());
+        }
+    }
+
+    private void reconcile(SentTransaction sentTransaction) {
+        reconciling.put(sentTransaction.transactionHash, sentTransaction);
+        // the transaction is committed after the block known when it was sent
+        scanFrom(sentTransaction.blockNumber + 1);
+    }
+
+    private void scanFrom(long from) {
+        long next = nextBlock.get();
+        while (from < next && !nextBlock.compareAndSet(next, from)) {
+            next = nextBlock.get();
+        }
+    }
+
+    /**
+     * scan the blocks up to the notified one for the transactions to reconcile
+     *
+     * @param blockNumber latest block number of the group
+     */
+    public void onBlockNotify(BigInteger blockNumber) {
+        if (reconciling.isEmpty() || !scanning.compareAndSet(false, true)) {
+            return;
+        }
+
+        long from = nextBlock.get();
+        long to = Math.min(blockNumber.longValue(), from + maxBlocksPerScan - 1);
+        if (from > to) {
+            scanning.set(false);
+            return;
+        }
+
+        List<CompletableFuture<Void>> receipts = new ArrayList<>();
+        List<CompletableFuture<BcosBlock>> blocks = new ArrayList<>();
+        try {
+            for (long number = from; number <= to; ++number) {
+                blocks.add(
+                        web3j.getBlockByNumber(
+                                        DefaultBlockParameter.valueOf(BigInteger.valueOf(number)),
+                                        false)
+                                .sendAsync());
+            }
+        } catch (Exception e) {
+            logger.warn(" fetch blocks failed, from: {}, error: {}", from, e.getMessage());
+            scanning.set(false);
+            return;
+        }
+
+        CompletableFuture.allOf(blocks.toArray(new CompletableFuture[0]))
+                .thenCompose(
+                        v -> {
+                            for (CompletableFuture<BcosBlock> block : blocks) {
+                                receipts.addAll(fetchReceipts(block.join()));
+                            }
+                            return CompletableFuture.allOf(
+                                    receipts.toArray(new CompletableFuture[0]));
+                        })
+                .whenComplete(
+                        (v, e) -> {
+                            if (e == null) {
+                                scannedBlockCount.addAndGet(to - from + 1);
+                                nextBlock.compareAndSet(from, to + 1);
+                            } else {
+                                logger.warn(
+                                        " reconcile blocks failed, from: {}, to: {}, error: {}",
+                                        from,
+                                        to,
+                                        e.getMessage());
+                            }
+                            prune();
+                            scanning.set(false);
+                        });
+    }
+
+    private List<CompletableFuture<Void>> fetchReceipts(BcosBlock block) {
+        List<CompletableFuture<Void>> receipts = new ArrayList<>();
+        if (block.hasError() || block.getBlock() == null) {
+            throw new IllegalStateException(
+                    block.hasError() ? block.getError().getMessage() : "block not found");
+        }
+
+        for (BcosBlock.TransactionResult<?> result : block.getBlock().getTransactions()) {
+            Object value = result.get();
+            String transactionHash =
+                    value instanceof Transaction ? ((Transaction) value).getHash() : (String) value;
+            SentTransaction sentTransaction = reconciling.get(transactionHash);
+            if (sentTransaction == null) {
+                continue;
+            }
+
+            receipts.add(
+                    web3j.getTransactionReceipt(transactionHash)
+                            .sendAsync()
+                            .thenAccept(
+                                    response -> {
+                                        if (response.getTransactionReceipt().isPresent()) {
+                                            deliver(sentTransaction, response);
+                                        }
+                                    }));
+        }
+        return receipts;
+    }
+
+    private void deliver(SentTransaction sentTransaction, BcosTransactionReceipt response) {
+        if (reconciling.remove(sentTransaction.transactionHash, sentTransaction)) {
+            reconciledCount.incrementAndGet();
+            logger.debug(
+                    " receipt reconciled, seq: {}, hash: {}",
+                    sentTransaction.seq,
+                    sentTransaction.transactionHash);
+            service.onReceiveTransactionMessage(
+                    sentTransaction.seq, response.getTransactionReceipt().get());
+        }
+    }
+
+    // drop the transactions whose callback timed out
+    private void prune() {
+        Map<String, Object> callbacks = service.getSeq2TransactionCallback();
+        for (SentTransaction sentTransaction : reconciling.values()) {
+            if (!callbacks.containsKey(sentTransaction.seq)) {
+                onCompleted(sentTransaction.seq);
+            }
+        }
+        if (reconciling.isEmpty()) {
+            nextBlock.set(Long.MAX_VALUE);
+            // transactions added meanwhile
+            for (SentTransaction sentTransaction : reconciling.values()) {
+                scanFrom(sentTransaction.blockNumber + 1);
+            }
+        }
+    }
+
+    /** @return transactions waiting for their receipt to be reconciled */
+    public int getReconcilingCount() {
+        return reconciling.size();
+    }
+
+    /** @return receipts recovered from the blocks */
+    public long getReconciledCount() {
+        return reconciledCount.get();
+    }
+
+    /** @return transactions lost before their hash was known, they time out */
+    public long getUnmatchedCount() {
+        return unmatchedCount.get();
+    }
+
+    /** @return blocks scanned */
+    public long getScannedBlockCount() {
+        return scannedBlockCount.get();
+    }
+
+    private static class SentTransaction {
+        private final String seq;
+        private final ChannelHandlerContext ctx;
+        private final long blockNumber;
+        private volatile String transactionHash;
+        private volatile boolean lost = false;
+
+        SentTransaction(String seq, ChannelHandlerContext ctx, long blockNumber) {
+            this.seq = seq;
+            this.ctx = ctx;
+            this.blockNumber = blockNumber;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.fisco.bcos.channel.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.HashedWheelTimer;
@@ -12,7 +13,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
-import java.net.InetSocketAddress;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
@@ -22,6 +22,7 @@ import java.security.cert.CertificateException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -30,9 +31,12 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.channel.dispatch.ChannelDispatcher;
 import org.fisco.bcos.channel.dto.BcosBlockNotification;
 import org.fisco.bcos.channel.dto.BcosHeartbeat;
 import org.fisco.bcos.channel.dto.BcosMessage;
@@ -59,6 +63,7 @@ import org.fisco.bcos.channel.handler.ConnectionCallback;
 import org.fisco.bcos.channel.handler.ConnectionInfo;
 import org.fisco.bcos.channel.handler.GroupChannelConnectionsConfig;
 import org.fisco.bcos.channel.handler.Message;
+import org.fisco.bcos.channel.handler.SharedChannelConnections;
 import org.fisco.bcos.channel.protocol.ChannelMessageError;
 import org.fisco.bcos.channel.protocol.ChannelMessageType;
 import org.fisco.bcos.channel.protocol.NodeRequestSdkVerifyTopic;
@@ -67,6 +72,10 @@ import org.fisco.bcos.channel.protocol.TopicVerifyReqProtocol;
 import org.fisco.bcos.channel.protocol.TopicVerifyRespProtocol;
 import org.fisco.bcos.channel.protocol.parser.BlockNotificationParser;
 import org.fisco.bcos.channel.protocol.parser.HeartBeatParser;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.channel.seq.SeqCallbackMap;
+import org.fisco.bcos.channel.seq.SeqGenerator;
+import org.fisco.bcos.channel.seq.StripedSeqGenerator;
 import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -94,17 +103,30 @@ public class Service {
     private String orgID;
     private String agencyName;
     private GroupChannelConnectionsConfig allChannelConnections;
+    // set if the group connects through connections shared with other groups
+    private SharedChannelConnections sharedConnections;
     private ChannelPushCallback pushCallback;
-    private Map<String, Object> seq2Callback = new ConcurrentHashMap<String, Object>();
+    private SeqGenerator seqGenerator = new StripedSeqGenerator();
+    private SeqCallbackMap<Object> seq2Callback = new SeqCallbackMap<Object>(seqGenerator);
     private int groupId;
     // private static ObjectMapper objectMapper = new ObjectMapper();
-    private BigInteger number = BigInteger.valueOf(0);
-    private ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap = new ConcurrentHashMap<>();
+    private final BlockNumberTracker blockNumberTracker = new BlockNumberTracker();
     /** add transaction seq callback */
-    private Map<String, Object> seq2TransactionCallback = new ConcurrentHashMap<String, Object>();
+    private SeqCallbackMap<Object> seq2TransactionCallback =
+            new SeqCallbackMap<Object>(seqGenerator);
 
     private Timer timeoutHandler = new HashedWheelTimer();
+    // frame length of the last json request, see encodedLength
+    private volatile int jsonFrameLength = 1024;
     private ThreadPoolTaskExecutor threadPool;
+    private ChannelDispatcher dispatcher;
+    // the dispatcher is stopped with the last service using it
+    private boolean dispatcherAcquired = false;
+    // limits the transactions waiting for their receipt, unlimited if null
+    private AdmissionController admissionController;
+    private long admissionTimeout = 0;
+    // recovers the receipts lost with a connection, none if null
+    private ReceiptReconciler receiptReconciler;
     private BlockNotifyCallBack blockNotifyCallBack = new DefaultBlockNotifyCallBack();
     private Set<String> topics = new HashSet<String>();
     private transient AMOPVerifyUtil topicVerify = new AMOPVerifyUtil();
@@ -133,8 +155,10 @@ public class Service {
         return seq2TransactionCallback;
     }
 
+    /** the callbacks are copied into the seq keyed table of this service */
     public void setSeq2TransactionCallback(Map<String, Object> seq2TransactionCallback) {
-        this.seq2TransactionCallback = seq2TransactionCallback;
+        this.seq2TransactionCallback.clear();
+        this.seq2TransactionCallback.putAll(seq2TransactionCallback);
     }
 
     public BlockNotifyCallBack getBlockNotifyCallBack() {
@@ -176,14 +200,18 @@ public class Service {
         return sb.toString();
     }
 
+    /** @return snapshot of the block number notified by each node, keyed by host and port */
     public ConcurrentHashMap<String, BigInteger> getNodeToBlockNumberMap() {
-        return nodeToBlockNumberMap;
+        return new ConcurrentHashMap<String, BigInteger>(blockNumberTracker.getNodeBlockNumbers());
     }
 
+    /**
+     * @param nodeToBlockNumberMap not used, block numbers are tracked by the {@link
+     *     BlockNumberTracker}
+     */
+    @Deprecated
     public void setNodeToBlockNumberMap(
-            ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap) {
-        this.nodeToBlockNumberMap = nodeToBlockNumberMap;
-    }
+            ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap) {}
 
     public Set<String> getTopics() {
         return this.topics;
@@ -324,7 +352,18 @@ public class Service {
 
                     channelConnections.init();
                     channelConnections.setThreadPool(threadPool);
-                    channelConnections.startConnect();
+                    channelConnections.setDispatcher(dispatcher);
+                    if (dispatcher != null && !dispatcherAcquired) {
+                        dispatcher.acquire();
+                        dispatcherAcquired = true;
+                    }
+                    if (allChannelConnections.isShareConnections()) {
+                        sharedConnections =
+                                allChannelConnections.acquireSharedConnections(
+                                        channelConnections, this);
+                    } else {
+                        channelConnections.startConnect();
+                    }
 
                     int sleepTime = 0;
                     boolean running = false;
@@ -372,7 +411,10 @@ public class Service {
 
                     logger.info(" Connect to " + baseMessage);
 
-                    channelConnections.startPeriodTask();
+                    if (Objects.isNull(sharedConnections)) {
+                        // the shared connections run their own period tasks
+                        channelConnections.startPeriodTask();
+                    }
                     eventLogFilterManager.start();
                 } catch (InterruptedException e) {
                     logger.warn(" thread interrupted exception: ", e);
@@ -389,87 +431,157 @@ public class Service {
         }
     }
 
-    public BcosResponse sendEthereumMessage(BcosRequest request) {
-        class Callback extends BcosResponseCallback {
-            public transient BcosResponse bcosResponse;
-            public transient Semaphore semaphore = new Semaphore(1, true);
+    /**
+     * stop the event log filter thread and the connections of the group, connections shared with
+     * other groups are closed with the last group, and so is a shared dispatcher
+     */
+    public void stop() {
+        eventLogFilterManager.stop();
+
+        ChannelConnections channelConnections = getChannelConnections();
+        if (Objects.nonNull(channelConnections)) {
+            if (Objects.nonNull(sharedConnections)) {
+                allChannelConnections.releaseSharedConnections(channelConnections);
+                sharedConnections = null;
+            } else {
+                channelConnections.stop();
+            }
+        }
 
-            Callback() {
-                try {
-                    semaphore.acquire(1);
+        if (dispatcherAcquired) {
+            dispatcher.release();
+            dispatcherAcquired = false;
+        }
+    }
 
-                } catch (InterruptedException e) {
-                    logger.error("error :", e);
-                    Thread.currentThread().interrupt();
-                }
+    /** @return connections configuration of the group, null if not configured */
+    public ChannelConnections getChannelConnections() {
+        if (Objects.isNull(allChannelConnections)) {
+            return null;
+        }
+        for (ChannelConnections channelConnections :
+                allChannelConnections.getAllChannelConnections()) {
+            if (channelConnections.getGroupId() == groupId) {
+                return channelConnections;
             }
+        }
+        return null;
+    }
 
-            @Override
-            public void onResponse(BcosResponse response) {
-                bcosResponse = response;
-
-                if (bcosResponse != null && bcosResponse.getContent() != null) {
-                    logger.debug("response: {}", response.getContent());
-                } else {
-                    logger.error("response is null");
-                }
+    /** @return the node of the group on the connection, null if the connection is not indexed */
+    public ChannelNode getNode(ChannelHandlerContext ctx) {
+        ChannelConnections channelConnections = getChannelConnections();
+        return Objects.isNull(channelConnections)
+                ? ChannelNode.of(ctx)
+                : channelConnections.getNode(ctx);
+    }
 
-                semaphore.release();
-            }
-        };
+    public BcosResponse sendEthereumMessage(BcosRequest request) {
+        return waitForResponse(sendEthereumMessageAsync(request));
+    }
 
-        Callback callback = new Callback();
+    public BcosResponse sendEthereumMessage(
+            BcosRequest request, TransactionSucCallback transactionSucCallback) {
+        return waitForResponse(sendEthereumMessageAsync(request, transactionSucCallback));
+    }
 
+    /**
+     * send the request without blocking, the returned future is completed by the thread that
+     * receives the response (the netty io thread or the configured thread pool) or by the timeout
+     * timer, so dependent stages should not block
+     *
+     * @param request bcos request
+     * @return future of the response, never completed exceptionally
+     */
+    public CompletableFuture<BcosResponse> sendEthereumMessageAsync(BcosRequest request) {
+        ResponseFuture callback = new ResponseFuture();
         asyncSendEthereumMessage(request, callback);
-        try {
-            callback.semaphore.acquire(1);
-        } catch (InterruptedException e) {
-            logger.error("system error:", e);
-            Thread.currentThread().interrupt();
-        }
-
-        return callback.bcosResponse;
+        return callback.future;
     }
 
-    public BcosResponse sendEthereumMessage(
+    public CompletableFuture<BcosResponse> sendEthereumMessageAsync(
             BcosRequest request, TransactionSucCallback transactionSucCallback) {
-        class Callback extends BcosResponseCallback {
-            private transient BcosResponse ethereumResponse;
-            private transient Semaphore semaphore = new Semaphore(1, true);
+        ResponseFuture callback = new ResponseFuture();
+        asyncSendEthereumMessage(request, callback, transactionSucCallback);
+        return callback.future;
+    }
 
-            Callback() {
-                try {
-                    semaphore.acquire(1);
-                } catch (InterruptedException e) {
-                    logger.error("error:", e);
-                    Thread.currentThread().interrupt();
+    /**
+     * send requests like {@link #sendEthereumMessageAsync(BcosRequest)}, to one node with a single
+     * flush
+     *
+     * @param requests bcos requests
+     * @return future of the response of each request, in the order of the requests
+     */
+    public List<CompletableFuture<BcosResponse>> sendEthereumMessagesAsync(
+            List<BcosRequest> requests) {
+        List<BcosResponseCallback> callbacks = new ArrayList<BcosResponseCallback>(requests.size());
+        List<CompletableFuture<BcosResponse>> futures =
+                new ArrayList<CompletableFuture<BcosResponse>>(requests.size());
+        for (int i = 0; i < requests.size(); ++i) {
+            ResponseFuture callback = new ResponseFuture();
+            callbacks.add(callback);
+            futures.add(callback.future);
+        }
+        asyncSendEthereumMessages(requests, callbacks, null);
+        return futures;
+    }
+
+    private static class ResponseFuture extends BcosResponseCallback {
+        private final CompletableFuture<BcosResponse> future = new CompletableFuture<>();
+
+        @Override
+        public void onResponse(BcosResponse response) {
+            if (response != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("response: {}", response.getContent());
                 }
+            } else {
+                logger.error("response is null");
             }
 
-            @Override
-            public void onResponse(BcosResponse response) {
-                ethereumResponse = response;
-                semaphore.release();
-            }
+            future.complete(response);
         }
+    }
 
-        Callback callback = new Callback();
-        asyncSendEthereumMessage(request, callback, transactionSucCallback);
+    private BcosResponse waitForResponse(CompletableFuture<BcosResponse> future) {
         try {
-            callback.semaphore.acquire(1);
+            return future.get();
         } catch (InterruptedException e) {
             logger.error("system error:", e);
             Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("system error:", e);
         }
-
-        return callback.ethereumResponse;
+        return null;
     }
 
     public void asyncSendEthereumMessage(
             BcosRequest request,
             BcosResponseCallback fiscoResponseCallback,
             TransactionSucCallback transactionSucCallback) {
-        this.asyncSendEthereumMessage(request, fiscoResponseCallback);
+        asyncSendEthereumMessages(
+                Collections.singletonList(request),
+                Collections.singletonList(fiscoResponseCallback),
+                Collections.singletonList(transactionSucCallback));
+    }
+
+    // size of the frames of json requests is only known once serialized, the last one is used
+    // to size the buffer of the next requests
+    private int encodedLength(List<BcosRequest> requests) {
+        int length = 0;
+        for (BcosRequest request : requests) {
+            if (request.getJsonContent() != null) {
+                length += jsonFrameLength;
+            } else {
+                length += Message.HEADER_LENGTH + ByteBufUtil.utf8Bytes(request.getContent());
+            }
+        }
+        return length;
+    }
+
+    private void registerTransactionCallback(
+            BcosRequest request, TransactionSucCallback transactionSucCallback) {
         if (request.getTimeout() > 0) {
             final TransactionSucCallback callbackInner = transactionSucCallback;
             callbackInner.setTimeout(
@@ -478,6 +590,9 @@ public class Service {
                                 @Override
                                 public void run(Timeout timeout) throws Exception {
                                     // 处理超时逻辑
+                                    if (receiptReconciler != null) {
+                                        receiptReconciler.onCompleted(request.getMessageID());
+                                    }
                                     callbackInner.onTimeout();
                                     // timeout时清除map的数据,所以尽管后面有回包数据，也会找不到seq->callback的关系
                                     seq2TransactionCallback.remove(request.getMessageID());
@@ -537,12 +652,31 @@ public class Service {
     }
 
     public void asyncSendEthereumMessage(BcosRequest request, BcosResponseCallback callback) {
-        BcosMessage bcosMessage = new BcosMessage();
+        asyncSendEthereumMessages(
+                Collections.singletonList(request), Collections.singletonList(callback), null);
+    }
+
+    /**
+     * send requests to one node, the frames are encoded into one buffer and written with a single
+     * flush
+     *
+     * @param requests bcos requests
+     * @param callbacks response callback of each request
+     * @param transactionSucCallbacks receipt callback of each request, null entries or a null list
+     *     if there is none
+     */
+    public void asyncSendEthereumMessages(
+            List<BcosRequest> requests,
+            List<BcosResponseCallback> callbacks,
+            List<TransactionSucCallback> transactionSucCallbacks) {
+        if (requests.isEmpty()) {
+            return;
+        }
 
-        bcosMessage.setSeq(request.getMessageID());
-        bcosMessage.setResult(0);
-        bcosMessage.setType((short) 0x12);
-        bcosMessage.setData(request.getContent().getBytes());
+        ByteBuf out = null;
+        // permits not yet held by a registered receipt callback
+        int admitted = 0;
+        List<AdmittedTransactionCallback> admittedCallbacks = null;
         // select node
         try {
             ChannelConnections channelConnections =
@@ -562,56 +696,143 @@ public class Service {
                     throw new TransactionException("not found agencyName");
                 }
             }
-            ChannelHandlerContext ctx =
-                    channelConnections.randomNetworkConnection(nodeToBlockNumberMap);
-
-            ByteBuf out = ctx.alloc().buffer();
-            bcosMessage.writeHeader(out);
-            bcosMessage.writeExtra(out);
-
-            seq2Callback.put(request.getMessageID(), callback);
-
-            if (request.getTimeout() > 0) {
-                final BcosResponseCallback callbackInner = callback;
-                callback.setTimeout(
-                        timeoutHandler.newTimeout(
-                                new TimerTask() {
-                                    BcosResponseCallback _callback = callbackInner;
-
-                                    @Override
-                                    public void run(Timeout timeout) throws Exception {
-                                        // handle timer
-                                        _callback.onTimeout();
-                                    }
-                                },
-                                request.getTimeout(),
-                                TimeUnit.MILLISECONDS));
+            ChannelNode node = channelConnections.selectNode();
+            ChannelHandlerContext ctx = node.getContext();
+
+            if (admissionController != null && transactionSucCallbacks != null) {
+                int transactions = 0;
+                for (TransactionSucCallback transactionSucCallback : transactionSucCallbacks) {
+                    if (transactionSucCallback != null) {
+                        ++transactions;
+                    }
+                }
+                if (transactions > 0) {
+                    if (!admissionController.tryAcquire(
+                            transactions, admissionTimeout, TimeUnit.MILLISECONDS)) {
+                        throw new TransactionException(
+                                "too many transactions in flight, limit: "
+                                        + admissionController.getLimit());
+                    }
+                    admitted = transactions;
+                    admittedCallbacks = new ArrayList<AdmittedTransactionCallback>(transactions);
+                }
+            }
+
+            out = ctx.alloc().ioBuffer(encodedLength(requests));
+            for (int i = 0; i < requests.size(); ++i) {
+                BcosRequest request = requests.get(i);
+                BcosResponseCallback callback = callbacks.get(i);
+
+                BcosMessage bcosMessage = new BcosMessage();
+                bcosMessage.setSeq(request.getMessageID());
+                bcosMessage.setResult(0);
+                bcosMessage.setType((short) 0x12);
+                if (request.getJsonContent() != null) {
+                    bcosMessage.writeJson(
+                            out, ObjectMapperFactory.getObjectMapper(), request.getJsonContent());
+                    jsonFrameLength = bcosMessage.getLength();
+                } else {
+                    bcosMessage.setData(request.getContent().getBytes());
+                    bcosMessage.writeHeader(out);
+                    bcosMessage.writeExtra(out);
+                }
+
+                if (transactionSucCallbacks != null && transactionSucCallbacks.get(i) != null) {
+                    TransactionSucCallback transactionSucCallback = transactionSucCallbacks.get(i);
+                    if (admittedCallbacks != null) {
+                        AdmittedTransactionCallback admittedCallback =
+                                new AdmittedTransactionCallback(
+                                        transactionSucCallback, admissionController);
+                        admittedCallbacks.add(admittedCallback);
+                        --admitted;
+                        transactionSucCallback = admittedCallback;
+                    }
+                    registerTransactionCallback(request, transactionSucCallback);
+                    if (receiptReconciler != null) {
+                        receiptReconciler.onSent(request, ctx, blockNumberTracker.getBlockNumber());
+                    }
+                }
+
+                callback.setNode(node);
+                seq2Callback.put(request.getMessageID(), callback);
+
+                if (request.getTimeout() > 0) {
+                    final BcosResponseCallback callbackInner = callback;
+                    callback.setTimeout(
+                            timeoutHandler.newTimeout(
+                                    new TimerTask() {
+                                        BcosResponseCallback _callback = callbackInner;
+
+                                        @Override
+                                        public void run(Timeout timeout) throws Exception {
+                                            // handle timer, late responses can not find the
+                                            // callback
+                                            if (seq2Callback.remove(request.getMessageID())
+                                                    != null) {
+                                                _callback.releaseNode(true);
+                                            }
+                                            _callback.onTimeout();
+                                        }
+                                    },
+                                    request.getTimeout(),
+                                    TimeUnit.MILLISECONDS));
+                }
             }
 
             ctx.writeAndFlush(out);
-            SocketChannel socketChannel = (SocketChannel) ctx.channel();
-            InetSocketAddress socketAddress = socketChannel.remoteAddress();
-            logger.debug(
-                    "selected node {}:{} bcos request, seq:{}",
-                    socketAddress.getAddress().getHostAddress(),
-                    socketAddress.getPort(),
-                    bcosMessage.getSeq());
+            out = null;
+            if (logger.isDebugEnabled()) {
+                for (BcosRequest request : requests) {
+                    logger.debug(
+                            "selected node {} bcos request, seq:{}",
+                            node.getEndpoint(),
+                            request.getMessageID());
+                }
+            }
 
         } catch (Exception e) {
             logger.error(" error message:{}, error: {} ", e.getMessage(), e);
 
-            BcosResponse response = new BcosResponse();
-            response.setErrorCode(-1);
-            response.setErrorMessage(
-                    e.getMessage()
-                            + " requset send failed! please check the log file content for reasons.");
-            response.setContent("");
-            response.setMessageID(request.getMessageID());
+            if (out != null) {
+                out.release();
+            }
+            // the transactions were not sent, their permits do not wait for the receipts
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (admitted > 0) {
+                admissionController.release(admitted, AdmissionController.Outcome.DROPPED);
+            }
+            if (admittedCallbacks != null) {
+                for (AdmittedTransactionCallback admittedCallback : admittedCallbacks) {
+                    admittedCallback.release(AdmissionController.Outcome.DROPPED);
+                }
+            }
 
-            if (callback.getTimeout() != null) {
-                callback.getTimeout().cancel();
+            for (int i = 0; i < requests.size(); ++i) {
+                BcosRequest request = requests.get(i);
+                BcosResponseCallback callback = callbacks.get(i);
+
+                if (receiptReconciler != null) {
+                    receiptReconciler.onCompleted(request.getMessageID());
+                }
+
+                BcosResponse response = new BcosResponse();
+                response.setErrorCode(-1);
+                response.setErrorMessage(
+                        e.getMessage()
+                                + " requset send failed! please check the log file content for reasons.");
+                response.setContent("");
+                response.setMessageID(request.getMessageID());
+
+                if (callback.getTimeout() != null) {
+                    callback.getTimeout().cancel();
+                }
+                if (seq2Callback.remove(request.getMessageID()) != null) {
+                    callback.releaseNode(true);
+                }
+                callback.onResponse(response);
             }
-            callback.onResponse(response);
         }
     }
 
@@ -804,11 +1025,7 @@ public class Service {
                                     connectionInfo.getHost(), connectionInfo.getPort());
 
                     if (ctx != null && ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
-                        ByteBuf out = ctx.alloc().buffer();
-                        channelMessage.writeHeader(out);
-                        channelMessage.writeExtra(out);
-
-                        ctx.writeAndFlush(out);
+                        ctx.writeAndFlush(channelMessage);
 
                         logger.debug(
                                 "send message to{}:{} success ",
@@ -848,13 +1065,12 @@ public class Service {
             responseMessage.setType((short) ChannelMessageType.AMOP_RESPONSE.getType());
             responseMessage.setTopic(topic);
 
-            ByteBuf out = ctx.alloc().buffer();
-            responseMessage.writeHeader(out);
-            responseMessage.writeExtra(out);
-
-            ctx.writeAndFlush(out);
+            ctx.writeAndFlush(responseMessage);
 
-            logger.info("response seq:{} length:{}", response.getMessageID(), out.readableBytes());
+            logger.info(
+                    "response seq:{} length:{}",
+                    response.getMessageID(),
+                    responseMessage.encodedLength());
         } catch (Exception e) {
             logger.error("system error:{}", e);
         }
@@ -870,13 +1086,9 @@ public class Service {
             msg.setType(msgtype);
             msg.setResult(0);
 
-            ByteBuf out = ctx.alloc().buffer();
-            msg.writeHeader(out);
-            msg.writeExtra(out);
-
-            ctx.writeAndFlush(out);
+            ctx.writeAndFlush(msg);
 
-            logger.debug("response seq:{} length:{}", request.getMessageID(), out.readableBytes());
+            logger.debug("response seq:{} length:{}", request.getMessageID(), msg.getLength());
         } catch (Exception e) {
             logger.error("system error:", e);
         }
@@ -1003,7 +1215,8 @@ public class Service {
     public void onReceiveRegisterEventResponse(ChannelHandlerContext ctx, ChannelMessage2 message) {
 
         ChannelResponseCallback2 callback =
-                (ChannelResponseCallback2) seq2Callback.get(message.getSeq());
+                (ChannelResponseCallback2)
+                        seq2Callback.remove(message.getSeqId(), message.getSeq());
         String seq = message.getSeq();
         String content = new String(message.getData());
         if (callback == null) {
@@ -1014,8 +1227,6 @@ public class Service {
             return;
         }
 
-        seq2Callback.remove(seq);
-
         ChannelResponse response = new ChannelResponse();
 
         response.setCtx(ctx);
@@ -1032,13 +1243,14 @@ public class Service {
 
     public void onReceiveEventLogPush(ChannelHandlerContext ctx, BcosMessage message) {
 
-        String content = new String(message.getData());
         try {
             EventLogFilterPushResponse resp =
-                    ObjectMapperFactory.getObjectMapper()
-                            .readValue(content, EventLogFilterPushResponse.class);
+                    message.readData(
+                            ObjectMapperFactory.getObjectMapper(),
+                            EventLogFilterPushResponse.class);
             if (resp == null || Strings.isEmpty(resp.getFilterID())) {
-                logger.error(" event log response invalid format, content: {}", content);
+                logger.error(
+                        " event log response invalid format, content: {}", message.getDataString());
                 return;
             }
 
@@ -1050,7 +1262,7 @@ public class Service {
                 logger.debug(
                         " event log push message cannot find callback, filterID: {}, content: {}",
                         resp.getFilterID(),
-                        content);
+                        message.getDataString());
                 return;
             }
 
@@ -1088,7 +1300,7 @@ public class Service {
                         "event log push message push end, filterID: {}, registerID: {}, content: {}",
                         resp.getFilterID(),
                         callback.getFilter().getRegisterID(),
-                        content);
+                        message.getDataString());
             } else {
                 callback.onPushEventLog(resp.getResult(), null);
                 // should remove callback function
@@ -1099,30 +1311,34 @@ public class Service {
                         resp.getFilterID(),
                         callback.getFilter().getRegisterID(),
                         resp.getResult(),
-                        content);
+                        message.getDataString());
             }
         } catch (Exception e) {
             logger.error(
                     "event log push message exception, error message: {}, content: {}",
                     e.getMessage(),
-                    content);
+                    message.getDataString());
         }
     }
 
     public void onReceiveEthereumMessage(ChannelHandlerContext ctx, BcosMessage message) {
-        BcosResponseCallback callback = (BcosResponseCallback) seq2Callback.get(message.getSeq());
+        BcosResponseCallback callback =
+                (BcosResponseCallback) seq2Callback.remove(message.getSeqId(), message.getSeq());
 
         if (callback != null) {
 
             if (callback.getTimeout() != null) {
                 callback.getTimeout().cancel();
             }
-
-            logger.trace(
-                    " receive ethereum response, seq: {}, result: {}, content: {}",
-                    message.getSeq(),
-                    message.getResult(),
-                    new String(message.getData()));
+            callback.releaseNode(message.getResult() != 0);
+
+            if (logger.isTraceEnabled()) {
+                logger.trace(
+                        " receive ethereum response, seq: {}, result: {}, content: {}",
+                        message.getSeq(),
+                        message.getResult(),
+                        message.getDataString());
+            }
 
             BcosResponse response = new BcosResponse();
             if (message.getResult() != 0) {
@@ -1131,11 +1347,18 @@ public class Service {
 
             response.setErrorCode(message.getResult());
             response.setMessageID(message.getSeq());
-            response.setContent(new String(message.getData()));
-
-            callback.onResponse(response);
-
-            seq2Callback.remove(message.getSeq());
+            if (message.getPayload() != null) {
+                // parsed from the frame if the callback decodes it right away
+                response.setContent(message.getPayload());
+                try {
+                    callback.onResponse(response);
+                } finally {
+                    response.detachContent();
+                }
+            } else {
+                response.setContent(message.getDataString());
+                callback.onResponse(response);
+            }
         } else {
             logger.debug("no callback push message");
         }
@@ -1144,14 +1367,14 @@ public class Service {
     public void onReceiveChannelMessage2(ChannelHandlerContext ctx, ChannelMessage2 message) {
 
         ChannelResponseCallback2 callback =
-                (ChannelResponseCallback2) seq2Callback.get(message.getSeq());
+                (ChannelResponseCallback2) seq2Callback.get(message.getSeqId(), message.getSeq());
 
         if (message.getType() == ChannelMessageType.AMOP_REQUEST.getType()
                 || message.getType() == ChannelMessageType.AMOP_MULBROADCAST.getType()) {
             logger.debug("channel PUSH");
             if (callback != null) {
                 logger.debug("seq already existed，clear:{}", message.getSeq());
-                seq2Callback.remove(message.getSeq());
+                seq2Callback.remove(message.getSeqId(), message.getSeq());
             }
             if (message.getTopic().length() > verifyChannelPrefix.length()
                     && verifyChannelPrefix.equals(
@@ -1218,11 +1441,8 @@ public class Service {
             response.setType((short) ChannelMessageType.REQUEST_TOPICCERT.getType());
             response.setData("".getBytes());
 
-            ByteBuf out = ctx.alloc().buffer();
-            response.writeHeader(out);
-            response.writeExtra(out);
-            ctx.writeAndFlush(out);
-            logger.info("response seq:{} length:{}", response.getSeq(), out.readableBytes());
+            ctx.writeAndFlush(response);
+            logger.info("response seq:{} length:{}", response.getSeq(), response.getLength());
         } catch (Exception e) {
             logger.error("response seq:{} send error", message.getSeq());
         }
@@ -1397,28 +1617,23 @@ public class Service {
             logger.trace(" BcosBlkNotify: {}  ", bcosBlkNotify);
 
             Integer groupID = Integer.parseInt(bcosBlkNotify.getGroupID());
-            BigInteger blkNumber = bcosBlkNotify.getBlockNumber();
+            long blkNumber = bcosBlkNotify.getBlockNumber().longValue();
             if (!groupID.equals(getGroupId())) {
                 logger.error("Received groupID[{}] not match groupID[{}]", groupID, getGroupId());
 
                 return;
             }
 
-            SocketChannel socketChannel = (SocketChannel) ctx.channel();
-            String hostAddress = socketChannel.remoteAddress().getAddress().getHostAddress();
-            int port = socketChannel.remoteAddress().getPort();
-
-            nodeToBlockNumberMap.put(hostAddress + port, blkNumber);
-            // get max blockNumber to set blocklimit
-            BigInteger maxBlockNumber = blkNumber;
-            for (String key : nodeToBlockNumberMap.keySet()) {
-                BigInteger blockNumber = nodeToBlockNumberMap.get(key);
-                if (blockNumber.compareTo(maxBlockNumber) >= 0) {
-                    maxBlockNumber = blockNumber;
-                }
+            ChannelNode node = getNode(ctx);
+            if (node != null) {
+                node.updateBlockNumber(blkNumber);
             }
-            if (maxBlockNumber.compareTo(getNumber()) > 0) {
-                setNumber(maxBlockNumber);
+            // the max blockNumber of the nodes sets the blocklimit
+            if (blockNumberTracker.update(ctx.channel(), blkNumber)) {
+                BigInteger maxBlockNumber = getNumber();
+                if (receiptReconciler != null) {
+                    receiptReconciler.onBlockNotify(maxBlockNumber);
+                }
 
                 if (null != getBlockNotifyCallBack()) {
                     if (null == getThreadPool()) {
@@ -1448,7 +1663,7 @@ public class Service {
     public void sendHeartbeatMessage(ChannelHandlerContext ctx) {
 
         Message message = new BcosMessage();
-        message.setSeq(UUID.randomUUID().toString().replaceAll("-", ""));
+        message.setSeq(newSeq());
         message.setResult(0);
         message.setType((short) ChannelMessageType.CLIENT_HEARTBEAT.getType());
 
@@ -1462,11 +1677,7 @@ public class Service {
             return;
         }
 
-        ByteBuf out = ctx.alloc().buffer();
-        message.writeHeader(out);
-        message.writeExtra(out);
-
-        ctx.writeAndFlush(out);
+        ctx.writeAndFlush(message);
     }
 
     public void onReceiveHeartbeat(ChannelHandlerContext ctx, Message msg) {
@@ -1502,11 +1713,7 @@ public class Service {
                 return;
             }
 
-            ByteBuf out = ctx.alloc().buffer();
-            response.writeHeader(out);
-            response.writeExtra(out);
-
-            ctx.writeAndFlush(out);
+            ctx.writeAndFlush(response);
         } else if ("1".equals(content)) {
             logger.trace("heartbeat response");
         } else {
@@ -1518,8 +1725,8 @@ public class Service {
         TransactionReceipt receipt = null;
         try {
             receipt =
-                    ObjectMapperFactory.getObjectMapper()
-                            .readValue(message.getData(), TransactionReceipt.class);
+                    message.readData(
+                            ObjectMapperFactory.getObjectMapper(), TransactionReceipt.class);
         } catch (Exception e) {
             receipt = new TransactionReceipt();
             receipt.setStatus(
@@ -1530,12 +1737,23 @@ public class Service {
             receipt.setMessage("Decode receipt error: " + e.getLocalizedMessage());
         }
 
-        onReceiveTransactionMessage(message.getSeq(), receipt);
+        TransactionSucCallback callback =
+                (TransactionSucCallback)
+                        seq2TransactionCallback.remove(message.getSeqId(), message.getSeq());
+        onReceiveTransactionMessage(callback, message.getSeq(), receipt);
     }
 
     public void onReceiveTransactionMessage(String seq, TransactionReceipt receipt) {
-        TransactionSucCallback callback = (TransactionSucCallback) seq2TransactionCallback.get(seq);
+        TransactionSucCallback callback =
+                (TransactionSucCallback) seq2TransactionCallback.remove(seq);
+        onReceiveTransactionMessage(callback, seq, receipt);
+    }
 
+    private void onReceiveTransactionMessage(
+            TransactionSucCallback callback, String seq, TransactionReceipt receipt) {
+        if (receiptReconciler != null) {
+            receiptReconciler.onCompleted(seq);
+        }
         if (callback != null) {
             if (callback.getTimeout() != null) {
                 // stop timer，avoid response more once
@@ -1553,15 +1771,13 @@ public class Service {
             } catch (Exception e) {
                 logger.error("Error process transactionMessage: ", e);
             }
-
-            seq2TransactionCallback.remove(seq);
         } else {
             logger.trace(" transaction call back null, seq: {}", seq);
         }
     }
 
     public String newSeq() {
-        String seq = UUID.randomUUID().toString().replaceAll("-", "");
+        String seq = seqGenerator.newSeq();
         logger.debug("New Seq: {}", seq);
         return seq;
     }
@@ -1570,8 +1786,102 @@ public class Service {
         return seq2Callback;
     }
 
+    /** the callbacks are copied into the seq keyed table of this service */
     public void setSeq2Callback(Map<String, Object> seq2Callback) {
-        this.seq2Callback = seq2Callback;
+        this.seq2Callback.clear();
+        this.seq2Callback.putAll(seq2Callback);
+    }
+
+    public SeqGenerator getSeqGenerator() {
+        return seqGenerator;
+    }
+
+    /**
+     * replace the seq generator, should be called before {@link #run()}. Registered callbacks are
+     * moved to tables of the new generator.
+     *
+     * @param seqGenerator seq generator
+     */
+    public void setSeqGenerator(SeqGenerator seqGenerator) {
+        SeqCallbackMap<Object> callbacks = new SeqCallbackMap<Object>(seqGenerator);
+        callbacks.putAll(this.seq2Callback);
+        SeqCallbackMap<Object> transactionCallbacks = new SeqCallbackMap<Object>(seqGenerator);
+        transactionCallbacks.putAll(this.seq2TransactionCallback);
+
+        this.seqGenerator = seqGenerator;
+        this.seq2Callback = callbacks;
+        this.seq2TransactionCallback = transactionCallbacks;
+    }
+
+    public ChannelDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * dispatch the inbound messages by lanes with back pressure instead of the thread pool, the
+     * dispatcher can be shared by services
+     *
+     * @param dispatcher channel dispatcher
+     */
+    public void setDispatcher(ChannelDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * limit the transactions of the group waiting for their receipt, transactions over the limit
+     * wait up to the admission timeout and fail with the response error otherwise
+     *
+     * @param admissionController admission controller, null for no limit
+     */
+    public void setAdmissionController(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    public long getAdmissionTimeout() {
+        return admissionTimeout;
+    }
+
+    /**
+     * A non-zero timeout blocks the sending thread inside {@link #asyncSendEthereumMessages(List,
+     * List, List)} while it waits, which may be a netty io or dispatcher thread when a transaction
+     * is sent from a callback.
+     *
+     * @param admissionTimeout milliseconds a transaction waits for a permit, 0 to fail fast
+     */
+    public void setAdmissionTimeout(long admissionTimeout) {
+        this.admissionTimeout = admissionTimeout;
+    }
+
+    public ReceiptReconciler getReceiptReconciler() {
+        return receiptReconciler;
+    }
+
+    /**
+     * recover the receipts of the transactions whose connection was lost from the next blocks
+     *
+     * @param receiptReconciler receipt reconciler, null for none
+     */
+    public void setReceiptReconciler(ReceiptReconciler receiptReconciler) {
+        if (receiptReconciler != null) {
+            receiptReconciler.setService(this);
+        }
+        this.receiptReconciler = receiptReconciler;
+    }
+
+    /**
+     * the node accepted the transaction sent with the seq
+     *
+     * @param seq seq of the sendRawTransaction request
+     * @param transactionHash hash returned by the node
+     */
+    public void onTransactionHash(String seq, String transactionHash) {
+        if (receiptReconciler != null) {
+            receiptReconciler.onTransactionHash(seq, transactionHash);
+        }
     }
 
     public ThreadPoolTaskExecutor getThreadPool() {
@@ -1591,11 +1901,15 @@ public class Service {
     }
 
     public BigInteger getNumber() {
-        return number;
+        return BigInteger.valueOf(blockNumberTracker.getBlockNumber());
     }
 
     public void setNumber(BigInteger number) {
-        this.number = number;
+        blockNumberTracker.set(number.longValue());
+    }
+
+    public BlockNumberTracker getBlockNumberTracker() {
+        return blockNumberTracker;
     }
 
     public EventLogFilterManager getEventLogFilterManager() {
@@ -0,0 +1,351 @@
+package org.fisco.bcos.channel.dispatch;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.AttributeKey;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.channel.handler.ChannelConnections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches inbound frames to the threads of their {@link DispatchLane}, so receipts, amop and
+ * event pushes do not wait behind rpc responses and the other way round. Each lane has its own
+ * partitions, a partition is one thread with its queue and the frames of a connection always go to
+ * the same partition of a lane, which keeps their order.
+ *
+ * <p>Frames are never dropped: when a partition queue reaches the high water mark the connections
+ * feeding it stop reading (auto read off) until it drains to the low water mark, the node then sees
+ * the back pressure on the tcp connection.
+ *
+ * <p>Lanes and water marks are configured before {@link #start()}, the first dispatch starts the
+ * dispatcher otherwise.
+ */
+public class ChannelDispatcher {
+    private static Logger logger = LoggerFactory.getLogger(ChannelDispatcher.class);
+
+    // number of partitions holding the reads of the channel paused
+    private static final AttributeKey<AtomicInteger> PAUSES =
+            AttributeKey.valueOf("ChannelDispatcherPauses");
+
+    private final Map<DispatchLane, Integer> laneThreads =
+            new EnumMap<DispatchLane, Integer>(DispatchLane.class);
+    private final Map<DispatchLane, Partition[]> lanes =
+            new EnumMap<DispatchLane, Partition[]>(DispatchLane.class);
+    private int highWaterMark = 1000;
+    private int lowWaterMark = 500;
+    private volatile boolean started = false;
+    private volatile boolean stopped = false;
+    // services using the dispatcher, guarded by this
+    private int users = 0;
+
+    public ChannelDispatcher() {
+        for (DispatchLane lane : DispatchLane.values()) {
+            laneThreads.put(lane, 1);
+        }
+        laneThreads.put(
+                DispatchLane.RESPONSE, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        laneThreads.put(DispatchLane.RECEIPT, 2);
+    }
+
+    /**
+     * @param lane lane
+     * @param threads number of partitions of the lane, at least 1
+     */
+    public synchronized void setLaneThreads(DispatchLane lane, int threads) {
+        checkNotStarted();
+        if (threads < 1) {
+            throw new IllegalArgumentException(" lane threads must be at least 1: " + threads);
+        }
+        laneThreads.put(lane, threads);
+    }
+
+    public synchronized int getLaneThreads(DispatchLane lane) {
+        return laneThreads.get(lane);
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /** @param highWaterMark queued frames of a partition that pause reading its connections */
+    public synchronized void setHighWaterMark(int highWaterMark) {
+        checkNotStarted();
+        this.highWaterMark = highWaterMark;
+    }
+
+    public int getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    /** @param lowWaterMark queued frames of a partition that resume reading its connections */
+    public synchronized void setLowWaterMark(int lowWaterMark) {
+        checkNotStarted();
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException(" channel dispatcher is started");
+        }
+    }
+
+    /** start the partition threads */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        if (lowWaterMark < 0 || lowWaterMark >= highWaterMark) {
+            throw new IllegalArgumentException(
+                    " invalid water marks, low: " + lowWaterMark + ", high: " + highWaterMark);
+        }
+
+        for (DispatchLane lane : DispatchLane.values()) {
+            Partition[] partitions = new Partition[laneThreads.get(lane)];
+            for (int i = 0; i < partitions.length; ++i) {
+                partitions[i] = new Partition(lane, i);
+                partitions[i].thread.start();
+            }
+            lanes.put(lane, partitions);
+        }
+        started = true;
+        logger.info(" channel dispatcher started, lanes: {}", laneThreads);
+    }
+
+    /** stop the partition threads, queued frames are released without being processed */
+    public synchronized void stop() {
+        if (!started || stopped) {
+            stopped = true;
+            return;
+        }
+        stopped = true;
+        for (Partition[] partitions : lanes.values()) {
+            for (Partition partition : partitions) {
+                partition.thread.interrupt();
+            }
+        }
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /** a service starts using the dispatcher, see {@link #release()} */
+    public synchronized void acquire() {
+        ++users;
+    }
+
+    /** a service stopped using the dispatcher, the dispatcher is stopped with its last service */
+    public synchronized void release() {
+        if (users > 0 && --users == 0) {
+            stop();
+        }
+    }
+
+    /**
+     * queue the frame to the partition of its lane and connection, the partition thread passes it
+     * to {@link ChannelConnections#onReceiveMessage(ChannelHandlerContext, ByteBuf)} which releases
+     * it
+     *
+     * @param connections connections receiving the frame
+     * @param ctx context of the connection
+     * @param frame inbound frame
+     */
+    public void dispatch(ChannelConnections connections, ChannelHandlerContext ctx, ByteBuf frame) {
+        if (!started) {
+            start();
+        }
+        if (stopped) {
+            frame.release();
+            logger.warn(" channel dispatcher is stopped, frame discarded");
+            return;
+        }
+
+        DispatchLane lane = DispatchLane.of(frame.getShort(frame.readerIndex() + 4));
+        Partition[] partitions = lanes.get(lane);
+        int hash = System.identityHashCode(ctx.channel());
+        partitions[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % partitions.length].offer(
+                new Task(connections, ctx, frame));
+    }
+
+    /** @return frames queued in the lane */
+    public int getQueueDepth(DispatchLane lane) {
+        int depth = 0;
+        for (Partition partition : partitions(lane)) {
+            depth += partition.depth.get();
+        }
+        return depth;
+    }
+
+    /** @return highest queue depth of a partition of the lane */
+    public int getMaxQueueDepth(DispatchLane lane) {
+        int max = 0;
+        for (Partition partition : partitions(lane)) {
+            max = Math.max(max, partition.maxDepth.get());
+        }
+        return max;
+    }
+
+    /** @return frames processed by the lane */
+    public long getDispatchedCount(DispatchLane lane) {
+        long count = 0;
+        for (Partition partition : partitions(lane)) {
+            count += partition.dispatched.get();
+        }
+        return count;
+    }
+
+    /** @return times a partition of the lane paused the reads of a connection */
+    public long getPauseCount(DispatchLane lane) {
+        long count = 0;
+        for (Partition partition : partitions(lane)) {
+            count += partition.pauses.get();
+        }
+        return count;
+    }
+
+    private synchronized List<Partition> partitions(DispatchLane lane) {
+        Partition[] partitions = lanes.get(lane);
+        List<Partition> result = new ArrayList<Partition>();
+        if (partitions != null) {
+            for (Partition partition : partitions) {
+                result.add(partition);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ChannelDispatcher{");
+        for (DispatchLane lane : DispatchLane.values()) {
+            builder.append(lane)
+                    .append("={depth=")
+                    .append(getQueueDepth(lane))
+                    .append(", maxDepth=")
+                    .append(getMaxQueueDepth(lane))
+                    .append(", dispatched=")
+                    .append(getDispatchedCount(lane))
+                    .append(", pauses=")
+                    .append(getPauseCount(lane))
+                    .append("}");
+            if (lane.ordinal() < DispatchLane.values().length - 1) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("}").toString();
+    }
+
+    private static class Task {
+        private final ChannelConnections connections;
+        private final ChannelHandlerContext ctx;
+        private final ByteBuf frame;
+
+        Task(ChannelConnections connections, ChannelHandlerContext ctx, ByteBuf frame) {
+            this.connections = connections;
+            this.ctx = ctx;
+            this.frame = frame;
+        }
+    }
+
+    private class Partition implements Runnable {
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<Task>();
+        private final AtomicInteger depth = new AtomicInteger(0);
+        private final AtomicInteger maxDepth = new AtomicInteger(0);
+        private final AtomicLong dispatched = new AtomicLong(0);
+        private final AtomicLong pauses = new AtomicLong(0);
+        // channels whose reads this partition paused
+        private final Set<Channel> paused = ConcurrentHashMap.newKeySet();
+        private final Thread thread;
+
+        Partition(DispatchLane lane, int index) {
+            thread =
+                    new Thread(this, "channel-dispatch-" + lane.name().toLowerCase() + "-" + index);
+            thread.setDaemon(true);
+        }
+
+        void offer(Task task) {
+            queue.add(task);
+            int current = depth.incrementAndGet();
+            int max = maxDepth.get();
+            while (current > max && !maxDepth.compareAndSet(max, current)) {
+                max = maxDepth.get();
+            }
+
+            if (current >= highWaterMark) {
+                pause(task.ctx.channel());
+            }
+        }
+
+        private void pause(Channel channel) {
+            synchronized (this) {
+                if (paused.add(channel)) {
+                    pauses.incrementAndGet();
+                    AtomicInteger count = channel.attr(PAUSES).get();
+                    if (count == null) {
+                        channel.attr(PAUSES).setIfAbsent(new AtomicInteger(0));
+                        count = channel.attr(PAUSES).get();
+                    }
+                    if (count.incrementAndGet() == 1) {
+                        channel.config().setAutoRead(false);
+                        logger.debug(" pause reading, channel: {}, {}", channel, thread.getName());
+                    }
+                }
+            }
+
+            // the queue may have drained before the channel was added
+            if (depth.get() <= lowWaterMark) {
+                resume();
+            }
+        }
+
+        private synchronized void resume() {
+            for (Channel channel : paused) {
+                paused.remove(channel);
+                if (channel.attr(PAUSES).get().decrementAndGet() == 0) {
+                    channel.config().setAutoRead(true);
+                    logger.debug(" resume reading, channel: {}, {}", channel, thread.getName());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                Task task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (depth.decrementAndGet() <= lowWaterMark && !paused.isEmpty()) {
+                    resume();
+                }
+
+                try {
+                    task.connections.onReceiveMessage(task.ctx, task.frame);
+                } catch (Exception e) {
+                    logger.error(" dispatch message failed, message: {}", e.getMessage(), e);
+                }
+                dispatched.incrementAndGet();
+            }
+
+            Task task;
+            while ((task = queue.poll()) != null) {
+                depth.decrementAndGet();
+                task.frame.release();
+            }
+            resume();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.fisco.bcos.channel.dispatch;
+
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+
+/** Lanes of the {@link ChannelDispatcher}, inbound messages of a lane share its threads. */
+public enum DispatchLane {
+    RESPONSE, // rpc and handshake responses
+    RECEIPT, // transaction receipt notify
+    AMOP, // amop requests, responses and topic verification
+    EVENT, // event log push and filter register responses
+    CONTROL; // heartbeat, block notify and unknown types
+
+    /**
+     * @param type message type of the frame
+     * @return lane of the message type
+     */
+    public static DispatchLane of(int type) {
+        if (type == ChannelMessageType.CHANNEL_RPC_REQUEST.getType()
+                || type == ChannelMessageType.CLIENT_HANDSHAKE.getType()) {
+            return RESPONSE;
+        }
+        if (type == ChannelMessageType.TRANSACTION_NOTIFY.getType()) {
+            return RECEIPT;
+        }
+        if (type == ChannelMessageType.AMOP_REQUEST.getType()
+                || type == ChannelMessageType.AMOP_RESPONSE.getType()
+                || type == ChannelMessageType.AMOP_MULBROADCAST.getType()
+                || type == ChannelMessageType.REQUEST_TOPICCERT.getType()
+                || type == ChannelMessageType.UPDATE_TOPIICSTATUS.getType()) {
+            return AMOP;
+        }
+        if (type == ChannelMessageType.EVENT_LOG_PUSH.getType()
+                || type == ChannelMessageType.CLIENT_REGISTER_EVENT_LOG.getType()) {
+            return EVENT;
+        }
+        return CONTROL;
+    }
+}
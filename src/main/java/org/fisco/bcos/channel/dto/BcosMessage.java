@@ -9,10 +9,7 @@ public class BcosMessage extends Message {
     public BcosMessage() {}
 
     public BcosMessage(Message msg) {
-        length = msg.getLength();
-        type = msg.getType();
-        seq = msg.getSeq();
-        result = msg.getResult();
+        copyHeader(msg);
     }
 
     @Override
@@ -1,5 +1,8 @@
 package org.fisco.bcos.channel.dto;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
+
 public class BcosRequest {
     private String keyID; // chain ID
     private String orgApp; // org identification
@@ -11,6 +14,8 @@ public class BcosRequest {
     private Integer timeout = 0; // ms
 
     private String content;
+    // serialized into the outbound frame when content is not set
+    private Object jsonContent;
 
     public String getKeyID() {
         return keyID;
@@ -69,10 +74,33 @@ public class BcosRequest {
     }
 
     public String getContent() {
+        if (content == null && jsonContent != null) {
+            try {
+                content = ObjectMapperFactory.getObjectMapper().writeValueAsString(jsonContent);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(" json content to string failed, " + e.getMessage());
+            }
+        }
         return content;
     }
 
     public void setContent(String content) {
         this.content = content;
+        this.jsonContent = null;
+    }
+
+    public Object getJsonContent() {
+        return jsonContent;
+    }
+
+    /**
+     * set a value serialized as json content, it is written straight into the outbound frame
+     * instead of being converted to a string first
+     *
+     * @param jsonContent json serializable value
+     */
+    public void setJsonContent(Object jsonContent) {
+        this.jsonContent = jsonContent;
+        this.content = null;
     }
 }
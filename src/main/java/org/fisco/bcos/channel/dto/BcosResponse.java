@@ -1,11 +1,21 @@
 package org.fisco.bcos.channel.dto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.channel.handler.Message;
+
 public class BcosResponse {
 
     private Integer errorCode;
     private String errorMessage;
     private String messageID;
     private String content;
+    // slice of the inbound frame, only set while the response callback runs
+    private ByteBuf contentBuffer;
+    // utf-8 content copied from the frame when it is released, decoded on demand
+    private byte[] contentBytes;
 
     public Integer getErrorCode() {
         return errorCode;
@@ -31,11 +41,63 @@ public class BcosResponse {
         this.messageID = messageID;
     }
 
-    public String getContent() {
+    public synchronized String getContent() {
+        if (content == null && contentBuffer != null) {
+            content = contentBuffer.toString(StandardCharsets.UTF_8);
+        } else if (content == null && contentBytes != null) {
+            content = new String(contentBytes, StandardCharsets.UTF_8);
+            contentBytes = null;
+        }
         return content;
     }
 
-    public void setContent(String content) {
+    public synchronized void setContent(String content) {
         this.content = content;
+        this.contentBuffer = null;
+        this.contentBytes = null;
+    }
+
+    /**
+     * set the content as a slice of the inbound frame, the frame is only valid until {@link
+     * #detachContent()} is called after the response callback
+     *
+     * @param content utf-8 json content
+     */
+    public synchronized void setContent(ByteBuf content) {
+        this.content = null;
+        this.contentBuffer = content;
+        this.contentBytes = null;
+    }
+
+    /**
+     * parse the json content, straight from the inbound frame when called by the response callback
+     *
+     * @param objectMapper object mapper
+     * @param valueType type of the value
+     * @return parsed value
+     * @throws IOException if the content is not a valid value
+     */
+    public synchronized <T> T readContent(ObjectMapper objectMapper, Class<T> valueType)
+            throws IOException {
+        if (content == null && contentBuffer != null) {
+            return Message.readValue(objectMapper, contentBuffer, valueType);
+        } else if (content == null && contentBytes != null) {
+            return objectMapper.readValue(contentBytes, valueType);
+        }
+        return objectMapper.readValue(content, valueType);
+    }
+
+    /**
+     * release the inbound frame, the content not yet read as a string is copied out of it, so later
+     * reads and {@link #getContent()} still see the whole content
+     */
+    public synchronized void detachContent() {
+        if (contentBuffer != null) {
+            if (content == null) {
+                contentBytes = new byte[contentBuffer.readableBytes()];
+                contentBuffer.getBytes(contentBuffer.readerIndex(), contentBytes);
+            }
+            contentBuffer = null;
+        }
     }
 }
@@ -13,10 +13,7 @@ public class ChannelMessage extends Message {
     public ChannelMessage() {}
 
     public ChannelMessage(Message msg) {
-        length = msg.getLength();
-        type = msg.getType();
-        seq = msg.getSeq();
-        result = msg.getResult();
+        copyHeader(msg);
     }
 
     @Override
@@ -42,11 +39,16 @@ public class ChannelMessage extends Message {
     @Override
     public void writeHeader(ByteBuf out) {
         // 先计算总长度
-        length = Message.HEADER_LENGTH + toNode.length() + fromNode.length() + data.length;
+        length = encodedLength();
 
         super.writeHeader(out);
     }
 
+    @Override
+    public int encodedLength() {
+        return Message.HEADER_LENGTH + toNode.length() + fromNode.length() + data.length;
+    }
+
     @Override
     public void writeExtra(ByteBuf out) {
         out.writeBytes(toNode.getBytes());
@@ -1,7 +1,7 @@
 package org.fisco.bcos.channel.dto;
 
 import io.netty.buffer.ByteBuf;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import org.fisco.bcos.channel.handler.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +14,7 @@ public class ChannelMessage2 extends Message {
     public ChannelMessage2() {}
 
     public ChannelMessage2(Message msg) {
-        length = msg.getLength();
-        type = msg.getType();
-        seq = msg.getSeq();
-        result = msg.getResult();
+        copyHeader(msg);
     }
 
     @Override
@@ -25,9 +22,8 @@ public class ChannelMessage2 extends Message {
         if (result == 0) {
             Short topicLength = in.readUnsignedByte();
 
-            byte[] topicBytes = new byte[topicLength - 1];
-            in.readBytes(topicBytes, 0, topicLength - 1);
-            topic = new String(topicBytes);
+            topic = in.readCharSequence(topicLength - 1, StandardCharsets.UTF_8).toString();
+            topicBytes = null;
 
             data = new byte[length - Message.HEADER_LENGTH - topicLength];
             in.readBytes(data, 0, length - Message.HEADER_LENGTH - topicLength);
@@ -37,34 +33,44 @@ public class ChannelMessage2 extends Message {
     @Override
     public void writeHeader(ByteBuf out) {
         // total length
-        try {
-            length = Message.HEADER_LENGTH + 1 + topic.getBytes("utf-8").length + data.length;
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(" topic string to utf8 failed, topic: " + topic);
-        }
+        length = encodedLength();
 
         super.writeHeader(out);
     }
 
     @Override
     public void writeExtra(ByteBuf out) {
-        try {
-            out.writeByte(1 + topic.getBytes("utf-8").length);
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(" topic string to utf8 failed, topic: " + topic);
-        }
-        out.writeBytes(topic.getBytes());
+        byte[] topicBytes = getTopicBytes();
+        out.writeByte(1 + topicBytes.length);
+        out.writeBytes(topicBytes);
 
         out.writeBytes(data);
     }
 
+    @Override
+    public int encodedLength() {
+        return Message.HEADER_LENGTH + 1 + getTopicBytes().length + data.length;
+    }
+
+    // utf-8 topic is computed once for the length and the payload
+    private byte[] getTopicBytes() {
+        byte[] bytes = topicBytes;
+        if (bytes == null) {
+            bytes = topic.getBytes(StandardCharsets.UTF_8);
+            topicBytes = bytes;
+        }
+        return bytes;
+    }
+
     public String getTopic() {
         return topic;
     }
 
     public void setTopic(String toTopic) {
         this.topic = toTopic;
+        this.topicBytes = null;
     }
 
     private String topic;
+    private transient byte[] topicBytes;
 }
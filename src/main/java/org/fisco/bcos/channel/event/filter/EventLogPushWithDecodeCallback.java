@@ -3,6 +3,7 @@ package org.fisco.bcos.channel.event.filter;
 import java.util.List;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
 import org.fisco.bcos.web3j.tx.txdecode.BaseException;
+import org.fisco.bcos.web3j.tx.txdecode.EventDecoderRegistry;
 import org.fisco.bcos.web3j.tx.txdecode.LogResult;
 import org.fisco.bcos.web3j.tx.txdecode.TransactionDecoder;
 import org.slf4j.Logger;
@@ -12,6 +13,8 @@ public class EventLogPushWithDecodeCallback extends EventLogPushCallback {
 
     // Log parsing tool for the pushed log
     private TransactionDecoder decoder;
+    // Event decoders of the logs of several contracts, used instead of the decoder if set
+    private EventDecoderRegistry eventDecoderRegistry;
 
     private static final Logger logger =
             LoggerFactory.getLogger(EventLogPushWithDecodeCallback.class);
@@ -22,6 +25,10 @@ public class EventLogPushWithDecodeCallback extends EventLogPushCallback {
         this.decoder = decoder;
     }
 
+    public EventLogPushWithDecodeCallback(EventDecoderRegistry eventDecoderRegistry) {
+        this.eventDecoderRegistry = eventDecoderRegistry;
+    }
+
     public TransactionDecoder getDecoder() {
         return decoder;
     }
@@ -30,6 +37,14 @@ public class EventLogPushWithDecodeCallback extends EventLogPushCallback {
         this.decoder = decoder;
     }
 
+    public EventDecoderRegistry getEventDecoderRegistry() {
+        return eventDecoderRegistry;
+    }
+
+    public void setEventDecoderRegistry(EventDecoderRegistry eventDecoderRegistry) {
+        this.eventDecoderRegistry = eventDecoderRegistry;
+    }
+
     @Override
     public void onPushEventLog(int status, List<LogResult> logs) {
         logger.info(
@@ -42,7 +57,10 @@ public class EventLogPushWithDecodeCallback extends EventLogPushCallback {
     @Override
     public LogResult transferLogToLogResult(Log log) {
         try {
-            LogResult logResult = getDecoder().decodeEventLogReturnObject(log);
+            LogResult logResult =
+                    (null != getEventDecoderRegistry())
+                            ? getEventDecoderRegistry().decodeEventLog(log)
+                            : getDecoder().decodeEventLogReturnObject(log);
             return logResult;
         } catch (BaseException e) {
             logger.warn(" event log decode failed, log: {}", log);
@@ -3,7 +3,7 @@ package org.fisco.bcos.channel.event.filter;
 import java.math.BigInteger;
 import org.fisco.bcos.web3j.abi.TypeEncoder;
 import org.fisco.bcos.web3j.abi.datatypes.Bytes;
-import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.crypto.WalletUtils;
 import org.fisco.bcos.web3j.utils.Numeric;
 
@@ -32,12 +32,22 @@ public class TopicTools {
     }
 
     public static String stringToTopic(String s) {
-        byte[] hash = Hash.sha3(s.getBytes());
+        return stringToTopic(s, CryptoSuite.getDefault());
+    }
+
+    /** topic of an indexed string, hashed by the crypto suite of the chain */
+    public static String stringToTopic(String s, CryptoSuite cryptoSuite) {
+        byte[] hash = cryptoSuite.hash(s.getBytes());
         return Numeric.toHexString(hash);
     }
 
     public static String bytesToTopic(byte[] b) {
-        byte[] hash = Hash.sha3(b);
+        return bytesToTopic(b, CryptoSuite.getDefault());
+    }
+
+    /** topic of indexed bytes, hashed by the crypto suite of the chain */
+    public static String bytesToTopic(byte[] b, CryptoSuite cryptoSuite) {
+        byte[] hash = cryptoSuite.hash(b);
         return Numeric.toHexString(hash);
     }
 
@@ -10,28 +10,23 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
-import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.Future;
 import java.io.InputStream;
 import java.math.BigInteger;
-import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -39,6 +34,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.net.ssl.SSLException;
+import org.fisco.bcos.channel.dispatch.ChannelDispatcher;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.channel.selector.ChannelNodeIndex;
+import org.fisco.bcos.channel.selector.ChannelNodeStats;
+import org.fisco.bcos.channel.selector.LeastLoadedStrategy;
+import org.fisco.bcos.channel.selector.MaxBlockRandomStrategy;
+import org.fisco.bcos.channel.selector.NodeSelectionStrategy;
 import org.fisco.bcos.web3j.tuples.generated.Tuple2;
 import org.fisco.bcos.web3j.tuples.generated.Tuple3;
 import org.slf4j.Logger;
@@ -63,16 +65,26 @@ public class ChannelConnections {
     private List<ConnectionInfo> connections = new ArrayList<ConnectionInfo>();
     private Boolean running = false;
     private ThreadPoolTaskExecutor threadPool;
+    // dispatches inbound frames instead of the thread pool when set
+    private ChannelDispatcher dispatcher;
     private long idleTimeout = (long) 10000;
     private long heartBeatDelay = (long) 2000;
     private long reconnectDelay = (long) 20000;
     private long connectTimeout = (long) 10000;
     private long sslHandShakeTimeout = (long) 10000;
+    // epoll transport if available, see ChannelTransport
+    private boolean nativeTransport = true;
+    // OpenSSL engine if available and the certificates are supported, see ChannelTransport
+    private boolean openSsl = false;
 
     public Map<String, ChannelHandlerContext> networkConnections =
             new ConcurrentHashMap<String, ChannelHandlerContext>();
+    private ChannelNodeIndex nodeIndex = new ChannelNodeIndex();
+    private NodeSelectionStrategy nodeSelectionStrategy = new MaxBlockRandomStrategy();
     private int groupId;
     private Bootstrap bootstrap = new Bootstrap();
+    private EventLoopGroup workerGroup;
+    private final MessageEncoder messageEncoder = new MessageEncoder();
     ServerBootstrap serverBootstrap = new ServerBootstrap();
 
     private ScheduledExecutorService scheduledExecutorService = new ScheduledThreadPoolExecutor(1);
@@ -162,6 +174,14 @@ public class ChannelConnections {
         void onMessage(ChannelHandlerContext ctx, ByteBuf message);
 
         void sendHeartbeat(ChannelHandlerContext ctx);
+
+        /**
+         * a connection shared with other groups has been established and negotiated by another
+         * group, see {@link SharedChannelConnections}
+         */
+        default void onSharedConnect(ChannelHandlerContext ctx) {
+            onConnect(ctx);
+        }
     }
 
     public Callback getCallback() {
@@ -188,6 +208,15 @@ public class ChannelConnections {
         this.connections = connections;
     }
 
+    public ChannelDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /** @param dispatcher dispatcher of the inbound messages, used instead of the thread pool */
+    public void setDispatcher(ChannelDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     public ThreadPoolTaskExecutor getThreadPool() {
         return threadPool;
     }
@@ -212,65 +241,59 @@ public class ChannelConnections {
         this.heartBeatDelay = heartBeatDelay;
     }
 
-    public ChannelHandlerContext randomNetworkConnection(
-            ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap) throws Exception {
-        List<ChannelHandlerContext> activeConnections = new ArrayList<ChannelHandlerContext>();
+    public ChannelNodeIndex getNodeIndex() {
+        return nodeIndex;
+    }
 
-        for (ChannelHandlerContext ctx : networkConnections.values()) {
-            if (Objects.nonNull(ctx) && ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
-                activeConnections.add(ctx);
-            }
+    public NodeSelectionStrategy getNodeSelectionStrategy() {
+        return nodeSelectionStrategy;
+    }
+
+    public void setNodeSelectionStrategy(NodeSelectionStrategy nodeSelectionStrategy) {
+        this.nodeSelectionStrategy = nodeSelectionStrategy;
+    }
+
+    /**
+     * request statistics of the available nodes, for monitoring
+     *
+     * @return ip:port -> statistics
+     */
+    public Map<String, ChannelNodeStats> getNodeStats() {
+        Map<String, ChannelNodeStats> nodeStats = new LinkedHashMap<String, ChannelNodeStats>();
+        for (ChannelNode node : nodeIndex.getSnapshot().getNodes()) {
+            nodeStats.put(node.getEndpoint(), node.getStats());
         }
+        return nodeStats;
+    }
 
-        if (activeConnections.isEmpty()) {
+    /**
+     * select the node to send a request to with the configured {@link NodeSelectionStrategy}
+     *
+     * @return the selected node
+     * @throws Exception if no connection is available
+     */
+    public ChannelNode selectNode() throws Exception {
+        ChannelNode node = nodeSelectionStrategy.select(nodeIndex.getSnapshot());
+        if (node == null) {
             logger.error(" no active connection is available, maybe network connection exception");
             throw new Exception(" no active connection available network exception");
         }
-        // select maxBlockNumber node
-        List<ChannelHandlerContext> maxBlockNumberConnections =
-                new ArrayList<ChannelHandlerContext>();
-        BigInteger maxBlockNumber = new BigInteger("0");
-        if (nodeToBlockNumberMap != null) {
-            for (String key : nodeToBlockNumberMap.keySet()) {
-                BigInteger blockNumber = nodeToBlockNumberMap.get(key);
-                if (blockNumber.compareTo(maxBlockNumber) >= 0) {
-                    if (blockNumber.compareTo(maxBlockNumber) > 0) {
-                        maxBlockNumberConnections.clear();
-                    }
+        return node;
+    }
 
-                    Optional<ChannelHandlerContext> optionalCtx =
-                            activeConnections
-                                    .stream()
-                                    .filter(
-                                            x ->
-                                                    key.equals(
-                                                            ((SocketChannel) x.channel())
-                                                                            .remoteAddress()
-                                                                            .getAddress()
-                                                                            .getHostAddress()
-                                                                    + ((SocketChannel) x.channel())
-                                                                            .remoteAddress()
-                                                                            .getPort()))
-                                    .findFirst();
-                    if (optionalCtx.isPresent()) {
-                        ChannelHandlerContext channelHandlerContext = optionalCtx.get();
-                        maxBlockNumberConnections.add(channelHandlerContext);
-                        maxBlockNumber = blockNumber;
-                    }
-                }
-            }
-        }
-        Random random = new SecureRandom();
-        int selectNodeIndex = 0;
-        ChannelHandlerContext selectedNodeChannelHandlerContext = null;
-        if (!maxBlockNumberConnections.isEmpty()) {
-            selectNodeIndex = random.nextInt(maxBlockNumberConnections.size());
-            selectedNodeChannelHandlerContext = maxBlockNumberConnections.get(selectNodeIndex);
-        } else {
-            selectNodeIndex = random.nextInt(activeConnections.size());
-            selectedNodeChannelHandlerContext = activeConnections.get(selectNodeIndex);
-        }
-        return selectedNodeChannelHandlerContext;
+    /** @return the node of this group on the connection, null if the connection is not indexed */
+    public ChannelNode getNode(ChannelHandlerContext ctx) {
+        return ChannelNode.of(ctx, nodeIndex);
+    }
+
+    /**
+     * @param nodeToBlockNumberMap not used, block numbers are tracked by the node index
+     * @deprecated use {@link #selectNode()}
+     */
+    @Deprecated
+    public ChannelHandlerContext randomNetworkConnection(
+            ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap) throws Exception {
+        return selectNode().getContext();
     }
 
     @Deprecated
@@ -305,6 +328,7 @@ public class ChannelConnections {
     public ChannelHandlerContext setAndGetNetworkConnectionByHost(
             String host, Integer port, ChannelHandlerContext ctx) {
         String endpoint = host + ":" + port;
+        nodeIndex.addNode(endpoint, ctx);
         return networkConnections.put(endpoint, ctx);
     }
 
@@ -312,6 +336,7 @@ public class ChannelConnections {
             String host, Integer port, ChannelHandlerContext ctx) {
         String endpoint = host + ":" + port;
         Boolean result = networkConnections.remove(endpoint, ctx);
+        nodeIndex.removeNode(endpoint, ctx);
         if (logger.isDebugEnabled()) {
             logger.debug(
                     " result: {}, host: {}, port: {}, ctx: {}",
@@ -331,8 +356,8 @@ public class ChannelConnections {
 
         logger.debug("init connections listen");
 
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        EventLoopGroup bossGroup = ChannelTransport.newEventLoopGroup(nativeTransport, 0);
+        EventLoopGroup workerGroup = ChannelTransport.newEventLoopGroup(nativeTransport, 0);
 
         final ChannelConnections selfService = this;
         final ThreadPoolTaskExecutor selfThreadPool = threadPool;
@@ -342,7 +367,7 @@ public class ChannelConnections {
         try {
             serverBootstrap
                     .group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+                    .channel(ChannelTransport.serverSocketChannelClass(workerGroup))
                     .option(ChannelOption.SO_BACKLOG, 100)
                     .handler(new LoggingHandler(LogLevel.INFO))
                     .childHandler(
@@ -355,6 +380,7 @@ public class ChannelConnections {
                                     ChannelHandler handler = new ChannelHandler();
                                     handler.setConnections(selfService);
                                     handler.setThreadPool(selfThreadPool);
+                                    handler.setDispatcher(dispatcher);
 
                                     SslHandler sslHandler = sslCtx.newHandler(ch.alloc());
                                     sslHandler.setHandshakeTimeoutMillis(sslHandShakeTimeout);
@@ -362,6 +388,8 @@ public class ChannelConnections {
                                     ch.pipeline()
                                             .addLast(
                                                     sslHandler,
+                                                    new FlushConsolidationHandler(),
+                                                    messageEncoder,
                                                     new LengthFieldBasedFrameDecoder(
                                                             Integer.MAX_VALUE, 0, 4, -4, 0),
                                                     new IdleStateHandler(
@@ -460,10 +488,10 @@ public class ChannelConnections {
 
         logger.debug(" start connect. ");
         // init netty
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        workerGroup = ChannelTransport.newEventLoopGroup(nativeTransport, 0);
 
         bootstrap.group(workerGroup);
-        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.channel(ChannelTransport.socketChannelClass(workerGroup));
         bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
         // set connect timeout
         bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout);
@@ -484,6 +512,7 @@ public class ChannelConnections {
                         ChannelHandler handler = new ChannelHandler();
                         handler.setConnections(selfService);
                         handler.setThreadPool(selfThreadPool);
+                        handler.setDispatcher(dispatcher);
 
                         SslHandler sslHandler = sslCtx.newHandler(ch.alloc());
                         /** set ssl handshake timeout */
@@ -492,6 +521,8 @@ public class ChannelConnections {
                         ch.pipeline()
                                 .addLast(
                                         sslHandler,
+                                        new FlushConsolidationHandler(),
+                                        messageEncoder,
                                         new LengthFieldBasedFrameDecoder(
                                                 Integer.MAX_VALUE, 0, 4, -4, 0),
                                         new IdleStateHandler(
@@ -578,6 +609,32 @@ public class ChannelConnections {
         /** periodically reconnected to a broken node, default period: 20s */
         scheduledExecutorService.scheduleAtFixedRate(
                 () -> reconnect(), 0, reconnectDelay, TimeUnit.MILLISECONDS);
+
+        /** periodically eject outlier nodes when routing by load, with the heartbeat period */
+        scheduledExecutorService.scheduleAtFixedRate(
+                () -> checkOutliers(), heartBeatDelay, heartBeatDelay, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkOutliers() {
+        if (nodeSelectionStrategy instanceof LeastLoadedStrategy) {
+            ((LeastLoadedStrategy) nodeSelectionStrategy).checkOutliers(nodeIndex.getSnapshot());
+        }
+    }
+
+    /**
+     * stop the period tasks, close the connections and shut down the event loop, the connections
+     * can not be started again
+     */
+    public void stop() {
+        scheduledExecutorService.shutdownNow();
+        for (ChannelHandlerContext ctx : networkConnections.values()) {
+            ctx.close();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully();
+        }
+
+        logger.debug(" stop connections, groupId: {}", groupId);
     }
 
     private SslContext initSslContextForConnect() throws SSLException {
@@ -594,7 +651,9 @@ public class ChannelConnections {
                             .keyManager(
                                     keystorecaResource.getInputStream(),
                                     keystorekeyResource.getInputStream())
-                            .sslProvider(SslProvider.JDK)
+                            .sslProvider(
+                                    ChannelTransport.sslProvider(
+                                            openSsl, caResource, keystorecaResource))
                             .build();
         } catch (Exception e) {
             logger.error(
@@ -619,7 +678,9 @@ public class ChannelConnections {
                                     keystorecaResource.getInputStream(),
                                     keystorekeyResource.getInputStream())
                             .trustManager(caInputStream)
-                            .sslProvider(SslProvider.JDK)
+                            .sslProvider(
+                                    ChannelTransport.sslProvider(
+                                            openSsl, caResource, keystorecaResource))
                             .build();
         } catch (Exception e) {
             logger.debug("SSLCONTEXT ***********" + e.getMessage());
@@ -704,6 +765,27 @@ public class ChannelConnections {
         this.connectTimeout = connectTimeout;
     }
 
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
+    /** @param nativeTransport true to use the epoll transport when available, default true */
+    public void setNativeTransport(boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+    }
+
+    public boolean isOpenSsl() {
+        return openSsl;
+    }
+
+    /**
+     * @param openSsl true to use the OpenSSL engine when available and the certificates are
+     *     supported, default false
+     */
+    public void setOpenSsl(boolean openSsl) {
+        this.openSsl = openSsl;
+    }
+
     public long getSslHandShakeTimeout() {
         return sslHandShakeTimeout;
     }
@@ -9,6 +9,7 @@ import io.netty.handler.ssl.SslHandshakeCompletionEvent;
 import io.netty.handler.timeout.IdleStateEvent;
 import java.util.Objects;
 import java.util.concurrent.RejectedExecutionException;
+import org.fisco.bcos.channel.dispatch.ChannelDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -140,7 +141,9 @@ public class ChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
         final ChannelHandlerContext ctxF = ctx;
         final ByteBuf in = (ByteBuf) msg;
         try {
-            if (threadPool == null) {
+            if (dispatcher != null) {
+                dispatcher.dispatch(connections, ctx, in);
+            } else if (threadPool == null) {
                 connections.onReceiveMessage(ctx, in);
             } else {
                 threadPool.execute(
@@ -154,6 +157,7 @@ public class ChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         } catch (RejectedExecutionException e) {
             logger.error("threadPool is full, reject to request", e);
+            in.release();
         }
     }
 
@@ -201,6 +205,15 @@ public class ChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
         logger.debug("set threadPool:{}", threadPool == null);
     }
 
+    public ChannelDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(ChannelDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     private ChannelConnections connections;
     private ThreadPoolTaskExecutor threadPool;
+    private ChannelDispatcher dispatcher;
 }
@@ -6,6 +6,7 @@ import io.netty.util.AttributeKey;
 import org.fisco.bcos.channel.protocol.ChannelProtocol;
 import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
 import org.fisco.bcos.channel.protocol.EnumSocketChannelAttributeKey;
+import org.fisco.bcos.channel.selector.ChannelNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,11 +20,24 @@ public class ChannelHandlerContextHelper {
         channelProtocol.setProtocol(version.getVersionNumber());
         channelProtocol.setNodeVersion(nodeVersion);
         channelProtocol.setEnumProtocol(version);
+        setChannelProtocol(ctx, channelProtocol);
+    }
+
+    /**
+     * set the negotiated protocol, the node of every group on the channel becomes available for
+     * requests
+     */
+    public static void setChannelProtocol(
+            ChannelHandlerContext ctx, ChannelProtocol channelProtocol) {
         ctx.channel()
                 .attr(
                         AttributeKey.valueOf(
                                 EnumSocketChannelAttributeKey.CHANNEL_PROTOCOL_KEY.getKey()))
                 .set(channelProtocol);
+
+        for (ChannelNode node : ChannelNode.all(ctx)) {
+            node.setAvailable();
+        }
     }
 
     public static void setCtxAttibuteValue(ChannelHandlerContext ctx, String key, String value) {
@@ -34,11 +48,6 @@ public class ChannelHandlerContextHelper {
 
     public static EnumChannelProtocolVersion getProtocolVersion(ChannelHandlerContext ctx) {
 
-        SocketChannel socketChannel = (SocketChannel) ctx.channel();
-        String hostAddress = socketChannel.remoteAddress().getAddress().getHostAddress();
-        int port = socketChannel.remoteAddress().getPort();
-
-        String host = hostAddress + ":" + port;
         AttributeKey<ChannelProtocol> attributeKey =
                 AttributeKey.valueOf(EnumSocketChannelAttributeKey.CHANNEL_PROTOCOL_KEY.getKey());
 
@@ -50,7 +59,7 @@ public class ChannelHandlerContextHelper {
 
                 return channelProtocol.getEnumProtocol();
             } else {
-                logger.debug(" channel has attr but get null, host: {}", host);
+                logger.debug(" channel has attr but get null, host: {}", getPeerHost(ctx));
             }
         }
 
@@ -0,0 +1,167 @@
+package org.fisco.bcos.channel.handler;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslProvider;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.sec.SECObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Netty transport and TLS engine of the channel connections. The epoll transport is used when its
+ * native library can be loaded (linux), NIO otherwise. The OpenSSL engine of netty-tcnative
+ * (BoringSSL) is used when requested, available and able to handle the certificates: BoringSSL has
+ * neither the secp256k1 nor the SM2 (guomi) curve, certificates on those curves keep the JDK
+ * engine. The nodes must also accept a key exchange group BoringSSL supports.
+ */
+public final class ChannelTransport {
+    private static Logger logger = LoggerFactory.getLogger(ChannelTransport.class);
+
+    private static final String BEGIN_CERTIFICATE = "-----BEGIN CERTIFICATE-----";
+    private static final String END_CERTIFICATE = "-----END CERTIFICATE-----";
+
+    // elliptic curves of the certificates the OpenSSL engine can verify and sign with
+    private static final Set<ASN1ObjectIdentifier> OPENSSL_CURVES =
+            new HashSet<ASN1ObjectIdentifier>(
+                    Arrays.asList(
+                            SECObjectIdentifiers.secp256r1,
+                            SECObjectIdentifiers.secp384r1,
+                            SECObjectIdentifiers.secp521r1));
+
+    private ChannelTransport() {}
+
+    /**
+     * @param nativeTransport true to use the epoll transport if available
+     * @param threads number of event loop threads, 0 for the netty default
+     * @return epoll event loop group if requested and available, nio event loop group otherwise
+     */
+    public static EventLoopGroup newEventLoopGroup(boolean nativeTransport, int threads) {
+        if (nativeTransport) {
+            if (Epoll.isAvailable()) {
+                return new EpollEventLoopGroup(threads);
+            }
+            logger.info(
+                    " epoll transport not available, use nio, cause: {}",
+                    Objects.toString(Epoll.unavailabilityCause()));
+        }
+        return new NioEventLoopGroup(threads);
+    }
+
+    /** @return socket channel class matching the transport of the group */
+    public static Class<? extends SocketChannel> socketChannelClass(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup
+                ? EpollSocketChannel.class
+                : NioSocketChannel.class;
+    }
+
+    /** @return server socket channel class matching the transport of the group */
+    public static Class<? extends ServerSocketChannel> serverSocketChannelClass(
+            EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup
+                ? EpollServerSocketChannel.class
+                : NioServerSocketChannel.class;
+    }
+
+    /**
+     * @param openSsl true to use the OpenSSL engine if possible
+     * @param certificates pem certificates of the connection, ca and sdk certificate
+     * @return {@link SslProvider#OPENSSL} if requested, available and all certificates are
+     *     supported, {@link SslProvider#JDK} otherwise
+     */
+    public static SslProvider sslProvider(boolean openSsl, Resource... certificates) {
+        if (!openSsl) {
+            return SslProvider.JDK;
+        }
+
+        if (!OpenSsl.isAvailable()) {
+            logger.info(
+                    " openssl not available, use jdk ssl, cause: {}",
+                    Objects.toString(OpenSsl.unavailabilityCause()));
+            return SslProvider.JDK;
+        }
+
+        for (Resource certificate : certificates) {
+            if (!isOpenSslSupported(certificate)) {
+                logger.info(
+                        " certificate {} not supported by openssl, use jdk ssl",
+                        certificate.getDescription());
+                return SslProvider.JDK;
+            }
+        }
+        return SslProvider.OPENSSL;
+    }
+
+    /**
+     * @param certificate pem certificate, all certificates of a chain are checked
+     * @return true if every certificate key is RSA or on a curve the OpenSSL engine supports, false
+     *     if not or the certificate can not be read
+     */
+    public static boolean isOpenSslSupported(Resource certificate) {
+        String pem;
+        try (InputStream in = certificate.getInputStream()) {
+            pem = StreamUtils.copyToString(in, StandardCharsets.US_ASCII);
+        } catch (Exception e) {
+            logger.debug(" read certificate failed, message: {}", e.getMessage());
+            return false;
+        }
+
+        boolean found = false;
+        int begin = pem.indexOf(BEGIN_CERTIFICATE);
+        while (begin >= 0) {
+            int end = pem.indexOf(END_CERTIFICATE, begin);
+            if (end < 0) {
+                return false;
+            }
+
+            String base64 =
+                    pem.substring(begin + BEGIN_CERTIFICATE.length(), end).replaceAll("\\s", "");
+            try {
+                AlgorithmIdentifier algorithm =
+                        Certificate.getInstance(Base64.getDecoder().decode(base64))
+                                .getSubjectPublicKeyInfo()
+                                .getAlgorithm();
+                if (!isOpenSslSupported(algorithm)) {
+                    return false;
+                }
+            } catch (Exception e) {
+                logger.debug(" parse certificate failed, message: {}", e.getMessage());
+                return false;
+            }
+
+            found = true;
+            begin = pem.indexOf(BEGIN_CERTIFICATE, end);
+        }
+        return found;
+    }
+
+    private static boolean isOpenSslSupported(AlgorithmIdentifier algorithm) {
+        if (PKCSObjectIdentifiers.rsaEncryption.equals(algorithm.getAlgorithm())) {
+            return true;
+        }
+        return X9ObjectIdentifiers.id_ecPublicKey.equals(algorithm.getAlgorithm())
+                && OPENSSL_CURVES.contains(algorithm.getParameters());
+    }
+}
@@ -5,17 +5,15 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.util.AttributeKey;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
 import java.io.IOException;
-import java.math.BigInteger;
-import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.fisco.bcos.channel.client.BcosResponseCallback;
+import org.fisco.bcos.channel.client.BlockNumberTracker;
 import org.fisco.bcos.channel.client.Service;
 import org.fisco.bcos.channel.dto.BcosMessage;
 import org.fisco.bcos.channel.dto.BcosResponse;
@@ -27,7 +25,7 @@ import org.fisco.bcos.channel.protocol.ChannelMessageType;
 import org.fisco.bcos.channel.protocol.ChannelPrococolExceiption;
 import org.fisco.bcos.channel.protocol.ChannelProtocol;
 import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
-import org.fisco.bcos.channel.protocol.EnumSocketChannelAttributeKey;
+import org.fisco.bcos.channel.selector.ChannelNode;
 import org.fisco.bcos.fisco.EnumNodeVersion;
 import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
@@ -64,6 +62,8 @@ public class ConnectionCallback implements ChannelConnections.Callback {
 
     private Service channelService;
     private Set<String> topics;
+    // set if the group connects through connections shared with other groups
+    private SharedChannelConnections sharedConnections;
 
     public Service getChannelService() {
         return channelService;
@@ -73,6 +73,14 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         this.channelService = channelService;
     }
 
+    public SharedChannelConnections getSharedConnections() {
+        return sharedConnections;
+    }
+
+    public void setSharedConnections(SharedChannelConnections sharedConnections) {
+        this.sharedConnections = sharedConnections;
+    }
+
     public ConnectionCallback(Set<String> topics) {
         this.topics = topics;
     }
@@ -90,10 +98,8 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         String host = ChannelHandlerContextHelper.getPeerHost(ctx);
         logger.info(" connect {} success, ctx: {}", host, System.identityHashCode(ctx));
         try {
-            // must set to BigInteger.ONE
-            // since sdk only get and initialize blockNumber when the init blockNumber is
-            // BigInteger.ONE
-            channelService.setNumber(BigInteger.ONE);
+            // sdk only queries and initializes the blockNumber when it is unknown
+            channelService.getBlockNumberTracker().set(BlockNumberTracker.UNKNOWN);
 
             // query connected node version for deciding if send channel protocol handshake packet
             queryNodeVersion(ctx);
@@ -105,13 +111,37 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         }
     }
 
+    @Override
+    public void onSharedConnect(ChannelHandlerContext ctx) {
+        logger.info(
+                " shared connection {} negotiated, group: {}",
+                ChannelHandlerContextHelper.getPeerHost(ctx),
+                channelService.getGroupId());
+        try {
+            channelService.getBlockNumberTracker().set(BlockNumberTracker.UNKNOWN);
+            queryBlockNumber(ctx);
+        } catch (JsonProcessingException e) {
+            logger.error(
+                    " query block number exception, ctx: {}, message: {} ", ctx, e.getMessage());
+        }
+    }
+
+    // subscribe the topics and query the block number once the protocol is negotiated
+    private void onNegotiated(ChannelHandlerContext ctx) throws JsonProcessingException {
+        sendUpdateTopicMessage(ctx);
+        queryBlockNumber(ctx);
+        if (Objects.nonNull(sharedConnections)) {
+            sharedConnections.onNegotiated(ctx, this);
+        }
+    }
+
     private void queryChannelProtocolVersion(ChannelHandlerContext ctx)
             throws ChannelPrococolExceiption, IOException {
 
         final String host = ChannelHandlerContextHelper.getPeerHost(ctx);
 
         ChannelHandshake channelHandshake = new ChannelHandshake();
-        String seq = UUID.randomUUID().toString().replaceAll("-", "");
+        String seq = channelService.newSeq();
 
         byte[] payload = ObjectMapperFactory.getObjectMapper().writeValueAsBytes(channelHandshake);
         String content = new String(payload);
@@ -125,10 +155,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         bcosMessage.setResult(0);
         bcosMessage.setData(payload);
 
-        ByteBuf byteBuf = ctx.alloc().buffer();
-        bcosMessage.writeHeader(byteBuf);
-        bcosMessage.writeExtra(byteBuf);
-        ctx.writeAndFlush(byteBuf);
+        ctx.writeAndFlush(bcosMessage);
 
         channelService
                 .getSeq2Callback()
@@ -169,16 +196,11 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                                             host,
                                             channelProtocol);
 
-                                    ctx.channel()
-                                            .attr(
-                                                    AttributeKey.valueOf(
-                                                            EnumSocketChannelAttributeKey
-                                                                    .CHANNEL_PROTOCOL_KEY.getKey()))
-                                            .set(channelProtocol);
+                                    ChannelHandlerContextHelper.setChannelProtocol(
+                                            ctx, channelProtocol);
 
                                     //
-                                    sendUpdateTopicMessage(ctx);
-                                    queryBlockNumber(ctx);
+                                    onNegotiated(ctx);
                                     // channelService.getEventLogFilterManager().sendFilter();
 
                                 } catch (Exception e) {
@@ -196,7 +218,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
 
         final String host = ChannelHandlerContextHelper.getPeerHost(ctx);
 
-        String seq = UUID.randomUUID().toString().replaceAll("-", "");
+        String seq = channelService.newSeq();
 
         Request<?, NodeVersion> request =
                 new Request<>("getClientVersion", Arrays.asList(), null, NodeVersion.class);
@@ -212,10 +234,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         bcosMessage.setResult(0);
         bcosMessage.setData(payload);
 
-        ByteBuf byteBuf = ctx.alloc().buffer();
-        bcosMessage.writeHeader(byteBuf);
-        bcosMessage.writeExtra(byteBuf);
-        ctx.writeAndFlush(byteBuf);
+        ctx.writeAndFlush(bcosMessage);
 
         BcosResponseCallback callback =
                 new BcosResponseCallback() {
@@ -234,8 +253,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                                 logger.info(
                                         " query node version timeout, content: {}",
                                         response.getContent());
-                                sendUpdateTopicMessage(ctx);
-                                queryBlockNumber(ctx);
+                                onNegotiated(ctx);
                                 return;
                             } else if (response.getErrorCode() != 0) {
 
@@ -282,8 +300,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                                         nodeVersion.getResult(),
                                         response.getContent());
 
-                                sendUpdateTopicMessage(ctx);
-                                queryBlockNumber(ctx);
+                                onNegotiated(ctx);
                                 // channelService.getEventLogFilterManager().sendFilter();
                             }
 
@@ -321,19 +338,19 @@ public class ConnectionCallback implements ChannelConnections.Callback {
         Message message = new Message();
         message.setResult(0);
         message.setType((short) ChannelMessageType.AMOP_CLIENT_TOPICS.getType());
-        message.setSeq(UUID.randomUUID().toString().replaceAll("-", ""));
+        message.setSeq(channelService.newSeq());
 
         topics.add("_block_notify_" + channelService.getGroupId());
+        // a shared connection subscribes the topics of all groups
+        Set<String> subscribed =
+                Objects.isNull(sharedConnections) ? topics : sharedConnections.getTopics();
 
-        message.setData(ObjectMapperFactory.getObjectMapper().writeValueAsBytes(topics.toArray()));
+        message.setData(
+                ObjectMapperFactory.getObjectMapper().writeValueAsBytes(subscribed.toArray()));
 
         String content = new String(message.getData());
 
-        ByteBuf out = ctx.alloc().buffer();
-        message.writeHeader(out);
-        message.writeExtra(out);
-
-        ctx.writeAndFlush(out);
+        ctx.writeAndFlush(message);
 
         logger.info(
                 " send update topic message request, seq: {}, content: {}",
@@ -361,10 +378,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                         BlockNumber.class);
 
         bcosMessage.setData(ObjectMapperFactory.getObjectMapper().writeValueAsBytes(request));
-        ByteBuf byteBuf = ctx.alloc().buffer();
-        bcosMessage.writeHeader(byteBuf);
-        bcosMessage.writeExtra(byteBuf);
-        ctx.writeAndFlush(byteBuf);
+        ctx.writeAndFlush(bcosMessage);
 
         String content = new String(bcosMessage.getData());
         logger.info(" query block number host: {}, seq: {}, content: {}", host, seq, content);
@@ -378,19 +392,20 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                             public void onResponse(BcosResponse response) {
                                 try {
                                     BlockNumber blockNumber =
-                                            ObjectMapperFactory.getObjectMapper()
-                                                    .readValue(
-                                                            response.getContent(),
-                                                            BlockNumber.class);
+                                            response.readContent(
+                                                    ObjectMapperFactory.getObjectMapper(),
+                                                    BlockNumber.class);
 
-                                    SocketChannel socketChannel = (SocketChannel) ctx.channel();
-                                    InetSocketAddress socketAddress = socketChannel.remoteAddress();
                                     channelService
-                                            .getNodeToBlockNumberMap()
-                                            .put(
-                                                    socketAddress.getAddress().getHostAddress()
-                                                            + socketAddress.getPort(),
-                                                    blockNumber.getBlockNumber());
+                                            .getBlockNumberTracker()
+                                            .update(
+                                                    ctx.channel(),
+                                                    blockNumber.getBlockNumber().longValue());
+                                    ChannelNode node = channelService.getNode(ctx);
+                                    if (node != null) {
+                                        node.updateBlockNumber(
+                                                blockNumber.getBlockNumber().longValue());
+                                    }
 
                                     logger.info(
                                             " query blocknumer, host:{}, blockNumber: {} ",
@@ -412,6 +427,10 @@ public class ConnectionCallback implements ChannelConnections.Callback {
     public void onDisconnect(ChannelHandlerContext ctx) {
         final String host = ChannelHandlerContextHelper.getPeerHost(ctx);
         channelService.getEventLogFilterManager().updateEventLogFilterStatus(ctx);
+        channelService.getBlockNumberTracker().remove(ctx.channel());
+        if (channelService.getReceiptReconciler() != null) {
+            channelService.getReceiptReconciler().onDisconnect(ctx);
+        }
         logger.debug(" disconnect, host: {}, ctx: {}", host, System.identityHashCode(ctx));
     }
 
@@ -421,7 +440,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
             Message msg = new Message();
 
             try {
-                msg.readHeader(message);
+                msg.readHeader(message, channelService.getSeqGenerator());
             } catch (Exception e) {
                 String host =
                         ((SocketChannel) ctx.channel())
@@ -451,14 +470,14 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                 channelService.onReceiveChannelMessage2(ctx, channelMessage);
             } else if (msg.getType() == ChannelMessageType.CHANNEL_RPC_REQUEST.getType()) {
                 BcosMessage fiscoMessage = new BcosMessage(msg);
-                fiscoMessage.readExtra(message);
+                fiscoMessage.sliceExtra(message);
                 channelService.onReceiveEthereumMessage(ctx, fiscoMessage);
             } else if (msg.getType() == ChannelMessageType.CLIENT_HEARTBEAT.getType()) {
                 msg.readExtra(message);
                 channelService.onReceiveHeartbeat(ctx, msg);
             } else if (msg.getType() == ChannelMessageType.CLIENT_HANDSHAKE.getType()) {
                 BcosMessage fiscoMessage = new BcosMessage(msg);
-                fiscoMessage.readExtra(message);
+                fiscoMessage.sliceExtra(message);
                 channelService.onReceiveEthereumMessage(ctx, fiscoMessage);
             } else if (msg.getType() == ChannelMessageType.CLIENT_REGISTER_EVENT_LOG.getType()) {
                 ChannelMessage2 channelMessage = new ChannelMessage2(msg);
@@ -466,7 +485,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                 channelService.onReceiveRegisterEventResponse(ctx, channelMessage);
             } else if (msg.getType() == ChannelMessageType.TRANSACTION_NOTIFY.getType()) {
                 BcosMessage fiscoMessage = new BcosMessage(msg);
-                fiscoMessage.readExtra(message);
+                fiscoMessage.sliceExtra(message);
                 channelService.onReceiveTransactionMessage(ctx, fiscoMessage);
             } else if (msg.getType() == ChannelMessageType.BLOCK_NOTIFY.getType()) {
                 // new block notify
@@ -475,7 +494,7 @@ public class ConnectionCallback implements ChannelConnections.Callback {
                 channelService.onReceiveBlockNotify(ctx, channelMessage);
             } else if (msg.getType() == ChannelMessageType.EVENT_LOG_PUSH.getType()) {
                 BcosMessage bcosMessage = new BcosMessage(msg);
-                bcosMessage.readExtra(message);
+                bcosMessage.sliceExtra(message);
                 channelService.onReceiveEventLogPush(ctx, bcosMessage);
             } else if (msg.getType() == ChannelMessageType.REQUEST_TOPICCERT.getType()) {
                 logger.info("get generate rand value request data");
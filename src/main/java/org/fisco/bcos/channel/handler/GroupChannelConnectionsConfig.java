@@ -1,6 +1,8 @@
 package org.fisco.bcos.channel.handler;
 
 import java.util.List;
+import javax.net.ssl.SSLException;
+import org.fisco.bcos.channel.client.Service;
 import org.springframework.core.io.Resource;
 
 public class GroupChannelConnectionsConfig {
@@ -10,6 +12,10 @@ public class GroupChannelConnectionsConfig {
     private Resource sslCert;
     private Resource sslKey;
 
+    // groups connect through one connection per node
+    private boolean shareConnections = false;
+    private SharedChannelConnections sharedConnections;
+
     public List<ChannelConnections> getAllChannelConnections() {
         return allChannelConnections;
     }
@@ -41,4 +47,50 @@ public class GroupChannelConnectionsConfig {
     public void setSslKey(Resource sslKey) {
         this.sslKey = sslKey;
     }
+
+    public boolean isShareConnections() {
+        return shareConnections;
+    }
+
+    /**
+     * share one connection per node between the groups, the services of the groups must use this
+     * configuration. Should be called before the services are run.
+     *
+     * @param shareConnections true to share the connections
+     */
+    public void setShareConnections(boolean shareConnections) {
+        this.shareConnections = shareConnections;
+    }
+
+    /**
+     * connect the group through the shared connections, created by the first group
+     *
+     * @param channelConnections initialized connections configuration of the group
+     * @param service service of the group
+     * @return the shared connections
+     * @throws SSLException if the ssl context can not be initialized
+     */
+    public synchronized SharedChannelConnections acquireSharedConnections(
+            ChannelConnections channelConnections, Service service) throws SSLException {
+        if (sharedConnections == null || sharedConnections.isStopped()) {
+            sharedConnections = new SharedChannelConnections();
+        }
+        sharedConnections.acquire(channelConnections, service);
+        return sharedConnections;
+    }
+
+    /**
+     * disconnect the group from the shared connections, closed with the last group
+     *
+     * @param channelConnections connections configuration of the group
+     */
+    public synchronized void releaseSharedConnections(ChannelConnections channelConnections) {
+        if (sharedConnections != null) {
+            sharedConnections.release(channelConnections);
+        }
+    }
+
+    public synchronized SharedChannelConnections getSharedConnections() {
+        return sharedConnections;
+    }
 }
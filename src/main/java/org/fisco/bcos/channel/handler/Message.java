@@ -1,8 +1,19 @@
 package org.fisco.bcos.channel.handler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.channel.seq.IdSeqGenerator;
+import org.fisco.bcos.channel.seq.SeqGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,11 +37,108 @@ public class Message implements Serializable {
         result = in.readInt();
     }
 
+    /**
+     * read header and decode the seq into a primitive id, the seq string is only built on demand
+     * when the seq was produced by seqGenerator
+     *
+     * @param in inbound frame
+     * @param seqGenerator generator of the local seq values
+     */
+    public void readHeader(ByteBuf in, SeqGenerator seqGenerator) {
+        length = in.readInt();
+        type = in.readShort();
+
+        int seqIndex = in.readerIndex();
+        seqId = seqGenerator.toId(in, seqIndex);
+        if (seqId != SeqGenerator.NO_SEQ) {
+            // only an IdSeqGenerator gives ids
+            this.seqGenerator = (IdSeqGenerator) seqGenerator;
+            seq = null;
+        } else {
+            seq = in.toString(seqIndex, SeqGenerator.SEQ_LENGTH, StandardCharsets.UTF_8);
+        }
+        in.skipBytes(SeqGenerator.SEQ_LENGTH);
+
+        result = in.readInt();
+    }
+
+    /** copy the header fields of msg, keeps the decoded seq id */
+    protected void copyHeader(Message msg) {
+        length = msg.length;
+        type = msg.type;
+        seq = msg.seq;
+        seqId = msg.seqId;
+        seqGenerator = msg.seqGenerator;
+        result = msg.result;
+    }
+
     public void readExtra(ByteBuf in) {
         data = new byte[length - HEADER_LENGTH];
         in.readBytes(data, 0, length - HEADER_LENGTH);
     }
 
+    /**
+     * read the payload as a slice of the frame instead of copying it, the slice is only valid until
+     * the frame is released, {@link #getData()} copies it on demand
+     *
+     * @param in inbound frame
+     */
+    public void sliceExtra(ByteBuf in) {
+        payload = in.readSlice(length - HEADER_LENGTH);
+        data = null;
+    }
+
+    /** @return slice of the frame read by {@link #sliceExtra(ByteBuf)}, null otherwise */
+    public ByteBuf getPayload() {
+        return payload;
+    }
+
+    /**
+     * parse the json payload without copying the frame into a byte array or string first
+     *
+     * @param objectMapper object mapper
+     * @param valueType type of the value
+     * @return parsed value
+     * @throws IOException if the payload is not a valid value
+     */
+    public <T> T readData(ObjectMapper objectMapper, Class<T> valueType) throws IOException {
+        if (payload == null) {
+            return objectMapper.readValue(data, valueType);
+        }
+        return readValue(objectMapper, payload, valueType);
+    }
+
+    /** @return payload as utf-8 string, for logging */
+    public String getDataString() {
+        if (payload == null) {
+            return data == null ? null : new String(data, StandardCharsets.UTF_8);
+        }
+        return payload.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * parse json from the readable bytes of buf, the reader index is not changed
+     *
+     * @param objectMapper object mapper
+     * @param buf json bytes
+     * @param valueType type of the value
+     * @return parsed value
+     * @throws IOException if the bytes are not a valid value
+     */
+    public static <T> T readValue(ObjectMapper objectMapper, ByteBuf buf, Class<T> valueType)
+            throws IOException {
+        if (buf.hasArray()) {
+            return objectMapper.readValue(
+                    buf.array(),
+                    buf.arrayOffset() + buf.readerIndex(),
+                    buf.readableBytes(),
+                    valueType);
+        }
+        try (InputStream in = new ByteBufInputStream(buf.duplicate())) {
+            return objectMapper.readValue(in, valueType);
+        }
+    }
+
     public void writeHeader(ByteBuf out) {
         // 先计算总长度
         if (length.equals(0)) {
@@ -39,7 +147,7 @@ public class Message implements Serializable {
 
         out.writeInt(length);
         out.writeShort(type);
-        out.writeBytes(seq.getBytes(), 0, 32);
+        out.writeBytes(getSeq().getBytes(), 0, 32);
         out.writeInt(result);
     }
 
@@ -47,6 +155,58 @@ public class Message implements Serializable {
         out.writeBytes(data);
     }
 
+    /** @return size of the encoded frame, used to allocate the outbound buffer */
+    public int encodedLength() {
+        return HEADER_LENGTH + (data == null ? 0 : data.length);
+    }
+
+    /**
+     * encode the frame into a pooled io buffer of its size
+     *
+     * @param alloc allocator of the channel
+     * @return encoded frame
+     */
+    public ByteBuf encode(ByteBufAllocator alloc) {
+        ByteBuf out = alloc.ioBuffer(encodedLength());
+        try {
+            writeHeader(out);
+            writeExtra(out);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+        return out;
+    }
+
+    /**
+     * encode the frame with value serialized as json payload straight into out after the header,
+     * without an intermediate byte array or string. The payload is not kept in {@link #getData()}.
+     *
+     * @param out outbound buffer
+     * @param objectMapper object mapper
+     * @param value payload value
+     * @throws IOException if the value can not be serialized, out is left unchanged
+     */
+    public void writeJson(ByteBuf out, ObjectMapper objectMapper, Object value) throws IOException {
+        int index = out.writerIndex();
+        out.ensureWritable(HEADER_LENGTH);
+        out.writerIndex(index + HEADER_LENGTH);
+        try {
+            objectMapper.writeValue((OutputStream) new ByteBufOutputStream(out), value);
+        } catch (IOException | RuntimeException e) {
+            out.writerIndex(index);
+            throw e;
+        }
+
+        int end = out.writerIndex();
+        length = end - index;
+        data = null;
+        payload = null;
+        out.writerIndex(index);
+        writeHeader(out);
+        out.writerIndex(end);
+    }
+
     public Integer getLength() {
         return length;
     }
@@ -64,11 +224,21 @@ public class Message implements Serializable {
     }
 
     public String getSeq() {
+        if (seq == null && seqId != SeqGenerator.NO_SEQ) {
+            seq = seqGenerator.toSeq(seqId);
+        }
         return seq;
     }
 
     public void setSeq(String seq) {
         this.seq = seq;
+        this.seqId = SeqGenerator.NO_SEQ;
+        this.seqGenerator = null;
+    }
+
+    /** @return seq id decoded by {@link #readHeader(ByteBuf, SeqGenerator)}, or NO_SEQ */
+    public long getSeqId() {
+        return seqId;
     }
 
     public Integer getResult() {
@@ -80,17 +250,25 @@ public class Message implements Serializable {
     }
 
     public byte[] getData() {
+        if (data == null && payload != null) {
+            data = ByteBufUtil.getBytes(payload);
+        }
         return data;
     }
 
     public void setData(byte[] data) {
         this.data = data;
+        this.payload = null;
         this.length = data.length + HEADER_LENGTH;
     }
 
     protected Integer length = 0;
     protected Short type = 0;
     protected String seq = "";
+    protected long seqId = SeqGenerator.NO_SEQ;
+    protected transient IdSeqGenerator seqGenerator;
     protected Integer result = 0;
     protected byte[] data;
+    // slice of the inbound frame read by sliceExtra, data is copied from it on demand
+    protected transient ByteBuf payload;
 }
@@ -0,0 +1,29 @@
+package org.fisco.bcos.channel.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Encodes the messages written to the channel into pooled direct buffers of their encoded size, so
+ * messages can be written without building the frame first and several writes share one flush.
+ */
+@Sharable
+public class MessageEncoder extends MessageToByteEncoder<Message> {
+
+    public MessageEncoder() {
+        super(Message.class, true);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Message msg, boolean preferDirect) {
+        return ctx.alloc().ioBuffer(msg.encodedLength());
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Message msg, ByteBuf out) {
+        msg.writeHeader(out);
+        msg.writeExtra(out);
+    }
+}
@@ -0,0 +1,454 @@
+package org.fisco.bcos.channel.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.net.ssl.SSLException;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.fisco.bcos.channel.seq.SeqGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connections to the nodes of several groups, one connection per node whatever the number of
+ * groups. Each group keeps its own {@link ChannelConnections} for node selection, the shared
+ * connections are indexed into it when established. Inbound messages are demultiplexed to the group
+ * callbacks: responses and receipts by the seq prefix of the group service, block notify and amop
+ * pushes by topic.
+ *
+ * <p>The node version query, the protocol handshake and the topic subscription run once per
+ * connection, by the first group of the node, the other groups then only query their block number.
+ *
+ * <p>An amop topic subscribed by several groups is multicast to all of them, while an amop request
+ * is delivered to the first of them in the order the groups were added, since the node takes a
+ * single response to a request.
+ *
+ * <p>Groups are reference counted, the event loop, heartbeat and reconnect tasks and the timeout
+ * timer are started by the first group and stopped with the last one. Use {@link
+ * GroupChannelConnectionsConfig#setShareConnections(boolean)} to enable.
+ */
+public class SharedChannelConnections extends ChannelConnections {
+    private static Logger logger = LoggerFactory.getLogger(SharedChannelConnections.class);
+
+    private static final String BLOCK_NOTIFY_TOPIC_PREFIX = "_block_notify_";
+    // offset of the result field and of the topic length in a frame
+    private static final int RESULT_INDEX = 4 + 2 + SeqGenerator.SEQ_LENGTH;
+    private static final int TOPIC_INDEX = Message.HEADER_LENGTH;
+
+    private final List<Group> groups = new CopyOnWriteArrayList<Group>();
+    private final Timer timeoutHandler = new HashedWheelTimer();
+    private boolean started = false;
+    private boolean stopped = false;
+
+    private static class Group {
+        private final ChannelConnections connections;
+        private final Service service;
+        // ip:port of the group nodes
+        private final Set<String> endpoints = new HashSet<String>();
+        private final String blockNotifyTopic;
+
+        Group(ChannelConnections connections, Service service) {
+            this.connections = connections;
+            this.service = service;
+            for (ConnectionInfo connectionInfo : connections.getConnections()) {
+                endpoints.add(connectionInfo.getHost() + ":" + connectionInfo.getPort());
+            }
+            this.blockNotifyTopic = BLOCK_NOTIFY_TOPIC_PREFIX + service.getGroupId();
+        }
+
+        boolean ownsSeq(ByteBuf message, int seqIndex) {
+            return service.getSeqGenerator().toId(message, seqIndex) != SeqGenerator.NO_SEQ;
+        }
+
+        boolean subscribes(String topic) {
+            return blockNotifyTopic.equals(topic) || service.getTopics().contains(topic);
+        }
+    }
+
+    public SharedChannelConnections() {
+        setConnections(new CopyOnWriteArrayList<ConnectionInfo>());
+        setCallback(new Demultiplexer());
+    }
+
+    /**
+     * Add a group, connect to its nodes not connected yet. The first group starts the event loop
+     * and the period tasks with its settings.
+     *
+     * @param connections initialized connections configuration of the group
+     * @param service service of the group
+     * @throws SSLException if the ssl context can not be initialized
+     */
+    public synchronized void acquire(ChannelConnections connections, Service service)
+            throws SSLException {
+        if (stopped) {
+            throw new IllegalStateException(" shared connections are stopped");
+        }
+
+        addGroup(connections, service);
+        service.setTimeoutHandler(timeoutHandler);
+
+        if (!started) {
+            setCaCert(connections.getCaCert());
+            setSslCert(connections.getSslCert());
+            setSslKey(connections.getSslKey());
+            setThreadPool(connections.getThreadPool());
+            setDispatcher(connections.getDispatcher());
+            setIdleTimeout(connections.getIdleTimeout());
+            setHeartBeatDelay(connections.getHeartBeatDelay());
+            setConnectTimeout(connections.getConnectTimeout());
+            setSslHandShakeTimeout(connections.getSslHandShakeTimeout());
+            setNativeTransport(connections.isNativeTransport());
+            setOpenSsl(connections.isOpenSsl());
+
+            try {
+                startConnect();
+            } catch (RuntimeException | SSLException e) {
+                removeGroup(connections);
+                stop();
+                throw e;
+            }
+            startPeriodTask();
+            started = true;
+        } else {
+            // the new nodes are connected asynchronously, the service waits for them
+            reconnect();
+        }
+
+        logger.info(
+                " group {} uses shared connections, groups: {}, nodes: {}",
+                service.getGroupId(),
+                groups.size(),
+                getConnections().size());
+    }
+
+    /**
+     * Remove a group, the connections are closed when the last group is removed.
+     *
+     * @param connections connections configuration of the group
+     */
+    public synchronized void release(ChannelConnections connections) {
+        if (!removeGroup(connections)) {
+            return;
+        }
+
+        if (groups.isEmpty()) {
+            stop();
+            return;
+        }
+
+        // unsubscribe the topics of the removed group
+        for (ChannelHandlerContext ctx : getNetworkConnections().values()) {
+            if (ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
+                sendUpdateTopicMessage(ctx);
+            }
+        }
+    }
+
+    /** send the topics of all groups through the callback of the first group */
+    private void sendUpdateTopicMessage(ChannelHandlerContext ctx) {
+        List<Group> groups = this.groups;
+        if (!groups.isEmpty()
+                && groups.get(0).connections.getCallback() instanceof ConnectionCallback) {
+            try {
+                ((ConnectionCallback) groups.get(0).connections.getCallback())
+                        .sendUpdateTopicMessage(ctx);
+            } catch (Exception e) {
+                logger.debug(" e: ", e);
+            }
+        }
+    }
+
+    /**
+     * the connection has been negotiated by a group, which subscribed the topics of all groups, the
+     * other groups of the node may now use it
+     *
+     * @param ctx negotiated connection
+     * @param negotiator callback of the group which negotiated it
+     */
+    void onNegotiated(ChannelHandlerContext ctx, ChannelConnections.Callback negotiator) {
+        for (Group group : groups) {
+            if (group.connections.getCallback() != negotiator
+                    && group.connections.getNode(ctx) != null) {
+                group.connections.getCallback().onSharedConnect(ctx);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        super.stop();
+        timeoutHandler.stop();
+    }
+
+    public synchronized boolean isStopped() {
+        return stopped;
+    }
+
+    /** register the group and index the established connections to its nodes */
+    void addGroup(ChannelConnections connections, Service service) {
+        Group group = new Group(connections, service);
+        if (connections.getCallback() instanceof ConnectionCallback) {
+            ((ConnectionCallback) connections.getCallback()).setSharedConnections(this);
+        }
+        groups.add(group);
+
+        // connections negotiated already, the others are picked up once negotiated
+        List<ChannelHandlerContext> negotiated = new ArrayList<ChannelHandlerContext>();
+        for (ConnectionInfo connectionInfo : connections.getConnections()) {
+            String endpoint = connectionInfo.getHost() + ":" + connectionInfo.getPort();
+            ChannelHandlerContext ctx = getNetworkConnections().get(endpoint);
+            if (ctx == null) {
+                if (!isConfigured(endpoint)) {
+                    getConnections().add(connectionInfo);
+                }
+                continue;
+            }
+
+            connections.setAndGetNetworkConnectionByHost(
+                    connectionInfo.getHost(), connectionInfo.getPort(), ctx);
+            if (ChannelHandlerContextHelper.isChannelAvailable(ctx)) {
+                // protocol negotiated by another group
+                connections.getNode(ctx).setAvailable();
+                negotiated.add(ctx);
+            }
+        }
+
+        for (ChannelHandlerContext ctx : negotiated) {
+            // subscribe the topics of the new group too
+            sendUpdateTopicMessage(ctx);
+            connections.getCallback().onSharedConnect(ctx);
+        }
+    }
+
+    private boolean isConfigured(String endpoint) {
+        for (ConnectionInfo connectionInfo : getConnections()) {
+            if (endpoint.equals(connectionInfo.getHost() + ":" + connectionInfo.getPort())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** unregister the group, remove the shared connections from its index */
+    boolean removeGroup(ChannelConnections connections) {
+        Group group = find(connections);
+        if (group == null) {
+            return false;
+        }
+        groups.remove(group);
+
+        for (Map.Entry<String, ChannelHandlerContext> entry :
+                connections.getNetworkConnections().entrySet()) {
+            String[] endpoint = entry.getKey().split(":");
+            connections.removeNetworkConnectionByHost(
+                    endpoint[0], Integer.valueOf(endpoint[1]), entry.getValue());
+        }
+        return true;
+    }
+
+    private Group find(ChannelConnections connections) {
+        for (Group group : groups) {
+            if (group.connections == connections) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /** @return topics of all groups, sent to the nodes in place of the topics of one group */
+    public Set<String> getTopics() {
+        Set<String> topics = new HashSet<String>();
+        for (Group group : groups) {
+            topics.addAll(group.service.getTopics());
+            topics.add(group.blockNotifyTopic);
+        }
+        return topics;
+    }
+
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    public Timer getTimeoutHandler() {
+        return timeoutHandler;
+    }
+
+    @Override
+    public ChannelHandlerContext setAndGetNetworkConnectionByHost(
+            String host, Integer port, ChannelHandlerContext ctx) {
+        String endpoint = host + ":" + port;
+        for (Group group : groups) {
+            if (group.endpoints.contains(endpoint)) {
+                group.connections.setAndGetNetworkConnectionByHost(host, port, ctx);
+            }
+        }
+        return networkConnections.put(endpoint, ctx);
+    }
+
+    @Override
+    public void removeNetworkConnectionByHost(
+            String host, Integer port, ChannelHandlerContext ctx) {
+        String endpoint = host + ":" + port;
+        networkConnections.remove(endpoint, ctx);
+        for (Group group : groups) {
+            if (group.endpoints.contains(endpoint)) {
+                group.connections.removeNetworkConnectionByHost(host, port, ctx);
+            }
+        }
+    }
+
+    /** @return the group a frame is delivered to, null if there is no group */
+    private Group route(ByteBuf message) {
+        List<Group> groups = this.groups;
+        if (groups.size() <= 1) {
+            return groups.isEmpty() ? null : groups.get(0);
+        }
+
+        int index = message.readerIndex();
+        int type = message.getShort(index + 4);
+        if (type == ChannelMessageType.BLOCK_NOTIFY.getType()
+                || type == ChannelMessageType.AMOP_REQUEST.getType()) {
+            List<Group> subscribers = subscribers(message);
+            if (!subscribers.isEmpty()) {
+                // one response only to a request
+                return subscribers.get(0);
+            }
+        } else {
+            int seqIndex = index + 4 + 2;
+            for (Group group : groups) {
+                if (group.ownsSeq(message, seqIndex)) {
+                    return group;
+                }
+            }
+
+            // seq not produced by a group seq generator, look for the callback
+            String seq =
+                    message.toString(seqIndex, SeqGenerator.SEQ_LENGTH, StandardCharsets.UTF_8);
+            for (Group group : groups) {
+                if (group.service.getSeq2Callback().containsKey(seq)
+                        || group.service.getSeq2TransactionCallback().containsKey(seq)) {
+                    return group;
+                }
+            }
+        }
+
+        // heartbeat, topic verify and unknown messages
+        return groups.get(0);
+    }
+
+    /** @return the groups subscribing the topic of the frame, in the order they were added */
+    private List<Group> subscribers(ByteBuf message) {
+        List<Group> subscribers = new ArrayList<Group>();
+        String topic = readTopic(message, message.readerIndex());
+        if (topic != null) {
+            for (Group group : groups) {
+                if (group.subscribes(topic)) {
+                    subscribers.add(group);
+                }
+            }
+        }
+        return subscribers;
+    }
+
+    private static String readTopic(ByteBuf message, int index) {
+        if (message.readableBytes() <= TOPIC_INDEX || message.getInt(index + RESULT_INDEX) != 0) {
+            return null;
+        }
+
+        int topicLength = message.getUnsignedByte(index + TOPIC_INDEX) - 1;
+        if (topicLength < 0 || message.readableBytes() < TOPIC_INDEX + 1 + topicLength) {
+            return null;
+        }
+        return message.toString(index + TOPIC_INDEX + 1, topicLength, StandardCharsets.UTF_8);
+    }
+
+    /** Dispatches the events of the shared connections to the callbacks of the groups. */
+    private class Demultiplexer implements ChannelConnections.Callback {
+
+        @Override
+        public void onConnect(ChannelHandlerContext ctx) {
+            // indexed by the groups of the node when established, the first group negotiates the
+            // connection for all of them, see onNegotiated
+            for (Group group : groups) {
+                if (group.connections.getNode(ctx) != null) {
+                    group.connections.getCallback().onConnect(ctx);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onDisconnect(ChannelHandlerContext ctx) {
+            String endpoint = ChannelHandlerContextHelper.getPeerHost(ctx);
+            for (Group group : groups) {
+                if (group.endpoints.contains(endpoint)) {
+                    group.connections.getCallback().onDisconnect(ctx);
+                }
+            }
+        }
+
+        @Override
+        public void onMessage(ChannelHandlerContext ctx, ByteBuf message) {
+            int type = message.getShort(message.readerIndex() + 4);
+            if (type == ChannelMessageType.EVENT_LOG_PUSH.getType() && groups.size() > 1) {
+                // filters are looked up by id, groups without the filter ignore the push
+                try {
+                    for (Group group : groups) {
+                        if (!group.service
+                                .getEventLogFilterManager()
+                                .getFilterIDToCallback()
+                                .isEmpty()) {
+                            group.connections
+                                    .getCallback()
+                                    .onMessage(ctx, message.retainedDuplicate());
+                        }
+                    }
+                } finally {
+                    message.release();
+                }
+                return;
+            }
+            if (type == ChannelMessageType.AMOP_MULBROADCAST.getType() && groups.size() > 1) {
+                // multicast to every group subscribing the topic, the first if none does
+                List<Group> subscribers = subscribers(message);
+                if (subscribers.isEmpty()) {
+                    subscribers.add(groups.get(0));
+                }
+                try {
+                    for (Group group : subscribers) {
+                        group.connections.getCallback().onMessage(ctx, message.retainedDuplicate());
+                    }
+                } finally {
+                    message.release();
+                }
+                return;
+            }
+
+            Group group = route(message);
+            if (group == null) {
+                logger.debug(" no group for message, type: {}", type);
+                message.release();
+                return;
+            }
+            group.connections.getCallback().onMessage(ctx, message);
+        }
+
+        @Override
+        public void sendHeartbeat(ChannelHandlerContext ctx) {
+            List<Group> groups = SharedChannelConnections.this.groups;
+            if (!groups.isEmpty()) {
+                groups.get(0).connections.getCallback().sendHeartbeat(ctx);
+            }
+        }
+    }
+}
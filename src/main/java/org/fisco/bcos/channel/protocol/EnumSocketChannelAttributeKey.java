@@ -2,7 +2,8 @@ package org.fisco.bcos.channel.protocol;
 
 public enum EnumSocketChannelAttributeKey {
     CHANNEL_PROTOCOL_KEY("CHANNEL_PROTOCOL_KEY"),
-    CHANNEL_CONNECTED_KEY("CHANNEL_CONNECTED_KEY");
+    CHANNEL_CONNECTED_KEY("CHANNEL_CONNECTED_KEY"),
+    CHANNEL_NODE_KEY("CHANNEL_NODE_KEY");
 
     private EnumSocketChannelAttributeKey(String key) {
         this.key = key;
@@ -0,0 +1,182 @@
+package org.fisco.bcos.channel.selector;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.channel.protocol.EnumSocketChannelAttributeKey;
+
+/**
+ * A connected node as seen by node selection: the channel, the latest block number reported by the
+ * node and the request statistics. The node is attached to its channel, so it can be found from a
+ * {@link ChannelHandlerContext} without any lookup. A channel shared by several groups carries one
+ * node per group index.
+ */
+public class ChannelNode {
+
+    public static final long UNKNOWN_BLOCK_NUMBER = -1L;
+
+    private static final ChannelNode[] NO_NODES = new ChannelNode[0];
+
+    private static final AttributeKey<ChannelNode[]> NODES_KEY =
+            AttributeKey.valueOf(EnumSocketChannelAttributeKey.CHANNEL_NODE_KEY.getKey());
+
+    private final String endpoint;
+    private final ChannelHandlerContext context;
+    private final ChannelNodeIndex index;
+    private final ChannelNodeStats stats = new ChannelNodeStats();
+    private volatile boolean available = false;
+    private volatile long blockNumber = UNKNOWN_BLOCK_NUMBER;
+
+    ChannelNode(String endpoint, ChannelHandlerContext context, ChannelNodeIndex index) {
+        this.endpoint = endpoint;
+        this.context = context;
+        this.index = index;
+    }
+
+    /**
+     * @return the node attached to the channel, the node of the first group if the channel is
+     *     shared, null if the channel is not indexed
+     */
+    public static ChannelNode of(ChannelHandlerContext ctx) {
+        ChannelNode[] nodes = nodes(ctx);
+        return nodes.length == 0 ? null : nodes[0];
+    }
+
+    /** @return the node of the index attached to the channel, null if not indexed by index */
+    public static ChannelNode of(ChannelHandlerContext ctx, ChannelNodeIndex index) {
+        for (ChannelNode node : nodes(ctx)) {
+            if (node.index == index) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /** @return the nodes of every index the channel is attached to */
+    public static List<ChannelNode> all(ChannelHandlerContext ctx) {
+        return Collections.unmodifiableList(Arrays.asList(nodes(ctx)));
+    }
+
+    private static ChannelNode[] nodes(ChannelHandlerContext ctx) {
+        if (ctx == null) {
+            return NO_NODES;
+        }
+        ChannelNode[] nodes = ctx.channel().attr(NODES_KEY).get();
+        return nodes == null ? NO_NODES : nodes;
+    }
+
+    /** attach to the channel, replaces the node previously attached by the same index */
+    void attach() {
+        Attribute<ChannelNode[]> attribute = context.channel().attr(NODES_KEY);
+        while (true) {
+            ChannelNode[] nodes = attribute.get();
+            ChannelNode[] updated;
+            int i = indexOf(nodes, index);
+            if (i >= 0) {
+                updated = nodes.clone();
+                updated[i] = this;
+            } else if (nodes == null) {
+                updated = new ChannelNode[] {this};
+            } else {
+                updated = Arrays.copyOf(nodes, nodes.length + 1);
+                updated[nodes.length] = this;
+            }
+
+            if (attribute.compareAndSet(nodes, updated)) {
+                return;
+            }
+        }
+    }
+
+    void detach() {
+        Attribute<ChannelNode[]> attribute = context.channel().attr(NODES_KEY);
+        while (true) {
+            ChannelNode[] nodes = attribute.get();
+            int i = indexOf(nodes, index);
+            if (i < 0 || nodes[i] != this) {
+                return;
+            }
+
+            ChannelNode[] updated = new ChannelNode[nodes.length - 1];
+            System.arraycopy(nodes, 0, updated, 0, i);
+            System.arraycopy(nodes, i + 1, updated, i, updated.length - i);
+            if (attribute.compareAndSet(nodes, updated.length == 0 ? null : updated)) {
+                return;
+            }
+        }
+    }
+
+    private static int indexOf(ChannelNode[] nodes, ChannelNodeIndex index) {
+        if (nodes != null) {
+            for (int i = 0; i < nodes.length; ++i) {
+                if (nodes[i].index == index) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public ChannelHandlerContext getContext() {
+        return context;
+    }
+
+    /** @return true once the channel protocol is negotiated and requests can be sent */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable() {
+        if (!available) {
+            index.onAvailable(this);
+        }
+    }
+
+    void markAvailable() {
+        available = true;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public void updateBlockNumber(long blockNumber) {
+        if (this.blockNumber != blockNumber) {
+            index.onBlockNumber(this, blockNumber);
+        }
+    }
+
+    void setBlockNumber(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    public ChannelNodeStats getStats() {
+        return stats;
+    }
+
+    public int getInFlight() {
+        return stats.getInFlight();
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelNode{"
+                + "endpoint='"
+                + endpoint
+                + '\''
+                + ", available="
+                + available
+                + ", blockNumber="
+                + blockNumber
+                + ", stats="
+                + stats
+                + '}';
+    }
+}
@@ -0,0 +1,133 @@
+package org.fisco.bcos.channel.selector;
+
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nodes of one group that requests can be sent to. The index is updated when a connection is
+ * established or lost and when a node reports a new block number; every update publishes an
+ * immutable {@link Snapshot}, so selecting a node is a single volatile read.
+ */
+public class ChannelNodeIndex {
+
+    // endpoint -> node, guarded by this
+    private final Map<String, ChannelNode> nodes = new HashMap<String, ChannelNode>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Index a connection, the node becomes selectable once {@link ChannelNode#setAvailable()} is
+     * called.
+     *
+     * @param endpoint ip:port of the node
+     * @param ctx the connection
+     * @return the indexed node
+     */
+    public synchronized ChannelNode addNode(String endpoint, ChannelHandlerContext ctx) {
+        ChannelNode node = new ChannelNode(endpoint, ctx, this);
+        node.attach();
+        nodes.put(endpoint, node);
+        rebuild();
+        return node;
+    }
+
+    /** remove the node only if it is still indexed with this connection */
+    public synchronized void removeNode(String endpoint, ChannelHandlerContext ctx) {
+        ChannelNode node = nodes.get(endpoint);
+        if (node != null && node.getContext() == ctx) {
+            nodes.remove(endpoint);
+            node.detach();
+            rebuild();
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    synchronized void onAvailable(ChannelNode node) {
+        node.markAvailable();
+        if (nodes.get(node.getEndpoint()) == node) {
+            rebuild();
+        }
+    }
+
+    synchronized void onBlockNumber(ChannelNode node, long blockNumber) {
+        node.setBlockNumber(blockNumber);
+        if (node.isAvailable() && nodes.get(node.getEndpoint()) == node) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        snapshot = Snapshot.of(nodes.values());
+    }
+
+    /** Immutable view of the selectable nodes. */
+    public static class Snapshot {
+        static final Snapshot EMPTY =
+                new Snapshot(
+                        Collections.<ChannelNode>emptyList(),
+                        Collections.<ChannelNode>emptyList(),
+                        ChannelNode.UNKNOWN_BLOCK_NUMBER);
+
+        private final List<ChannelNode> nodes;
+        private final List<ChannelNode> maxBlockNodes;
+        private final long maxBlockNumber;
+
+        /** @return a snapshot of the available nodes among the given nodes */
+        public static Snapshot of(Collection<ChannelNode> candidates) {
+            List<ChannelNode> nodes = new ArrayList<ChannelNode>(candidates.size());
+            List<ChannelNode> maxBlockNodes = new ArrayList<ChannelNode>(candidates.size());
+            long maxBlockNumber = ChannelNode.UNKNOWN_BLOCK_NUMBER;
+            for (ChannelNode node : candidates) {
+                if (!node.isAvailable()) {
+                    continue;
+                }
+                nodes.add(node);
+
+                long blockNumber = node.getBlockNumber();
+                if (blockNumber > maxBlockNumber) {
+                    maxBlockNumber = blockNumber;
+                    maxBlockNodes.clear();
+                }
+                if (blockNumber == maxBlockNumber) {
+                    maxBlockNodes.add(node);
+                }
+            }
+
+            return new Snapshot(nodes, maxBlockNodes, maxBlockNumber);
+        }
+
+        Snapshot(List<ChannelNode> nodes, List<ChannelNode> maxBlockNodes, long maxBlockNumber) {
+            this.nodes = Collections.unmodifiableList(nodes);
+            this.maxBlockNodes = Collections.unmodifiableList(maxBlockNodes);
+            this.maxBlockNumber = maxBlockNumber;
+        }
+
+        /** @return all available nodes */
+        public List<ChannelNode> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * @return available nodes with the highest block number, all available nodes if no block
+         *     number is known yet
+         */
+        public List<ChannelNode> getMaxBlockNodes() {
+            return maxBlockNodes;
+        }
+
+        public long getMaxBlockNumber() {
+            return maxBlockNumber;
+        }
+
+        public boolean isEmpty() {
+            return nodes.isEmpty();
+        }
+    }
+}
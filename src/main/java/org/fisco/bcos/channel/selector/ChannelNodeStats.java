@@ -0,0 +1,151 @@
+package org.fisco.bcos.channel.selector;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request statistics of one connection: requests in flight, exponentially weighted moving average
+ * of the round trip latency and of the error rate, and the ejection state used by {@link
+ * LeastLoadedStrategy}. All updates are lock free.
+ */
+public class ChannelNodeStats {
+
+    // weight of the newest sample
+    private static final double ALPHA = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicLong requests = new AtomicLong(0);
+    private final AtomicLong errors = new AtomicLong(0);
+    private final AtomicLong ejections = new AtomicLong(0);
+    // samples since the last ejection, outlier detection needs a few of them
+    private final AtomicLong samples = new AtomicLong(0);
+    // double bits, 0 until the first sample
+    private final AtomicLong latencyNanos = new AtomicLong(0);
+    private final AtomicLong errorRate = new AtomicLong(0);
+    // System.currentTimeMillis() the ejection ends, 0 if not ejected
+    private final AtomicLong ejectedUntil = new AtomicLong(0);
+
+    /** a request is sent to the node */
+    public void onSend() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * a request sent to the node completed
+     *
+     * @param latency nanoseconds from send to response
+     * @param error true if the request failed or timed out
+     */
+    public void onComplete(long latency, boolean error) {
+        inFlight.decrementAndGet();
+        requests.incrementAndGet();
+        samples.incrementAndGet();
+        if (error) {
+            errors.incrementAndGet();
+        }
+
+        update(latencyNanos, latency, true);
+        update(errorRate, error ? 1 : 0, false);
+    }
+
+    private static void update(AtomicLong average, double sample, boolean initWithSample) {
+        while (true) {
+            long bits = average.get();
+            double value =
+                    (bits == 0 && initWithSample)
+                            ? sample
+                            : Double.longBitsToDouble(bits) * (1 - ALPHA) + sample * ALPHA;
+            if (average.compareAndSet(bits, Double.doubleToRawLongBits(value))) {
+                return;
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** @return average round trip latency in nanoseconds, 0 if no request completed yet */
+    public double getLatency() {
+        return Double.longBitsToDouble(latencyNanos.get());
+    }
+
+    public double getLatencyMillis() {
+        return getLatency() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** @return average error rate between 0 and 1 */
+    public double getErrorRate() {
+        return Double.longBitsToDouble(errorRate.get());
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    public long getEjectionCount() {
+        return ejections.get();
+    }
+
+    /** @return requests completed since the node was last ejected */
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    /**
+     * take the node out of selection, the latency and error averages restart when the ejection ends
+     *
+     * @param until System.currentTimeMillis() the ejection ends
+     */
+    public void eject(long until) {
+        ejectedUntil.set(until);
+        ejections.incrementAndGet();
+    }
+
+    public boolean isEjected() {
+        return isEjected(System.currentTimeMillis());
+    }
+
+    public boolean isEjected(long now) {
+        long until = ejectedUntil.get();
+        if (until == 0) {
+            return false;
+        }
+        if (now < until) {
+            return true;
+        }
+
+        if (ejectedUntil.compareAndSet(until, 0)) {
+            // give the node a fresh start, otherwise it is ejected again without any new sample
+            samples.set(0);
+            latencyNanos.set(0);
+            errorRate.set(0);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelNodeStats{"
+                + "inFlight="
+                + inFlight
+                + ", latencyMillis="
+                + getLatencyMillis()
+                + ", errorRate="
+                + getErrorRate()
+                + ", requests="
+                + requests
+                + ", errors="
+                + errors
+                + ", ejections="
+                + ejections
+                + ", ejected="
+                + isEjected()
+                + '}';
+    }
+}
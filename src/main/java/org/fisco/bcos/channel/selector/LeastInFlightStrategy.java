@@ -0,0 +1,33 @@
+package org.fisco.bcos.channel.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Node with the fewest requests in flight among all available nodes. The scan starts at a random
+ * node so that ties do not always go to the same node.
+ */
+public class LeastInFlightStrategy implements NodeSelectionStrategy {
+
+    @Override
+    public ChannelNode select(ChannelNodeIndex.Snapshot snapshot) {
+        List<ChannelNode> nodes = snapshot.getNodes();
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(size);
+        ChannelNode selected = null;
+        int minInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < size; ++i) {
+            ChannelNode node = nodes.get((start + i) % size);
+            int inFlight = node.getInFlight();
+            if (inFlight < minInFlight) {
+                minInFlight = inFlight;
+                selected = node;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,191 @@
+package org.fisco.bcos.channel.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends requests to the healthy node with the lowest load, the load of a node being its requests in
+ * flight weighted by its average latency. A node is not healthy if it lags behind the highest block
+ * number, or if it is ejected. Nodes are ejected for a while when their error rate is too high or
+ * their latency is an outlier compared to the fastest node. If no node is healthy the least loaded
+ * node is used anyway.
+ *
+ * <p>Selection only reads the statistics, outliers are ejected by {@link
+ * #checkOutliers(ChannelNodeIndex.Snapshot)}, which {@link
+ * org.fisco.bcos.channel.handler.ChannelConnections} calls with its heartbeat. Not the default
+ * strategy, set it with {@link
+ * org.fisco.bcos.channel.handler.ChannelConnections#setNodeSelectionStrategy}.
+ */
+public class LeastLoadedStrategy implements NodeSelectionStrategy {
+
+    private static Logger logger = LoggerFactory.getLogger(LeastLoadedStrategy.class);
+
+    private long maxBlockLag = 1;
+    private long ejectionTime = 30000;
+    private double maxErrorRate = 0.5;
+    private double outlierLatencyFactor = 3;
+    private long minOutlierLatency = 100;
+    private long minSamples = 10;
+
+    @Override
+    public ChannelNode select(ChannelNodeIndex.Snapshot snapshot) {
+        List<ChannelNode> nodes = snapshot.getNodes();
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        long minBlockNumber = minBlockNumber(snapshot);
+        double bestLatency = bestLatency(nodes, minBlockNumber, now);
+        double defaultLatency = bestLatency == Double.MAX_VALUE ? 1 : bestLatency;
+
+        // start at a random node so that ties do not always go to the same node
+        int start = ThreadLocalRandom.current().nextInt(size);
+        ChannelNode selected = null;
+        double selectedLoad = Double.MAX_VALUE;
+        ChannelNode fallback = null;
+        double fallbackLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; ++i) {
+            ChannelNode node = nodes.get((start + i) % size);
+            ChannelNodeStats stats = node.getStats();
+            double latency = stats.getLatency();
+            double load = (stats.getInFlight() + 1) * (latency > 0 ? latency : defaultLatency);
+
+            if (isHealthy(node, minBlockNumber, now)) {
+                if (load < selectedLoad) {
+                    selectedLoad = load;
+                    selected = node;
+                }
+            } else if (load < fallbackLoad) {
+                fallbackLoad = load;
+                fallback = node;
+            }
+        }
+
+        return selected != null ? selected : fallback;
+    }
+
+    /**
+     * eject the healthy nodes whose error rate is too high or whose latency is an outlier, called
+     * periodically rather than on each selection
+     *
+     * @param snapshot the selectable nodes
+     */
+    public void checkOutliers(ChannelNodeIndex.Snapshot snapshot) {
+        List<ChannelNode> nodes = snapshot.getNodes();
+        long now = System.currentTimeMillis();
+        long minBlockNumber = minBlockNumber(snapshot);
+        double bestLatency = bestLatency(nodes, minBlockNumber, now);
+        for (int i = 0; i < nodes.size(); ++i) {
+            ChannelNode node = nodes.get(i);
+            if (isHealthy(node, minBlockNumber, now)) {
+                checkOutlier(node, bestLatency, now);
+            }
+        }
+    }
+
+    private long minBlockNumber(ChannelNodeIndex.Snapshot snapshot) {
+        return snapshot.getMaxBlockNumber() == ChannelNode.UNKNOWN_BLOCK_NUMBER
+                ? ChannelNode.UNKNOWN_BLOCK_NUMBER
+                : snapshot.getMaxBlockNumber() - maxBlockLag;
+    }
+
+    // the fastest healthy node is the reference for outliers
+    private double bestLatency(List<ChannelNode> nodes, long minBlockNumber, long now) {
+        double bestLatency = Double.MAX_VALUE;
+        for (int i = 0; i < nodes.size(); ++i) {
+            ChannelNode node = nodes.get(i);
+            double latency = node.getStats().getLatency();
+            if (latency > 0 && latency < bestLatency && isHealthy(node, minBlockNumber, now)) {
+                bestLatency = latency;
+            }
+        }
+        return bestLatency;
+    }
+
+    private boolean isHealthy(ChannelNode node, long minBlockNumber, long now) {
+        return node.getBlockNumber() >= minBlockNumber && !node.getStats().isEjected(now);
+    }
+
+    private void checkOutlier(ChannelNode node, double bestLatency, long now) {
+        ChannelNodeStats stats = node.getStats();
+        if (stats.getSampleCount() < minSamples) {
+            return;
+        }
+
+        double latency = stats.getLatency();
+        boolean slow =
+                bestLatency != Double.MAX_VALUE
+                        && latency > bestLatency * outlierLatencyFactor
+                        && latency > TimeUnit.MILLISECONDS.toNanos(minOutlierLatency);
+        if (!slow && stats.getErrorRate() <= maxErrorRate) {
+            return;
+        }
+
+        stats.eject(now + ejectionTime);
+        logger.warn(" eject node: {}, ejection time: {}ms", node, ejectionTime);
+    }
+
+    public long getMaxBlockLag() {
+        return maxBlockLag;
+    }
+
+    /** @param maxBlockLag blocks a node may lag behind the highest block number, default 1 */
+    public void setMaxBlockLag(long maxBlockLag) {
+        this.maxBlockLag = maxBlockLag;
+    }
+
+    public long getEjectionTime() {
+        return ejectionTime;
+    }
+
+    /** @param ejectionTime milliseconds an outlier node is not selected, default 30000 */
+    public void setEjectionTime(long ejectionTime) {
+        this.ejectionTime = ejectionTime;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    /** @param maxErrorRate error rate above which a node is ejected, default 0.5 */
+    public void setMaxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public double getOutlierLatencyFactor() {
+        return outlierLatencyFactor;
+    }
+
+    /**
+     * @param outlierLatencyFactor a node is ejected if its latency exceeds the latency of the
+     *     fastest node by this factor, default 3
+     */
+    public void setOutlierLatencyFactor(double outlierLatencyFactor) {
+        this.outlierLatencyFactor = outlierLatencyFactor;
+    }
+
+    public long getMinOutlierLatency() {
+        return minOutlierLatency;
+    }
+
+    /**
+     * @param minOutlierLatency milliseconds below which latency is never an outlier, default 100
+     */
+    public void setMinOutlierLatency(long minOutlierLatency) {
+        this.minOutlierLatency = minOutlierLatency;
+    }
+
+    public long getMinSamples() {
+        return minSamples;
+    }
+
+    /** @param minSamples completed requests needed before a node can be ejected, default 10 */
+    public void setMinSamples(long minSamples) {
+        this.minSamples = minSamples;
+    }
+}
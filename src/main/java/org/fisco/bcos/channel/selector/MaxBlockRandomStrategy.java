@@ -0,0 +1,17 @@
+package org.fisco.bcos.channel.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Random node among the nodes with the highest block number, the default strategy. */
+public class MaxBlockRandomStrategy implements NodeSelectionStrategy {
+
+    @Override
+    public ChannelNode select(ChannelNodeIndex.Snapshot snapshot) {
+        List<ChannelNode> nodes = snapshot.getMaxBlockNodes();
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        return nodes.get(ThreadLocalRandom.current().nextInt(nodes.size()));
+    }
+}
@@ -0,0 +1,14 @@
+package org.fisco.bcos.channel.selector;
+
+/**
+ * Picks the node a request is sent to. Called for every request, implementations must be thread
+ * safe and should not allocate.
+ */
+public interface NodeSelectionStrategy {
+
+    /**
+     * @param snapshot the selectable nodes
+     * @return the selected node, null if there is none
+     */
+    ChannelNode select(ChannelNodeIndex.Snapshot snapshot);
+}
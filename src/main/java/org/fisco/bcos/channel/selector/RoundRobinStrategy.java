@@ -0,0 +1,19 @@
+package org.fisco.bcos.channel.selector;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Cycles through all available nodes regardless of their block number. */
+public class RoundRobinStrategy implements NodeSelectionStrategy {
+
+    private final AtomicInteger next = new AtomicInteger(0);
+
+    @Override
+    public ChannelNode select(ChannelNodeIndex.Snapshot snapshot) {
+        List<ChannelNode> nodes = snapshot.getNodes();
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        return nodes.get((next.getAndIncrement() & Integer.MAX_VALUE) % nodes.size());
+    }
+}
@@ -0,0 +1,265 @@
+package org.fisco.bcos.channel.seq;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A concurrent map from non-negative primitive long keys to objects. The table is split into lock
+ * striped segments, each an open addressing hash table with linear probing, so put and remove do
+ * not allocate an entry object and keys are never boxed.
+ *
+ * @param <V> value type
+ */
+public class ConcurrentLongObjectMap<V> {
+
+    private static final long EMPTY = -1L;
+    private static final int DEFAULT_SEGMENTS = 32;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 64;
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    public ConcurrentLongObjectMap() {
+        this(DEFAULT_SEGMENTS, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap(int concurrency, int segmentCapacity) {
+        int count = 1;
+        int bits = 0;
+        while (count < concurrency && bits < 16) {
+            count <<= 1;
+            ++bits;
+        }
+        int capacity = 4;
+        while (capacity < segmentCapacity) {
+            capacity <<= 1;
+        }
+
+        this.segmentShift = 64 - bits;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; ++i) {
+            segments[i] = new Segment<V>(capacity);
+        }
+    }
+
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static void checkKey(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException(" key should not be negative, key: " + key);
+        }
+    }
+
+    public V get(long key) {
+        if (key < 0) {
+            return null;
+        }
+        long h = hash(key);
+        return segmentFor(h).get(key, h);
+    }
+
+    public V put(long key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new NullPointerException(" value should not be null");
+        }
+        long h = hash(key);
+        return segmentFor(h).put(key, h, value);
+    }
+
+    public V remove(long key) {
+        if (key < 0) {
+            return null;
+        }
+        long h = hash(key);
+        return segmentFor(h).remove(key, h, null);
+    }
+
+    /** remove the key only if it is currently mapped to value */
+    public boolean remove(long key, Object value) {
+        if (key < 0 || value == null) {
+            return false;
+        }
+        long h = hash(key);
+        return segmentFor(h).remove(key, h, value) != null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /** iterate a snapshot of every segment, the action is called outside of the segment lock */
+    public void forEach(BiConsumer<Long, ? super V> action) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private static final class Segment<V> {
+        private long[] keys;
+        private Object[] values;
+        private int size;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private static int slot(long hash, int mask) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) {
+                    return (V) values[i];
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V put(long key, long hash, V value) {
+            int mask = keys.length - 1;
+            int i = slot(hash, mask);
+            for (; ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) {
+                    V old = (V) values[i];
+                    values[i] = value;
+                    return old;
+                }
+                if (k == EMPTY) {
+                    break;
+                }
+            }
+
+            keys[i] = key;
+            values[i] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V remove(long key, long hash, Object expected) {
+            int mask = keys.length - 1;
+            int i = slot(hash, mask);
+            for (; ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) {
+                    break;
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+            }
+
+            V old = (V) values[i];
+            if (expected != null && !expected.equals(old)) {
+                return null;
+            }
+
+            // backward shift deletion, keeps probe sequences intact without tombstones
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                long k = keys[j];
+                if (k == EMPTY) {
+                    break;
+                }
+                int home = slot(hash(k), mask);
+                boolean movable = (j > i) ? (home <= i || home > j) : (home <= i && home > j);
+                if (movable) {
+                    keys[i] = k;
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            values[i] = null;
+            --size;
+            return old;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<Long, ? super V> action) {
+            long[] keysCopy;
+            Object[] valuesCopy;
+            synchronized (this) {
+                keysCopy = keys.clone();
+                valuesCopy = values.clone();
+            }
+            for (int i = 0; i < keysCopy.length; ++i) {
+                if (keysCopy[i] != EMPTY) {
+                    action.accept(keysCopy[i], (V) valuesCopy[i]);
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length << 1];
+            values = new Object[oldValues.length << 1];
+            Arrays.fill(keys, EMPTY);
+
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; ++i) {
+                long k = oldKeys[i];
+                if (k == EMPTY) {
+                    continue;
+                }
+                int j = slot(hash(k), mask);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = k;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
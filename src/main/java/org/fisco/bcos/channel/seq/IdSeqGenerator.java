@@ -0,0 +1,15 @@
+package org.fisco.bcos.channel.seq;
+
+/**
+ * A {@link SeqGenerator} whose seq values carry a primitive id. Only generators implementing it may
+ * return ids from {@link #toId(String)}, the seq string of a received message or of an id keyed
+ * callback is rebuilt from the id when needed.
+ */
+public interface IdSeqGenerator extends SeqGenerator {
+
+    /**
+     * @param id id returned by {@link #toId(String)}
+     * @return the seq string of the id
+     */
+    String toSeq(long id);
+}
@@ -0,0 +1,107 @@
+package org.fisco.bcos.channel.seq;
+
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Callback table keyed by seq. Seq values produced by the {@link SeqGenerator} are stored under
+ * their primitive id, any other seq (user supplied message id, seq of a peer) falls back to a
+ * string keyed map. The {@link Map} view keeps the string based api working unchanged.
+ *
+ * @param <V> callback type
+ */
+public class SeqCallbackMap<V> extends AbstractMap<String, V> {
+
+    private final SeqGenerator seqGenerator;
+    private final ConcurrentLongObjectMap<V> idCallbacks = new ConcurrentLongObjectMap<V>();
+    private final Map<String, V> seqCallbacks = new ConcurrentHashMap<String, V>();
+
+    public SeqCallbackMap(SeqGenerator seqGenerator) {
+        this.seqGenerator = seqGenerator;
+    }
+
+    public SeqGenerator getSeqGenerator() {
+        return seqGenerator;
+    }
+
+    public V getById(long id) {
+        return idCallbacks.get(id);
+    }
+
+    public V removeById(long id) {
+        return idCallbacks.remove(id);
+    }
+
+    /**
+     * @param id id decoded from the message header, {@link SeqGenerator#NO_SEQ} if none
+     * @param seq seq string, only used when id is {@link SeqGenerator#NO_SEQ}
+     * @return the callback or null
+     */
+    public V get(long id, String seq) {
+        return id != SeqGenerator.NO_SEQ ? idCallbacks.get(id) : seqCallbacks.get(seq);
+    }
+
+    public V remove(long id, String seq) {
+        return id != SeqGenerator.NO_SEQ ? idCallbacks.remove(id) : seqCallbacks.remove(seq);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String seq = (String) key;
+        long id = seqGenerator.toId(seq);
+        return id != SeqGenerator.NO_SEQ ? idCallbacks.get(id) : seqCallbacks.get(seq);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(String seq, V callback) {
+        long id = seqGenerator.toId(seq);
+        return id != SeqGenerator.NO_SEQ
+                ? idCallbacks.put(id, callback)
+                : seqCallbacks.put(seq, callback);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String seq = (String) key;
+        long id = seqGenerator.toId(seq);
+        return id != SeqGenerator.NO_SEQ ? idCallbacks.remove(id) : seqCallbacks.remove(seq);
+    }
+
+    @Override
+    public int size() {
+        return idCallbacks.size() + seqCallbacks.size();
+    }
+
+    @Override
+    public void clear() {
+        idCallbacks.clear();
+        seqCallbacks.clear();
+    }
+
+    /** a snapshot, seq strings of id keyed callbacks are rebuilt */
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        Set<Entry<String, V>> entries = new HashSet<Entry<String, V>>(seqCallbacks.entrySet());
+        idCallbacks.forEach(
+                (id, callback) ->
+                        entries.add(
+                                new SimpleImmutableEntry<String, V>(
+                                        // only an IdSeqGenerator gives ids
+                                        ((IdSeqGenerator) seqGenerator).toSeq(id), callback)));
+        return entries;
+    }
+}
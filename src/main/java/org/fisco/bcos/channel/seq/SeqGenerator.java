@@ -0,0 +1,35 @@
+package org.fisco.bcos.channel.seq;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Generates the 32 byte seq carried in the channel message header, and maps seq values back to a
+ * primitive id so that callbacks can be correlated without allocating strings on the receive path.
+ */
+public interface SeqGenerator {
+
+    /** seq field length in the channel message header */
+    int SEQ_LENGTH = 32;
+
+    /** returned when a seq was not produced by this generator */
+    long NO_SEQ = -1L;
+
+    /** @return a new seq, exactly {@link #SEQ_LENGTH} ascii characters */
+    String newSeq();
+
+    /**
+     * @param seq seq string
+     * @return the id encoded in seq, or {@link #NO_SEQ} if seq was not produced by this generator,
+     *     always {@link #NO_SEQ} unless the generator is an {@link IdSeqGenerator}
+     */
+    long toId(String seq);
+
+    /**
+     * Decode the id from the seq bytes of a frame, the reader index of the buffer is not changed.
+     *
+     * @param in inbound frame
+     * @param index offset of the first seq byte
+     * @return the id encoded in seq, or {@link #NO_SEQ} if seq was not produced by this generator
+     */
+    long toId(ByteBuf in, int index);
+}
@@ -0,0 +1,122 @@
+package org.fisco.bcos.channel.seq;
+
+import io.netty.buffer.ByteBuf;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Default seq generator: a random 64 bit instance prefix followed by a 64 bit monotonic id, both
+ * hex encoded. The prefix keeps seq values of different sdk instances apart (amop messages are
+ * relayed between clients), the id is drawn from striped counters so that concurrent senders do not
+ * contend on one cache line.
+ */
+public class StripedSeqGenerator implements IdSeqGenerator {
+
+    private static final int PREFIX_LENGTH = SEQ_LENGTH / 2;
+    // longs per stripe, keeps every counter on its own 64 byte cache line
+    private static final int PADDING = 8;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final char[] prefix = new char[PREFIX_LENGTH];
+    private final byte[] prefixBytes = new byte[PREFIX_LENGTH];
+    private final int stripeBits;
+    private final int stripeMask;
+    private final AtomicLongArray counters;
+
+    public StripedSeqGenerator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedSeqGenerator(int concurrency) {
+        int stripes = 1;
+        int bits = 0;
+        while (stripes < concurrency && bits < 16) {
+            stripes <<= 1;
+            ++bits;
+        }
+        this.stripeBits = bits;
+        this.stripeMask = stripes - 1;
+        this.counters = new AtomicLongArray(stripes * PADDING);
+
+        long instanceId = new SecureRandom().nextLong();
+        writeHex(instanceId, prefix, 0);
+        for (int i = 0; i < PREFIX_LENGTH; ++i) {
+            prefixBytes[i] = (byte) prefix[i];
+        }
+    }
+
+    /** @return the next id, never negative */
+    public long nextId() {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        long count = counters.getAndIncrement(stripe * PADDING);
+        return ((count << stripeBits) | stripe) & Long.MAX_VALUE;
+    }
+
+    @Override
+    public String newSeq() {
+        return toSeq(nextId());
+    }
+
+    @Override
+    public String toSeq(long id) {
+        char[] chars = new char[SEQ_LENGTH];
+        System.arraycopy(prefix, 0, chars, 0, PREFIX_LENGTH);
+        writeHex(id, chars, PREFIX_LENGTH);
+        return new String(chars);
+    }
+
+    @Override
+    public long toId(String seq) {
+        if (seq == null || seq.length() != SEQ_LENGTH) {
+            return NO_SEQ;
+        }
+
+        for (int i = 0; i < PREFIX_LENGTH; ++i) {
+            if (seq.charAt(i) != prefix[i]) {
+                return NO_SEQ;
+            }
+        }
+
+        long id = 0;
+        for (int i = PREFIX_LENGTH; i < SEQ_LENGTH; ++i) {
+            int digit = Character.digit(seq.charAt(i), 16);
+            if (digit < 0) {
+                return NO_SEQ;
+            }
+            id = (id << 4) | digit;
+        }
+
+        return id < 0 ? NO_SEQ : id;
+    }
+
+    @Override
+    public long toId(ByteBuf in, int index) {
+        if (index + SEQ_LENGTH > in.writerIndex()) {
+            return NO_SEQ;
+        }
+
+        for (int i = 0; i < PREFIX_LENGTH; ++i) {
+            if (in.getByte(index + i) != prefixBytes[i]) {
+                return NO_SEQ;
+            }
+        }
+
+        long id = 0;
+        for (int i = PREFIX_LENGTH; i < SEQ_LENGTH; ++i) {
+            int digit = Character.digit(in.getByte(index + i), 16);
+            if (digit < 0) {
+                return NO_SEQ;
+            }
+            id = (id << 4) | digit;
+        }
+
+        return id < 0 ? NO_SEQ : id;
+    }
+
+    private static void writeHex(long value, char[] dst, int offset) {
+        for (int i = PREFIX_LENGTH - 1; i >= 0; --i) {
+            dst[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.fisco.bcos.channel.seq;
+
+import io.netty.buffer.ByteBuf;
+import java.util.UUID;
+
+/**
+ * The legacy seq format, a random uuid without dashes. No id can be decoded from it, so every
+ * callback registered with this generator is kept in the string keyed part of {@link
+ * SeqCallbackMap}.
+ */
+public class UUIDSeqGenerator implements SeqGenerator {
+
+    @Override
+    public String newSeq() {
+        return UUID.randomUUID().toString().replaceAll("-", "");
+    }
+
+    @Override
+    public long toId(String seq) {
+        return NO_SEQ;
+    }
+
+    @Override
+    public long toId(ByteBuf in, int index) {
+        return NO_SEQ;
+    }
+}
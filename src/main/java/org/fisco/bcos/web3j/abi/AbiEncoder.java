@@ -0,0 +1,258 @@
+package org.fisco.bcos.web3j.abi;
+
+import static org.fisco.bcos.web3j.abi.datatypes.Type.MAX_BYTE_LENGTH;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Array;
+import org.fisco.bcos.web3j.abi.datatypes.Bool;
+import org.fisco.bcos.web3j.abi.datatypes.BytesType;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicBytes;
+import org.fisco.bcos.web3j.abi.datatypes.NumericType;
+import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Ufixed;
+import org.fisco.bcos.web3j.abi.datatypes.Uint;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+
+/**
+ * ABI encoding into bytes. The encoded length of the values is computed first, then the words are
+ * written into one array of that size: heads and tails are placed by offset, no intermediate hex
+ * strings or per-value arrays are built. The output is the same as {@link TypeEncoder} and {@link
+ * FunctionEncoder} produce in hex.
+ */
+public class AbiEncoder {
+
+    private AbiEncoder() {}
+
+    /**
+     * @param parameters values encoded as function parameters
+     * @return encoded length in bytes
+     */
+    public static int encodedLength(List<Type> parameters) {
+        int length = 0;
+        for (Type parameter : parameters) {
+            length += parameter.dynamicType() ? MAX_BYTE_LENGTH : 0;
+            length += encodedLength(parameter);
+        }
+        return length;
+    }
+
+    /**
+     * @param parameter value
+     * @return encoded length in bytes, without the offset of dynamic values
+     */
+    public static int encodedLength(Type parameter) {
+        if (parameter instanceof NumericType
+                || parameter instanceof Address
+                || parameter instanceof Bool) {
+            return MAX_BYTE_LENGTH;
+        } else if (parameter instanceof DynamicBytes) {
+            return MAX_BYTE_LENGTH + padded(((DynamicBytes) parameter).getValue().length);
+        } else if (parameter instanceof BytesType) {
+            return padded(((BytesType) parameter).getValue().length);
+        } else if (parameter instanceof Utf8String) {
+            return MAX_BYTE_LENGTH + padded(utf8Length(((Utf8String) parameter).getValue()));
+        } else if (parameter instanceof StaticArray) {
+            return arrayLength((Array<?>) parameter);
+        } else if (parameter instanceof DynamicArray) {
+            return MAX_BYTE_LENGTH + arrayLength((Array<?>) parameter);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    /**
+     * encode values as function parameters: the head of each value, static values or the offset of
+     * dynamic ones, followed by the dynamic values
+     *
+     * @param parameters values
+     * @param output array of at least {@link #encodedLength(List)} bytes from the position
+     * @param position position of the first byte written
+     * @return position after the last byte written
+     */
+    public static int writeParameters(List<Type> parameters, byte[] output, int position) {
+        int dynamicDataOffset = Utils.getLength(parameters) * MAX_BYTE_LENGTH;
+        int head = position;
+        int tail = position;
+        for (Type parameter : parameters) {
+            tail += parameter.dynamicType() ? MAX_BYTE_LENGTH : encodedLength(parameter);
+        }
+
+        for (Type parameter : parameters) {
+            if (parameter.dynamicType()) {
+                writeUint(dynamicDataOffset, output, head);
+                head += MAX_BYTE_LENGTH;
+                int start = tail;
+                tail = write(parameter, output, tail);
+                dynamicDataOffset += tail - start;
+            } else {
+                head = write(parameter, output, head);
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * @param parameter value
+     * @param output array of at least {@link #encodedLength(Type)} bytes from the position
+     * @param position position of the first byte written
+     * @return position after the last byte written
+     */
+    @SuppressWarnings("unchecked")
+    public static int write(Type parameter, byte[] output, int position) {
+        if (parameter instanceof NumericType) {
+            return writeNumeric((NumericType) parameter, output, position);
+        } else if (parameter instanceof Address) {
+            return writeNumeric(((Address) parameter).toUint160(), output, position);
+        } else if (parameter instanceof Bool) {
+            return writeUint(((Bool) parameter).getValue() ? 1 : 0, output, position);
+        } else if (parameter instanceof DynamicBytes) {
+            return writeDynamicBytes(((DynamicBytes) parameter).getValue(), output, position);
+        } else if (parameter instanceof BytesType) {
+            return writeBytes(((BytesType) parameter).getValue(), output, position);
+        } else if (parameter instanceof Utf8String) {
+            return writeDynamicBytes(
+                    ((Utf8String) parameter).getValue().getBytes(StandardCharsets.UTF_8),
+                    output,
+                    position);
+        } else if (parameter instanceof StaticArray) {
+            return writeArrayValues(((Array<Type>) parameter).getValue(), output, position);
+        } else if (parameter instanceof DynamicArray) {
+            List<Type> values = ((Array<Type>) parameter).getValue();
+            writeUint(values.size(), output, position);
+            return writeArrayValues(values, output, position + MAX_BYTE_LENGTH);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    private static int arrayLength(Array<?> array) {
+        int length = 0;
+        for (Type value : array.getValue()) {
+            length += value.dynamicType() ? MAX_BYTE_LENGTH : 0;
+            length += encodedLength(value);
+        }
+        return length;
+    }
+
+    // offsets of dynamic elements first, relative to the first offset, then the elements
+    private static int writeArrayValues(List<Type> values, byte[] output, int position) {
+        int dynamicCount = 0;
+        for (Type value : values) {
+            if (value.dynamicType()) {
+                ++dynamicCount;
+            }
+        }
+
+        int head = position;
+        int tail = position + dynamicCount * MAX_BYTE_LENGTH;
+        int offset = values.size() * MAX_BYTE_LENGTH;
+        for (Type value : values) {
+            int start = tail;
+            tail = write(value, output, tail);
+            if (value.dynamicType()) {
+                writeUint(offset, output, head);
+                head += MAX_BYTE_LENGTH;
+                offset += tail - start;
+            }
+        }
+        return tail;
+    }
+
+    private static int writeNumeric(NumericType numericType, byte[] output, int position) {
+        BigInteger value = numericType.getValue();
+        byte padding = (byte) (value.signum() == -1 ? 0xff : 0);
+        int end = position + MAX_BYTE_LENGTH;
+
+        if (value.bitLength() < Long.SIZE) {
+            long longValue = value.longValue();
+            for (int i = position; i < end - Long.BYTES; ++i) {
+                output[i] = padding;
+            }
+            for (int i = end - 1; i >= end - Long.BYTES; --i) {
+                output[i] = (byte) longValue;
+                longValue >>= Byte.SIZE;
+            }
+            return end;
+        }
+
+        byte[] rawValue = value.toByteArray();
+        int rawOffset = 0;
+        if ((numericType instanceof Ufixed || numericType instanceof Uint)
+                && value.bitLength() == Type.MAX_BIT_LENGTH) {
+            // skip the sign byte of a 256 bit unsigned value, as TypeEncoder
+            rawOffset = 1;
+        }
+
+        int rawLength = rawValue.length - rawOffset;
+        if (rawLength > MAX_BYTE_LENGTH) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "Value does not fit in " + MAX_BYTE_LENGTH + " bytes: " + value);
+        }
+        for (int i = position; i < end - rawLength; ++i) {
+            output[i] = padding;
+        }
+        System.arraycopy(rawValue, rawOffset, output, end - rawLength, rawLength);
+        return end;
+    }
+
+    private static int writeUint(int value, byte[] output, int position) {
+        int end = position + MAX_BYTE_LENGTH;
+        for (int i = position; i < end - Integer.BYTES; ++i) {
+            output[i] = 0;
+        }
+        output[end - 4] = (byte) (value >>> 24);
+        output[end - 3] = (byte) (value >>> 16);
+        output[end - 2] = (byte) (value >>> 8);
+        output[end - 1] = (byte) value;
+        return end;
+    }
+
+    private static int writeBytes(byte[] value, byte[] output, int position) {
+        System.arraycopy(value, 0, output, position, value.length);
+        int end = position + padded(value.length);
+        for (int i = position + value.length; i < end; ++i) {
+            output[i] = 0;
+        }
+        return end;
+    }
+
+    private static int writeDynamicBytes(byte[] value, byte[] output, int position) {
+        writeUint(value.length, output, position);
+        return writeBytes(value, output, position + MAX_BYTE_LENGTH);
+    }
+
+    private static int padded(int length) {
+        int mod = length % MAX_BYTE_LENGTH;
+        return mod == 0 ? length : length + MAX_BYTE_LENGTH - mod;
+    }
+
+    // length of the UTF-8 encoding, as String.getBytes with unpaired surrogates replaced by '?'
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                ++i;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
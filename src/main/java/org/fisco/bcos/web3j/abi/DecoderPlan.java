@@ -0,0 +1,352 @@
+package org.fisco.bcos.web3j.abi;
+
+import java.lang.reflect.ParameterizedType;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Bool;
+import org.fisco.bcos.web3j.abi.datatypes.Bytes;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicBytes;
+import org.fisco.bcos.web3j.abi.datatypes.Fixed;
+import org.fisco.bcos.web3j.abi.datatypes.Int;
+import org.fisco.bcos.web3j.abi.datatypes.NumericType;
+import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint160;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.fisco.bcos.web3j.utils.Strings;
+
+/**
+ * Decoding of a list of ABI types, compiled once per list of {@link TypeReference} types and
+ * cached. Class lookups, type length parsing, head offsets and constructors are resolved when the
+ * plan is built, so decoding does no reflection.
+ *
+ * <p>Values are decoded from the ABI encoded bytes by offset, hex input is converted to bytes once
+ * up front instead of cutting a substring per word.
+ */
+public class DecoderPlan {
+
+    /** Decoder of one ABI type, reading the value at the given byte offset of the input. */
+    interface ValueDecoder {
+        Type decode(byte[] input, int offset);
+    }
+
+    private static final Map<java.lang.reflect.Type, ValueDecoder> valueDecoders =
+            new ConcurrentHashMap<java.lang.reflect.Type, ValueDecoder>();
+    private static final Map<List<java.lang.reflect.Type>, DecoderPlan> plans =
+            new ConcurrentHashMap<List<java.lang.reflect.Type>, DecoderPlan>();
+
+    private final ValueDecoder[] decoders;
+    // dynamic values are stored at the offset found in their head
+    private final boolean[] dynamic;
+    // byte offset of the head of each value
+    private final int[] heads;
+
+    private DecoderPlan(List<java.lang.reflect.Type> types) {
+        this.decoders = new ValueDecoder[types.size()];
+        this.dynamic = new boolean[types.size()];
+        this.heads = new int[types.size()];
+
+        int offset = 0;
+        for (int i = 0; i < types.size(); ++i) {
+            java.lang.reflect.Type type = types.get(i);
+            try {
+                decoders[i] = decoder(type);
+                dynamic[i] = Utils.dynamicType(type);
+                heads[i] = offset;
+                offset += Utils.getOffset(type) * Type.MAX_BYTE_LENGTH;
+            } catch (ClassNotFoundException e) {
+                throw new UnsupportedOperationException("Invalid class reference provided", e);
+            }
+        }
+    }
+
+    /**
+     * @param parameters types of the values
+     * @return the cached plan of the parameter types
+     */
+    public static DecoderPlan of(List<TypeReference<Type>> parameters) {
+        List<java.lang.reflect.Type> types = new ArrayList<>(parameters.size());
+        for (TypeReference<?> parameter : parameters) {
+            types.add(parameter.getType());
+        }
+
+        DecoderPlan plan = plans.get(types);
+        if (plan == null) {
+            plan = new DecoderPlan(types);
+            plans.put(types, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * @param rawInput ABI encoded values
+     * @return the decoded values, {@link Collections#emptyList()} if input is empty
+     * @see FunctionReturnDecoder#decode(String, List)
+     */
+    public List<Type> decode(String rawInput) {
+        String input = Numeric.cleanHexPrefix(rawInput);
+        if (Strings.isEmpty(input)) {
+            return Collections.emptyList();
+        }
+
+        return decode(Numeric.hexStringToByteArray(input), 0);
+    }
+
+    /**
+     * @param input ABI encoded values
+     * @param offset offset of the first value in the input
+     * @return the decoded values, {@link Collections#emptyList()} if there is no input after the
+     *     offset
+     */
+    public List<Type> decode(byte[] input, int offset) {
+        if (input == null || input.length <= offset) {
+            return Collections.emptyList();
+        }
+
+        List<Type> results = new ArrayList<>(decoders.length);
+        for (int i = 0; i < decoders.length; ++i) {
+            int head = offset + heads[i];
+            results.add(
+                    decoders[i].decode(
+                            input, dynamic[i] ? offset + decodeUintAsInt(input, head) : head));
+        }
+        return results;
+    }
+
+    public int size() {
+        return decoders.length;
+    }
+
+    static ValueDecoder decoder(java.lang.reflect.Type type) {
+        ValueDecoder decoder = valueDecoders.get(type);
+        if (decoder == null) {
+            decoder = createDecoder(type);
+            valueDecoders.put(type, decoder);
+        }
+        return decoder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueDecoder createDecoder(java.lang.reflect.Type type) {
+        Class<Type> cls;
+        try {
+            cls = Utils.getClassType(type);
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Invalid class reference provided", e);
+        }
+
+        if (DynamicArray.class.isAssignableFrom(cls)) {
+            return new ArrayDecoder(type, cls, false);
+        } else if (StaticArray.class.isAssignableFrom(cls)) {
+            return new ArrayDecoder(type, cls, true);
+        } else if (NumericType.class.isAssignableFrom(cls)) {
+            return new NumericDecoder<>((Class<NumericType>) (Class<?>) cls);
+        } else if (Address.class.isAssignableFrom(cls)) {
+            NumericDecoder<Uint160> uint160Decoder = new NumericDecoder<>(Uint160.class);
+            return (input, offset) -> new Address(uint160Decoder.decode(input, offset));
+        } else if (Bool.class.isAssignableFrom(cls)) {
+            return DecoderPlan::decodeBool;
+        } else if (Bytes.class.isAssignableFrom(cls)) {
+            return new BytesDecoder<>((Class<Bytes>) (Class<?>) cls);
+        } else if (DynamicBytes.class.isAssignableFrom(cls)) {
+            return (input, offset) ->
+                    new DynamicBytes(
+                            Arrays.copyOfRange(
+                                    input,
+                                    offset + Type.MAX_BYTE_LENGTH,
+                                    dynamicEnd(input, offset)));
+        } else if (Utf8String.class.isAssignableFrom(cls)) {
+            return (input, offset) -> {
+                int end = dynamicEnd(input, offset);
+                int start = offset + Type.MAX_BYTE_LENGTH;
+                return new Utf8String(
+                        new String(input, start, end - start, StandardCharsets.UTF_8));
+            };
+        } else {
+            // unsupported, fails like TypeDecoder
+            return (input, offset) ->
+                    TypeDecoder.decode(Numeric.toHexStringNoPrefix(input), offset << 1, cls);
+        }
+    }
+
+    /** @return low 32 bits of the word at the offset, as BigInteger.intValue() */
+    static int decodeUintAsInt(byte[] input, int offset) {
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        if (end > input.length) {
+            throw new ArrayIndexOutOfBoundsException(end);
+        }
+
+        return ((input[end - 4] & 0xff) << 24)
+                | ((input[end - 3] & 0xff) << 16)
+                | ((input[end - 2] & 0xff) << 8)
+                | (input[end - 1] & 0xff);
+    }
+
+    // end of the dynamic bytes whose length is at the offset
+    private static int dynamicEnd(byte[] input, int offset) {
+        int end = offset + Type.MAX_BYTE_LENGTH + decodeUintAsInt(input, offset);
+        if (end > input.length) {
+            throw new ArrayIndexOutOfBoundsException(end);
+        }
+        return end;
+    }
+
+    private static Bool decodeBool(byte[] input, int offset) {
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        if (end > input.length) {
+            throw new ArrayIndexOutOfBoundsException(end);
+        }
+
+        // true only if the word is one
+        for (int i = offset; i < end - 1; ++i) {
+            if (input[i] != 0) {
+                return new Bool(false);
+            }
+        }
+        return new Bool(input[end - 1] == 1);
+    }
+
+    private static class NumericDecoder<T extends NumericType> implements ValueDecoder {
+        private final int length;
+        private final boolean signed;
+        private final Function<BigInteger, T> constructor;
+
+        NumericDecoder(Class<T> type) {
+            this.length = TypeDecoder.getTypeLengthInBytes(type);
+            this.signed = Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type);
+            this.constructor = TypeConstructors.numeric(type);
+        }
+
+        @Override
+        public T decode(byte[] input, int offset) {
+            if (offset + Type.MAX_BYTE_LENGTH > input.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + Type.MAX_BYTE_LENGTH);
+            }
+
+            byte[] value = new byte[length + 1];
+            if (signed) {
+                value[0] = input[offset]; // take MSB as sign bit
+            }
+
+            System.arraycopy(input, offset + Type.MAX_BYTE_LENGTH - length, value, 1, length);
+            return constructor.apply(new BigInteger(value));
+        }
+    }
+
+    private static class BytesDecoder<T extends Bytes> implements ValueDecoder {
+        private final int length;
+        private final Function<byte[], T> constructor;
+
+        BytesDecoder(Class<T> type) {
+            this.length =
+                    Integer.parseInt(type.getSimpleName().split(Bytes.class.getSimpleName())[1]);
+            this.constructor = TypeConstructors.bytes(type);
+        }
+
+        @Override
+        public T decode(byte[] input, int offset) {
+            if (offset + length > input.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + length);
+            }
+
+            return constructor.apply(Arrays.copyOfRange(input, offset, offset + length));
+        }
+    }
+
+    static class ArrayDecoder implements ValueDecoder {
+        private final boolean isStatic;
+        // -1 if the static array type has no length
+        private final int length;
+        private final Function<List<Type>, Type> constructor;
+        private final ValueDecoder elementDecoder;
+        // elements stored at the offset found in their head, relative to the first element
+        private final boolean elementIndirect;
+        private final int elementStride;
+        private final String elementTypeName;
+
+        ArrayDecoder(java.lang.reflect.Type type, Class<Type> cls, boolean isStatic) {
+            java.lang.reflect.Type elementType =
+                    ((ParameterizedType) type).getActualTypeArguments()[0];
+            Class<Type> elementClass;
+            try {
+                elementClass = Utils.getClassType(elementType);
+                this.elementStride = Utils.getOffset(elementType) * Type.MAX_BYTE_LENGTH;
+            } catch (ClassNotFoundException e) {
+                throw new UnsupportedOperationException(
+                        "Unable to access parameterized type " + type.getTypeName(), e);
+            }
+
+            this.isStatic = isStatic;
+            this.length = isStatic ? staticArrayLengthOrNone(cls) : -1;
+            this.constructor = isStatic ? TypeConstructors.staticArray(cls) : null;
+            this.elementDecoder = decoder(elementType);
+            this.elementIndirect =
+                    DynamicArray.class.isAssignableFrom(elementClass)
+                            || Utf8String.class.isAssignableFrom(elementClass)
+                            || DynamicBytes.class.isAssignableFrom(elementClass);
+            this.elementTypeName = Utils.getSimpleTypeName(elementClass);
+        }
+
+        private static int staticArrayLengthOrNone(Class<?> cls) {
+            try {
+                return Integer.parseInt(
+                        cls.getSimpleName().substring(StaticArray.class.getSimpleName().length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public Type decode(byte[] input, int offset) {
+            if (isStatic) {
+                if (length < 0) {
+                    // the exception the length parsing of the previous decoder threw
+                    throw new NumberFormatException(
+                            "Static array type without length, use StaticArrayN");
+                }
+                return decode(input, offset, length);
+            }
+
+            int length = decodeUintAsInt(input, offset);
+            return decode(input, offset + Type.MAX_BYTE_LENGTH, length);
+        }
+
+        /**
+         * @param offset byte offset of the first element
+         * @param length number of elements
+         */
+        Type decode(byte[] input, int offset, int length) {
+            List<Type> elements = new ArrayList<>(length);
+            for (int i = 0; i < length; ++i) {
+                int elementOffset = offset + i * elementStride;
+                if (elementIndirect) {
+                    elementOffset = offset + decodeUintAsInt(input, elementOffset);
+                }
+                elements.add(elementDecoder.decode(input, elementOffset));
+            }
+
+            if (isStatic) {
+                if (elements.isEmpty()) {
+                    throw new UnsupportedOperationException(
+                            "Zero length fixed array is invalid type");
+                }
+                return constructor.apply(elements);
+            }
+
+            if (elements.isEmpty()) {
+                return DynamicArray.empty(elementTypeName);
+            }
+            return new DynamicArray<>(elements);
+        }
+    }
+}
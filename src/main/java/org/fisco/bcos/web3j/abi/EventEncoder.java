@@ -1,11 +1,9 @@
 package org.fisco.bcos.web3j.abi;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import org.fisco.bcos.web3j.abi.datatypes.Event;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
-import org.fisco.bcos.web3j.crypto.Hash;
-import org.fisco.bcos.web3j.utils.Numeric;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 
 /**
  * Ethereum filter encoding. Further limited details are available <a
@@ -16,10 +14,15 @@ public class EventEncoder {
     private EventEncoder() {}
 
     public static String encode(Event event) {
+        return encode(event, CryptoSuite.getDefault());
+    }
+
+    /** encode with the event signature hashed by the crypto suite */
+    public static String encode(Event event, CryptoSuite cryptoSuite) {
 
         String methodSignature = buildMethodSignature(event.getName(), event.getParameters());
 
-        return buildEventSignature(methodSignature);
+        return buildEventSignature(methodSignature, cryptoSuite);
     }
 
     static <T extends Type> String buildMethodSignature(
@@ -28,16 +31,22 @@ public class EventEncoder {
         StringBuilder result = new StringBuilder();
         result.append(methodName);
         result.append("(");
-        String params =
-                parameters.stream().map(p -> Utils.getTypeName(p)).collect(Collectors.joining(","));
-        result.append(params);
+        for (int i = 0; i < parameters.size(); ++i) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(Utils.getTypeName(parameters.get(i)));
+        }
         result.append(")");
         return result.toString();
     }
 
     public static String buildEventSignature(String methodSignature) {
-        byte[] input = methodSignature.getBytes();
-        byte[] hash = Hash.sha3(input);
-        return Numeric.toHexString(hash);
+        return buildEventSignature(methodSignature, CryptoSuite.getDefault());
+    }
+
+    /** @return hash of the signature, hashed once and then cached by {@link SignatureCache} */
+    public static String buildEventSignature(String methodSignature, CryptoSuite cryptoSuite) {
+        return SignatureCache.getEventTopic(methodSignature, cryptoSuite);
     }
 }
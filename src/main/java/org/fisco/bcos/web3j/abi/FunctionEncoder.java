@@ -1,12 +1,11 @@
 package org.fisco.bcos.web3j.abi;
 
-import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.fisco.bcos.web3j.abi.datatypes.Function;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
-import org.fisco.bcos.web3j.abi.datatypes.Uint;
-import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.utils.Numeric;
 
 /**
@@ -15,60 +14,106 @@ import org.fisco.bcos.web3j.utils.Numeric;
  */
 public class FunctionEncoder {
 
+    private static final int METHOD_ID_LENGTH = 4;
+
     private FunctionEncoder() {}
 
     public static String encode(Function function) {
+        return encode(function, CryptoSuite.getDefault());
+    }
+
+    /** encode with the method id hashed by the crypto suite */
+    public static String encode(Function function, CryptoSuite cryptoSuite) {
+        return Numeric.toHexString(encodeToBytes(function, cryptoSuite));
+    }
+
+    public static byte[] encodeToBytes(Function function) {
+        return encodeToBytes(function, CryptoSuite.getDefault());
+    }
+
+    /**
+     * encode the method id and the parameters into one array sized up front
+     *
+     * @param function function called
+     * @param cryptoSuite crypto suite the method id is hashed with
+     * @return method id followed by the encoded parameters
+     */
+    public static byte[] encodeToBytes(Function function, CryptoSuite cryptoSuite) {
         List<Type> parameters = function.getInputParameters();
 
         String methodSignature = buildMethodSignature(function.getName(), parameters);
-        String methodId = buildMethodId(methodSignature);
+        byte[] methodId = SignatureCache.getMethodIdBytes(methodSignature, cryptoSuite);
 
-        StringBuilder result = new StringBuilder();
-        result.append(methodId);
-
-        return encodeParameters(parameters, result);
+        byte[] result = new byte[METHOD_ID_LENGTH + AbiEncoder.encodedLength(parameters)];
+        System.arraycopy(methodId, 0, result, 0, METHOD_ID_LENGTH);
+        AbiEncoder.writeParameters(parameters, result, METHOD_ID_LENGTH);
+        return result;
     }
 
     public static String encodeConstructor(List<Type> parameters) {
-        return encodeParameters(parameters, new StringBuilder());
+        return Numeric.toHexStringNoPrefix(encodeParameters(parameters));
     }
 
     public static String encodeParameters(List<Type> parameters, StringBuilder result) {
-        int dynamicDataOffset = Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
-        StringBuilder dynamicData = new StringBuilder();
-
-        for (Type parameter : parameters) {
-            String encodedValue = TypeEncoder.encode(parameter);
-
-            if (parameter.dynamicType()) {
-                String encodedDataOffset =
-                        TypeEncoder.encodeNumeric(new Uint(BigInteger.valueOf(dynamicDataOffset)));
-                result.append(encodedDataOffset);
-                dynamicData.append(encodedValue);
-                dynamicDataOffset += (encodedValue.length() >> 1);
-            } else {
-                result.append(encodedValue);
-            }
+        return result.append(Numeric.toHexStringNoPrefix(encodeParameters(parameters))).toString();
+    }
+
+    /**
+     * @param parameters values
+     * @return encoded parameters
+     */
+    public static byte[] encodeParameters(List<Type> parameters) {
+        byte[] result = new byte[AbiEncoder.encodedLength(parameters)];
+        AbiEncoder.writeParameters(parameters, result, 0);
+        return result;
+    }
+
+    /**
+     * encode the parameters at the position of the buffer, the position is moved after them
+     *
+     * @param parameters values
+     * @param buffer buffer with enough bytes remaining
+     * @return the buffer
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static ByteBuffer encodeParameters(List<Type> parameters, ByteBuffer buffer) {
+        int length = AbiEncoder.encodedLength(parameters);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
         }
-        result.append(dynamicData);
 
-        return result.toString();
+        if (buffer.hasArray() && !buffer.isReadOnly()) {
+            int position = buffer.arrayOffset() + buffer.position();
+            AbiEncoder.writeParameters(parameters, buffer.array(), position);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] result = new byte[length];
+            AbiEncoder.writeParameters(parameters, result, 0);
+            buffer.put(result);
+        }
+        return buffer;
     }
 
     static String buildMethodSignature(String methodName, List<Type> parameters) {
         StringBuilder result = new StringBuilder();
         result.append(methodName);
         result.append("(");
-        String params =
-                parameters.stream().map(Type::getTypeAsString).collect(Collectors.joining(","));
-        result.append(params);
+        for (int i = 0; i < parameters.size(); ++i) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(parameters.get(i).getTypeAsString());
+        }
         result.append(")");
         return result.toString();
     }
 
     public static String buildMethodId(String methodSignature) {
-        byte[] input = methodSignature.getBytes();
-        byte[] hash = Hash.sha3(input);
-        return Numeric.toHexString(hash).substring(0, 10);
+        return buildMethodId(methodSignature, CryptoSuite.getDefault());
+    }
+
+    /** @return method id of the signature, hashed once and then cached by {@link SignatureCache} */
+    public static String buildMethodId(String methodSignature, CryptoSuite cryptoSuite) {
+        return SignatureCache.getMethodId(methodSignature, cryptoSuite);
     }
 }
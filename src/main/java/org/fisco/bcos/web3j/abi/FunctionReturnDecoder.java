@@ -1,18 +1,15 @@
 package org.fisco.bcos.web3j.abi;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import org.fisco.bcos.web3j.abi.datatypes.Array;
 import org.fisco.bcos.web3j.abi.datatypes.Bytes;
 import org.fisco.bcos.web3j.abi.datatypes.BytesType;
-import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
-import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
 import org.fisco.bcos.web3j.abi.datatypes.generated.Bytes32;
 import org.fisco.bcos.web3j.utils.Numeric;
-import org.fisco.bcos.web3j.utils.Strings;
 
 /** Decodes values returned by function or event calls. */
 public class FunctionReturnDecoder {
@@ -28,13 +25,47 @@ public class FunctionReturnDecoder {
      *     invalid response
      */
     public static List<Type> decode(String rawInput, List<TypeReference<Type>> outputParameters) {
-        String input = Numeric.cleanHexPrefix(rawInput);
+        return DecoderPlan.of(outputParameters).decode(rawInput);
+    }
+
+    /**
+     * Decode ABI encoded return values from bytes, without converting them to hex.
+     *
+     * @param input ABI encoded input
+     * @param outputParameters list of return types as {@link TypeReference}
+     * @return {@link List} of values returned by function, {@link Collections#emptyList()} if input
+     *     is empty
+     */
+    public static List<Type> decode(byte[] input, List<TypeReference<Type>> outputParameters) {
+        return decode(input, 0, outputParameters);
+    }
 
-        if (Strings.isEmpty(input)) {
-            return Collections.emptyList();
-        } else {
-            return build(input, outputParameters);
+    /**
+     * @param input ABI encoded input
+     * @param offset offset of the encoded values in the input, e.g. 4 after a method id
+     * @param outputParameters list of return types as {@link TypeReference}
+     * @return {@link List} of values returned by function, {@link Collections#emptyList()} if there
+     *     is no input after the offset
+     */
+    public static List<Type> decode(
+            byte[] input, int offset, List<TypeReference<Type>> outputParameters) {
+        return DecoderPlan.of(outputParameters).decode(input, offset);
+    }
+
+    /**
+     * @param input ABI encoded input, from its position to its limit
+     * @param outputParameters list of return types as {@link TypeReference}
+     * @return {@link List} of values returned by function, {@link Collections#emptyList()} if input
+     *     is empty
+     */
+    public static List<Type> decode(ByteBuffer input, List<TypeReference<Type>> outputParameters) {
+        if (input.hasArray() && input.arrayOffset() + input.limit() == input.array().length) {
+            return decode(input.array(), input.arrayOffset() + input.position(), outputParameters);
         }
+
+        byte[] bytes = new byte[input.remaining()];
+        input.duplicate().get(bytes);
+        return decode(bytes, outputParameters);
     }
 
     /**
@@ -59,75 +90,24 @@ public class FunctionReturnDecoder {
      * @param <T> type of TypeReference
      * @return the decode value
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Type> Type decodeIndexedValue(
             String rawInput, TypeReference<T> typeReference) {
-        String input = Numeric.cleanHexPrefix(rawInput);
+        byte[] input = Numeric.hexStringToByteArray(rawInput);
 
         try {
             Class<T> type = typeReference.getClassType();
 
             if (Bytes.class.isAssignableFrom(type)) {
-                return TypeDecoder.decodeBytes(input, (Class<Bytes>) Class.forName(type.getName()));
+                return DecoderPlan.decoder(type).decode(input, 0);
             } else if (Array.class.isAssignableFrom(type)
                     || BytesType.class.isAssignableFrom(type)
                     || Utf8String.class.isAssignableFrom(type)) {
-                return TypeDecoder.decodeBytes(input, Bytes32.class);
+                return DecoderPlan.decoder(Bytes32.class).decode(input, 0);
             } else {
-                return TypeDecoder.decode(input, 0, type);
+                return DecoderPlan.decoder(type).decode(input, 0);
             }
         } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException("Invalid class reference provided", e);
         }
     }
-
-    private static List<Type> build(String input, List<TypeReference<Type>> outputParameters) {
-        List<Type> results = new ArrayList<>(outputParameters.size());
-
-        int offset = 0;
-        for (TypeReference<?> typeReference : outputParameters) {
-            try {
-                @SuppressWarnings("unchecked")
-                Class<Type> cls = (Class<Type>) typeReference.getClassType();
-
-                int hexStringDataOffset = getDataOffset(input, offset, typeReference.getType());
-
-                Type result;
-                if (DynamicArray.class.isAssignableFrom(cls)) {
-                    result =
-                            TypeDecoder.decodeDynamicArray(
-                                    input, hexStringDataOffset, typeReference.getType());
-                } else if (StaticArray.class.isAssignableFrom(cls)) {
-                    int length =
-                            Integer.parseInt(
-                                    cls.getSimpleName()
-                                            .substring(StaticArray.class.getSimpleName().length()));
-                    result =
-                            TypeDecoder.decodeStaticArray(
-                                    input, hexStringDataOffset, typeReference.getType(), length);
-                } else {
-                    result = TypeDecoder.decode(input, hexStringDataOffset, cls);
-                }
-
-                results.add(result);
-
-                offset +=
-                        Utils.getOffset(typeReference.getType())
-                                * TypeDecoder.MAX_BYTE_LENGTH_FOR_HEX_STRING;
-
-            } catch (ClassNotFoundException e) {
-                throw new UnsupportedOperationException("Invalid class reference provided", e);
-            }
-        }
-        return results;
-    }
-
-    private static <T extends Type> int getDataOffset(
-            String input, int offset, java.lang.reflect.Type type) throws ClassNotFoundException {
-        if (Utils.dynamicType(type)) {
-            return TypeDecoder.decodeUintAsInt(input, offset) << 1;
-        } else {
-            return offset;
-        }
-    }
 }
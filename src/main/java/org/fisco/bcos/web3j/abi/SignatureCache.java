@@ -0,0 +1,119 @@
+package org.fisco.bcos.web3j.abi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Hashes of function and event signatures, giving the method ids and the event topics, cached for
+ * each hash algorithm since ECDSA and SM2 chains hash them differently. At most {@link #CAPACITY}
+ * signatures are cached for an algorithm, the others are hashed each time.
+ *
+ * <p>Generated contract wrappers register the hashes computed when they were generated, so their
+ * calls do no hashing at all.
+ */
+public class SignatureCache {
+
+    public static final int CAPACITY = 4096;
+    private static final int METHOD_ID_LENGTH = 4;
+
+    // keyed by the hash implementation of the crypto suites
+    private static final Map<Class<?>, Map<String, Entry>> entries =
+            new ConcurrentHashMap<Class<?>, Map<String, Entry>>();
+
+    private SignatureCache() {}
+
+    /**
+     * @param methodSignature function name and parameter types, such as transfer(address,uint256)
+     * @param cryptoSuite crypto suite the signature is hashed with
+     * @return hex encoded method id
+     */
+    public static String getMethodId(String methodSignature, CryptoSuite cryptoSuite) {
+        return getEntry(methodSignature, cryptoSuite).methodId;
+    }
+
+    // shared array, not to be modified
+    static byte[] getMethodIdBytes(String methodSignature, CryptoSuite cryptoSuite) {
+        return getEntry(methodSignature, cryptoSuite).methodIdBytes;
+    }
+
+    /**
+     * @param eventSignature event name and parameter types
+     * @param cryptoSuite crypto suite the signature is hashed with
+     * @return hex encoded hash of the signature, the first topic of the event logs
+     */
+    public static String getEventTopic(String eventSignature, CryptoSuite cryptoSuite) {
+        return getEntry(eventSignature, cryptoSuite).hash;
+    }
+
+    /**
+     * register hashes computed beforehand, ignored once {@link #CAPACITY} signatures are cached
+     *
+     * @param signature function or event signature
+     * @param hash hex encoded hash of the signature
+     * @param cryptoSuite crypto suite the hash was computed with
+     */
+    public static void register(String signature, String hash, CryptoSuite cryptoSuite) {
+        Map<String, Entry> suiteEntries = getEntries(cryptoSuite);
+        if (suiteEntries.size() < CAPACITY || suiteEntries.containsKey(signature)) {
+            suiteEntries.put(signature, new Entry(Numeric.hexStringToByteArray(hash)));
+        }
+    }
+
+    /**
+     * register hashes computed beforehand for both ECDSA and SM2 chains, as generated wrappers do
+     *
+     * @param signatureHashes signature followed by its ECDSA and its SM2 hash, for each signature
+     * @return the signature hashes
+     */
+    public static String[] register(String... signatureHashes) {
+        if (signatureHashes.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                    "signature hashes are not signature, ECDSA hash and SM2 hash triples: "
+                            + signatureHashes.length);
+        }
+
+        for (int i = 0; i < signatureHashes.length; i += 3) {
+            register(signatureHashes[i], signatureHashes[i + 1], CryptoSuite.ECDSA);
+            register(signatureHashes[i], signatureHashes[i + 2], CryptoSuite.SM2);
+        }
+        return signatureHashes;
+    }
+
+    /** @return signatures cached for the hash algorithm of the crypto suite */
+    public static int size(CryptoSuite cryptoSuite) {
+        return getEntries(cryptoSuite).size();
+    }
+
+    private static Map<String, Entry> getEntries(CryptoSuite cryptoSuite) {
+        return entries.computeIfAbsent(
+                cryptoSuite.getHashInterface().getClass(), k -> new ConcurrentHashMap<>());
+    }
+
+    private static Entry getEntry(String signature, CryptoSuite cryptoSuite) {
+        Map<String, Entry> suiteEntries = getEntries(cryptoSuite);
+        Entry entry = suiteEntries.get(signature);
+        if (entry == null) {
+            entry = new Entry(cryptoSuite.hash(signature.getBytes(StandardCharsets.UTF_8)));
+            if (suiteEntries.size() < CAPACITY) {
+                suiteEntries.putIfAbsent(signature, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final String methodId;
+        private final byte[] methodIdBytes;
+
+        Entry(byte[] hash) {
+            this.hash = Numeric.toHexString(hash);
+            this.methodId = this.hash.substring(0, 2 + METHOD_ID_LENGTH * 2);
+            this.methodIdBytes = Arrays.copyOf(hash, METHOD_ID_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.fisco.bcos.web3j.abi;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Bytes;
+import org.fisco.bcos.web3j.abi.datatypes.NumericType;
+import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+
+/**
+ * Constructors of ABI types, resolved once per class into lambdas so that decoding creates values
+ * without reflection.
+ */
+final class TypeConstructors {
+
+    private static final ClassValue<Function<Object, Object>> numericConstructors =
+            new ConstructorValue(BigInteger.class);
+    private static final ClassValue<Function<Object, Object>> bytesConstructors =
+            new ConstructorValue(byte[].class);
+    private static final ClassValue<Function<Object, Object>> listConstructors =
+            new ConstructorValue(List.class);
+
+    private TypeConstructors() {}
+
+    @SuppressWarnings("unchecked")
+    static <T extends NumericType> Function<BigInteger, T> numeric(Class<T> type) {
+        return (Function<BigInteger, T>) (Function<?, ?>) numericConstructors.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Bytes> Function<byte[], T> bytes(Class<T> type) {
+        return (Function<byte[], T>) (Function<?, ?>) bytesConstructors.get(type);
+    }
+
+    /** @return constructor of the static array type, {@link StaticArray} if it has none */
+    @SuppressWarnings("unchecked")
+    static <T extends Type> Function<List<T>, T> staticArray(Class<T> type) {
+        Function<Object, Object> constructor = listConstructors.get(type);
+        if (constructor == null) {
+            return elements -> (T) new StaticArray<>(elements);
+        }
+        return (Function<List<T>, T>) (Function<?, ?>) constructor;
+    }
+
+    private static class ConstructorValue extends ClassValue<Function<Object, Object>> {
+        private final Class<?> parameterType;
+
+        ConstructorValue(Class<?> parameterType) {
+            this.parameterType = parameterType;
+        }
+
+        @Override
+        protected Function<Object, Object> computeValue(Class<?> type) {
+            Function<Object, Object> constructor = createLambda(type, parameterType);
+            return constructor != null ? constructor : createReflective(type, parameterType);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createLambda(Class<?> type, Class<?> parameterType) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle =
+                    lookup.findConstructor(type, MethodType.methodType(void.class, parameterType));
+            CallSite callSite =
+                    LambdaMetafactory.metafactory(
+                            lookup,
+                            "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(type, parameterType));
+            return (Function<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            // not public or not visible from here, use the constructor through reflection
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> createReflective(
+            Class<?> type, Class<?> parameterType) {
+        Constructor<?> constructor;
+        try {
+            constructor = type.getConstructor(parameterType);
+        } catch (NoSuchMethodException | SecurityException e) {
+            if (parameterType == List.class) {
+                return null;
+            }
+            return value -> {
+                throw new UnsupportedOperationException(
+                        "Unable to create instance of " + type.getName(), e);
+            };
+        }
+
+        return value -> {
+            try {
+                return constructor.newInstance(value);
+            } catch (InstantiationException
+                    | IllegalAccessException
+                    | IllegalArgumentException
+                    | InvocationTargetException e) {
+                throw new UnsupportedOperationException(
+                        "Unable to create instance of " + type.getName(), e);
+            }
+        };
+    }
+}
@@ -1,24 +1,17 @@
 package org.fisco.bcos.web3j.abi;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.BiFunction;
 import org.fisco.bcos.web3j.abi.datatypes.Address;
 import org.fisco.bcos.web3j.abi.datatypes.Array;
 import org.fisco.bcos.web3j.abi.datatypes.Bool;
 import org.fisco.bcos.web3j.abi.datatypes.Bytes;
-import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
 import org.fisco.bcos.web3j.abi.datatypes.DynamicBytes;
 import org.fisco.bcos.web3j.abi.datatypes.Fixed;
 import org.fisco.bcos.web3j.abi.datatypes.FixedPointType;
 import org.fisco.bcos.web3j.abi.datatypes.Int;
 import org.fisco.bcos.web3j.abi.datatypes.IntType;
 import org.fisco.bcos.web3j.abi.datatypes.NumericType;
-import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.abi.datatypes.Ufixed;
 import org.fisco.bcos.web3j.abi.datatypes.Uint;
@@ -62,31 +55,20 @@ public class TypeDecoder {
     }
 
     static <T extends NumericType> T decodeNumeric(String input, Class<T> type) {
-        try {
-            byte[] inputByteArray = Numeric.hexStringToByteArray(input);
-            int typeLengthAsBytes = getTypeLengthInBytes(type);
+        byte[] inputByteArray = Numeric.hexStringToByteArray(input);
+        int typeLengthAsBytes = getTypeLengthInBytes(type);
 
-            byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
 
-            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
-                resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
-            }
-
-            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
-            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+        if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
+            resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
+        }
 
-            BigInteger numericValue = new BigInteger(resultByteArray);
-            return type.getConstructor(BigInteger.class).newInstance(numericValue);
+        int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+        System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
 
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+        BigInteger numericValue = new BigInteger(resultByteArray);
+        return TypeConstructors.numeric(type).apply(numericValue);
     }
 
     static <T extends NumericType> int getTypeLengthInBytes(Class<T> type) {
@@ -113,8 +95,17 @@ public class TypeDecoder {
     }
 
     static int decodeUintAsInt(String rawInput, int offset) {
-        String input = rawInput.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING);
-        return decode(input, 0, Uint.class).getValue().intValue();
+        int end = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
+        if (end > rawInput.length()) {
+            throw new StringIndexOutOfBoundsException(end);
+        }
+
+        // low 32 bits of the word, as BigInteger.intValue()
+        int value = 0;
+        for (int i = end - 8; i < end; ++i) {
+            value = (value << 4) | Character.digit(rawInput.charAt(i), 16);
+        }
+        return value;
     }
 
     static Bool decodeBool(String rawInput, int offset) {
@@ -129,24 +120,14 @@ public class TypeDecoder {
     }
 
     static <T extends Bytes> T decodeBytes(String input, int offset, Class<T> type) {
-        try {
-            String simpleName = type.getSimpleName();
-            String[] splitName = simpleName.split(Bytes.class.getSimpleName());
-            int length = Integer.parseInt(splitName[1]);
-            int hexStringLength = length << 1;
-
-            byte[] bytes =
-                    Numeric.hexStringToByteArray(input.substring(offset, offset + hexStringLength));
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+        String simpleName = type.getSimpleName();
+        String[] splitName = simpleName.split(Bytes.class.getSimpleName());
+        int length = Integer.parseInt(splitName[1]);
+        int hexStringLength = length << 1;
+
+        byte[] bytes =
+                Numeric.hexStringToByteArray(input.substring(offset, offset + hexStringLength));
+        return TypeConstructors.bytes(type).apply(bytes);
     }
 
     static DynamicBytes decodeDynamicBytes(String input, int offset) {
@@ -172,111 +153,15 @@ public class TypeDecoder {
     @SuppressWarnings("unchecked")
     public static <T extends Type> T decodeStaticArray(
             String input, int offset, java.lang.reflect.Type type, int length) {
-
-        BiFunction<List<T>, String, T> function =
-                (elements, typeName) -> {
-                    if (elements.isEmpty()) {
-                        throw new UnsupportedOperationException(
-                                "Zero length fixed array is invalid type");
-                    } else {
-                        return instantiateStaticArray(type, elements);
-                    }
-                };
-
-        return decodeArrayElements(input, offset, type, length, function);
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> T instantiateStaticArray(
-            java.lang.reflect.Type type, List<T> elements) {
-        try {
-
-            Class<T> cls = Utils.getClassType(type);
-            return cls.getConstructor(List.class).newInstance(elements);
-
-        } catch (ReflectiveOperationException e) {
-            // noinspection unchecked
-            return (T) new StaticArray<>(elements);
-        }
+        return (T)
+                ((DecoderPlan.ArrayDecoder) DecoderPlan.decoder(type))
+                        .decode(Numeric.hexStringToByteArray(input), offset >> 1, length);
     }
 
     @SuppressWarnings("unchecked")
     public static <T extends Type> T decodeDynamicArray(
             String input, int offset, java.lang.reflect.Type type) {
-
-        int length = decodeUintAsInt(input, offset);
-
-        BiFunction<List<T>, String, T> function =
-                (elements, typeName) -> {
-                    if (elements.isEmpty()) {
-                        return (T) DynamicArray.empty(typeName);
-                    } else {
-                        return (T) new DynamicArray<>(elements);
-                    }
-                };
-
-        int valueOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
-
-        return decodeArrayElements(input, valueOffset, type, length, function);
-    }
-
-    @SuppressWarnings("rawtypes")
-    private static <T extends Type> T decodeArrayElements(
-            String input,
-            int offset,
-            java.lang.reflect.Type type,
-            int length,
-            BiFunction<List<T>, String, T> consumer) {
-
-        try {
-            List<T> elements = new ArrayList<>(length);
-
-            java.lang.reflect.Type[] types = ((ParameterizedType) type).getActualTypeArguments();
-            Class<T> paraType = Utils.getClassType(types[0]);
-
-            for (int i = 0; i < length; ++i) {
-
-                int currEleOffset =
-                        offset + (i * MAX_BYTE_LENGTH_FOR_HEX_STRING * Utils.getOffset(types[0]));
-
-                T t = null;
-                if (Array.class.isAssignableFrom(paraType)) { // nest array
-                    int size = 0;
-                    if (StaticArray.class.isAssignableFrom(paraType)) {
-                        size =
-                                Integer.parseInt(
-                                        Utils.getClassType(types[0])
-                                                .getSimpleName()
-                                                .substring(
-                                                        StaticArray.class
-                                                                .getSimpleName()
-                                                                .length()));
-                        t = decodeStaticArray(input, currEleOffset, types[0], size);
-                    } else {
-                        int getOffset = TypeDecoder.decodeUintAsInt(input, currEleOffset) << 1;
-                        t = decodeDynamicArray(input, offset + getOffset, types[0]);
-                    }
-
-                } else {
-                    if (Utf8String.class.isAssignableFrom(paraType)
-                            || DynamicBytes.class.isAssignableFrom(paraType)) { // dynamicType
-                        int getOffset = TypeDecoder.decodeUintAsInt(input, currEleOffset) << 1;
-                        t = decode(input, offset + getOffset, paraType);
-                    } else {
-                        t = decode(input, currEleOffset, paraType);
-                    }
-                }
-
-                elements.add(t);
-            }
-
-            String typeName = Utils.getSimpleTypeName(paraType);
-
-            return consumer.apply(elements, typeName);
-
-        } catch (ClassNotFoundException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to access parameterized type " + type.getTypeName(), e);
-        }
+        return (T)
+                DecoderPlan.decoder(type).decode(Numeric.hexStringToByteArray(input), offset >> 1);
     }
 }
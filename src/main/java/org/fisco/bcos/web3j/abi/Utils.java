@@ -139,6 +139,8 @@ public class Utils {
             throws ClassNotFoundException {
         if (type instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof Class) {
+            return (Class<T>) type;
         } else {
             return (Class<T>) Class.forName(type.getTypeName());
         }
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +30,7 @@ import javax.lang.model.element.Modifier;
 import org.fisco.bcos.web3j.abi.EventEncoder;
 import org.fisco.bcos.web3j.abi.FunctionEncoder;
 import org.fisco.bcos.web3j.abi.FunctionReturnDecoder;
+import org.fisco.bcos.web3j.abi.SignatureCache;
 import org.fisco.bcos.web3j.abi.TypeReference;
 import org.fisco.bcos.web3j.abi.datatypes.Address;
 import org.fisco.bcos.web3j.abi.datatypes.Bool;
@@ -41,6 +43,7 @@ import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
 import org.fisco.bcos.web3j.abi.datatypes.generated.AbiTypes;
 import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.RemoteCall;
@@ -181,6 +184,7 @@ public class SolidityFunctionWrapper extends Generator {
                 .addField(createBinaryDefinition())
                 .addField(createABIArrayDefinition())
                 .addField(createABIDefinition())
+                .addField(createSignatureHashesDefinition(abi))
                 .addField(createTransactionDecoderDefinition());
     }
 
@@ -205,6 +209,45 @@ public class SolidityFunctionWrapper extends Generator {
                 .build();
     }
 
+    // hashes of the function and event signatures for ECDSA and SM2, registered when the class is
+    // loaded, before the transaction decoder is built
+    private FieldSpec createSignatureHashesDefinition(List<AbiDefinition> abi) {
+        Set<String> signatures = new LinkedHashSet<>();
+        for (AbiDefinition abiDefinition : abi) {
+            if (!abiDefinition.getType().equals("function")
+                    && !abiDefinition.getType().equals("event")) {
+                continue;
+            }
+
+            List<NamedType> inputs =
+                    abiDefinition.getInputs() == null
+                            ? Collections.emptyList()
+                            : abiDefinition.getInputs();
+            signatures.add(
+                    abiDefinition.getName()
+                            + "("
+                            + inputs.stream()
+                                    .map(NamedType::getType)
+                                    .collect(Collectors.joining(","))
+                            + ")");
+        }
+
+        List<String> format = new ArrayList<String>();
+        List<Object> args = new ArrayList<Object>();
+        args.add(SignatureCache.class);
+        for (String signature : signatures) {
+            format.add("$S, $S, $S");
+            args.add(signature);
+            args.add(EventEncoder.buildEventSignature(signature, CryptoSuite.ECDSA));
+            args.add(EventEncoder.buildEventSignature(signature, CryptoSuite.SM2));
+        }
+
+        return FieldSpec.builder(String[].class, "SIGNATURE_HASHES")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL, Modifier.STATIC)
+                .initializer("$T.register(" + String.join(",\n", format) + ")", args.toArray())
+                .build();
+    }
+
     private FieldSpec createBinaryArrayDefinition(String binary) {
         int maxField = 8 * 1024; // 8k for each field
 
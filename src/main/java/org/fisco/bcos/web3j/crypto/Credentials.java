@@ -7,10 +7,12 @@ public class Credentials {
 
     private final ECKeyPair ecKeyPair;
     private final String address;
+    private final CryptoSuite cryptoSuite;
 
-    private Credentials(ECKeyPair ecKeyPair, String address) {
+    private Credentials(ECKeyPair ecKeyPair, String address, CryptoSuite cryptoSuite) {
         this.ecKeyPair = ecKeyPair;
         this.address = address;
+        this.cryptoSuite = cryptoSuite;
     }
 
     public ECKeyPair getEcKeyPair() {
@@ -21,9 +23,18 @@ public class Credentials {
         return address;
     }
 
+    /** @return the crypto suite transactions of these credentials are hashed and signed with */
+    public CryptoSuite getCryptoSuite() {
+        return cryptoSuite;
+    }
+
     public static Credentials create(ECKeyPair ecKeyPair) {
-        String address = Numeric.prependHexPrefix(Keys.getAddress(ecKeyPair));
-        return new Credentials(ecKeyPair, address);
+        return create(ecKeyPair, CryptoSuite.getDefault());
+    }
+
+    public static Credentials create(ECKeyPair ecKeyPair, CryptoSuite cryptoSuite) {
+        String address = Numeric.prependHexPrefix(cryptoSuite.getAddress(ecKeyPair.getPublicKey()));
+        return new Credentials(ecKeyPair, address, cryptoSuite);
     }
 
     public static Credentials create(String privateKey, String publicKey) {
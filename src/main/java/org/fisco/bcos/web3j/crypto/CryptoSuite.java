@@ -0,0 +1,129 @@
+package org.fisco.bcos.web3j.crypto;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2Sign;
+import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Hash and signature algorithms of one chain. A suite is carried by {@link Credentials}, {@link
+ * org.fisco.bcos.web3j.protocol.Web3j} and {@link org.fisco.bcos.web3j.tx.TransactionManager}, so
+ * ECDSA and SM2 chains can be used from one process at the same time. The static {@link Hash},
+ * {@link Sign} and {@link EncryptType} API works on the default suite.
+ */
+public class CryptoSuite {
+
+    public static final CryptoSuite ECDSA = createECDSA();
+    public static final CryptoSuite SM2 =
+            new CryptoSuite(EncryptType.SM2_TYPE, new SM3Digest(), new SM2Sign());
+
+    private static volatile CryptoSuite defaultSuite = ECDSA;
+
+    private static CryptoSuite createECDSA() {
+        SHA3Digest sha3Digest = new SHA3Digest();
+        return new CryptoSuite(EncryptType.ECDSA_TYPE, sha3Digest, new ECDSASign(sha3Digest));
+    }
+
+    private final int encryptType;
+    private final HashInterface hashInterface;
+    private final SignInterface signInterface;
+
+    public CryptoSuite(int encryptType, HashInterface hashInterface, SignInterface signInterface) {
+        this.encryptType = encryptType;
+        this.hashInterface = hashInterface;
+        this.signInterface = signInterface;
+    }
+
+    /**
+     * @return the shared suite of {@link EncryptType#ECDSA_TYPE} or {@link EncryptType#SM2_TYPE}
+     */
+    public static CryptoSuite of(int encryptType) {
+        return encryptType == EncryptType.SM2_TYPE ? SM2 : ECDSA;
+    }
+
+    /** @return the suite used by the static API, selected by {@link EncryptType} */
+    public static CryptoSuite getDefault() {
+        return defaultSuite;
+    }
+
+    static void setDefault(CryptoSuite cryptoSuite) {
+        defaultSuite = cryptoSuite;
+    }
+
+    public int getEncryptType() {
+        return encryptType;
+    }
+
+    public boolean isSM2() {
+        return encryptType == EncryptType.SM2_TYPE;
+    }
+
+    public HashInterface getHashInterface() {
+        return hashInterface;
+    }
+
+    public SignInterface getSignInterface() {
+        return signInterface;
+    }
+
+    /**
+     * @param hexInput hex encoded input data with optional 0x prefix
+     * @return hash value as hex encoded string
+     */
+    public String hash(String hexInput) {
+        return hashInterface.hash(hexInput);
+    }
+
+    public byte[] hash(byte[] input) {
+        return hashInterface.hash(input, 0, input.length);
+    }
+
+    public byte[] hash(byte[] input, int offset, int length) {
+        return hashInterface.hash(input, offset, length);
+    }
+
+    /** @see HashInterface#hash(byte[], int, int, byte[], int) */
+    public int hash(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        return hashInterface.hash(input, offset, length, out, outOffset);
+    }
+
+    /** @see HashInterface#hash(ByteBuffer) */
+    public byte[] hash(ByteBuffer input) {
+        return hashInterface.hash(input);
+    }
+
+    public Sign.SignatureData sign(byte[] message, ECKeyPair keyPair) {
+        return signInterface.signMessage(message, keyPair);
+    }
+
+    /** @return hex encoded address without 0x prefix */
+    public String getAddress(BigInteger publicKey) {
+        return Keys.getAddress(publicKey, hashInterface);
+    }
+
+    public ECKeyPair createKeyPair() {
+        return GenCredential.createKeyPair(encryptType);
+    }
+
+    /** @param privateKey hex encoded private key */
+    public ECKeyPair createKeyPair(String privateKey) {
+        return GenCredential.createKeyPair(privateKey, encryptType);
+    }
+
+    /** @return credentials of a new key pair, null if the key pair can not be created */
+    public Credentials createCredentials() {
+        ECKeyPair keyPair = createKeyPair();
+        return keyPair == null ? null : Credentials.create(keyPair, this);
+    }
+
+    /**
+     * @param privateKey hex encoded private key
+     * @return credentials of the key pair, null if the key pair can not be created
+     */
+    public Credentials createCredentials(String privateKey) {
+        ECKeyPair keyPair = createKeyPair(Numeric.cleanHexPrefix(privateKey));
+        return keyPair == null ? null : Credentials.create(keyPair, this);
+    }
+}
@@ -0,0 +1,115 @@
+package org.fisco.bcos.web3j.crypto;
+
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+import org.bouncycastle.crypto.Digest;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * {@link HashInterface} on a BouncyCastle digest that is reused by each thread instead of being
+ * allocated per hash. Hex input is decoded straight into the digest and direct buffers are copied
+ * through a per thread scratch array, so no intermediate copy of the input is made.
+ */
+public class DigestHash implements HashInterface {
+
+    // scratch array size for hex and direct buffer input
+    private static final int CHUNK_SIZE = 512;
+
+    private final ThreadLocal<State> state;
+    private final int digestSize;
+
+    /** @param digestFactory creates the digest of each thread */
+    public DigestHash(Supplier<Digest> digestFactory) {
+        this.state = ThreadLocal.withInitial(() -> new State(digestFactory.get()));
+        this.digestSize = digestFactory.get().getDigestSize();
+    }
+
+    public int getDigestSize() {
+        return digestSize;
+    }
+
+    @Override
+    public String hash(String hexInput) {
+        State state = this.state.get();
+        Digest digest = state.digest;
+        byte[] chunk = state.chunk;
+
+        int start = Numeric.containsHexPrefix(hexInput) ? 2 : 0;
+        int end = hexInput.length();
+        int length = 0;
+        if ((end - start) % 2 != 0) {
+            chunk[length++] = (byte) Character.digit(hexInput.charAt(start++), 16);
+        }
+        for (int i = start; i < end; i += 2) {
+            chunk[length++] =
+                    (byte)
+                            ((Character.digit(hexInput.charAt(i), 16) << 4)
+                                    + Character.digit(hexInput.charAt(i + 1), 16));
+            if (length == CHUNK_SIZE) {
+                digest.update(chunk, 0, length);
+                length = 0;
+            }
+        }
+        digest.update(chunk, 0, length);
+
+        byte[] result = new byte[digestSize];
+        digest.doFinal(result, 0);
+        return Numeric.toHexString(result);
+    }
+
+    @Override
+    public byte[] hash(byte[] input, int offset, int length) {
+        byte[] result = new byte[digestSize];
+        hash(input, offset, length, result, 0);
+        return result;
+    }
+
+    @Override
+    public byte[] hash(byte[] input) {
+        return hash(input, 0, input.length);
+    }
+
+    @Override
+    public int hash(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        Digest digest = state.get().digest;
+        try {
+            digest.update(input, offset, length);
+            return digest.doFinal(out, outOffset);
+        } catch (RuntimeException e) {
+            // leave the digest of this thread clean for the next hash
+            digest.reset();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] hash(ByteBuffer input) {
+        State state = this.state.get();
+        Digest digest = state.digest;
+        digest.reset();
+        if (input.hasArray()) {
+            digest.update(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            input.position(input.limit());
+        } else {
+            byte[] chunk = state.chunk;
+            while (input.hasRemaining()) {
+                int length = Math.min(input.remaining(), CHUNK_SIZE);
+                input.get(chunk, 0, length);
+                digest.update(chunk, 0, length);
+            }
+        }
+
+        byte[] result = new byte[digestSize];
+        digest.doFinal(result, 0);
+        return result;
+    }
+
+    private static class State {
+        private final Digest digest;
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+
+        State(Digest digest) {
+            this.digest = digest;
+        }
+    }
+}
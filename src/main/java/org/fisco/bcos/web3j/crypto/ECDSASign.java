@@ -22,6 +22,18 @@ public class ECDSASign implements SignInterface {
                     Hex.decode("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141"));
     private static final BigInteger halfCurveN = curveN.shiftRight(1);
 
+    // null to hash with the default crypto suite
+    private final HashInterface hashInterface;
+
+    public ECDSASign() {
+        this(null);
+    }
+
+    /** @param hashInterface hash of the message to sign */
+    public ECDSASign(HashInterface hashInterface) {
+        this.hashInterface = hashInterface;
+    }
+
     /**
      * Sign the message with ECDSA algorithm without add 27 to v
      *
@@ -66,7 +78,8 @@ public class ECDSASign implements SignInterface {
         BigInteger privateKey = keyPair.getPrivateKey();
         BigInteger publicKey = keyPair.getPublicKey();
 
-        byte[] messageHash = Hash.sha3(message);
+        byte[] messageHash =
+                hashInterface != null ? hashInterface.hash(message) : Hash.sha3(message);
 
         ECDSASignature sig = sign(messageHash, privateKey);
 
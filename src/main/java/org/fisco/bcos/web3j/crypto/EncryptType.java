@@ -1,8 +1,6 @@
 package org.fisco.bcos.web3j.crypto;
 
-import org.fisco.bcos.web3j.crypto.gm.sm2.SM2Sign;
-import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
-
+/** Selects the {@link CryptoSuite#getDefault() default crypto suite} of the static API. */
 public class EncryptType {
 
     public static final int ECDSA_TYPE = 0;
@@ -12,17 +10,7 @@ public class EncryptType {
 
     public EncryptType(int encryptType) {
         EncryptType.encryptType = encryptType;
-        SignInterface signInterface;
-        HashInterface hashInterface;
-        if (encryptType == SM2_TYPE) {
-            signInterface = new SM2Sign();
-            hashInterface = new SM3Digest();
-        } else {
-            signInterface = new ECDSASign();
-            hashInterface = new SHA3Digest();
-        }
-        Sign.setSignInterface(signInterface);
-        Hash.setHashInterface(hashInterface);
+        CryptoSuite.setDefault(CryptoSuite.of(encryptType));
     }
 
     public int getEncryptType() {
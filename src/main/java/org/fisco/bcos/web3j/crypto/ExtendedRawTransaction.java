@@ -19,7 +19,9 @@ public class ExtendedRawTransaction implements Serializable {
     private BigInteger blockLimit;
     private String to;
     private BigInteger value;
-    private String data;
+    // hex data, or the data already encoded as bytes, only one of them is set
+    private final String data;
+    private final byte[] dataBytes;
     private BigInteger fiscoChainId;
     private BigInteger groupId;
     private String extraData;
@@ -47,9 +49,32 @@ public class ExtendedRawTransaction implements Serializable {
 
         this.value = value;
 
-        if (data != null) {
-            this.data = Numeric.cleanHexPrefix(data);
-        }
+        this.data = data != null ? Numeric.cleanHexPrefix(data) : null;
+        this.dataBytes = null;
+    }
+
+    protected ExtendedRawTransaction(
+            BigInteger randomid,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            BigInteger blockLimit,
+            String to,
+            BigInteger value,
+            byte[] data,
+            BigInteger fiscoChainId,
+            BigInteger groupId,
+            String extraData) {
+        this.randomid = randomid;
+        this.gasPrice = gasPrice;
+        this.gasLimit = gasLimit;
+        this.blockLimit = blockLimit;
+        this.fiscoChainId = fiscoChainId;
+        this.groupId = groupId;
+        this.extraData = extraData;
+        this.to = to;
+        this.value = value;
+        this.data = null;
+        this.dataBytes = data;
     }
 
     public static ExtendedRawTransaction createContractTransaction(
@@ -113,6 +138,36 @@ public class ExtendedRawTransaction implements Serializable {
                 extraData);
     }
 
+    /**
+     * create a transaction with its data already encoded as bytes, such as by {@link
+     * org.fisco.bcos.web3j.abi.FunctionEncoder#encodeToBytes}, so it is not converted to hex and
+     * back when signed
+     */
+    public static ExtendedRawTransaction createTransaction(
+            BigInteger randomid,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            BigInteger blockLimit,
+            String to,
+            BigInteger value,
+            byte[] data,
+            BigInteger chainId,
+            BigInteger groupId,
+            String extraData) {
+
+        return new ExtendedRawTransaction(
+                randomid,
+                gasPrice,
+                gasLimit,
+                blockLimit,
+                to,
+                value,
+                data,
+                chainId,
+                groupId,
+                extraData);
+    }
+
     public BigInteger getRandomid() {
         return randomid;
     }
@@ -138,7 +193,12 @@ public class ExtendedRawTransaction implements Serializable {
     }
 
     public String getData() {
-        return data;
+        return dataBytes != null ? Numeric.toHexStringNoPrefix(dataBytes) : data;
+    }
+
+    /** @return data as bytes, the array the transaction was created with is not to be modified */
+    public byte[] getDataBytes() {
+        return dataBytes != null ? dataBytes : Numeric.hexStringToByteArray(data);
     }
 
     public BigInteger getVersion() {
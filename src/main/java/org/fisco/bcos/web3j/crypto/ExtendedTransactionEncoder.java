@@ -17,21 +17,36 @@ public class ExtendedTransactionEncoder {
 
     public static byte[] signMessage(
             ExtendedRawTransaction rawTransaction, Credentials credentials) {
+        CryptoSuite cryptoSuite = credentials.getCryptoSuite();
         byte[] encodedTransaction = encode(rawTransaction);
         Sign.SignatureData signatureData =
-                Sign.getSignInterface().signMessage(encodedTransaction, credentials.getEcKeyPair());
+                cryptoSuite.sign(encodedTransaction, credentials.getEcKeyPair());
 
-        return encode(rawTransaction, signatureData);
+        return encode(rawTransaction, signatureData, cryptoSuite);
     }
 
     public static byte[] signMessage(
             ExtendedRawTransaction rawTransaction, byte chainId, Credentials credentials) {
+        CryptoSuite cryptoSuite = credentials.getCryptoSuite();
         byte[] encodedTransaction = encode(rawTransaction, chainId);
         Sign.SignatureData signatureData =
-                Sign.getSignInterface().signMessage(encodedTransaction, credentials.getEcKeyPair());
+                cryptoSuite.sign(encodedTransaction, credentials.getEcKeyPair());
 
         Sign.SignatureData eip155SignatureData = createEip155SignatureData(signatureData, chainId);
-        return encode(rawTransaction, eip155SignatureData);
+        return encode(rawTransaction, eip155SignatureData, cryptoSuite);
+    }
+
+    /** sign the transaction and hash the encoded result */
+    public static SignedTransaction signTransaction(
+            ExtendedRawTransaction rawTransaction, Credentials credentials) {
+        return new SignedTransaction(
+                signMessage(rawTransaction, credentials), credentials.getCryptoSuite());
+    }
+
+    public static SignedTransaction signTransaction(
+            ExtendedRawTransaction rawTransaction, byte chainId, Credentials credentials) {
+        return new SignedTransaction(
+                signMessage(rawTransaction, chainId, credentials), credentials.getCryptoSuite());
     }
 
     public static Sign.SignatureData createEip155SignatureData(
@@ -53,13 +68,28 @@ public class ExtendedTransactionEncoder {
 
     public static byte[] encode(
             ExtendedRawTransaction rawTransaction, Sign.SignatureData signatureData) {
-        List<RlpType> values = asRlpValues(rawTransaction, signatureData);
+        return encode(rawTransaction, signatureData, CryptoSuite.getDefault());
+    }
+
+    /** encode with the signature layout of the crypto suite */
+    public static byte[] encode(
+            ExtendedRawTransaction rawTransaction,
+            Sign.SignatureData signatureData,
+            CryptoSuite cryptoSuite) {
+        List<RlpType> values = asRlpValues(rawTransaction, signatureData, cryptoSuite);
         RlpList rlpList = new RlpList(values);
         return RlpEncoder.encode(rlpList);
     }
 
     static List<RlpType> asRlpValues(
             ExtendedRawTransaction rawTransaction, Sign.SignatureData signatureData) {
+        return asRlpValues(rawTransaction, signatureData, CryptoSuite.getDefault());
+    }
+
+    static List<RlpType> asRlpValues(
+            ExtendedRawTransaction rawTransaction,
+            Sign.SignatureData signatureData,
+            CryptoSuite cryptoSuite) {
         List<RlpType> result = new ArrayList<>();
         result.add(RlpString.create(rawTransaction.getRandomid()));
         result.add(RlpString.create(rawTransaction.getGasPrice()));
@@ -77,9 +107,7 @@ public class ExtendedTransactionEncoder {
 
         result.add(RlpString.create(rawTransaction.getValue()));
 
-        // value field will already be hex encoded, so we need to convert into binary first
-        byte[] data = Numeric.hexStringToByteArray(rawTransaction.getData());
-        result.add(RlpString.create(data));
+        result.add(RlpString.create(rawTransaction.getDataBytes()));
 
         // add extra data!!!
 
@@ -92,7 +120,7 @@ public class ExtendedTransactionEncoder {
                     RlpString.create(Numeric.hexStringToByteArray(rawTransaction.getExtraData())));
         }
         if (signatureData != null) {
-            if (EncryptType.encryptType == 1) {
+            if (cryptoSuite.isSM2()) {
                 // Note: shouldn't trimLeadingZeroes here for the Pub must be with the length of 64
                 // Bytes
                 result.add(RlpString.create(signatureData.getPub()));
@@ -1,5 +1,6 @@
 package org.fisco.bcos.web3j.crypto;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -13,14 +14,18 @@ import org.fisco.bcos.web3j.utils.Numeric;
 public class Hash {
     private Hash() {}
 
-    private static HashInterface hashInterface = new SHA3Digest();
-
     public static HashInterface getHashInterface() {
-        return hashInterface;
+        return CryptoSuite.getDefault().getHashInterface();
     }
 
+    /** replace the hash of the default {@link CryptoSuite} */
     public static void setHashInterface(HashInterface hashInterface) {
-        Hash.hashInterface = hashInterface;
+        CryptoSuite cryptoSuite = CryptoSuite.getDefault();
+        CryptoSuite.setDefault(
+                new CryptoSuite(
+                        cryptoSuite.getEncryptType(),
+                        hashInterface,
+                        cryptoSuite.getSignInterface()));
     }
 
     /**
@@ -30,7 +35,7 @@ public class Hash {
      * @return hash value as hex encoded string
      */
     public static String sha3(String hexInput) {
-        return hashInterface.hash(hexInput);
+        return CryptoSuite.getDefault().hash(hexInput);
     }
 
     /**
@@ -42,7 +47,7 @@ public class Hash {
      * @return hash value
      */
     public static byte[] sha3(byte[] input, int offset, int length) {
-        return hashInterface.hash(input, offset, length);
+        return CryptoSuite.getDefault().hash(input, offset, length);
     }
 
     /**
@@ -52,7 +57,17 @@ public class Hash {
      * @return hash value
      */
     public static byte[] sha3(byte[] input) {
-        return hashInterface.hash(input, 0, input.length);
+        return CryptoSuite.getDefault().hash(input);
+    }
+
+    /**
+     * Keccak-256 hash function.
+     *
+     * @param input binary encoded input data, its position is moved to its limit
+     * @return hash value
+     */
+    public static byte[] sha3(ByteBuffer input) {
+        return CryptoSuite.getDefault().hash(input);
     }
 
     /**
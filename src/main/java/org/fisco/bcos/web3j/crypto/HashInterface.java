@@ -1,4 +1,7 @@
 package org.fisco.bcos.web3j.crypto;
+
+import java.nio.ByteBuffer;
+
 /** Created by websterchen on 2018/3/4. */
 public interface HashInterface {
     String hash(String hexInput);
@@ -6,4 +9,32 @@ public interface HashInterface {
     byte[] hash(byte[] input, int offset, int length);
 
     byte[] hash(byte[] input);
+
+    /**
+     * hash into an existing array
+     *
+     * @param input binary encoded input data
+     * @param offset of start of data
+     * @param length of data
+     * @param out receives the hash value
+     * @param outOffset of the hash value in out
+     * @return length of the hash value
+     */
+    default int hash(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        byte[] result = hash(input, offset, length);
+        System.arraycopy(result, 0, out, outOffset, result.length);
+        return result.length;
+    }
+
+    /**
+     * hash the remaining bytes of the buffer, its position is moved to its limit
+     *
+     * @param input binary encoded input data
+     * @return hash value
+     */
+    default byte[] hash(ByteBuffer input) {
+        byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        return hash(bytes);
+    }
 }
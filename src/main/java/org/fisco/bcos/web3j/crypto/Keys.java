@@ -93,6 +93,17 @@ public class Keys {
     }
 
     public static String getAddress(String publicKey) {
+        return getAddress(publicKey, Hash.getHashInterface());
+    }
+
+    /** @return address of the public key hashed with the given hash */
+    public static String getAddress(BigInteger publicKey, HashInterface hashInterface) {
+        return getAddress(
+                Numeric.toHexStringWithPrefixZeroPadded(publicKey, PUBLIC_KEY_LENGTH_IN_HEX),
+                hashInterface);
+    }
+
+    public static String getAddress(String publicKey, HashInterface hashInterface) {
         String publicKeyNoPrefix = Numeric.cleanHexPrefix(publicKey);
 
         if (publicKeyNoPrefix.length() < PUBLIC_KEY_LENGTH_IN_HEX) {
@@ -100,7 +111,7 @@ public class Keys {
                     Strings.zeros(PUBLIC_KEY_LENGTH_IN_HEX - publicKeyNoPrefix.length())
                             + publicKeyNoPrefix;
         }
-        String hash = Hash.sha3(publicKeyNoPrefix);
+        String hash = hashInterface.hash(publicKeyNoPrefix);
         return hash.substring(hash.length() - ADDRESS_LENGTH_IN_HEX); // right most 160 bits
     }
 
@@ -19,7 +19,9 @@ public class RawTransaction implements Serializable {
     private BigInteger blockLimit;
     private String to;
     private BigInteger value;
-    private String data;
+    // hex data, or the data already encoded as bytes, only one of them is set
+    private final String data;
+    private final byte[] dataBytes;
     private BigInteger version = TransactionConstant.version;
 
     protected RawTransaction(
@@ -39,9 +41,26 @@ public class RawTransaction implements Serializable {
 
         this.value = value;
 
-        if (data != null) {
-            this.data = Numeric.cleanHexPrefix(data);
-        }
+        this.data = data != null ? Numeric.cleanHexPrefix(data) : null;
+        this.dataBytes = null;
+    }
+
+    protected RawTransaction(
+            BigInteger randomid,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            BigInteger blockLimit,
+            String to,
+            BigInteger value,
+            byte[] data) {
+        this.randomid = randomid;
+        this.gasPrice = gasPrice;
+        this.gasLimit = gasLimit;
+        this.blockLimit = blockLimit;
+        this.to = to;
+        this.value = value;
+        this.data = null;
+        this.dataBytes = data;
     }
 
     public static RawTransaction createContractTransaction(
@@ -89,6 +108,23 @@ public class RawTransaction implements Serializable {
         return new RawTransaction(randomid, gasPrice, gasLimit, blockLimit, to, value, data);
     }
 
+    /**
+     * create a transaction with its data already encoded as bytes, such as by {@link
+     * org.fisco.bcos.web3j.abi.FunctionEncoder#encodeToBytes}, so it is not converted to hex and
+     * back when signed
+     */
+    public static RawTransaction createTransaction(
+            BigInteger randomid,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            BigInteger blockLimit,
+            String to,
+            BigInteger value,
+            byte[] data) {
+
+        return new RawTransaction(randomid, gasPrice, gasLimit, blockLimit, to, value, data);
+    }
+
     public BigInteger getRandomid() {
         return randomid;
     }
@@ -114,7 +150,12 @@ public class RawTransaction implements Serializable {
     }
 
     public String getData() {
-        return data;
+        return dataBytes != null ? Numeric.toHexStringNoPrefix(dataBytes) : data;
+    }
+
+    /** @return data as bytes, the array the transaction was created with is not to be modified */
+    public byte[] getDataBytes() {
+        return dataBytes != null ? dataBytes : Numeric.hexStringToByteArray(data);
     }
 
     public BigInteger getVersion() {
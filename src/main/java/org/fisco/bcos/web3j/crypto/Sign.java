@@ -22,14 +22,18 @@ import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
  * BitcoinJ ECKey</a> implementation.
  */
 public class Sign {
-    private static SignInterface signInterface = new ECDSASign();
-
     public static SignInterface getSignInterface() {
-        return signInterface;
+        return CryptoSuite.getDefault().getSignInterface();
     }
 
+    /** replace the signature of the default {@link CryptoSuite} */
     public static void setSignInterface(SignInterface signInterface) {
-        Sign.signInterface = signInterface;
+        CryptoSuite cryptoSuite = CryptoSuite.getDefault();
+        CryptoSuite.setDefault(
+                new CryptoSuite(
+                        cryptoSuite.getEncryptType(),
+                        cryptoSuite.getHashInterface(),
+                        signInterface));
     }
 
     public static final X9ECParameters CURVE_PARAMS = CustomNamedCurves.getByName("secp256k1");
@@ -0,0 +1,42 @@
+package org.fisco.bcos.web3j.crypto;
+
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * A signed, RLP encoded transaction and its hash. The hash is taken over the encoded bytes right
+ * after signing, so the hex string does not have to be decoded and hashed again to verify the hash
+ * returned by the node.
+ */
+public class SignedTransaction {
+
+    private final byte[] signedMessage;
+    private final byte[] transactionHash;
+
+    public SignedTransaction(byte[] signedMessage) {
+        this(signedMessage, CryptoSuite.getDefault());
+    }
+
+    /** @param cryptoSuite suite the transaction is hashed with */
+    public SignedTransaction(byte[] signedMessage, CryptoSuite cryptoSuite) {
+        this.signedMessage = signedMessage;
+        this.transactionHash = cryptoSuite.hash(signedMessage);
+    }
+
+    public byte[] getSignedMessage() {
+        return signedMessage;
+    }
+
+    /** @return hex encoded signed transaction, as sent by sendRawTransaction */
+    public String getHexValue() {
+        return Numeric.toHexString(signedMessage);
+    }
+
+    public byte[] getTransactionHashBytes() {
+        return transactionHash;
+    }
+
+    /** @return hex encoded transaction hash, same as {@code cryptoSuite.hash(getHexValue())} */
+    public String getTransactionHash() {
+        return Numeric.toHexString(transactionHash);
+    }
+}
@@ -16,21 +16,36 @@ import org.fisco.bcos.web3j.utils.Numeric;
 public class TransactionEncoder {
 
     public static byte[] signMessage(RawTransaction rawTransaction, Credentials credentials) {
+        CryptoSuite cryptoSuite = credentials.getCryptoSuite();
         byte[] encodedTransaction = encode(rawTransaction);
         Sign.SignatureData signatureData =
-                Sign.getSignInterface().signMessage(encodedTransaction, credentials.getEcKeyPair());
+                cryptoSuite.sign(encodedTransaction, credentials.getEcKeyPair());
 
-        return encode(rawTransaction, signatureData);
+        return encode(rawTransaction, signatureData, cryptoSuite);
     }
 
     public static byte[] signMessage(
             RawTransaction rawTransaction, byte chainId, Credentials credentials) {
+        CryptoSuite cryptoSuite = credentials.getCryptoSuite();
         byte[] encodedTransaction = encode(rawTransaction, chainId);
         Sign.SignatureData signatureData =
-                Sign.getSignInterface().signMessage(encodedTransaction, credentials.getEcKeyPair());
+                cryptoSuite.sign(encodedTransaction, credentials.getEcKeyPair());
 
         Sign.SignatureData eip155SignatureData = createEip155SignatureData(signatureData, chainId);
-        return encode(rawTransaction, eip155SignatureData);
+        return encode(rawTransaction, eip155SignatureData, cryptoSuite);
+    }
+
+    /** sign the transaction and hash the encoded result */
+    public static SignedTransaction signTransaction(
+            RawTransaction rawTransaction, Credentials credentials) {
+        return new SignedTransaction(
+                signMessage(rawTransaction, credentials), credentials.getCryptoSuite());
+    }
+
+    public static SignedTransaction signTransaction(
+            RawTransaction rawTransaction, byte chainId, Credentials credentials) {
+        return new SignedTransaction(
+                signMessage(rawTransaction, chainId, credentials), credentials.getCryptoSuite());
     }
 
     public static Sign.SignatureData createEip155SignatureData(
@@ -51,13 +66,28 @@ public class TransactionEncoder {
     }
 
     public static byte[] encode(RawTransaction rawTransaction, Sign.SignatureData signatureData) {
-        List<RlpType> values = asRlpValues(rawTransaction, signatureData);
+        return encode(rawTransaction, signatureData, CryptoSuite.getDefault());
+    }
+
+    /** encode with the signature layout of the crypto suite */
+    public static byte[] encode(
+            RawTransaction rawTransaction,
+            Sign.SignatureData signatureData,
+            CryptoSuite cryptoSuite) {
+        List<RlpType> values = asRlpValues(rawTransaction, signatureData, cryptoSuite);
         RlpList rlpList = new RlpList(values);
         return RlpEncoder.encode(rlpList);
     }
 
     static List<RlpType> asRlpValues(
             RawTransaction rawTransaction, Sign.SignatureData signatureData) {
+        return asRlpValues(rawTransaction, signatureData, CryptoSuite.getDefault());
+    }
+
+    static List<RlpType> asRlpValues(
+            RawTransaction rawTransaction,
+            Sign.SignatureData signatureData,
+            CryptoSuite cryptoSuite) {
         List<RlpType> result = new ArrayList<>();
         result.add(RlpString.create(rawTransaction.getRandomid()));
         result.add(RlpString.create(rawTransaction.getGasPrice()));
@@ -75,12 +105,11 @@ public class TransactionEncoder {
 
         result.add(RlpString.create(rawTransaction.getValue()));
 
-        // value field will already be hex encoded, so we need to convert into binary first
-        byte[] data = Numeric.hexStringToByteArray(rawTransaction.getData());
-        result.add(RlpString.create(data));
+        // data hex encoded is converted into binary once
+        result.add(RlpString.create(rawTransaction.getDataBytes()));
 
         if (signatureData != null) {
-            if (EncryptType.encryptType == 1) {
+            if (cryptoSuite.isSM2()) {
                 result.add(RlpString.create(signatureData.getPub()));
                 // logger.debug("RLP-Pub:{},RLP-PubLen:{}",Hex.toHexString(signatureData.getPub()),signatureData.getPub().length);
                 result.add(RlpString.create(Bytes.trimLeadingZeroes(signatureData.getR())));
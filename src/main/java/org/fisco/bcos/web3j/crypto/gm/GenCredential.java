@@ -3,6 +3,7 @@ package org.fisco.bcos.web3j.crypto.gm;
 import java.math.BigInteger;
 import java.security.KeyPair;
 import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.crypto.ECKeyPair;
 import org.fisco.bcos.web3j.crypto.EncryptType;
 import org.fisco.bcos.web3j.crypto.Keys;
@@ -70,22 +71,35 @@ public class GenCredential {
     }
 
     public static ECKeyPair createKeyPair() {
+        return createKeyPair(CryptoSuite.getDefault().getEncryptType());
+    }
+
+    public static ECKeyPair createKeyPair(int encryptType) {
         // use guomi
-        if (EncryptType.encryptType == 1) return createGuomiKeyPair();
+        if (encryptType == EncryptType.SM2_TYPE) return createGuomiKeyPair();
         return createECDSAKeyPair(); // default use ECDSA
     }
 
     public static ECKeyPair createKeyPair(String privKey) {
-        if (EncryptType.encryptType == 1) return createGuomiKeyPair(privKey);
+        return createKeyPair(privKey, CryptoSuite.getDefault().getEncryptType());
+    }
+
+    public static ECKeyPair createKeyPair(String privKey, int encryptType) {
+        if (encryptType == EncryptType.SM2_TYPE) return createGuomiKeyPair(privKey);
         return createECDSAKeyPair(privKey);
     }
 
     public static Credentials create() {
+        return create(CryptoSuite.getDefault());
+    }
+
+    /** create credentials of a new key pair of the crypto suite of the chain */
+    public static Credentials create(CryptoSuite cryptoSuite) {
         try {
-            ECKeyPair keyPair = createKeyPair();
+            ECKeyPair keyPair = createKeyPair(cryptoSuite.getEncryptType());
             if (keyPair == null) return null;
 
-            Credentials credentials = Credentials.create(keyPair);
+            Credentials credentials = Credentials.create(keyPair, cryptoSuite);
             logger.debug(
                     " privateKey: {}, publicKey: {}, address: {}",
                     credentials.getEcKeyPair().getPrivateKey(),
@@ -100,10 +114,15 @@ public class GenCredential {
     }
 
     public static Credentials create(String privKey) {
+        return create(privKey, CryptoSuite.getDefault());
+    }
+
+    /** create credentials of the private key with the crypto suite of the chain */
+    public static Credentials create(String privKey, CryptoSuite cryptoSuite) {
         try {
-            ECKeyPair keyPair = createKeyPair(privKey);
+            ECKeyPair keyPair = createKeyPair(privKey, cryptoSuite.getEncryptType());
             if (keyPair == null) return null;
-            Credentials credentials = Credentials.create(keyPair);
+            Credentials credentials = Credentials.create(keyPair, cryptoSuite);
             return credentials;
         } catch (Exception e) {
             System.out.println("init credential from private key failed ");
@@ -113,10 +132,17 @@ public class GenCredential {
     }
 
     public static Credentials create(ECKeyPair keyPair) {
+        return create(keyPair, CryptoSuite.getDefault());
+    }
+
+    /** create credentials of the key pair with the crypto suite of the chain */
+    public static Credentials create(ECKeyPair keyPair, CryptoSuite cryptoSuite) {
         try {
-            ECKeyPair newKeyPair = createKeyPair(keyPair.getPrivateKey().toString(16));
+            ECKeyPair newKeyPair =
+                    createKeyPair(
+                            keyPair.getPrivateKey().toString(16), cryptoSuite.getEncryptType());
             if (newKeyPair == null) return null;
-            Credentials credentials = Credentials.create(newKeyPair);
+            Credentials credentials = Credentials.create(newKeyPair, cryptoSuite);
             return credentials;
         } catch (Exception e) {
             System.out.println("init credential from private key failed ");
@@ -0,0 +1,258 @@
+package org.fisco.bcos.web3j.crypto.gm.sm2;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import org.bouncycastle.math.ec.ECConstants;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.fisco.bcos.web3j.crypto.ECKeyPair;
+import org.fisco.bcos.web3j.crypto.gm.sm2.crypto.asymmetric.SM2Algorithm;
+import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Everything about an SM2 key that does not depend on the message: the public point, the Z value of
+ * the default user id and, for signing keys, (1 + d)^-1 mod n. Public points of verifying keys get
+ * a fixed-base comb table like the one kept for G, so a signature costs one comb multiplication and
+ * a verification two, without any doubling-heavy generic multiplication.
+ *
+ * <p>Keys are cached, signing keys by {@link ECKeyPair} and verifying keys by public key, up to
+ * {@link #getCacheCapacity()} keys each. Keys beyond the capacity are computed for each use and
+ * their public point is multiplied without a comb table, which would cost more to build than it
+ * saves on one verification. Signing keys are only cached while their {@link ECKeyPair} is
+ * referenced by the caller, private keys are not kept for the life of the process.
+ */
+public class SM2PrecomputedKey implements ECConstants {
+
+    public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+    private static final BigInteger n = SM2Algorithm.n;
+    private static final ECPoint G = SM2Algorithm.sm2Point;
+    private static final FixedPointCombMultiplier combMultiplier = new FixedPointCombMultiplier();
+    private static final byte[] USER_ID = SM2Algorithm.USER_ID;
+    private static final ThreadLocal<SecureRandom> random =
+            ThreadLocal.withInitial(SecureRandom::new);
+
+    // weak keys, the cached values do not reference their key pair
+    private static final Map<ECKeyPair, SM2PrecomputedKey> signingKeys =
+            Collections.synchronizedMap(new WeakHashMap<ECKeyPair, SM2PrecomputedKey>());
+    private static final Map<BigInteger, SM2PrecomputedKey> verifyingKeys =
+            new ConcurrentHashMap<BigInteger, SM2PrecomputedKey>();
+    private static volatile int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+
+    private final ECPoint publicPoint;
+    private final byte[] z;
+    // null for verifying keys
+    private final BigInteger privateKey;
+    private final BigInteger dPlus1Inverse;
+    // the public point has its comb table
+    private final boolean precomputed;
+
+    static {
+        // comb table of G, shared by all keys
+        FixedPointUtil.precompute(G);
+    }
+
+    private SM2PrecomputedKey(BigInteger privateKey, ECPoint publicPoint, boolean precomputed) {
+        this.privateKey = privateKey;
+        this.publicPoint = publicPoint;
+        this.precomputed = precomputed;
+        this.z = getZ(publicPoint);
+        this.dPlus1Inverse = privateKey == null ? null : privateKey.add(ONE).modInverse(n);
+    }
+
+    /**
+     * @param keyPair SM2 key pair, the public point is derived from its private key
+     * @return the precomputed signing key
+     */
+    public static SM2PrecomputedKey of(ECKeyPair keyPair) {
+        return getOrCreate(
+                signingKeys,
+                keyPair,
+                (k, cached) -> {
+                    BigInteger d = k.getPrivateKey();
+                    return new SM2PrecomputedKey(
+                            d, combMultiplier.multiply(G, d).normalize(), false);
+                });
+    }
+
+    /**
+     * @param publicKey 64 bytes x and y of the public point
+     * @return the precomputed verifying key
+     * @throws IllegalArgumentException if the point is not on the SM2 curve
+     */
+    public static SM2PrecomputedKey ofPublicKey(BigInteger publicKey) {
+        return getOrCreate(
+                verifyingKeys,
+                publicKey,
+                (k, cached) -> {
+                    byte[] bytes = Numeric.toBytesPadded(k, 64);
+                    ECPoint point =
+                            SM2Algorithm.sm2Curve
+                                    .validatePoint(
+                                            new BigInteger(1, copy(bytes, 0, 32)),
+                                            new BigInteger(1, copy(bytes, 32, 32)))
+                                    .normalize();
+                    if (cached) {
+                        FixedPointUtil.precompute(point);
+                    }
+                    return new SM2PrecomputedKey(null, point, cached);
+                });
+    }
+
+    private static <K> SM2PrecomputedKey getOrCreate(
+            Map<K, SM2PrecomputedKey> cache,
+            K key,
+            BiFunction<K, Boolean, SM2PrecomputedKey> factory) {
+        SM2PrecomputedKey precomputedKey = cache.get(key);
+        if (precomputedKey == null) {
+            boolean cached = cache.size() < cacheCapacity;
+            precomputedKey = factory.apply(key, cached);
+            if (cached) {
+                cache.put(key, precomputedKey);
+            }
+        }
+        return precomputedKey;
+    }
+
+    public static int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    /** @param capacity signing and verifying keys cached each, default 1024 */
+    public static void setCacheCapacity(int capacity) {
+        cacheCapacity = capacity;
+    }
+
+    public static void clearCache() {
+        signingKeys.clear();
+        verifyingKeys.clear();
+    }
+
+    public ECPoint getPublicPoint() {
+        return publicPoint;
+    }
+
+    public byte[] getZ() {
+        return z.clone();
+    }
+
+    /** @return true if the public point has a comb table for verification */
+    public boolean isPrecomputed() {
+        return precomputed;
+    }
+
+    /**
+     * @param md hash of the message
+     * @return r and s
+     */
+    public BigInteger[] sign(byte[] md) {
+        if (privateKey == null) {
+            throw new IllegalStateException("no private key to sign with");
+        }
+
+        BigInteger e = calculateE(md);
+        BigInteger r, s;
+        do // generate s
+        {
+            BigInteger k;
+            do // generate r
+            {
+                k = nextK();
+                ECPoint p = combMultiplier.multiply(G, k).normalize();
+                r = e.add(p.getAffineXCoord().toBigInteger()).mod(n);
+            } while (r.equals(ZERO) || r.add(k).equals(n));
+
+            s = dPlus1Inverse.multiply(k.subtract(r.multiply(privateKey))).mod(n);
+        } while (s.equals(ZERO));
+
+        return new BigInteger[] {r, s};
+    }
+
+    /**
+     * @param md hash of the message
+     * @param r r of the signature
+     * @param s s of the signature
+     * @return true if the signature is valid
+     */
+    public boolean verify(byte[] md, BigInteger r, BigInteger s) {
+        if (r.compareTo(ONE) < 0 || r.compareTo(n) >= 0) {
+            return false;
+        }
+        if (s.compareTo(ONE) < 0 || s.compareTo(n) >= 0) {
+            return false;
+        }
+
+        BigInteger t = r.add(s).mod(n);
+        if (t.equals(ZERO)) {
+            return false;
+        }
+
+        ECPoint tP =
+                precomputed ? combMultiplier.multiply(publicPoint, t) : publicPoint.multiply(t);
+        ECPoint x1y1 = combMultiplier.multiply(G, s).add(tP).normalize();
+        if (x1y1.isInfinity()) {
+            return false;
+        }
+
+        BigInteger e = calculateE(md);
+        return e.add(x1y1.getAffineXCoord().toBigInteger()).mod(n).equals(r);
+    }
+
+    // e = SM3(Z || md)
+    private BigInteger calculateE(byte[] md) {
+        byte[] input = new byte[z.length + md.length];
+        System.arraycopy(z, 0, input, 0, z.length);
+        System.arraycopy(md, 0, input, z.length, md.length);
+        return new BigInteger(1, SM3Digest.SM3_HASH.hash(input));
+    }
+
+    private static BigInteger nextK() {
+        SecureRandom secureRandom = random.get();
+        byte[] bytes = new byte[32];
+        BigInteger k;
+        do {
+            secureRandom.nextBytes(bytes);
+            k = new BigInteger(1, bytes);
+        } while (k.signum() == 0 || k.compareTo(n) >= 0);
+        return k;
+    }
+
+    private static byte[] getZ(ECPoint publicPoint) {
+        int bitsLength = USER_ID.length << 3;
+        byte[][] parts = {
+            {(byte) (bitsLength >> 8 & 0xFF), (byte) (bitsLength & 0xFF)},
+            USER_ID,
+            SM2Algorithm.getEncoded(SM2Algorithm.a),
+            SM2Algorithm.getEncoded(SM2Algorithm.b),
+            SM2Algorithm.getEncoded(SM2Algorithm.gx),
+            SM2Algorithm.getEncoded(SM2Algorithm.gy),
+            SM2Algorithm.getEncoded(publicPoint.getAffineXCoord().toBigInteger()),
+            SM2Algorithm.getEncoded(publicPoint.getAffineYCoord().toBigInteger())
+        };
+
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] input = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, input, offset, part.length);
+            offset += part.length;
+        }
+        return SM3Digest.SM3_HASH.hash(input);
+    }
+
+    private static byte[] copy(byte[] bytes, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(bytes, offset, result, 0, length);
+        return result;
+    }
+}
@@ -5,11 +5,6 @@ import java.math.BigInteger;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1Sequence;
-import org.bouncycastle.crypto.CryptoException;
-import org.bouncycastle.crypto.params.ECDomainParameters;
-import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
-import org.bouncycastle.crypto.params.ParametersWithID;
-import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.fisco.bcos.web3j.crypto.ECKeyPair;
 import org.fisco.bcos.web3j.crypto.Sign;
 import org.fisco.bcos.web3j.crypto.SignInterface;
@@ -24,58 +19,51 @@ import org.slf4j.LoggerFactory;
 public class SM2Sign implements SignInterface {
     static Logger logger = LoggerFactory.getLogger(SM2Sign.class);
 
-    private static final ECDomainParameters eCDomainParameters =
-            new ECDomainParameters(SM2Algorithm.sm2Curve, SM2Algorithm.sm2Point, SM2Algorithm.n);
-    private static final byte[] identValue =
-            org.bouncycastle.util.encoders.Hex.decode("31323334353637383132333435363738");
-
     @Override
     public Sign.SignatureData signMessage(byte[] message, ECKeyPair keyPair) {
         return sign2(message, keyPair);
     }
 
     /**
-     * The new sm2 signature algorithm with better performance
+     * The new sm2 signature algorithm with better performance, the per key computation is cached by
+     * {@link SM2PrecomputedKey}
      *
      * @param message
      * @param ecKeyPair
      * @return
      */
     public static Sign.SignatureData sign2(byte[] message, ECKeyPair ecKeyPair) {
+        byte[] md = SM3Digest.SM3_HASH.hash(message);
+        BigInteger[] bigIntegers = SM2PrecomputedKey.of(ecKeyPair).sign(md);
 
-        SM2Signer sm2Signer = new SM2Signer();
-
-        ECPrivateKeyParameters eCPrivateKeyParameters =
-                new ECPrivateKeyParameters(ecKeyPair.getPrivateKey(), eCDomainParameters);
-
-        sm2Signer.initWithCache(
-                true,
-                new ParametersWithID(new ParametersWithRandom(eCPrivateKeyParameters), identValue));
-
-        org.bouncycastle.crypto.digests.SM3Digest sm3Digest =
-                new org.bouncycastle.crypto.digests.SM3Digest();
-
-        byte[] md = new byte[sm3Digest.getDigestSize()];
-        sm3Digest.update(message, 0, message.length);
-        sm3Digest.doFinal(md, 0);
+        byte[] pub = Numeric.toBytesPadded(ecKeyPair.getPublicKey(), 64);
+        byte[] r = SM2Algorithm.getEncoded(bigIntegers[0]);
+        byte[] s = SM2Algorithm.getEncoded(bigIntegers[1]);
 
-        sm2Signer.update(md, 0, md.length);
-
-        byte[] r = null;
-        byte[] s = null;
-        byte[] pub = null;
+        return new Sign.SignatureData((byte) 0, r, s, pub);
+    }
 
+    /**
+     * Verify a signature of {@link #sign2(byte[], ECKeyPair)} against the public key it carries
+     *
+     * @param message the signed message
+     * @param signatureData signature with the public key
+     * @return true if the signature is valid
+     */
+    public static boolean verify(byte[] message, Sign.SignatureData signatureData) {
+        SM2PrecomputedKey key;
         try {
-            BigInteger[] bigIntegers = sm2Signer.generateSignature2();
-
-            pub = Numeric.toBytesPadded(ecKeyPair.getPublicKey(), 64);
-            r = SM2Algorithm.getEncoded(bigIntegers[0]);
-            s = SM2Algorithm.getEncoded(bigIntegers[1]);
-        } catch (CryptoException e) {
-            throw new RuntimeException(e);
+            key = SM2PrecomputedKey.ofPublicKey(new BigInteger(1, signatureData.getPub()));
+        } catch (IllegalArgumentException e) {
+            logger.debug(" invalid sm2 public key, error: {}", e.getMessage());
+            return false;
         }
 
-        return new Sign.SignatureData((byte) 0, r, s, pub);
+        byte[] md = SM3Digest.SM3_HASH.hash(message);
+        return key.verify(
+                md,
+                new BigInteger(1, signatureData.getR()),
+                new BigInteger(1, signatureData.getS()));
     }
 
     public static Sign.SignatureData sign(byte[] message, ECKeyPair ecKeyPair) {
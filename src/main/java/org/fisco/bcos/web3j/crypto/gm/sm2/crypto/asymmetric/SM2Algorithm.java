@@ -10,6 +10,9 @@ import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.Arrays;
+import org.fisco.bcos.web3j.crypto.ECKeyPair;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2PrecomputedKey;
 import org.fisco.bcos.web3j.crypto.gm.sm2.crypto.digests.SM3Digest;
 import org.fisco.bcos.web3j.crypto.gm.sm2.util.BigIntegers;
 import org.fisco.bcos.web3j.crypto.gm.sm2.util.ByteUtils;
@@ -345,49 +348,7 @@ public class SM2Algorithm {
      * @author fisco-bcos
      */
     private static BigInteger[] Sign(byte[] md, BigInteger privateKeyS) {
-        SM3Digest sm3 = new SM3Digest();
-        byte[] z = sm2GetZ(USER_ID, g256.multiply(privateKeyS));
-        sm3.update(z, 0, z.length);
-        byte[] p = md;
-        sm3.update(p, 0, p.length);
-        byte[] hashData = new byte[32];
-        sm3.doFinal(hashData, 0);
-        return SignSm3(hashData, privateKeyS);
-    }
-
-    /**
-     * SM2私钥签名
-     *
-     * @param hash 32字节hash
-     * @param privateKeyS
-     * @return
-     * @date 2015年12月3日
-     * @author fisco-bcos
-     */
-    private static BigInteger[] SignSm3(byte[] hash, BigInteger privateKeyS) {
-        byte[] hashData = ByteUtils.copyBytes(hash);
-        BigInteger e = new BigInteger(1, hashData);
-        BigInteger k = null;
-        ECPoint kp = null;
-        BigInteger r = null;
-        BigInteger s = null;
-        BigInteger userD = privateKeyS;
-        do {
-            do {
-                k = createRandom();
-                kp = g256.multiply(k);
-                ECPoint ecPoint = kp.normalize();
-                r = e.add(ecPoint.getAffineXCoord().toBigInteger());
-                r = r.mod(n);
-            } while (r.equals(BigInteger.ZERO) || r.add(k).equals(n));
-            BigInteger da_1 = userD.add(BigInteger.ONE).modInverse(n);
-            s = r.multiply(userD);
-            s = k.subtract(s);
-            s = s.multiply(da_1);
-            s = s.mod(n);
-        } while (s.equals(BigInteger.ZERO));
-        BigInteger[] retRS = {r, s};
-        return retRS;
+        return SM2PrecomputedKey.of(new ECKeyPair(privateKeyS, null)).sign(md);
     }
 
     /**
@@ -401,88 +362,23 @@ public class SM2Algorithm {
      * @author fisco-bcos
      */
     private static boolean verify(byte[] msg, byte[] signData, BigInteger biX, BigInteger biY) {
-        ECPoint userKey = curve256.createPoint(biX, biY);
         byte[] btRS = signData;
         byte[] btR = ByteUtils.subByteArray(btRS, 0, btRS.length / 2);
         byte[] btS = ByteUtils.subByteArray(btRS, btR.length, btRS.length - btR.length);
         BigInteger r = new BigInteger(1, btR);
-        // 检验 r ′ ∈[1, n-1]是否成立，若不成立则验证不通过；
-        if (!checkValidateK(r)) return false;
         BigInteger s = new BigInteger(1, btS);
-        // 检验 s ′ ∈[1, n-1]是否成立，若不成立则验证不通过；
-        if (!checkValidateK(s)) return false;
-
-        SM3Digest sm3 = new SM3Digest();
-        byte[] z = sm2GetZ(USER_ID, userKey);
-        sm3.update(z, 0, z.length);
-        byte[] p = msg;
-        sm3.update(p, 0, p.length);
-        byte[] hashData = new byte[32];
-        sm3.doFinal(hashData, 0);
-
-        BigInteger e = new BigInteger(1, hashData);
-
-        BigInteger t = r.add(s).mod(n);
-        if (t.equals(BigInteger.ZERO)) return false;
-        ECPoint x1y1 = g256.multiply(s);
-        x1y1 = x1y1.add(userKey.multiply(t));
-        BigInteger R = e.add(x1y1.normalize().getAffineXCoord().toBigInteger()).mod(n);
-
-        return r.equals(R);
-    }
-
-    /** * 用随机数发生器产生随机数k ∈[1,n-1] */
-    private static BigInteger createRandom() {
-        SecureRandom random = new SecureRandom();
-        byte[] r = new byte[32];
-        BigInteger k;
-        do {
-            random.nextBytes(r);
-            k = new BigInteger(1, r);
-        } while (!checkValidateK(k));
-        return k;
-    }
 
-    private static boolean checkValidateK(BigInteger k) { // k ∈[1,n-1]
-        if (k.compareTo(new BigInteger("0")) > 0 && k.compareTo(n) < 0) {
-            return true;
+        SM2PrecomputedKey key;
+        try {
+            key =
+                    SM2PrecomputedKey.ofPublicKey(
+                            new BigInteger(
+                                    1, Arrays.concatenate(getEncoded(biX), getEncoded(biY))));
+        } catch (IllegalArgumentException e) {
+            return false;
         }
-        return false;
-    }
-
-    /**
-     * 计算Za
-     *
-     * @param userId
-     * @param publicKey
-     * @return
-     * @date 2015年12月4日
-     * @author fisco-bcos
-     */
-    private static byte[] sm2GetZ(byte[] userId, ECPoint publicKey) {
-        SM3Digest sm3 = new SM3Digest();
-        int BitsLength = userId.length << 3;
-        sm3.update((byte) (BitsLength >> 8 & 0xFF));
-        sm3.update((byte) (BitsLength & 0xFF));
-
-        sm3BlockUpdate(sm3, userId);
-        sm3BlockUpdate(sm3, getEncoded(a));
-        sm3BlockUpdate(sm3, getEncoded(b));
-        sm3BlockUpdate(sm3, getEncoded(gx));
-        sm3BlockUpdate(sm3, getEncoded(gy));
-
-        ECPoint ecPoint = publicKey.normalize();
-        sm3BlockUpdate(sm3, getEncoded(ecPoint.getAffineXCoord().toBigInteger()));
-        sm3BlockUpdate(sm3, getEncoded(ecPoint.getAffineYCoord().toBigInteger()));
-
-        byte[] md = new byte[sm3.getDigestSize()];
-        sm3.doFinal(md, 0);
-
-        return md;
-    }
-
-    private static void sm3BlockUpdate(SM3Digest sm3, byte[] bytes) {
-        sm3.update(bytes, 0, bytes.length);
+        // r and s are checked to be in [1, n-1]
+        return key.verify(msg, r, s);
     }
 
     public static byte[] getEncoded(BigInteger value) {
@@ -1,8 +1,9 @@
 package org.fisco.bcos.web3j.crypto.gm.sm3;
 
+import java.nio.ByteBuffer;
 import org.bouncycastle.util.encoders.Hex;
+import org.fisco.bcos.web3j.crypto.DigestHash;
 import org.fisco.bcos.web3j.crypto.HashInterface;
-import org.fisco.bcos.web3j.utils.Numeric;
 import org.fisco.bcos.web3j.utils.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,42 +30,33 @@ public class SM3Digest implements HashInterface {
 
     private int cntBlock = 0;
 
+    /** SM3 hashing shared by the SM2 classes, reusing one bouncycastle digest per thread */
+    public static final DigestHash SM3_HASH =
+            new DigestHash(() -> new org.bouncycastle.crypto.digests.SM3Digest());
+
     @Override
     public String hash(String hexInput) {
-        byte[] md = new byte[32];
-        //		 hexInput = cleanHexPrefix(hexInput);
-        //		byte[] msg = Hex.decode(hexInput);
-        byte[] msg = Numeric.hexStringToByteArray(hexInput);
-        logger.debug("sm3 hash origData:{}", hexInput);
-        SM3Digest sm3 = new SM3Digest();
-        sm3.update(msg, 0, msg.length);
-        sm3.doFinal(md, 0);
-        logger.debug("sm3 hash data:{}", Hex.toHexString(md));
-        return Numeric.toHexString(md);
+        return SM3_HASH.hash(hexInput);
     }
 
     @Override
     public byte[] hash(byte[] input, int offset, int length) {
-        byte[] md = new byte[32];
-        logger.debug("sm3 hash origData:{}", input);
-        SM3Digest sm3 = new SM3Digest();
-        sm3.update(input, offset, length);
-        sm3.doFinal(md, 0);
-        String s = new String(Hex.encode(md));
-        logger.debug("sm3 hash data:{}", s);
-        return md;
+        return SM3_HASH.hash(input, offset, length);
     }
 
     @Override
     public byte[] hash(byte[] input) {
-        byte[] md = new byte[32];
-        logger.debug("sm3 hash origData:{}", input);
-        SM3Digest sm3 = new SM3Digest();
-        sm3.update(input, 0, input.length);
-        sm3.doFinal(md, 0);
-        String s = new String(Hex.encode(md));
-        logger.debug("sm3 hash data:{}", s);
-        return md;
+        return SM3_HASH.hash(input);
+    }
+
+    @Override
+    public int hash(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        return SM3_HASH.hash(input, offset, length, out, outOffset);
+    }
+
+    @Override
+    public byte[] hash(ByteBuffer input) {
+        return SM3_HASH.hash(input);
     }
 
     public SM3Digest() {}
@@ -13,7 +13,7 @@ import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
 import org.fisco.bcos.web3j.abi.datatypes.generated.Int256;
 import org.fisco.bcos.web3j.crypto.Credentials;
-import org.fisco.bcos.web3j.crypto.EncryptType;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.RemoteCall;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -67,7 +67,13 @@ public class Permission extends Contract {
             Credentials credentials,
             BigInteger gasPrice,
             BigInteger gasLimit) {
-        super(getBinary(), contractAddress, web3j, credentials, gasPrice, gasLimit);
+        super(
+                getBinary(web3j.getCryptoSuite()),
+                contractAddress,
+                web3j,
+                credentials,
+                gasPrice,
+                gasLimit);
     }
 
     protected Permission(
@@ -75,7 +81,12 @@ public class Permission extends Contract {
             Web3j web3j,
             Credentials credentials,
             ContractGasProvider contractGasProvider) {
-        super(getBinary(), contractAddress, web3j, credentials, contractGasProvider);
+        super(
+                getBinary(web3j.getCryptoSuite()),
+                contractAddress,
+                web3j,
+                credentials,
+                contractGasProvider);
     }
 
     @Deprecated
@@ -85,7 +96,13 @@ public class Permission extends Contract {
             TransactionManager transactionManager,
             BigInteger gasPrice,
             BigInteger gasLimit) {
-        super(getBinary(), contractAddress, web3j, transactionManager, gasPrice, gasLimit);
+        super(
+                getBinary(web3j.getCryptoSuite()),
+                contractAddress,
+                web3j,
+                transactionManager,
+                gasPrice,
+                gasLimit);
     }
 
     protected Permission(
@@ -93,11 +110,21 @@ public class Permission extends Contract {
             Web3j web3j,
             TransactionManager transactionManager,
             ContractGasProvider contractGasProvider) {
-        super(getBinary(), contractAddress, web3j, transactionManager, contractGasProvider);
+        super(
+                getBinary(web3j.getCryptoSuite()),
+                contractAddress,
+                web3j,
+                transactionManager,
+                contractGasProvider);
     }
 
     public static String getBinary() {
-        return (EncryptType.encryptType == EncryptType.ECDSA_TYPE ? BINARY : SM_BINARY);
+        return getBinary(CryptoSuite.getDefault());
+    }
+
+    /** @return binary of the contract compiled for the crypto suite of the chain */
+    public static String getBinary(CryptoSuite cryptoSuite) {
+        return (cryptoSuite.isSM2() ? SM_BINARY : BINARY);
     }
 
     public static TransactionDecoder getTransactionDecoder() {
@@ -401,14 +428,25 @@ public class Permission extends Contract {
     public static RemoteCall<Permission> deploy(
             Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
         return deployRemoteCall(
-                Permission.class, web3j, credentials, contractGasProvider, getBinary(), "");
+                Permission.class,
+                web3j,
+                credentials,
+                contractGasProvider,
+                getBinary(web3j.getCryptoSuite()),
+                "");
     }
 
     @Deprecated
     public static RemoteCall<Permission> deploy(
             Web3j web3j, Credentials credentials, BigInteger gasPrice, BigInteger gasLimit) {
         return deployRemoteCall(
-                Permission.class, web3j, credentials, gasPrice, gasLimit, getBinary(), "");
+                Permission.class,
+                web3j,
+                credentials,
+                gasPrice,
+                gasLimit,
+                getBinary(web3j.getCryptoSuite()),
+                "");
     }
 
     public static RemoteCall<Permission> deploy(
@@ -416,7 +454,12 @@ public class Permission extends Contract {
             TransactionManager transactionManager,
             ContractGasProvider contractGasProvider) {
         return deployRemoteCall(
-                Permission.class, web3j, transactionManager, contractGasProvider, getBinary(), "");
+                Permission.class,
+                web3j,
+                transactionManager,
+                contractGasProvider,
+                getBinary(web3j.getCryptoSuite()),
+                "");
     }
 
     @Deprecated
@@ -426,6 +469,12 @@ public class Permission extends Contract {
             BigInteger gasPrice,
             BigInteger gasLimit) {
         return deployRemoteCall(
-                Permission.class, web3j, transactionManager, gasPrice, gasLimit, getBinary(), "");
+                Permission.class,
+                web3j,
+                transactionManager,
+                gasPrice,
+                gasLimit,
+                getBinary(web3j.getCryptoSuite()),
+                "");
     }
 }
@@ -1,9 +1,11 @@
 package org.fisco.bcos.web3j.protocol;
 
 import java.util.concurrent.ScheduledExecutorService;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.core.Ethereum;
 import org.fisco.bcos.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.fisco.bcos.web3j.protocol.rx.Web3jRx;
+import org.fisco.bcos.web3j.utils.Async;
 
 /** JSON-RPC Request object building factory. */
 public interface Web3j extends Ethereum, Web3jRx {
@@ -29,4 +31,17 @@ public interface Web3j extends Ethereum, Web3jRx {
     static Web3j build(Web3jService web3jService, int groupId) {
         return new JsonRpc2_0Web3j(web3jService, groupId);
     }
+
+    /** build for a group whose chain uses the given crypto suite */
+    static Web3j build(Web3jService web3jService, int groupId, CryptoSuite cryptoSuite) {
+        return new JsonRpc2_0Web3j(
+                web3jService,
+                JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME,
+                Async.defaultExecutorService(),
+                groupId,
+                cryptoSuite);
+    }
+
+    /** @return the crypto suite of the chain this instance talks to */
+    CryptoSuite getCryptoSuite();
 }
@@ -2,6 +2,8 @@ package org.fisco.bcos.web3j.protocol;
 
 import io.reactivex.Flowable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.fisco.bcos.web3j.protocol.core.Request;
 import org.fisco.bcos.web3j.protocol.core.Response;
@@ -15,6 +17,23 @@ public interface Web3jService {
 
     <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType);
 
+    /**
+     * Send requests together, services that can write them at once override it, they are sent one
+     * by one otherwise.
+     *
+     * @param requests requests of the same response type
+     * @param responseType type of the responses
+     * @return future of the response of each request, in the order of the requests
+     */
+    default <T extends Response> List<CompletableFuture<T>> sendBatchAsync(
+            List<Request> requests, Class<T> responseType) {
+        List<CompletableFuture<T>> responses = new ArrayList<CompletableFuture<T>>(requests.size());
+        for (Request request : requests) {
+            responses.add(sendAsync(request, responseType));
+        }
+        return responses;
+    }
+
     /**
      * Subscribe to a stream of notifications. A stream of notifications is opened by by performing
      * a specified JSON-RPC request and is closed by calling the unsubscribe method. Different
@@ -1,8 +1,13 @@
 package org.fisco.bcos.web3j.protocol.channel;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.fisco.bcos.channel.client.BcosResponseCallback;
 import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.channel.dto.BcosRequest;
 import org.fisco.bcos.channel.dto.BcosResponse;
 import org.fisco.bcos.web3j.protocol.core.Request;
@@ -35,8 +40,85 @@ public class ChannelEthereumService extends org.fisco.bcos.web3j.protocol.Servic
 
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
-        byte[] payload = objectMapper.writeValueAsBytes(request);
+        try {
+            return sendAsync(request, responseType).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Send the request without holding a thread while waiting for the node, the future is completed
+     * by the thread which receives the response.
+     */
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        BcosRequest bcosRequest = newBcosRequest(request);
+
+        CompletableFuture<BcosResponse> response;
+        if (!request.isNeedTransCallback()) {
+            response = channelService.sendEthereumMessageAsync(bcosRequest);
+        } else {
+            response =
+                    channelService.sendEthereumMessageAsync(
+                            bcosRequest, request.getTransactionSucCallback());
+        }
+        logger.debug(
+                "bcos request, seq:{}, method:{}", bcosRequest.getMessageID(), request.getMethod());
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "bcos request:{} {}", bcosRequest.getMessageID(), bcosRequest.getContent());
+        }
 
+        return response.thenApply(
+                bcosResponse -> {
+                    try {
+                        return decodeResponse(bcosRequest, bcosResponse, responseType);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /** Send the requests to the same node with a single write and flush. */
+    @Override
+    public <T extends Response> List<CompletableFuture<T>> sendBatchAsync(
+            List<Request> requests, Class<T> responseType) {
+        List<BcosRequest> bcosRequests = new ArrayList<BcosRequest>(requests.size());
+        for (Request request : requests) {
+            bcosRequests.add(newBcosRequest(request));
+        }
+
+        List<CompletableFuture<BcosResponse>> responses =
+                channelService.sendEthereumMessagesAsync(bcosRequests);
+        List<CompletableFuture<T>> results = new ArrayList<CompletableFuture<T>>(requests.size());
+        for (int i = 0; i < bcosRequests.size(); ++i) {
+            BcosRequest bcosRequest = bcosRequests.get(i);
+            results.add(
+                    responses
+                            .get(i)
+                            .thenApply(
+                                    bcosResponse -> {
+                                        try {
+                                            return decodeResponse(
+                                                    bcosRequest, bcosResponse, responseType);
+                                        } catch (IOException e) {
+                                            throw new CompletionException(e);
+                                        }
+                                    }));
+        }
+        return results;
+    }
+
+    private BcosRequest newBcosRequest(Request request) {
         BcosRequest bcosRequest = new BcosRequest();
         if (channelService.getOrgID() != null) {
             bcosRequest.setKeyID(channelService.getOrgID());
@@ -44,39 +126,32 @@ public class ChannelEthereumService extends org.fisco.bcos.web3j.protocol.Servic
             bcosRequest.setKeyID(channelService.getAgencyName());
         }
         bcosRequest.setBankNO("");
-        bcosRequest.setContent(new String(payload));
+        // serialized straight into the outbound frame
+        bcosRequest.setJsonContent(request);
         bcosRequest.setMessageID(channelService.newSeq());
 
         if (timeout != 0) {
             bcosRequest.setTimeout(timeout);
         }
+        return bcosRequest;
+    }
 
-        BcosResponse response;
-        if (!request.isNeedTransCallback()) {
-            response = channelService.sendEthereumMessage(bcosRequest);
-        } else {
-            response =
-                    channelService.sendEthereumMessage(
-                            bcosRequest, request.getTransactionSucCallback());
+    private <T extends Response> T decodeResponse(
+            BcosRequest bcosRequest, BcosResponse response, Class<T> responseType)
+            throws IOException {
+        if (response == null) {
+            throw new IOException(" no response, seq: " + bcosRequest.getMessageID());
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "bcos response:{} {} {}",
+                    bcosRequest.getMessageID(),
+                    response.getErrorCode(),
+                    response.getContent());
         }
-        logger.debug(
-                "bcos request, seq:{}, method:{}", bcosRequest.getMessageID(), request.getMethod());
-        logger.debug(
-                "bcos request:{} {}",
-                bcosRequest.getMessageID(),
-                objectMapper.writeValueAsString(request));
-        logger.trace(
-                "bcos request:{} {}",
-                bcosRequest.getMessageID(),
-                objectMapper.writeValueAsString(request));
-        logger.trace(
-                "bcos response:{} {} {}",
-                bcosRequest.getMessageID(),
-                response.getErrorCode(),
-                response.getContent());
         if (response.getErrorCode() == 0) {
             try {
-                T t = objectMapper.readValue(response.getContent(), responseType);
+                T t = response.readContent(objectMapper, responseType);
                 if (t.getError() != null) {
                     throw new IOException(t.getError().getMessage());
                 }
@@ -121,12 +196,10 @@ public class ChannelEthereumService extends org.fisco.bcos.web3j.protocol.Servic
 
     @Override
     public void sendOnly(Request request) throws IOException {
-        byte[] payload = objectMapper.writeValueAsBytes(request);
-
         BcosRequest fiscoRequest = new BcosRequest();
         fiscoRequest.setKeyID(channelService.getOrgID());
         fiscoRequest.setBankNO("");
-        fiscoRequest.setContent(new String(payload));
+        fiscoRequest.setJsonContent(request);
         fiscoRequest.setMessageID(channelService.newSeq());
 
         if (timeout != 0) {
@@ -135,118 +208,134 @@ public class ChannelEthereumService extends org.fisco.bcos.web3j.protocol.Servic
 
         if (!request.isNeedTransCallback()) {
             channelService.asyncSendEthereumMessage(
-                    fiscoRequest,
-                    new BcosResponseCallback() {
-                        @Override
-                        public void onResponse(BcosResponse response) {
-                            try {
-                                logger.debug(
-                                        "fisco Request:{} {}",
-                                        fiscoRequest.getMessageID(),
-                                        objectMapper.writeValueAsString(request));
-                                logger.debug(
-                                        "fisco Response:{} {} {}",
-                                        fiscoRequest.getMessageID(),
-                                        response.getErrorCode(),
-                                        response.getContent());
-
-                                if (response.getErrorCode() != 0) {
-                                    logger.error("Error: " + response.getErrorCode());
-                                }
-                            } catch (Exception e) {
-                                logger.error("Error: ", e);
-                            }
-                        }
-                    });
+                    fiscoRequest, newSendOnlyCallback(request, fiscoRequest));
         } else {
             channelService.asyncSendEthereumMessage(
                     fiscoRequest,
-                    new BcosResponseCallback() {
-                        @Override
-                        public void onResponse(BcosResponse response) {
-                            try {
-                                logger.debug(
-                                        "fisco Request:{} {}",
-                                        fiscoRequest.getMessageID(),
-                                        objectMapper.writeValueAsString(request));
-
-                                logger.debug(
-                                        "fisco Response:{} {} {}",
-                                        fiscoRequest.getMessageID(),
-                                        response.getErrorCode(),
-                                        response.getContent());
-
-                                if (response.getErrorCode() == 0) {
-
-                                    // SendTransaction
-                                    SendTransaction sendTransaction =
-                                            objectMapper.readValue(
-                                                    response.getContent(), SendTransaction.class);
-
-                                    if (sendTransaction.getError() == null) {
-                                        logger.debug(
-                                                "sendRawTransaction response ok, transaction hash: {} ",
-                                                sendTransaction.getResult());
-                                    } else {
-                                        TransactionReceipt receipt = new TransactionReceipt();
-                                        receipt.setStatus(
-                                                String.valueOf(
-                                                        sendTransaction.getError().getCode()));
-                                        receipt.setMessage(sendTransaction.getError().getMessage());
-
-                                        // optional code
-                                        if (channelService.getThreadPool() == null) {
-                                            channelService.onReceiveTransactionMessage(
-                                                    fiscoRequest.getMessageID(), receipt);
-                                        } else {
-                                            // Execute the callback function in the thread pool
-                                            channelService
-                                                    .getThreadPool()
-                                                    .execute(
-                                                            new Runnable() {
-                                                                @Override
-                                                                public void run() {
-                                                                    channelService
-                                                                            .onReceiveTransactionMessage(
-                                                                                    fiscoRequest
-                                                                                            .getMessageID(),
-                                                                                    receipt);
-                                                                }
-                                                            });
-                                        }
-
-                                        logger.debug(
-                                                " sendRawTransaction response not ok, code: {}, message: {} ",
-                                                receipt.getStatus(),
-                                                receipt.getMessage());
-                                    }
-                                }
-                            } catch (Exception e) {
-                                logger.error("Error: ", e);
-                            }
-                        }
-                    },
+                    newSendOnlyCallback(request, fiscoRequest),
                     request.getTransactionSucCallback());
         }
     }
 
-    public String sendSpecial(Request request) throws IOException {
-        byte[] payload = objectMapper.writeValueAsBytes(request);
-
-        BcosRequest bcosRequest = new BcosRequest();
-        if (channelService.getOrgID() != null) {
-            bcosRequest.setKeyID(channelService.getOrgID());
-        } else {
-            bcosRequest.setKeyID(channelService.getAgencyName());
+    /**
+     * Send requests like {@link #sendOnly(Request)}, all of them to the same node with a single
+     * write and flush.
+     *
+     * @param requests requests, transaction receipts are delivered to the {@link
+     *     org.fisco.bcos.channel.client.TransactionSucCallback} of requests that need one
+     * @throws IOException if a request can not be encoded, nothing is sent then
+     */
+    public void sendOnly(List<Request> requests) throws IOException {
+        List<BcosRequest> bcosRequests = new ArrayList<BcosRequest>(requests.size());
+        List<BcosResponseCallback> callbacks = new ArrayList<BcosResponseCallback>(requests.size());
+        List<TransactionSucCallback> transactionSucCallbacks =
+                new ArrayList<TransactionSucCallback>(requests.size());
+        for (Request request : requests) {
+            BcosRequest bcosRequest = newBcosRequest(request);
+            bcosRequests.add(bcosRequest);
+            callbacks.add(newSendOnlyCallback(request, bcosRequest));
+            transactionSucCallbacks.add(
+                    request.isNeedTransCallback() ? request.getTransactionSucCallback() : null);
         }
-        bcosRequest.setBankNO("");
-        bcosRequest.setContent(new String(payload));
-        bcosRequest.setMessageID(channelService.newSeq());
 
-        if (timeout != 0) {
-            bcosRequest.setTimeout(timeout);
+        channelService.asyncSendEthereumMessages(bcosRequests, callbacks, transactionSucCallbacks);
+    }
+
+    private BcosResponseCallback newSendOnlyCallback(Request request, BcosRequest fiscoRequest) {
+        if (!request.isNeedTransCallback()) {
+            return new BcosResponseCallback() {
+                @Override
+                public void onResponse(BcosResponse response) {
+                    try {
+                        logger.debug(
+                                "fisco Request:{} {}",
+                                fiscoRequest.getMessageID(),
+                                objectMapper.writeValueAsString(request));
+                        logger.debug(
+                                "fisco Response:{} {} {}",
+                                fiscoRequest.getMessageID(),
+                                response.getErrorCode(),
+                                response.getContent());
+
+                        if (response.getErrorCode() != 0) {
+                            logger.error("Error: " + response.getErrorCode());
+                        }
+                    } catch (Exception e) {
+                        logger.error("Error: ", e);
+                    }
+                }
+            };
         }
 
+        return new BcosResponseCallback() {
+            @Override
+            public void onResponse(BcosResponse response) {
+                try {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(
+                                "fisco Request:{} {}",
+                                fiscoRequest.getMessageID(),
+                                objectMapper.writeValueAsString(request));
+
+                        logger.debug(
+                                "fisco Response:{} {} {}",
+                                fiscoRequest.getMessageID(),
+                                response.getErrorCode(),
+                                response.getContent());
+                    }
+
+                    if (response.getErrorCode() == 0) {
+
+                        // SendTransaction
+                        SendTransaction sendTransaction =
+                                response.readContent(objectMapper, SendTransaction.class);
+
+                        if (sendTransaction.getError() == null) {
+                            logger.debug(
+                                    "sendRawTransaction response ok, transaction hash: {} ",
+                                    sendTransaction.getResult());
+                            channelService.onTransactionHash(
+                                    fiscoRequest.getMessageID(), sendTransaction.getResult());
+                        } else {
+                            TransactionReceipt receipt = new TransactionReceipt();
+                            receipt.setStatus(String.valueOf(sendTransaction.getError().getCode()));
+                            receipt.setMessage(sendTransaction.getError().getMessage());
+
+                            // optional code
+                            if (channelService.getThreadPool() == null) {
+                                channelService.onReceiveTransactionMessage(
+                                        fiscoRequest.getMessageID(), receipt);
+                            } else {
+                                // Execute the callback function in the thread pool
+                                channelService
+                                        .getThreadPool()
+                                        .execute(
+                                                new Runnable() {
+                                                    @Override
+                                                    public void run() {
+                                                        channelService.onReceiveTransactionMessage(
+                                                                fiscoRequest.getMessageID(),
+                                                                receipt);
+                                                    }
+                                                });
+                            }
+
+                            logger.debug(
+                                    " sendRawTransaction response not ok, code: {}, message: {} ",
+                                    receipt.getStatus(),
+                                    receipt.getMessage());
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("Error: ", e);
+                }
+            }
+        };
+    }
+
+    public String sendSpecial(Request request) throws IOException {
+        BcosRequest bcosRequest = newBcosRequest(request);
+
         BcosResponse response;
         if (!request.isNeedTransCallback()) {
             response = channelService.sendEthereumMessage(bcosRequest);
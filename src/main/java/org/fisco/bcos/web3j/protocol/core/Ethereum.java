@@ -3,6 +3,7 @@ package org.fisco.bcos.web3j.protocol.core;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosFilter;
@@ -88,6 +89,15 @@ public interface Ethereum {
 
     Request<?, BcosTransactionReceipt> getTransactionReceipt(String transactionHash);
 
+    /**
+     * query the receipts of transactions with one batch of requests
+     *
+     * @param transactionHashes transaction hashes
+     * @return future of the receipt response of each transaction, in the order of the hashes
+     */
+    List<CompletableFuture<BcosTransactionReceipt>> getTransactionReceiptsAsync(
+            List<String> transactionHashes);
+
     Request<?, TransactionReceiptWithProof> getTransactionReceiptByHashWithProof(
             String transactionHash);
 
@@ -3,13 +3,17 @@ package org.fisco.bcos.web3j.protocol.core;
 import io.reactivex.Flowable;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import org.fisco.bcos.channel.client.BlockNumberTracker;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.Web3jService;
 import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
@@ -68,6 +72,7 @@ public class JsonRpc2_0Web3j implements Web3j {
     private final JsonRpc2_0Rx web3jRx;
     private final long blockTime;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final CryptoSuite cryptoSuite;
 
     private int groupId = 1;
 
@@ -79,12 +84,12 @@ public class JsonRpc2_0Web3j implements Web3j {
         return ((ChannelEthereumService) web3jService).getChannelService().getNumber();
     }
 
-    public synchronized void setBlockNumber(BigInteger blockNumber) {
-        if (blockNumber.compareTo(
-                        ((ChannelEthereumService) web3jService).getChannelService().getNumber())
-                > 0) {
-            ((ChannelEthereumService) web3jService).getChannelService().setNumber(blockNumber);
-        }
+    public void setBlockNumber(BigInteger blockNumber) {
+        blockNumberTracker().raise(blockNumber.longValue());
+    }
+
+    private BlockNumberTracker blockNumberTracker() {
+        return ((ChannelEthereumService) web3jService).getChannelService().getBlockNumberTracker();
     }
 
     public JsonRpc2_0Web3j(Web3jService web3jService) {
@@ -101,11 +106,31 @@ public class JsonRpc2_0Web3j implements Web3j {
             long pollingInterval,
             ScheduledExecutorService scheduledExecutorService,
             int groupId) {
+        this(
+                web3jService,
+                pollingInterval,
+                scheduledExecutorService,
+                groupId,
+                CryptoSuite.getDefault());
+    }
+
+    public JsonRpc2_0Web3j(
+            Web3jService web3jService,
+            long pollingInterval,
+            ScheduledExecutorService scheduledExecutorService,
+            int groupId,
+            CryptoSuite cryptoSuite) {
         this.web3jService = web3jService;
         this.web3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService);
         this.blockTime = pollingInterval;
         this.scheduledExecutorService = scheduledExecutorService;
         this.groupId = groupId;
+        this.cryptoSuite = cryptoSuite;
+    }
+
+    @Override
+    public CryptoSuite getCryptoSuite() {
+        return cryptoSuite;
     }
 
     @Override
@@ -121,7 +146,8 @@ public class JsonRpc2_0Web3j implements Web3j {
 
     @Override
     public BigInteger getBlockNumberCache() {
-        if (getLocalBlockNumber().intValue() == 1) {
+        BlockNumberTracker blockNumberTracker = blockNumberTracker();
+        if (blockNumberTracker.getBlockNumber() == BlockNumberTracker.UNKNOWN) {
             try {
                 BlockNumber blockNumber = getBlockNumber().sendAsync().get();
                 setBlockNumber(blockNumber.getBlockNumber());
@@ -129,7 +155,7 @@ public class JsonRpc2_0Web3j implements Web3j {
                 logger.error("Exception: " + e);
             }
         }
-        return getLocalBlockNumber().add(new BigInteger(BlockLimit.blockLimit.toString()));
+        return blockNumberTracker.getBlockLimit(BlockLimit.blockLimit);
     }
 
     @Override
@@ -290,6 +316,16 @@ public class JsonRpc2_0Web3j implements Web3j {
                 BcosTransactionReceipt.class);
     }
 
+    @Override
+    public List<CompletableFuture<BcosTransactionReceipt>> getTransactionReceiptsAsync(
+            List<String> transactionHashes) {
+        List<Request> requests = new ArrayList<Request>(transactionHashes.size());
+        for (String transactionHash : transactionHashes) {
+            requests.add(getTransactionReceipt(transactionHash));
+        }
+        return web3jService.sendBatchAsync(requests, BcosTransactionReceipt.class);
+    }
+
     @Override
     public Request<?, TransactionReceiptWithProof> getTransactionReceiptByHashWithProof(
             String transactionHash) {
@@ -495,6 +531,12 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.logFlowable(filter, blockTime);
     }
 
+    @Override
+    public Flowable<Log> replayLogsFlowable(
+            org.fisco.bcos.web3j.protocol.core.methods.request.BcosFilter filter) {
+        return web3jRx.replayLogsFlowable(filter);
+    }
+
     @Override
     public Flowable<org.fisco.bcos.web3j.protocol.core.methods.response.Transaction>
             transactionFlowable() {
@@ -0,0 +1,249 @@
+package org.fisco.bcos.web3j.protocol.core.filters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.protocol.core.methods.request.BcosFilter;
+import org.fisco.bcos.web3j.protocol.core.methods.request.Filter.FilterTopic;
+import org.fisco.bcos.web3j.protocol.core.methods.request.Filter.SingleTopic;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Log filter tested against the logsBloom of blocks and receipts before their logs are fetched or
+ * decoded. The address and each topic of a log set 3 of the 2048 bits of the bloom, the bits taken
+ * from the hash of the value by the crypto suite of the chain, so a bloom missing a bit of every
+ * address or of every alternative of a topic cannot hold a matching log. Blooms may match logs that
+ * do not, which {@link #matches(Log)} tells apart.
+ *
+ * <p>The bits of the addresses and topics are computed once when the filter is built.
+ */
+public class LogsBloomFilter {
+
+    public static final int BLOOM_BYTES = 256;
+    private static final int BLOOM_BITS = BLOOM_BYTES * 8;
+    private static final int BITS_PER_VALUE = 3;
+
+    private final List<String> addresses;
+    private final int[][] addressBits;
+    // alternatives of each topic, null if any topic matches
+    private final List<List<String>> topics;
+    private final int[][][] topicBits;
+
+    /**
+     * @param addresses contract addresses, a log matches any of them, null or empty for any
+     * @param topics by position, null for any topic, a topic or a list of alternative topics, as in
+     *     {@link org.fisco.bcos.channel.event.filter.EventLogUserParams}
+     * @param cryptoSuite crypto suite of the chain, the blooms are built with its hash
+     */
+    public LogsBloomFilter(List<String> addresses, List<?> topics, CryptoSuite cryptoSuite) {
+        this.addresses = new ArrayList<String>();
+        if (addresses != null) {
+            for (String address : addresses) {
+                this.addresses.add(address.toLowerCase());
+            }
+        }
+        this.addressBits = new int[this.addresses.size()][];
+        for (int i = 0; i < addressBits.length; ++i) {
+            addressBits[i] =
+                    bloomBits(Numeric.hexStringToByteArray(this.addresses.get(i)), cryptoSuite);
+        }
+
+        this.topics = new ArrayList<List<String>>();
+        if (topics != null) {
+            for (Object topic : topics) {
+                this.topics.add(toAlternatives(topic));
+            }
+        }
+        this.topicBits = new int[this.topics.size()][][];
+        for (int i = 0; i < topicBits.length; ++i) {
+            List<String> alternatives = this.topics.get(i);
+            if (alternatives == null) {
+                continue;
+            }
+            topicBits[i] = new int[alternatives.size()][];
+            for (int j = 0; j < alternatives.size(); ++j) {
+                topicBits[i][j] =
+                        bloomBits(Numeric.hexStringToByteArray(alternatives.get(j)), cryptoSuite);
+            }
+        }
+    }
+
+    /**
+     * @param filter addresses and topics of the filter, the block range is not used
+     * @param cryptoSuite crypto suite of the chain
+     * @return filter of the same logs
+     */
+    public static LogsBloomFilter of(BcosFilter filter, CryptoSuite cryptoSuite) {
+        List<Object> topics = new ArrayList<Object>();
+        for (FilterTopic<?> topic : filter.getTopics()) {
+            Object value = topic.getValue();
+            if (value instanceof List) {
+                List<String> alternatives = new ArrayList<String>();
+                for (Object alternative : (List<?>) value) {
+                    alternatives.add(((SingleTopic) alternative).getValue());
+                }
+                topics.add(alternatives);
+            } else {
+                topics.add(value);
+            }
+        }
+        return new LogsBloomFilter(filter.getAddress(), topics, cryptoSuite);
+    }
+
+    // null if any topic matches, a null alternative matches any topic too
+    private static List<String> toAlternatives(Object topic) {
+        if (topic == null) {
+            return null;
+        } else if (topic instanceof String) {
+            return Collections.singletonList(((String) topic).toLowerCase());
+        } else if (topic instanceof List) {
+            List<String> alternatives = new ArrayList<String>();
+            for (Object alternative : (List<?>) topic) {
+                if (alternative == null) {
+                    return null;
+                }
+                alternatives.add(((String) alternative).toLowerCase());
+            }
+            return alternatives.isEmpty() ? null : alternatives;
+        } else {
+            throw new IllegalArgumentException("topic is not a string or a list: " + topic);
+        }
+    }
+
+    /**
+     * @param logsBloom hex encoded bloom of a block or a receipt
+     * @return false if the block or receipt cannot hold a matching log, true if the bloom is absent
+     */
+    public boolean mayMatch(String logsBloom) {
+        if (logsBloom == null || Numeric.cleanHexPrefix(logsBloom).isEmpty()) {
+            return true;
+        }
+        return mayMatch(Numeric.hexStringToByteArray(logsBloom));
+    }
+
+    /**
+     * @param logsBloom bloom of a block or a receipt
+     * @return false if the block or receipt cannot hold a matching log
+     */
+    public boolean mayMatch(byte[] logsBloom) {
+        if (logsBloom.length != BLOOM_BYTES) {
+            return true;
+        }
+
+        if (addressBits.length > 0 && !containsAny(logsBloom, addressBits)) {
+            return false;
+        }
+        for (int[][] alternatives : topicBits) {
+            if (alternatives != null && !containsAny(logsBloom, alternatives)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param log event log
+     * @return true if the address and the topics of the log match the filter
+     */
+    public boolean matches(Log log) {
+        if (!addresses.isEmpty()
+                && (log.getAddress() == null
+                        || !addresses.contains(log.getAddress().toLowerCase()))) {
+            return false;
+        }
+
+        List<String> logTopics = log.getTopics();
+        for (int i = 0; i < topics.size(); ++i) {
+            List<String> alternatives = topics.get(i);
+            if (alternatives == null) {
+                continue;
+            }
+            if (logTopics == null
+                    || logTopics.size() <= i
+                    || logTopics.get(i) == null
+                    || !alternatives.contains(logTopics.get(i).toLowerCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logs logs of a receipt
+     * @return the logs matching the filter
+     */
+    public List<Log> filter(List<Log> logs) {
+        List<Log> result = new ArrayList<Log>();
+        if (logs != null) {
+            for (Log log : logs) {
+                if (matches(log)) {
+                    result.add(log);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param value address or topic
+     * @param cryptoSuite crypto suite of the chain
+     * @return the bloom bits set by the value
+     */
+    public static int[] bloomBits(byte[] value, CryptoSuite cryptoSuite) {
+        byte[] hash = cryptoSuite.hash(value);
+        int[] bits = new int[BITS_PER_VALUE];
+        for (int i = 0; i < BITS_PER_VALUE; ++i) {
+            bits[i] = (((hash[2 * i] & 0xff) << 8) | (hash[2 * i + 1] & 0xff)) & (BLOOM_BITS - 1);
+        }
+        return bits;
+    }
+
+    /**
+     * @param logsBloom bloom of a block or a receipt
+     * @param bits bits of a value, from {@link #bloomBits(byte[], CryptoSuite)}
+     * @return true if all bits are set
+     */
+    public static boolean contains(byte[] logsBloom, int[] bits) {
+        for (int bit : bits) {
+            if ((logsBloom[BLOOM_BYTES - 1 - bit / 8] & (1 << (bit % 8))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logs logs of a receipt or the receipts of a block
+     * @param cryptoSuite crypto suite of the chain
+     * @return bloom of the addresses and topics of the logs, as the node builds it
+     */
+    public static byte[] bloomOf(List<Log> logs, CryptoSuite cryptoSuite) {
+        byte[] logsBloom = new byte[BLOOM_BYTES];
+        for (Log log : logs) {
+            add(logsBloom, Numeric.hexStringToByteArray(log.getAddress()), cryptoSuite);
+            if (log.getTopics() != null) {
+                for (String topic : log.getTopics()) {
+                    add(logsBloom, Numeric.hexStringToByteArray(topic), cryptoSuite);
+                }
+            }
+        }
+        return logsBloom;
+    }
+
+    private static void add(byte[] logsBloom, byte[] value, CryptoSuite cryptoSuite) {
+        for (int bit : bloomBits(value, cryptoSuite)) {
+            logsBloom[BLOOM_BYTES - 1 - bit / 8] |= (byte) (1 << (bit % 8));
+        }
+    }
+
+    private static boolean containsAny(byte[] logsBloom, int[][] values) {
+        for (int[] bits : values) {
+            if (contains(logsBloom, bits)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
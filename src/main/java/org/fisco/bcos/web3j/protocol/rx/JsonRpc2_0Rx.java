@@ -17,6 +17,7 @@ import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.fisco.bcos.web3j.protocol.core.filters.BlockFilter;
 import org.fisco.bcos.web3j.protocol.core.filters.Filter;
 import org.fisco.bcos.web3j.protocol.core.filters.LogFilter;
+import org.fisco.bcos.web3j.protocol.core.filters.LogsBloomFilter;
 import org.fisco.bcos.web3j.protocol.core.filters.PendingTransactionFilter;
 import org.fisco.bcos.web3j.protocol.core.methods.request.BcosFilter;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
@@ -67,6 +68,34 @@ public class JsonRpc2_0Rx {
                 BackpressureStrategy.BUFFER);
     }
 
+    public Flowable<Log> replayLogsFlowable(BcosFilter filter) {
+        LogsBloomFilter logsBloomFilter = LogsBloomFilter.of(filter, web3j.getCryptoSuite());
+        return replayBlocksFlowable(filter.getFromBlock(), filter.getToBlock(), false)
+                .filter(
+                        block ->
+                                block.getBlock() != null
+                                        && logsBloomFilter.mayMatch(
+                                                block.getBlock().getLogsBloom()))
+                .concatMap(
+                        block ->
+                                Flowable.fromIterable(toTransactionHashes(block))
+                                        .concatMap(
+                                                transactionHash ->
+                                                        web3j.getTransactionReceipt(transactionHash)
+                                                                .flowable()))
+                .filter(
+                        receipt ->
+                                receipt.getTransactionReceipt().isPresent()
+                                        && logsBloomFilter.mayMatch(
+                                                receipt.getTransactionReceipt()
+                                                        .get()
+                                                        .getLogsBloom()))
+                .concatMapIterable(
+                        receipt ->
+                                logsBloomFilter.filter(
+                                        receipt.getTransactionReceipt().get().getLogs()));
+    }
+
     private <T> void run(
             Filter<T> filter, FlowableEmitter<? super T> emitter, long pollingInterval) {
 
@@ -240,6 +269,18 @@ public class JsonRpc2_0Rx {
         }
     }
 
+    private static List<String> toTransactionHashes(BcosBlock block) {
+        return block.getBlock()
+                .getTransactions()
+                .stream()
+                .map(
+                        transactionResult ->
+                                transactionResult.get() instanceof Transaction
+                                        ? ((Transaction) transactionResult.get()).getHash()
+                                        : (String) transactionResult.get())
+                .collect(Collectors.toList());
+    }
+
     private static List<Transaction> toTransactions(BcosBlock ethBlock) {
         // If you ever see an exception thrown here, it's probably due to an incomplete chain in
         // Geth/Parity. You should resync to solve.
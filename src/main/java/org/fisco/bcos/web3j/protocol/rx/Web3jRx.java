@@ -21,6 +21,16 @@ public interface Web3jRx {
      */
     Flowable<Log> logFlowable(BcosFilter filter);
 
+    /**
+     * Create an flowable that replays the log events of past blocks matching the filter. Blocks and
+     * receipts whose logsBloom cannot hold a matching log are skipped, the receipts of the other
+     * blocks are fetched and their logs filtered.
+     *
+     * @param filter filter criteria, with the block range to replay
+     * @return a {@link Flowable} instance that emits the Log events matching the filter
+     */
+    Flowable<Log> replayLogsFlowable(BcosFilter filter);
+
     /**
      * Create an Flowable to emit block hashes.
      *
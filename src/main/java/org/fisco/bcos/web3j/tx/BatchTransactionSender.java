@@ -0,0 +1,167 @@
+package org.fisco.bcos.web3j.tx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends signed transactions in batches for bulk loads. Transactions are queued until the batch is
+ * full or the linger time since the first queued transaction has passed, then the whole batch is
+ * written to one node with a single flush. Receipts are delivered to the {@link
+ * TransactionSucCallback} of each transaction as with {@link Web3j#sendRawTransaction(String,
+ * TransactionSucCallback)}.
+ *
+ * <p>The linger timer runs on a daemon thread, call {@link #close()} to send the transactions still
+ * queued before the application exits.
+ */
+public class BatchTransactionSender implements Closeable {
+    private static Logger logger = LoggerFactory.getLogger(BatchTransactionSender.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_LINGER_TIME = 5;
+
+    private final Web3j web3j;
+    private final ChannelEthereumService channelEthereumService;
+    private final int batchSize;
+    private final long lingerTime;
+    // daemon thread, a sender that is not closed does not keep the JVM alive
+    private final ScheduledExecutorService scheduledExecutorService =
+            new ScheduledThreadPoolExecutor(
+                    1,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "batch-transaction-linger");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    // guarded by this
+    private List<Request> pending;
+    private ScheduledFuture<?> lingerTask;
+
+    public BatchTransactionSender(ChannelEthereumService channelEthereumService, int groupId) {
+        this(channelEthereumService, groupId, DEFAULT_BATCH_SIZE, DEFAULT_LINGER_TIME);
+    }
+
+    /**
+     * @param channelEthereumService channel service of the group
+     * @param groupId group id
+     * @param batchSize transactions written with one flush
+     * @param lingerTime milliseconds a transaction waits for the batch to fill up
+     */
+    public BatchTransactionSender(
+            ChannelEthereumService channelEthereumService,
+            int groupId,
+            int batchSize,
+            long lingerTime) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive: " + batchSize);
+        }
+
+        this.web3j = Web3j.build(channelEthereumService, groupId);
+        this.channelEthereumService = channelEthereumService;
+        this.batchSize = batchSize;
+        this.lingerTime = lingerTime;
+        this.pending = new ArrayList<Request>(batchSize);
+    }
+
+    /**
+     * queue a signed transaction
+     *
+     * @param signedTransactionData hex encoded signed transaction
+     * @param callback receives the transaction receipt
+     * @throws IOException if the batch this transaction completed can not be encoded
+     */
+    public void sendRawTransaction(String signedTransactionData, TransactionSucCallback callback)
+            throws IOException {
+        Request<?, SendTransaction> request = web3j.sendRawTransaction(signedTransactionData);
+        request.setNeedTransCallback(true);
+        request.setTransactionSucCallback(callback);
+
+        List<Request> batch = null;
+        synchronized (this) {
+            pending.add(request);
+            if (pending.size() >= batchSize) {
+                batch = takePending();
+            } else if (pending.size() == 1) {
+                lingerTask =
+                        scheduledExecutorService.schedule(
+                                () -> lingerFlush(), lingerTime, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * send the queued transactions now
+     *
+     * @throws IOException if the transactions can not be encoded
+     */
+    public void flush() throws IOException {
+        List<Request> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    /** send the queued transactions and stop the linger timer */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            scheduledExecutorService.shutdown();
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLingerTime() {
+        return lingerTime;
+    }
+
+    private List<Request> takePending() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+
+        List<Request> batch = pending;
+        pending = new ArrayList<Request>(batchSize);
+        return batch;
+    }
+
+    private void lingerFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error(" send transaction batch failed, error: {}", e.getMessage(), e);
+        }
+    }
+
+    private void send(List<Request> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        logger.debug(" send transaction batch, size: {}", batch.size());
+        channelEthereumService.sendOnly(batch);
+    }
+}
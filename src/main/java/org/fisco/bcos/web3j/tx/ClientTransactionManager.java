@@ -2,10 +2,7 @@ package org.fisco.bcos.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.security.SecureRandom;
-import java.util.Random;
 import org.fisco.bcos.web3j.crypto.Credentials;
-import org.fisco.bcos.web3j.crypto.Hash;
 import org.fisco.bcos.web3j.crypto.RawTransaction;
 import org.fisco.bcos.web3j.crypto.TransactionEncoder;
 import org.fisco.bcos.web3j.protocol.Web3j;
@@ -56,8 +53,7 @@ public class ClientTransactionManager extends TransactionManager {
             String extraData)
             throws IOException {
 
-        Random r = new SecureRandom();
-        BigInteger randomid = new BigInteger(250, r);
+        BigInteger randomid = getNonceProvider().getNonce();
         BigInteger blockLimit = getBlockLimit();
         logger.info("sendTransaction randomid: {} blockLimit:{}", randomid, blockLimit);
         RawTransaction rawTransaction =
@@ -88,7 +84,7 @@ public class ClientTransactionManager extends TransactionManager {
         SendTransaction sendTransaction = web3j.sendRawTransaction(hexValue).send();
 
         if (sendTransaction != null && !sendTransaction.hasError()) {
-            String txHashLocal = Hash.sha3(hexValue);
+            String txHashLocal = getCryptoSuite().hash(hexValue);
             String txHashRemote = sendTransaction.getTransactionHash();
             if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
                 throw new TxHashMismatchException(txHashLocal, txHashRemote);
@@ -24,6 +24,7 @@ import org.fisco.bcos.web3j.abi.datatypes.Event;
 import org.fisco.bcos.web3j.abi.datatypes.Function;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.Web3jService;
 import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
@@ -296,7 +297,7 @@ public abstract class Contract extends ManagedTransaction {
      * @return {@link List} of values returned by function call
      */
     private List<Type> executeCall(Function function) throws IOException {
-        String encodedFunction = FunctionEncoder.encode(function);
+        String encodedFunction = encodeFunction(function);
         Call ethCall =
                 web3j.call(
                                 Transaction.createEthCallTransaction(
@@ -371,7 +372,7 @@ public abstract class Contract extends ManagedTransaction {
 
         Callback callback = new Callback();
 
-        asyncExecuteTransaction(FunctionEncoder.encode(function), function.getName(), callback);
+        asyncExecuteTransaction(encodeFunctionToBytes(function), function.getName(), callback);
         try {
             callback.semaphore.acquire(1);
         } catch (InterruptedException e) {
@@ -426,7 +427,7 @@ public abstract class Contract extends ManagedTransaction {
     protected void asyncExecuteTransaction(Function function, TransactionSucCallback callback) {
 
         try {
-            asyncExecuteTransaction(FunctionEncoder.encode(function), function.getName(), callback);
+            asyncExecuteTransaction(encodeFunctionToBytes(function), function.getName(), callback);
         } catch (IOException e) {
             logger.error(
                     " IOException, contractAddress:{}, exception:{} ",
@@ -444,6 +445,16 @@ public abstract class Contract extends ManagedTransaction {
         // asyncExecuteTransaction(FunctionEncoder.encode(function), function.getName(), callback);
     }
 
+    // the method id is hashed with the crypto suite of the transaction manager
+    private String encodeFunction(Function function) {
+        return FunctionEncoder.encode(function, transactionManager.getCryptoSuite());
+    }
+
+    // encoded straight into the bytes signed, without a hex string in between
+    private byte[] encodeFunctionToBytes(Function function) {
+        return FunctionEncoder.encodeToBytes(function, transactionManager.getCryptoSuite());
+    }
+
     protected void asyncExecuteTransaction(
             String data, String funName, TransactionSucCallback callback)
             throws IOException, TransactionException {
@@ -456,12 +467,24 @@ public abstract class Contract extends ManagedTransaction {
                 callback);
     }
 
+    protected void asyncExecuteTransaction(
+            byte[] data, String funName, TransactionSucCallback callback)
+            throws IOException, TransactionException {
+        sendOnly(
+                contractAddress,
+                data,
+                BigInteger.ZERO,
+                gasProvider.getGasPrice(funName),
+                gasProvider.getGasLimit(funName),
+                callback);
+    }
+
     protected String createTransactionSeq(Function function) {
         try {
             String signedTransaction =
                     createSeq(
                             contractAddress,
-                            FunctionEncoder.encode(function),
+                            encodeFunction(function),
                             BigInteger.ZERO,
                             gasProvider.getGasPrice(function.getName()),
                             gasProvider.getGasLimit(function.getName()));
@@ -833,9 +856,15 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     public static EventValues staticExtractEventParameters(Event event, Log log) {
+        return staticExtractEventParameters(event, log, CryptoSuite.getDefault());
+    }
+
+    /** extract with the event signature hashed by the crypto suite */
+    public static EventValues staticExtractEventParameters(
+            Event event, Log log, CryptoSuite cryptoSuite) {
 
         List<String> topics = log.getTopics();
-        String encodedEventSignature = EventEncoder.encode(event);
+        String encodedEventSignature = EventEncoder.encode(event, cryptoSuite);
         if (!topics.get(0).equals(encodedEventSignature)) {
             return null;
         }
@@ -855,7 +884,7 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     protected EventValues extractEventParameters(Event event, Log log) {
-        return staticExtractEventParameters(event, log);
+        return staticExtractEventParameters(event, log, transactionManager.getCryptoSuite());
     }
 
     protected List<EventValues> extractEventParameters(
@@ -869,7 +898,8 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     protected EventValuesWithLog extractEventParametersWithLog(Event event, Log log) {
-        final EventValues eventValues = staticExtractEventParameters(event, log);
+        final EventValues eventValues =
+                staticExtractEventParameters(event, log, transactionManager.getCryptoSuite());
         return (eventValues == null) ? null : new EventValuesWithLog(eventValues, log);
     }
 
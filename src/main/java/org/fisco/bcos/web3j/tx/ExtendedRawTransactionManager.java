@@ -2,15 +2,14 @@ package org.fisco.bcos.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.crypto.*;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.Request;
 import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
 import org.fisco.bcos.web3j.tx.exceptions.TxHashMismatchException;
-import org.fisco.bcos.web3j.utils.Numeric;
+import org.fisco.bcos.web3j.tx.response.PushTransactionReceiptProcessor;
+import org.fisco.bcos.web3j.tx.response.TransactionReceiptProcessor;
 import org.fisco.bcos.web3j.utils.TxHashVerifier;
 
 /**
@@ -31,6 +30,7 @@ public class ExtendedRawTransactionManager extends TransactionManager {
 
     protected TxHashVerifier txHashVerifier = new TxHashVerifier();
 
+    @Override
     public Web3j getWeb3j() {
         return web3j;
     }
@@ -69,6 +69,25 @@ public class ExtendedRawTransactionManager extends TransactionManager {
         this.fiscoChainId = fiscoChainId;
     }
 
+    /**
+     * @param transactionReceiptProcessor processor waiting for the receipts of {@link
+     *     ManagedTransaction#send}, see {@link PushTransactionReceiptProcessor}
+     */
+    public ExtendedRawTransactionManager(
+            Web3j web3j,
+            Credentials credentials,
+            byte chainId,
+            BigInteger groupId,
+            BigInteger fiscoChainId,
+            TransactionReceiptProcessor transactionReceiptProcessor) {
+        super(transactionReceiptProcessor, credentials);
+        this.web3j = web3j;
+        this.credentials = credentials;
+        this.chainId = chainId;
+        this.groupId = groupId;
+        this.fiscoChainId = fiscoChainId;
+    }
+
     public ExtendedRawTransactionManager(
             Web3j web3j, Credentials credentials, BigInteger groupId, BigInteger fiscoChainId) {
         this(web3j, credentials, ChainId.NONE, groupId, fiscoChainId);
@@ -97,6 +116,14 @@ public class ExtendedRawTransactionManager extends TransactionManager {
         this.txHashVerifier = txHashVerifier;
     }
 
+    @Override
+    public void verifyTransactionHash(String txHashLocal, String txHashRemote)
+            throws TxHashMismatchException {
+        if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
+            throw new TxHashMismatchException(txHashLocal, txHashRemote);
+        }
+    }
+
     @Override
     public ExtendedRawTransaction createTransaction(
             BigInteger gasPrice,
@@ -106,9 +133,7 @@ public class ExtendedRawTransactionManager extends TransactionManager {
             BigInteger value,
             String extraData)
             throws IOException {
-        // Random r = new SecureRandom();
-        Random r = ThreadLocalRandom.current();
-        BigInteger randomid = new BigInteger(250, r);
+        BigInteger randomid = getNonceProvider().getNonce();
         BigInteger blockLimit = getBlockLimit();
         ExtendedRawTransaction rawTransaction =
                 ExtendedRawTransaction.createTransaction(
@@ -157,16 +182,62 @@ public class ExtendedRawTransactionManager extends TransactionManager {
         return signAndSend(rawTransaction, callback);
     }
 
+    @Override
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return signAndSend(createTransaction(gasPrice, gasLimit, to, data, value, extraData));
+    }
+
+    @Override
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData,
+            TransactionSucCallback callback)
+            throws IOException {
+        return signAndSend(
+                createTransaction(gasPrice, gasLimit, to, data, value, extraData), callback);
+    }
+
+    private ExtendedRawTransaction createTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        BigInteger randomid = getNonceProvider().getNonce();
+        BigInteger blockLimit = getBlockLimit();
+        return ExtendedRawTransaction.createTransaction(
+                randomid,
+                gasPrice,
+                gasLimit,
+                blockLimit,
+                to,
+                value,
+                data,
+                fiscoChainId,
+                groupId,
+                extraData);
+    }
+
     @Override
     public SendTransaction sendTransaction(String signedTransaction)
             throws IOException, TxHashMismatchException {
         SendTransaction sendTransaction = web3j.sendRawTransaction(signedTransaction).send();
         if (sendTransaction != null && !sendTransaction.hasError()) {
-            String txHashLocal = Hash.sha3(signedTransaction);
-            String txHashRemote = sendTransaction.getTransactionHash();
-            if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
-                throw new TxHashMismatchException(txHashLocal, txHashRemote);
-            }
+            verifyTransactionHash(
+                    getCryptoSuite().hash(signedTransaction), sendTransaction.getTransactionHash());
         }
 
         return sendTransaction;
@@ -186,7 +257,7 @@ public class ExtendedRawTransactionManager extends TransactionManager {
 
         /*
         if (ethSendTransaction != null && !ethSendTransaction.hasError()) {
-            String txHashLocal = Hash.sha3(signedTransaction);
+            String txHashLocal = getCryptoSuite().hash(signedTransaction);
             String txHashRemote = ethSendTransaction.getTransactionHash();
             if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
                 throw new TxHashMismatchException(txHashLocal, txHashRemote);
@@ -198,25 +269,29 @@ public class ExtendedRawTransactionManager extends TransactionManager {
     }
 
     @Override
-    public String sign(ExtendedRawTransaction rawTransaction) {
-        byte[] signedMessage;
-
-        if (chainId > ChainId.NONE) {
-            signedMessage =
-                    ExtendedTransactionEncoder.signMessage(rawTransaction, chainId, credentials);
-        } else {
-            signedMessage = ExtendedTransactionEncoder.signMessage(rawTransaction, credentials);
-        }
-
-        String signedData = Numeric.toHexString(signedMessage);
+    public SignedTransaction signTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return TransactionSigningService.signTransaction(
+                createTransaction(gasPrice, gasLimit, to, data, value, extraData),
+                credentials,
+                chainId);
+    }
 
-        return signedData;
+    @Override
+    public String sign(ExtendedRawTransaction rawTransaction) {
+        return TransactionSigningService.signTransaction(rawTransaction, credentials, chainId)
+                .getHexValue();
     }
 
     public SendTransaction signAndSend(ExtendedRawTransaction rawTransaction) throws IOException {
-        String signedTransaction = sign(rawTransaction);
-        SendTransaction result = sendTransaction(signedTransaction);
-        return result;
+        return sendTransaction(
+                TransactionSigningService.signTransaction(rawTransaction, credentials, chainId));
     }
 
     public SendTransaction signAndSend(
@@ -226,4 +301,11 @@ public class ExtendedRawTransactionManager extends TransactionManager {
         SendTransaction result = sendTransaction(signedTransaction, callback);
         return result;
     }
+
+    @Override
+    public SendTransaction sendTransaction(
+            SignedTransaction signedTransaction, TransactionSucCallback callback)
+            throws IOException {
+        return sendTransaction(signedTransaction.getHexValue(), callback);
+    }
 }
@@ -52,6 +52,18 @@ public abstract class ManagedTransaction {
         transactionManager.sendTransaction(gasPrice, gasLimit, to, data, value, null, callback);
     }
 
+    /** send a transaction with its data already encoded as bytes */
+    protected void sendOnly(
+            String to,
+            byte[] data,
+            BigInteger value,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            TransactionSucCallback callback)
+            throws IOException, TransactionException {
+        transactionManager.sendTransaction(gasPrice, gasLimit, to, data, value, null, callback);
+    }
+
     protected String createSeq(
             String to, String data, BigInteger value, BigInteger gasPrice, BigInteger gasLimit)
             throws IOException {
@@ -4,7 +4,7 @@ import java.math.BigInteger;
 import java.util.List;
 import org.fisco.bcos.channel.client.Merkle;
 import org.fisco.bcos.channel.client.ReceiptEncoder;
-import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.core.methods.response.MerkleProofUnit;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Transaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -29,13 +29,21 @@ public class MerkleProofUtility {
      */
     public static boolean verifyTransaction(
             String transactionRoot, TransactionWithProof.TransAndProof transAndProof) {
+        return verifyTransaction(transactionRoot, transAndProof, CryptoSuite.getDefault());
+    }
+
+    /** verify with the merkle nodes hashed by the crypto suite of the chain */
+    public static boolean verifyTransaction(
+            String transactionRoot,
+            TransactionWithProof.TransAndProof transAndProof,
+            CryptoSuite cryptoSuite) {
         // transaction index
         Transaction transaction = transAndProof.getTransaction();
         BigInteger index = transaction.getTransactionIndex();
         String input =
                 Numeric.toHexString(RlpEncoder.encode(RlpString.create(index)))
                         + transaction.getHash().substring(2);
-        String proof = Merkle.calculateMerkleRoot(transAndProof.getTxProof(), input);
+        String proof = Merkle.calculateMerkleRoot(transAndProof.getTxProof(), input, cryptoSuite);
 
         logger.debug(
                 " transaction hash: {}, transaction index: {}, root: {}, proof: {}",
@@ -56,6 +64,14 @@ public class MerkleProofUtility {
      */
     public static boolean verifyTransactionReceipt(
             String receiptRoot, TransactionReceiptWithProof.ReceiptAndProof receiptAndProof) {
+        return verifyTransactionReceipt(receiptRoot, receiptAndProof, CryptoSuite.getDefault());
+    }
+
+    /** verify with the receipt and the merkle nodes hashed by the crypto suite of the chain */
+    public static boolean verifyTransactionReceipt(
+            String receiptRoot,
+            TransactionReceiptWithProof.ReceiptAndProof receiptAndProof,
+            CryptoSuite cryptoSuite) {
 
         TransactionReceipt transactionReceipt = receiptAndProof.getTransactionReceipt();
 
@@ -68,10 +84,11 @@ public class MerkleProofUtility {
         }
 
         String receiptRlp = ReceiptEncoder.encode(transactionReceipt);
-        String rlpHash = Hash.sha3(receiptRlp);
+        String rlpHash = cryptoSuite.hash(receiptRlp);
         String input = Numeric.toHexString(byteIndex) + rlpHash.substring(2);
 
-        String proof = Merkle.calculateMerkleRoot(receiptAndProof.getReceiptProof(), input);
+        String proof =
+                Merkle.calculateMerkleRoot(receiptAndProof.getReceiptProof(), input, cryptoSuite);
 
         logger.debug(
                 " transaction hash: {}, receipt index: {}, root: {}, proof: {}, receipt: {}",
@@ -98,10 +115,21 @@ public class MerkleProofUtility {
             BigInteger index,
             String transactionRoot,
             List<MerkleProofUnit> txProof) {
+        return verifyTransaction(
+                transactionHash, index, transactionRoot, txProof, CryptoSuite.getDefault());
+    }
+
+    /** verify with the merkle nodes hashed by the crypto suite of the chain */
+    public static boolean verifyTransaction(
+            String transactionHash,
+            BigInteger index,
+            String transactionRoot,
+            List<MerkleProofUnit> txProof,
+            CryptoSuite cryptoSuite) {
         String input =
                 Numeric.toHexString(RlpEncoder.encode(RlpString.create(index)))
                         + transactionHash.substring(2);
-        String proof = Merkle.calculateMerkleRoot(txProof, input);
+        String proof = Merkle.calculateMerkleRoot(txProof, input, cryptoSuite);
 
         logger.debug(
                 " transaction hash: {}, transaction index: {}, txProof: {}, transactionRoot: {}, proof: {}",
@@ -126,6 +154,16 @@ public class MerkleProofUtility {
             String receiptRoot,
             TransactionReceipt transactionReceipt,
             List<MerkleProofUnit> receiptProof) {
+        return verifyTransactionReceipt(
+                receiptRoot, transactionReceipt, receiptProof, CryptoSuite.getDefault());
+    }
+
+    /** verify with the receipt and the merkle nodes hashed by the crypto suite of the chain */
+    public static boolean verifyTransactionReceipt(
+            String receiptRoot,
+            TransactionReceipt transactionReceipt,
+            List<MerkleProofUnit> receiptProof,
+            CryptoSuite cryptoSuite) {
 
         if (!transactionReceipt.getGasUsedRaw().startsWith("0x")) {
             transactionReceipt.setGasUsed("0x" + transactionReceipt.getGasUsed().toString(16));
@@ -136,10 +174,10 @@ public class MerkleProofUtility {
                 RlpEncoder.encode(RlpString.create(transactionReceipt.getTransactionIndex()));
 
         String receiptRlp = ReceiptEncoder.encode(transactionReceipt);
-        String rlpHash = Hash.sha3(receiptRlp);
+        String rlpHash = cryptoSuite.hash(receiptRlp);
         String input = Numeric.toHexString(byteIndex) + rlpHash.substring(2);
 
-        String proof = Merkle.calculateMerkleRoot(receiptProof, input);
+        String proof = Merkle.calculateMerkleRoot(receiptProof, input, cryptoSuite);
 
         logger.debug(
                 " transaction hash: {}, transactionReceipt: {}, receiptProof: {}, receiptRoot: {}, proof: {}",
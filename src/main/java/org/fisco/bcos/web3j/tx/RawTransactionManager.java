@@ -2,18 +2,16 @@ package org.fisco.bcos.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.security.SecureRandom;
-import java.util.Random;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.crypto.Credentials;
-import org.fisco.bcos.web3j.crypto.Hash;
 import org.fisco.bcos.web3j.crypto.RawTransaction;
-import org.fisco.bcos.web3j.crypto.TransactionEncoder;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.Request;
 import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
 import org.fisco.bcos.web3j.tx.exceptions.TxHashMismatchException;
-import org.fisco.bcos.web3j.utils.Numeric;
+import org.fisco.bcos.web3j.tx.response.PushTransactionReceiptProcessor;
+import org.fisco.bcos.web3j.tx.response.TransactionReceiptProcessor;
 import org.fisco.bcos.web3j.utils.TxHashVerifier;
 
 /**
@@ -48,6 +46,22 @@ public class RawTransactionManager extends TransactionManager {
         this.chainId = chainId;
     }
 
+    /**
+     * @param transactionReceiptProcessor processor waiting for the receipts of {@link
+     *     ManagedTransaction#send}, see {@link PushTransactionReceiptProcessor}
+     */
+    public RawTransactionManager(
+            Web3j web3j,
+            Credentials credentials,
+            byte chainId,
+            TransactionReceiptProcessor transactionReceiptProcessor) {
+        super(transactionReceiptProcessor, credentials);
+        this.web3j = web3j;
+        this.credentials = credentials;
+
+        this.chainId = chainId;
+    }
+
     public RawTransactionManager(Web3j web3j, Credentials credentials) {
         this(web3j, credentials, ChainId.NONE);
     }
@@ -70,6 +84,14 @@ public class RawTransactionManager extends TransactionManager {
         this.txHashVerifier = txHashVerifier;
     }
 
+    @Override
+    public void verifyTransactionHash(String txHashLocal, String txHashRemote)
+            throws TxHashMismatchException {
+        if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
+            throw new TxHashMismatchException(txHashLocal, txHashRemote);
+        }
+    }
+
     @Override
     public SendTransaction sendTransaction(
             BigInteger gasPrice,
@@ -79,15 +101,20 @@ public class RawTransactionManager extends TransactionManager {
             BigInteger value,
             String extraData)
             throws IOException {
+        return signAndSend(newRawTransaction(gasPrice, gasLimit, to, data, value));
+    }
 
-        Random r = new SecureRandom();
-        BigInteger randomid = new BigInteger(250, r);
-        BigInteger blockLimit = getBlockLimit();
-        RawTransaction rawTransaction =
-                RawTransaction.createTransaction(
-                        randomid, gasPrice, gasLimit, blockLimit, to, value, data);
-
-        return signAndSend(rawTransaction);
+    @Override
+    public SignedTransaction signTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return TransactionSigningService.signTransaction(
+                newRawTransaction(gasPrice, gasLimit, to, data, value), credentials, chainId);
     }
 
     @Override
@@ -100,51 +127,75 @@ public class RawTransactionManager extends TransactionManager {
             String extraData,
             TransactionSucCallback callback)
             throws IOException {
-        Random r = new SecureRandom();
-        BigInteger randomid = new BigInteger(250, r);
-        BigInteger blockLimit = getBlockLimit();
-        RawTransaction rawTransaction =
-                RawTransaction.createTransaction(
-                        randomid, gasPrice, gasLimit, blockLimit, to, value, data);
+        return signAndSend(newRawTransaction(gasPrice, gasLimit, to, data, value), callback);
+    }
 
-        return signAndSend(rawTransaction, callback);
+    @Override
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return signAndSend(newRawTransaction(gasPrice, gasLimit, to, data, value));
     }
 
-    public SendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+    @Override
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData,
+            TransactionSucCallback callback)
+            throws IOException {
+        return signAndSend(newRawTransaction(gasPrice, gasLimit, to, data, value), callback);
+    }
 
-        byte[] signedMessage;
+    private RawTransaction newRawTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
+            throws IOException {
+        BigInteger randomid = getNonceProvider().getNonce();
+        BigInteger blockLimit = getBlockLimit();
+        return RawTransaction.createTransaction(
+                randomid, gasPrice, gasLimit, blockLimit, to, value, data);
+    }
 
-        if (chainId > ChainId.NONE) {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
-        } else {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, credentials);
-        }
+    private RawTransaction newRawTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, byte[] data, BigInteger value)
+            throws IOException {
+        BigInteger randomid = getNonceProvider().getNonce();
+        BigInteger blockLimit = getBlockLimit();
+        return RawTransaction.createTransaction(
+                randomid, gasPrice, gasLimit, blockLimit, to, value, data);
+    }
 
-        String hexValue = Numeric.toHexString(signedMessage);
-        SendTransaction sendTransaction = web3j.sendRawTransaction(hexValue).send();
-        if (sendTransaction != null && !sendTransaction.hasError()) {
-            String txHashLocal = Hash.sha3(hexValue);
-            String txHashRemote = sendTransaction.getTransactionHash();
-            if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
-                throw new TxHashMismatchException(txHashLocal, txHashRemote);
-            }
-        }
-        return sendTransaction;
+    public SendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+        return sendTransaction(
+                TransactionSigningService.signTransaction(rawTransaction, credentials, chainId));
     }
 
     public SendTransaction signAndSend(
             RawTransaction rawTransaction, TransactionSucCallback callback) throws IOException {
+        return sendTransaction(
+                TransactionSigningService.signTransaction(rawTransaction, credentials, chainId),
+                callback);
+    }
 
-        byte[] signedMessage;
-
-        if (chainId > ChainId.NONE) {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
-        } else {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, credentials);
-        }
+    @Override
+    protected Web3j getWeb3j() {
+        return web3j;
+    }
 
-        String hexValue = Numeric.toHexString(signedMessage);
-        Request<?, SendTransaction> request = web3j.sendRawTransaction(hexValue);
+    @Override
+    public SendTransaction sendTransaction(
+            SignedTransaction signedTransaction, TransactionSucCallback callback)
+            throws IOException {
+        Request<?, SendTransaction> request =
+                web3j.sendRawTransaction(signedTransaction.getHexValue());
         request.setNeedTransCallback(true);
         request.setTransactionSucCallback(callback);
         request.sendOnly();
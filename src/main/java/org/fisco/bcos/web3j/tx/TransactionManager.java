@@ -4,16 +4,21 @@ import java.io.IOException;
 import java.math.BigInteger;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.crypto.ExtendedRawTransaction;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.methods.response.NodeVersion;
 import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.fisco.bcos.web3j.protocol.exceptions.TransactionException;
 import org.fisco.bcos.web3j.tx.exceptions.TxHashMismatchException;
+import org.fisco.bcos.web3j.tx.nonce.CounterNonceProvider;
+import org.fisco.bcos.web3j.tx.nonce.NonceProvider;
 import org.fisco.bcos.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.fisco.bcos.web3j.tx.response.TransactionReceiptProcessor;
 import org.fisco.bcos.web3j.utils.AttemptsConf;
+import org.fisco.bcos.web3j.utils.Numeric;
 
 /**
  * Transaction manager abstraction for executing transactions with Ethereum client via various
@@ -31,6 +36,8 @@ public abstract class TransactionManager {
 
     private NodeVersion.Version nodeVersion;
 
+    private NonceProvider nonceProvider = new CounterNonceProvider();
+
     public NodeVersion.Version getNodeVersion() {
         return nodeVersion;
     }
@@ -59,6 +66,20 @@ public abstract class TransactionManager {
 
     protected abstract BigInteger getBlockLimit() throws IOException;
 
+    public NonceProvider getNonceProvider() {
+        return nonceProvider;
+    }
+
+    /** @param nonceProvider provider of the randomid of the transactions */
+    public void setNonceProvider(NonceProvider nonceProvider) {
+        this.nonceProvider = nonceProvider;
+    }
+
+    /** @return the crypto suite of the credentials, transactions are hashed and signed with it */
+    public CryptoSuite getCryptoSuite() {
+        return credentials != null ? credentials.getCryptoSuite() : CryptoSuite.getDefault();
+    }
+
     @Deprecated
     protected TransactionReceipt executeTransaction(
             BigInteger gasPrice,
@@ -68,10 +89,8 @@ public abstract class TransactionManager {
             BigInteger value,
             String extraData)
             throws IOException, TransactionException {
-
-        SendTransaction sendTransaction =
-                sendTransaction(gasPrice, gasLimit, to, data, value, extraData);
-        return processResponse(sendTransaction);
+        return transactionReceiptProcessor.processTransaction(
+                this, gasPrice, gasLimit, to, data, value, extraData);
     }
 
     public abstract SendTransaction sendTransaction(
@@ -95,6 +114,38 @@ public abstract class TransactionManager {
         return null;
     };
 
+    /**
+     * send a transaction with its data already encoded as bytes, managers signing the transaction
+     * themselves use the bytes as they are instead of converting them to hex and back
+     */
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return sendTransaction(gasPrice, gasLimit, to, Numeric.toHexString(data), value, extraData);
+    }
+
+    /**
+     * callback version of {@link #sendTransaction(BigInteger, BigInteger, String, byte[],
+     * BigInteger, String)}
+     */
+    public SendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            byte[] data,
+            BigInteger value,
+            String extraData,
+            TransactionSucCallback callback)
+            throws IOException {
+        return sendTransaction(
+                gasPrice, gasLimit, to, Numeric.toHexString(data), value, extraData, callback);
+    }
+
     public SendTransaction sendTransaction(String signedTransaction)
             throws IOException, TxHashMismatchException {
         return null;
@@ -106,7 +157,12 @@ public abstract class TransactionManager {
         return null;
     }
 
-    public ExtendedRawTransaction createTransaction(
+    /**
+     * create and sign a transaction, null if the manager does not sign transactions
+     *
+     * @return signed transaction with its hash
+     */
+    public SignedTransaction signTransaction(
             BigInteger gasPrice,
             BigInteger gasLimit,
             String to,
@@ -117,25 +173,70 @@ public abstract class TransactionManager {
         return null;
     }
 
-    public String sign(ExtendedRawTransaction transaction) {
+    public SendTransaction sendTransaction(
+            SignedTransaction signedTransaction, TransactionSucCallback callback)
+            throws IOException {
         return null;
     }
 
-    public String getFromAddress() {
-        return credentials.getAddress();
+    /** @return client signed transactions are sent to, null if the manager does not sign them */
+    protected Web3j getWeb3j() {
+        return null;
     }
 
-    @Deprecated
-    private TransactionReceipt processResponse(SendTransaction transactionResponse)
-            throws IOException, TransactionException {
-        if (transactionResponse.hasError()) {
-            throw new RuntimeException(
-                    "Error processing transaction request: "
-                            + transactionResponse.getError().getMessage());
+    /**
+     * send a transaction signed by {@link TransactionSigningService}, the hash returned by the node
+     * is verified against the hash computed when signing, see {@link #verifyTransactionHash(String,
+     * String)}
+     *
+     * @param signedTransaction signed transaction with its hash
+     * @return null if the manager does not sign transactions
+     */
+    public SendTransaction sendTransaction(SignedTransaction signedTransaction) throws IOException {
+        Web3j web3j = getWeb3j();
+        if (web3j == null) {
+            return null;
         }
 
-        String transactionHash = transactionResponse.getTransactionHash();
+        SendTransaction sendTransaction =
+                web3j.sendRawTransaction(signedTransaction.getHexValue()).send();
+        if (sendTransaction != null && !sendTransaction.hasError()) {
+            verifyTransactionHash(
+                    signedTransaction.getTransactionHash(), sendTransaction.getTransactionHash());
+        }
+        return sendTransaction;
+    }
+
+    /**
+     * check the hash of a transaction computed when signing against the one the node returned
+     *
+     * @param txHashLocal hash of the signed transaction
+     * @param txHashRemote hash returned by the node
+     * @throws TxHashMismatchException if the hashes do not match
+     */
+    public void verifyTransactionHash(String txHashLocal, String txHashRemote)
+            throws TxHashMismatchException {}
+
+    public TransactionReceiptProcessor getTransactionReceiptProcessor() {
+        return transactionReceiptProcessor;
+    }
 
-        return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
+    public ExtendedRawTransaction createTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            String extraData)
+            throws IOException {
+        return null;
+    }
+
+    public String sign(ExtendedRawTransaction transaction) {
+        return null;
+    }
+
+    public String getFromAddress() {
+        return credentials.getAddress();
     }
 }
@@ -0,0 +1,153 @@
+package org.fisco.bcos.web3j.tx;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.ExtendedRawTransaction;
+import org.fisco.bcos.web3j.crypto.ExtendedTransactionEncoder;
+import org.fisco.bcos.web3j.crypto.RawTransaction;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
+import org.fisco.bcos.web3j.crypto.TransactionEncoder;
+
+/**
+ * Signs transactions on a fork join pool. RLP encoding, hashing and ECDSA or SM2 signing of each
+ * transaction run on the pool threads; batches are split across all of them. The results carry the
+ * transaction hash, see {@link TransactionManager#sendTransaction(SignedTransaction)}.
+ */
+public class TransactionSigningService implements Closeable {
+
+    // transactions signed by one task without splitting further
+    private static final int SPLIT_THRESHOLD = 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+
+    /** sign on a new pool with one thread per core */
+    public TransactionSigningService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** @param parallelism threads of the new signing pool */
+    public TransactionSigningService(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownPool = true;
+    }
+
+    /** @param pool pool to sign on, it is not shut down by {@link #close()} */
+    public TransactionSigningService(ForkJoinPool pool) {
+        this.pool = pool;
+        this.ownPool = false;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public CompletableFuture<SignedTransaction> sign(
+            RawTransaction rawTransaction, Credentials credentials, byte chainId) {
+        return CompletableFuture.supplyAsync(
+                () -> signTransaction(rawTransaction, credentials, chainId), pool);
+    }
+
+    public CompletableFuture<SignedTransaction> sign(
+            ExtendedRawTransaction rawTransaction, Credentials credentials, byte chainId) {
+        return CompletableFuture.supplyAsync(
+                () -> signTransaction(rawTransaction, credentials, chainId), pool);
+    }
+
+    /**
+     * sign a batch on all pool threads and wait for the result
+     *
+     * @param rawTransactions transactions to sign
+     * @param credentials signer
+     * @param chainId {@link ChainId#NONE} to sign without chain id
+     * @return signed transactions in the order of rawTransactions
+     */
+    public List<SignedTransaction> signAll(
+            List<RawTransaction> rawTransactions, Credentials credentials, byte chainId) {
+        return invokeAll(
+                rawTransactions,
+                rawTransaction -> signTransaction(rawTransaction, credentials, chainId));
+    }
+
+    /** @see #signAll(List, Credentials, byte) */
+    public List<SignedTransaction> signAllExtended(
+            List<ExtendedRawTransaction> rawTransactions, Credentials credentials, byte chainId) {
+        return invokeAll(
+                rawTransactions,
+                rawTransaction -> signTransaction(rawTransaction, credentials, chainId));
+    }
+
+    public static SignedTransaction signTransaction(
+            RawTransaction rawTransaction, Credentials credentials, byte chainId) {
+        if (chainId > ChainId.NONE) {
+            return TransactionEncoder.signTransaction(rawTransaction, chainId, credentials);
+        }
+        return TransactionEncoder.signTransaction(rawTransaction, credentials);
+    }
+
+    public static SignedTransaction signTransaction(
+            ExtendedRawTransaction rawTransaction, Credentials credentials, byte chainId) {
+        if (chainId > ChainId.NONE) {
+            return ExtendedTransactionEncoder.signTransaction(rawTransaction, chainId, credentials);
+        }
+        return ExtendedTransactionEncoder.signTransaction(rawTransaction, credentials);
+    }
+
+    private <T> List<SignedTransaction> invokeAll(
+            List<T> rawTransactions, Function<T, SignedTransaction> signer) {
+        SignedTransaction[] results = new SignedTransaction[rawTransactions.size()];
+        pool.invoke(new SignTask<T>(rawTransactions, signer, results, 0, results.length));
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void close() {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static class SignTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> rawTransactions;
+        private final Function<T, SignedTransaction> signer;
+        private final SignedTransaction[] results;
+        private final int from;
+        private final int to;
+
+        SignTask(
+                List<T> rawTransactions,
+                Function<T, SignedTransaction> signer,
+                SignedTransaction[] results,
+                int from,
+                int to) {
+            this.rawTransactions = rawTransactions;
+            this.signer = signer;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    results[i] = signer.apply(rawTransactions.get(i));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new SignTask<T>(rawTransactions, signer, results, from, middle),
+                    new SignTask<T>(rawTransactions, signer, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.fisco.bcos.web3j.tx.nonce;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default nonce provider: a random 186 bit instance prefix drawn once followed by a 64 bit counter.
+ * The counter keeps the nonces of the instance unique, the prefix keeps them apart from the ones of
+ * other instances, and no random number is generated per transaction.
+ */
+public class CounterNonceProvider implements NonceProvider {
+    private static final int COUNTER_BITS = 64;
+    private static final int PREFIX_BITS = 250 - COUNTER_BITS;
+
+    private final BigInteger prefix;
+    private final AtomicLong counter = new AtomicLong(0);
+
+    public CounterNonceProvider() {
+        this(new SecureRandom());
+    }
+
+    /** @param random random the instance prefix is drawn from */
+    public CounterNonceProvider(SecureRandom random) {
+        this.prefix = new BigInteger(PREFIX_BITS, random).shiftLeft(COUNTER_BITS);
+    }
+
+    @Override
+    public BigInteger getNonce() {
+        long count = counter.getAndIncrement();
+        BigInteger nonce = prefix.add(BigInteger.valueOf(count & Long.MAX_VALUE));
+        return count < 0 ? nonce.setBit(COUNTER_BITS - 1) : nonce;
+    }
+}
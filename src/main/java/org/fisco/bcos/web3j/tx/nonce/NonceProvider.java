@@ -0,0 +1,13 @@
+package org.fisco.bcos.web3j.tx.nonce;
+
+import java.math.BigInteger;
+
+/**
+ * Provides the randomid (nonce) of the transactions. The node rejects a transaction whose randomid
+ * was already used within the block limit window, so the values must not repeat across the
+ * transactions sent to a group in that window.
+ */
+public interface NonceProvider {
+    /** @return randomid of the next transaction, at most 250 bits */
+    BigInteger getNonce();
+}
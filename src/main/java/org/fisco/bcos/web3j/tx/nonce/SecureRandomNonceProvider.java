@@ -0,0 +1,19 @@
+package org.fisco.bcos.web3j.tx.nonce;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+/**
+ * Nonce provider drawing 250 random bits per transaction, for callers who need unpredictable
+ * nonces. Each thread has its own SecureRandom seeded once, instead of one created per transaction.
+ */
+public class SecureRandomNonceProvider implements NonceProvider {
+    private static final int NONCE_BITS = 250;
+
+    private final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Override
+    public BigInteger getNonce() {
+        return new BigInteger(NONCE_BITS, random.get());
+    }
+}
@@ -0,0 +1,335 @@
+package org.fisco.bcos.web3j.tx.response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.StatusCode;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.fisco.bcos.web3j.protocol.exceptions.TransactionException;
+import org.fisco.bcos.web3j.tx.TransactionManager;
+import org.fisco.bcos.web3j.utils.Async;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transaction receipt processor completing receipts pushed by the node, transactions are sent with
+ * the callback of {@link #newCallback(String)} and their receipt is pushed once the block is
+ * committed. Only the transactions whose receipt was not pushed after the polling interval, for
+ * example because the connection was lost, are polled: the queries of all of them are sent as one
+ * batch on each tick, failed queries are retried until the attempts run out.
+ *
+ * <p>Transactions sent without the callback are waited for by polling. The polling task runs until
+ * {@link #close()}.
+ */
+public class PushTransactionReceiptProcessor extends TransactionReceiptProcessor {
+    private static Logger logger = LoggerFactory.getLogger(PushTransactionReceiptProcessor.class);
+
+    private final Web3j web3j;
+    private final long pollingInterval;
+    private final int attempts;
+
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> pollTask;
+
+    private final AtomicLong pushedCount = new AtomicLong(0);
+    private final AtomicLong polledCount = new AtomicLong(0);
+    private final AtomicLong pollRequestCount = new AtomicLong(0);
+
+    /**
+     * @param web3j web3j of the group
+     * @param pollingInterval milliseconds before a receipt not pushed is polled, and between polls
+     * @param attempts polls of a receipt before giving up
+     */
+    public PushTransactionReceiptProcessor(Web3j web3j, long pollingInterval, int attempts) {
+        this(web3j, pollingInterval, attempts, Async.defaultExecutorService());
+    }
+
+    public PushTransactionReceiptProcessor(
+            Web3j web3j,
+            long pollingInterval,
+            int attempts,
+            ScheduledExecutorService scheduledExecutorService) {
+        super(web3j);
+        this.web3j = web3j;
+        this.pollingInterval = pollingInterval;
+        this.attempts = attempts;
+
+        this.pollTask =
+                scheduledExecutorService.scheduleWithFixedDelay(
+                        this::pollStragglers,
+                        pollingInterval,
+                        pollingInterval,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * send the transaction with the receipt callback, the receipt is polled only if it is not
+     * pushed in time
+     */
+    @Override
+    public TransactionReceipt processTransaction(
+            TransactionManager transactionManager,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            String extraData)
+            throws IOException, TransactionException {
+        SignedTransaction signedTransaction =
+                transactionManager.signTransaction(gasPrice, gasLimit, to, data, value, extraData);
+        if (signedTransaction == null) {
+            // the manager does not sign, its transactions are sent by the node
+            return super.processTransaction(
+                    transactionManager, gasPrice, gasLimit, to, data, value, extraData);
+        }
+
+        String transactionHash = signedTransaction.getTransactionHash();
+        transactionManager.sendTransaction(signedTransaction, newCallback(transactionHash));
+        TransactionReceipt receipt = waitForTransactionReceipt(transactionHash);
+        // the pushed receipt is the one of the transaction the node received
+        transactionManager.verifyTransactionHash(transactionHash, receipt.getTransactionHash());
+        return receipt;
+    }
+
+    /** stop polling, transactions still waited for fail */
+    public void close() {
+        pollTask.cancel(false);
+        for (PendingReceipt pendingReceipt : pendingReceipts.values()) {
+            fail(
+                    pendingReceipt,
+                    new TransactionException(
+                            "Receipt processor closed before the receipt of transaction: "
+                                    + pendingReceipt.transactionHash,
+                            pendingReceipt.transactionHash));
+        }
+        pendingReceipts.clear();
+    }
+
+    /**
+     * callback to send the transaction with, the pushed receipt completes the transaction
+     *
+     * @param transactionHash hash of the signed transaction
+     * @return receipt callback
+     */
+    public TransactionSucCallback newCallback(String transactionHash) {
+        pending(transactionHash);
+        return new TransactionSucCallback() {
+            @Override
+            public void onResponse(TransactionReceipt response) {
+                onReceipt(transactionHash, response);
+            }
+
+            @Override
+            public void onTimeout() {
+                // left to polling
+                logger.debug(" receipt not pushed in time, hash: {}", transactionHash);
+            }
+        };
+    }
+
+    /**
+     * @param transactionHash transaction hash
+     * @return receipt of the transaction, completed exceptionally if the transaction failed to be
+     *     sent or the receipt was not found after all the attempts
+     */
+    public CompletableFuture<TransactionReceipt> getTransactionReceiptAsync(
+            String transactionHash) {
+        PendingReceipt pendingReceipt = pending(transactionHash);
+        pendingReceipt.claimed = true;
+        // a receipt pushed before it is waited for is kept until now
+        pendingReceipt.future.whenComplete(
+                (receipt, e) -> pendingReceipts.remove(transactionHash, pendingReceipt));
+        return pendingReceipt.future;
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        CompletableFuture<TransactionReceipt> future = getTransactionReceiptAsync(transactionHash);
+        try {
+            // the last poll is sent at most attempts + 1 intervals after the transaction
+            return future.get(pollingInterval * (attempts + 2), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransactionException) {
+                throw (TransactionException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new TransactionException(e.getCause());
+        } catch (TimeoutException e) {
+            pendingReceipts.remove(transactionHash);
+            throw notGenerated(transactionHash);
+        }
+    }
+
+    private PendingReceipt pending(String transactionHash) {
+        return pendingReceipts.computeIfAbsent(transactionHash, PendingReceipt::new);
+    }
+
+    private void onReceipt(String transactionHash, TransactionReceipt receipt) {
+        PendingReceipt pendingReceipt = pendingReceipts.get(transactionHash);
+        if (pendingReceipt == null) {
+            return;
+        }
+
+        if (receipt.getTransactionHash() == null) {
+            // the transaction was not accepted, the receipt only carries the error
+            pendingReceipt.future.completeExceptionally(
+                    new TransactionException(
+                            StatusCode.getStatusMessage(receipt.getStatus(), receipt.getMessage()),
+                            receipt.getStatus(),
+                            null,
+                            transactionHash));
+        } else {
+            // counted before the waiting caller resumes
+            pushedCount.incrementAndGet();
+            if (!pendingReceipt.future.complete(receipt)) {
+                pushedCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void pollStragglers() {
+        long now = System.currentTimeMillis();
+        List<PendingReceipt> stragglers = new ArrayList<>();
+        for (PendingReceipt pendingReceipt : pendingReceipts.values()) {
+            if (pendingReceipt.future.isDone()) {
+                // completed but never waited for
+                if (!pendingReceipt.claimed
+                        && now - pendingReceipt.since > pollingInterval * (attempts + 2)) {
+                    pendingReceipts.remove(pendingReceipt.transactionHash, pendingReceipt);
+                }
+                continue;
+            }
+            if (now - pendingReceipt.since < pollingInterval
+                    || !pendingReceipt.polling.compareAndSet(false, true)) {
+                continue;
+            }
+
+            if (pendingReceipt.polls++ >= attempts) {
+                fail(pendingReceipt, notGenerated(pendingReceipt.transactionHash));
+                continue;
+            }
+
+            stragglers.add(pendingReceipt);
+        }
+        if (stragglers.isEmpty()) {
+            return;
+        }
+
+        List<String> transactionHashes = new ArrayList<>(stragglers.size());
+        for (PendingReceipt pendingReceipt : stragglers) {
+            transactionHashes.add(pendingReceipt.transactionHash);
+        }
+        pollRequestCount.incrementAndGet();
+        try {
+            List<CompletableFuture<BcosTransactionReceipt>> responses =
+                    web3j.getTransactionReceiptsAsync(transactionHashes);
+            for (int i = 0; i < stragglers.size(); ++i) {
+                PendingReceipt pendingReceipt = stragglers.get(i);
+                responses
+                        .get(i)
+                        .whenComplete((response, e) -> onPolled(pendingReceipt, response, e));
+            }
+        } catch (Exception e) {
+            for (PendingReceipt pendingReceipt : stragglers) {
+                onPolled(pendingReceipt, null, e);
+            }
+        }
+    }
+
+    private void onPolled(
+            PendingReceipt pendingReceipt, BcosTransactionReceipt response, Throwable e) {
+        pendingReceipt.polling.set(false);
+        // polled again on the next tick until the attempts run out
+        if (e != null) {
+            logger.warn(
+                    " poll receipt failed, hash: {}, error: {}",
+                    pendingReceipt.transactionHash,
+                    e.getMessage());
+            return;
+        }
+        if (response.hasError()) {
+            logger.warn(
+                    " poll receipt failed, hash: {}, error: {}",
+                    pendingReceipt.transactionHash,
+                    response.getError().getMessage());
+            return;
+        }
+
+        if (response.getTransactionReceipt().isPresent()) {
+            polledCount.incrementAndGet();
+            if (!pendingReceipt.future.complete(response.getTransactionReceipt().get())) {
+                polledCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void fail(PendingReceipt pendingReceipt, TransactionException e) {
+        pendingReceipt.future.completeExceptionally(e);
+    }
+
+    private TransactionException notGenerated(String transactionHash) {
+        return new TransactionException(
+                "Transaction receipt was not generated after "
+                        + ((pollingInterval * (attempts + 1)) / 1000
+                                + " seconds for transaction: "
+                                + transactionHash),
+                transactionHash);
+    }
+
+    /** @return transactions waiting for their receipt, or for the caller to get it */
+    public int getPendingCount() {
+        return pendingReceipts.size();
+    }
+
+    /** @return receipts pushed by the node */
+    public long getPushedCount() {
+        return pushedCount.get();
+    }
+
+    /** @return receipts found by polling */
+    public long getPolledCount() {
+        return polledCount.get();
+    }
+
+    /** @return batches of receipt queries sent */
+    public long getPollRequestCount() {
+        return pollRequestCount.get();
+    }
+
+    private static class PendingReceipt {
+        private final String transactionHash;
+        private final long since = System.currentTimeMillis();
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        // one query of the receipt at a time
+        private final AtomicBoolean polling = new AtomicBoolean(false);
+        private int polls = 0;
+        // the future was returned, it is removed once completed
+        private volatile boolean claimed = false;
+
+        PendingReceipt(String transactionHash) {
+            this.transactionHash = transactionHash;
+        }
+    }
+}
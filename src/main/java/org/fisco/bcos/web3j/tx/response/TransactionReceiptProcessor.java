@@ -1,11 +1,14 @@
 package org.fisco.bcos.web3j.tx.response;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Optional;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.fisco.bcos.web3j.protocol.exceptions.TransactionException;
+import org.fisco.bcos.web3j.tx.TransactionManager;
 
 /** Abstraction for managing how we wait for transaction receipts to be generated on the network. */
 public abstract class TransactionReceiptProcessor {
@@ -19,6 +22,32 @@ public abstract class TransactionReceiptProcessor {
     public abstract TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException;
 
+    /**
+     * send a transaction with the manager and wait for its receipt
+     *
+     * @param transactionManager manager creating, signing and sending the transaction
+     * @return receipt of the transaction
+     */
+    public TransactionReceipt processTransaction(
+            TransactionManager transactionManager,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            String extraData)
+            throws IOException, TransactionException {
+        SendTransaction transactionResponse =
+                transactionManager.sendTransaction(gasPrice, gasLimit, to, data, value, extraData);
+        if (transactionResponse.hasError()) {
+            throw new RuntimeException(
+                    "Error processing transaction request: "
+                            + transactionResponse.getError().getMessage());
+        }
+
+        return waitForTransactionReceipt(transactionResponse.getTransactionHash());
+    }
+
     Optional<TransactionReceipt> sendTransactionReceiptRequest(String transactionHash)
             throws IOException, TransactionException {
         BcosTransactionReceipt transactionReceipt =
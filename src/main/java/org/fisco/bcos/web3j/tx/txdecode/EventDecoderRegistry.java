@@ -0,0 +1,281 @@
+package org.fisco.bcos.web3j.tx.txdecode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.fisco.bcos.web3j.abi.EventEncoder;
+import org.fisco.bcos.web3j.abi.FunctionReturnDecoder;
+import org.fisco.bcos.web3j.abi.TypeReference;
+import org.fisco.bcos.web3j.abi.datatypes.Event;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.protocol.core.filters.LogsBloomFilter;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition.NamedType;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.tuples.generated.Tuple2;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Event decoders of one or more contract abis keyed by the event signature hash, the first topic of
+ * their logs. The abis are parsed and the signature hashes and parameter types built once when they
+ * are registered, a log is then resolved to its decoder by one lookup.
+ *
+ * <p>Abis registered with a contract address only decode the logs of that contract, so events with
+ * the same signature but different indexed parameters can be told apart; the others decode the logs
+ * of any contract.
+ */
+public class EventDecoderRegistry {
+
+    private final CryptoSuite cryptoSuite;
+    private final Map<String, EventDecoder> decoders = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, EventDecoder>> contractDecoders =
+            new ConcurrentHashMap<>();
+
+    public EventDecoderRegistry() {
+        this(CryptoSuite.getDefault());
+    }
+
+    /** @param cryptoSuite crypto suite the event signatures are hashed with */
+    public EventDecoderRegistry(CryptoSuite cryptoSuite) {
+        this.cryptoSuite = cryptoSuite;
+    }
+
+    /**
+     * register the events of an abi for the logs of any contract
+     *
+     * @param abi contract abi
+     */
+    public void register(String abi) {
+        for (AbiDefinition abiDefinition : ContractAbiUtil.getEventAbiDefinitions(abi)) {
+            EventDecoder decoder = new EventDecoder(abiDefinition, cryptoSuite);
+            decoders.put(decoder.getTopic(), decoder);
+        }
+    }
+
+    /**
+     * register the events of an abi for the logs of one contract
+     *
+     * @param contractAddress contract address
+     * @param abi contract abi
+     */
+    public void register(String contractAddress, String abi) {
+        Map<String, EventDecoder> addressDecoders =
+                contractDecoders.computeIfAbsent(
+                        contractAddress.toLowerCase(), k -> new ConcurrentHashMap<>());
+        for (AbiDefinition abiDefinition : ContractAbiUtil.getEventAbiDefinitions(abi)) {
+            EventDecoder decoder = new EventDecoder(abiDefinition, cryptoSuite);
+            addressDecoders.put(decoder.getTopic(), decoder);
+        }
+    }
+
+    /**
+     * @param log event log
+     * @return decoder of the log, null if its event is not registered
+     */
+    public EventDecoder getEventDecoder(Log log) {
+        List<String> topics = log.getTopics();
+        if ((null == topics) || topics.isEmpty() || (null == topics.get(0))) {
+            return null;
+        }
+
+        String topic = topics.get(0);
+        if (!contractDecoders.isEmpty() && (null != log.getAddress())) {
+            Map<String, EventDecoder> addressDecoders =
+                    contractDecoders.get(log.getAddress().toLowerCase());
+            if (null != addressDecoders) {
+                EventDecoder decoder = addressDecoders.get(topic);
+                if (null != decoder) {
+                    return decoder;
+                }
+            }
+        }
+        return decoders.get(topic);
+    }
+
+    /**
+     * @param log event log
+     * @return log and its decoded parameters, null if its event is not registered
+     * @throws BaseException
+     */
+    public LogResult decodeEventLog(Log log) throws BaseException {
+        EventDecoder decoder = getEventDecoder(log);
+        if (null == decoder) {
+            return null;
+        }
+
+        List<EventResultEntity> resultEntityList = decoder.decode(log);
+        if (null == resultEntityList) {
+            return null;
+        }
+
+        LogResult result = new LogResult();
+        result.setLogParams(resultEntityList);
+        result.setLog(log);
+        return result;
+    }
+
+    /**
+     * @param log event log
+     * @return event abi and the decoded parameters, null if its event is not registered
+     * @throws BaseException
+     */
+    public Tuple2<AbiDefinition, List<EventResultEntity>> decodeEvent(Log log)
+            throws BaseException {
+        EventDecoder decoder = getEventDecoder(log);
+        if (null == decoder) {
+            return null;
+        }
+
+        List<EventResultEntity> resultEntityList = decoder.decode(log);
+        if (null == resultEntityList) {
+            return null;
+        }
+        return new Tuple2<AbiDefinition, List<EventResultEntity>>(
+                decoder.getAbiDefinition(), resultEntityList);
+    }
+
+    /**
+     * @param logsBloom hex encoded bloom of a block or a receipt
+     * @return false if none of the registered events can be in its logs, true if the bloom is
+     *     absent
+     */
+    public boolean mayContainEvents(String logsBloom) {
+        if ((null == logsBloom) || Numeric.cleanHexPrefix(logsBloom).isEmpty()) {
+            return true;
+        }
+
+        byte[] bloom = Numeric.hexStringToByteArray(logsBloom);
+        if (bloom.length != LogsBloomFilter.BLOOM_BYTES) {
+            return true;
+        }
+        if (mayContainEvents(bloom, decoders)) {
+            return true;
+        }
+        for (Map<String, EventDecoder> addressDecoders : contractDecoders.values()) {
+            if (mayContainEvents(bloom, addressDecoders)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mayContainEvents(byte[] bloom, Map<String, EventDecoder> decoders) {
+        for (EventDecoder decoder : decoders.values()) {
+            if (LogsBloomFilter.contains(bloom, decoder.topicBits)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return events registered */
+    public int size() {
+        int size = decoders.size();
+        for (Map<String, EventDecoder> addressDecoders : contractDecoders.values()) {
+            size += addressDecoders.size();
+        }
+        return size;
+    }
+
+    /** Decoder of one event, built from its abi once. */
+    public static class EventDecoder {
+        private final AbiDefinition abiDefinition;
+        private final String eventSignature;
+        private final String topic;
+        private final int[] topicBits;
+        private final List<NamedType> indexedInputs;
+        private final List<NamedType> nonIndexedInputs;
+        private List<TypeReference<Type>> indexedParameters;
+        private List<TypeReference<Type>> nonIndexedParameters;
+        // types not supported are reported when a log is decoded, as before
+        private BaseException error;
+
+        EventDecoder(AbiDefinition abiDefinition, CryptoSuite cryptoSuite) {
+            this.abiDefinition = abiDefinition;
+            List<NamedType> inputs = abiDefinition.getInputs();
+            this.eventSignature =
+                    abiDefinition.getName()
+                            + "("
+                            + inputs.stream()
+                                    .map(NamedType::getType)
+                                    .collect(Collectors.joining(","))
+                            + ")";
+            this.topic = EventEncoder.buildEventSignature(eventSignature, cryptoSuite);
+            this.topicBits =
+                    LogsBloomFilter.bloomBits(Numeric.hexStringToByteArray(topic), cryptoSuite);
+            this.indexedInputs =
+                    inputs.stream().filter(NamedType::isIndexed).collect(Collectors.toList());
+            this.nonIndexedInputs =
+                    inputs.stream().filter(p -> !p.isIndexed()).collect(Collectors.toList());
+
+            try {
+                Event event =
+                        new Event(abiDefinition.getName(), ContractAbiUtil.paramFormat(inputs));
+                this.indexedParameters = event.getIndexedParameters();
+                this.nonIndexedParameters = event.getNonIndexedParameters();
+            } catch (BaseException e) {
+                this.error = e;
+            }
+        }
+
+        public AbiDefinition getAbiDefinition() {
+            return abiDefinition;
+        }
+
+        /** @return event signature, name and parameter types */
+        public String getEventSignature() {
+            return eventSignature;
+        }
+
+        /** @return hash of the event signature, the first topic of the logs */
+        public String getTopic() {
+            return topic;
+        }
+
+        /**
+         * @param log event log
+         * @return indexed parameters followed by the others, null if the log does not match
+         * @throws BaseException
+         */
+        public List<EventResultEntity> decode(Log log) throws BaseException {
+            if (null != error) {
+                throw error;
+            }
+
+            List<String> topics = log.getTopics();
+            if ((null == topics) || (topics.size() <= indexedParameters.size())) {
+                return null;
+            }
+
+            List<EventResultEntity> resultEntityList =
+                    new ArrayList<EventResultEntity>(
+                            indexedInputs.size() + nonIndexedInputs.size());
+            for (int i = 0; i < indexedInputs.size(); i++) {
+                Type value =
+                        FunctionReturnDecoder.decodeIndexedValue(
+                                topics.get(i + 1), indexedParameters.get(i));
+                resultEntityList.add(
+                        new EventResultEntity(
+                                indexedInputs.get(i).getName(),
+                                indexedInputs.get(i).getType(),
+                                true,
+                                value));
+            }
+
+            List<Type> nonIndexedValues =
+                    FunctionReturnDecoder.decode(log.getData(), nonIndexedParameters);
+            for (int i = 0; i < nonIndexedInputs.size(); i++) {
+                resultEntityList.add(
+                        new EventResultEntity(
+                                nonIndexedInputs.get(i).getName(),
+                                nonIndexedInputs.get(i).getType(),
+                                false,
+                                nonIndexedValues.get(i)));
+            }
+            return resultEntityList;
+        }
+    }
+}
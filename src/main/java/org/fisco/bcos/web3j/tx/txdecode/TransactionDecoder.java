@@ -10,8 +10,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import org.fisco.bcos.web3j.abi.EventEncoder;
-import org.fisco.bcos.web3j.abi.EventValues;
 import org.fisco.bcos.web3j.abi.FunctionEncoder;
 import org.fisco.bcos.web3j.abi.FunctionReturnDecoder;
 import org.fisco.bcos.web3j.abi.TypeReference;
@@ -21,8 +19,10 @@ import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
 import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition.NamedType;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.fisco.bcos.web3j.protocol.exceptions.TransactionException;
 import org.fisco.bcos.web3j.tuples.generated.Tuple2;
+import org.fisco.bcos.web3j.utils.Numeric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +33,7 @@ public class TransactionDecoder {
     private String abi = "";
     private String bin = "";
     private Map<String, AbiDefinition> methodIDMap;
+    private EventDecoderRegistry eventDecoderRegistry;
 
     public TransactionDecoder(String abi) {
         this(abi, "");
@@ -48,6 +49,13 @@ public class TransactionDecoder {
             String methodID = FunctionEncoder.buildMethodId(methodSign);
             methodIDMap.put(methodID, abiDefinition);
         }
+        eventDecoderRegistry = new EventDecoderRegistry();
+        eventDecoderRegistry.register(abi);
+    }
+
+    /** @return event decoders of the abi, keyed by the event signature hash */
+    public EventDecoderRegistry getEventDecoderRegistry() {
+        return eventDecoderRegistry;
     }
 
     private String addHexPrefixToString(String s) {
@@ -100,9 +108,12 @@ public class TransactionDecoder {
         List<NamedType> inputTypes = abiDefinition.getInputs();
         List<TypeReference<?>> inputTypeReferences = ContractAbiUtil.paramFormat(inputTypes);
         Function function = new Function(abiDefinition.getName(), null, inputTypeReferences);
+        // the parameters follow the 4 bytes of the method id
         List<Type> resultType =
                 FunctionReturnDecoder.decode(
-                        updatedInput.substring(10), function.getOutputParameters());
+                        Numeric.hexStringToByteArray(updatedInput),
+                        4,
+                        function.getOutputParameters());
 
         // set result to java bean
         List<ResultEntity> resultList = new ArrayList<ResultEntity>();
@@ -254,122 +265,36 @@ public class TransactionDecoder {
      */
     public LogResult decodeEventLogReturnObject(Log log) throws BaseException {
         // decode log
-        List<AbiDefinition> abiDefinitions = ContractAbiUtil.getEventAbiDefinitions(abi);
-
-        LogResult result = new LogResult();
-
-        for (AbiDefinition abiDefinition : abiDefinitions) {
-
-            // String eventName = decodeMethodSign(abiDefinition);
-            String eventSignature =
-                    EventEncoder.buildEventSignature(decodeMethodSign(abiDefinition));
+        LogResult result = eventDecoderRegistry.decodeEventLog(log);
+        if (null != result) {
+            logger.debug(" event log result: {}", result);
+        }
 
-            List<String> topics = log.getTopics();
-            if ((null == topics) || topics.isEmpty() || !topics.get(0).equals(eventSignature)) {
-                continue;
-            }
+        return result;
+    }
 
-            EventValues eventValued = ContractAbiUtil.decodeEvent(log, abiDefinition);
-            if (null != eventValued) {
-                List<EventResultEntity> resultEntityList = new ArrayList<EventResultEntity>();
-                List<NamedType> inputs = abiDefinition.getInputs();
-                List<NamedType> indexedInputs =
-                        inputs.stream().filter(NamedType::isIndexed).collect(Collectors.toList());
-                List<NamedType> nonIndexedInputs =
-                        inputs.stream().filter(p -> !p.isIndexed()).collect(Collectors.toList());
-
-                for (int i = 0; i < indexedInputs.size(); i++) {
-                    EventResultEntity eventEntity =
-                            new EventResultEntity(
-                                    indexedInputs.get(i).getName(),
-                                    indexedInputs.get(i).getType(),
-                                    true,
-                                    eventValued.getIndexedValues().get(i));
-
-                    resultEntityList.add(eventEntity);
-                }
-
-                for (int i = 0; i < nonIndexedInputs.size(); i++) {
-                    EventResultEntity eventEntity =
-                            new EventResultEntity(
-                                    nonIndexedInputs.get(i).getName(),
-                                    nonIndexedInputs.get(i).getType(),
-                                    false,
-                                    eventValued.getNonIndexedValues().get(i));
-
-                    resultEntityList.add(eventEntity);
-                }
-
-                // result.setEventName(eventName);
-                result.setLogParams(resultEntityList);
-                result.setLog(log);
-
-                logger.debug(" event log result: {}", result);
-
-                return result;
-            }
+    /**
+     * decode the event logs of a receipt, skipped if its logsBloom cannot hold the events of the
+     * abi
+     *
+     * @param receipt transaction receipt
+     * @return decoded events by event signature
+     * @throws BaseException
+     * @throws IOException
+     */
+    public Map<String, List<List<EventResultEntity>>> decodeEventReturnObject(
+            TransactionReceipt receipt) throws BaseException, IOException {
+        if (!eventDecoderRegistry.mayContainEvents(receipt.getLogsBloom())) {
+            return new LinkedHashMap<>();
         }
-
-        return null;
+        return decodeEventReturnObject(receipt.getLogs());
     }
 
     public Tuple2<AbiDefinition, List<EventResultEntity>> decodeEventReturnObject(Log log)
             throws BaseException, IOException {
 
-        Tuple2<AbiDefinition, List<EventResultEntity>> result = null;
-
         // decode log
-        List<AbiDefinition> abiDefinitions = ContractAbiUtil.getEventAbiDefinitions(abi);
-
-        for (AbiDefinition abiDefinition : abiDefinitions) {
-
-            String eventSignature =
-                    EventEncoder.buildEventSignature(decodeMethodSign(abiDefinition));
-
-            List<String> topics = log.getTopics();
-            if ((null == topics) || topics.isEmpty() || !topics.get(0).equals(eventSignature)) {
-                continue;
-            }
-
-            EventValues eventValued = ContractAbiUtil.decodeEvent(log, abiDefinition);
-            if (null != eventValued) {
-                List<EventResultEntity> resultEntityList = new ArrayList<EventResultEntity>();
-                List<NamedType> inputs = abiDefinition.getInputs();
-                List<NamedType> indexedInputs =
-                        inputs.stream().filter(NamedType::isIndexed).collect(Collectors.toList());
-                List<NamedType> nonIndexedInputs =
-                        inputs.stream().filter(p -> !p.isIndexed()).collect(Collectors.toList());
-
-                for (int i = 0; i < indexedInputs.size(); i++) {
-                    EventResultEntity eventEntity =
-                            new EventResultEntity(
-                                    indexedInputs.get(i).getName(),
-                                    indexedInputs.get(i).getType(),
-                                    true,
-                                    eventValued.getIndexedValues().get(i));
-
-                    resultEntityList.add(eventEntity);
-                }
-
-                for (int i = 0; i < nonIndexedInputs.size(); i++) {
-                    EventResultEntity eventEntity =
-                            new EventResultEntity(
-                                    nonIndexedInputs.get(i).getName(),
-                                    nonIndexedInputs.get(i).getType(),
-                                    false,
-                                    eventValued.getNonIndexedValues().get(i));
-
-                    resultEntityList.add(eventEntity);
-                }
-
-                result =
-                        new Tuple2<AbiDefinition, List<EventResultEntity>>(
-                                abiDefinition, resultEntityList);
-                break;
-            }
-        }
-
-        return result;
+        return eventDecoderRegistry.decodeEvent(log);
     }
 
     /**
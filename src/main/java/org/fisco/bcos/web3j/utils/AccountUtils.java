@@ -10,8 +10,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import org.fisco.bcos.web3j.crypto.Credentials;
-import org.fisco.bcos.web3j.crypto.EncryptType;
-import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
 import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 
 public class AccountUtils {
@@ -65,14 +64,15 @@ public class AccountUtils {
                     NoSuchProviderException {
         // guomi
         Account account = new Account();
+        CryptoSuite cryptoSuite;
         if (flag) {
-            EncryptType.encryptType = 1;
+            cryptoSuite = CryptoSuite.SM2;
             account.setEncryptType("guomi");
         } else {
-            EncryptType.encryptType = 0;
+            cryptoSuite = CryptoSuite.ECDSA;
             account.setEncryptType("standard");
         }
-        Credentials credentials = GenCredential.create();
+        Credentials credentials = cryptoSuite.createCredentials();
 
         String address = credentials.getAddress();
         String privateKey = credentials.getEcKeyPair().getPrivateKey().toString(16);
@@ -0,0 +1,129 @@
+package org.fisco.bcos.channel.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.web3j.protocol.channel.StatusCode;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.junit.Test;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void limitTest() throws Exception {
+        AdmissionController controller = new AdmissionController(4);
+        assertTrue(controller.tryAcquire(3, 0, TimeUnit.MILLISECONDS));
+        assertTrue(controller.tryAcquire());
+        assertFalse(controller.tryAcquire());
+        assertFalse(controller.tryAcquire(2, 10, TimeUnit.MILLISECONDS));
+        assertEquals(2, controller.getRejectedCount());
+        assertEquals(4, controller.getInFlight());
+
+        // a waiting caller gets the permit released by another thread
+        CountDownLatch waiting = new CountDownLatch(1);
+        Thread releaser =
+                new Thread(
+                        () -> {
+                            try {
+                                waiting.await();
+                                Thread.sleep(50);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                            controller.release(1, AdmissionController.Outcome.SUCCESS);
+                        });
+        releaser.start();
+        waiting.countDown();
+        assertTrue(controller.tryAcquire(1, 5, TimeUnit.SECONDS));
+        releaser.join();
+        assertEquals(5, controller.getAcquiredCount());
+        // about 50ms over 3 acquisitions, not over the 5 permits
+        assertTrue(controller.getAverageQueueMillis() > 15);
+
+        // a batch larger than the limit passes when nothing is in flight
+        controller.release(4, AdmissionController.Outcome.DROPPED);
+        assertTrue(controller.tryAcquire(10, 0, TimeUnit.MILLISECONDS));
+        assertEquals(10, controller.getInFlight());
+    }
+
+    @Test
+    public void aimdTest() throws Exception {
+        AdmissionController controller = new AdmissionController(16);
+        controller.setMinInFlight(2);
+        assertTrue(controller.tryAcquire(16, 0, TimeUnit.MILLISECONDS));
+
+        // congestions of the same window decrease the limit once
+        controller.release(1, AdmissionController.Outcome.CONGESTION);
+        assertEquals(8, controller.getLimit());
+        controller.release(5, AdmissionController.Outcome.CONGESTION);
+        assertEquals(8, controller.getLimit());
+        assertEquals(1, controller.getDecreaseCount());
+        assertEquals(6, controller.getCongestionCount());
+
+        // a later window decreases again down to the min
+        controller.release(3, AdmissionController.Outcome.CONGESTION);
+        assertEquals(4, controller.getLimit());
+        controller.release(4, AdmissionController.Outcome.CONGESTION);
+        assertEquals(2, controller.getLimit());
+        controller.release(3, AdmissionController.Outcome.CONGESTION);
+        assertEquals(2, controller.getLimit());
+        assertEquals(0, controller.getInFlight());
+
+        // receipts raise the limit by about one per window up to the max
+        for (int i = 0; i < 2 + 3 + 4; ++i) {
+            assertTrue(controller.tryAcquire());
+            controller.release(1, AdmissionController.Outcome.SUCCESS);
+        }
+        assertTrue(controller.getLimit() >= 4 && controller.getLimit() <= 5);
+        for (int i = 0; i < 1000; ++i) {
+            assertTrue(controller.tryAcquire());
+            controller.release(1, AdmissionController.Outcome.SUCCESS);
+        }
+        assertEquals(16, controller.getLimit());
+    }
+
+    @Test
+    public void callbackTest() {
+        AdmissionController controller = new AdmissionController(8);
+        AtomicInteger responses = new AtomicInteger(0);
+        TransactionSucCallback callback =
+                new TransactionSucCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt response) {
+                        responses.incrementAndGet();
+                    }
+                };
+
+        // a full transaction pool is a congestion, released once
+        assertTrue(controller.tryAcquire());
+        AdmittedTransactionCallback admitted =
+                new AdmittedTransactionCallback(callback, controller);
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setStatus(StatusCode.TxPoolIsFull);
+        admitted.onResponse(receipt);
+        admitted.release(AdmissionController.Outcome.DROPPED);
+        assertEquals(0, controller.getInFlight());
+        assertEquals(4, controller.getLimit());
+        assertEquals(1, responses.get());
+
+        // the timeout is a congestion and still reaches the callback
+        assertTrue(controller.tryAcquire());
+        new AdmittedTransactionCallback(callback, controller).onTimeout();
+        assertEquals(0, controller.getInFlight());
+        assertEquals(4, controller.getLimit());
+        assertEquals(2, controller.getCongestionCount());
+        assertEquals(2, responses.get());
+
+        receipt = new TransactionReceipt();
+        receipt.setStatus("-32000");
+        receipt.setMessage("TxPool is full");
+        assertTrue(AdmittedTransactionCallback.isTxPoolFull(receipt));
+        receipt.setStatus("0x16");
+        receipt.setMessage("RevertInstruction");
+        assertFalse(AdmittedTransactionCallback.isTxPoolFull(receipt));
+    }
+}
@@ -0,0 +1,95 @@
+package org.fisco.bcos.channel.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class BlockNumberTrackerTest {
+
+    @Test
+    public void updateTest() {
+        BlockNumberTracker tracker = new BlockNumberTracker();
+        EmbeddedChannel node0 = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        EmbeddedChannel node1 = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+
+        assertTrue(tracker.update(node0, 10));
+        assertFalse(tracker.update(node1, 8));
+        assertEquals(10, tracker.getBlockNumber());
+        assertTrue(tracker.update(node1, 11));
+        assertEquals(11, tracker.getBlockNumber());
+        // embedded channels share their address, real nodes have one entry each
+        assertTrue(tracker.getNodeBlockNumbers().containsValue(BigInteger.valueOf(11)));
+
+        // reset on reconnect, the next notify restores the highest number
+        tracker.set(BlockNumberTracker.UNKNOWN);
+        assertTrue(tracker.update(node0, 10));
+        assertEquals(11, tracker.getBlockNumber());
+
+        assertFalse(tracker.raise(5));
+        assertTrue(tracker.raise(12));
+        assertEquals(12, tracker.getBlockNumber());
+
+        tracker.remove(node1);
+        assertEquals(BigInteger.TEN, tracker.getNodeBlockNumbers().values().iterator().next());
+
+        // the highest number is forgotten with the last connection, a new chain may be lower
+        tracker.remove(node0);
+        tracker.set(BlockNumberTracker.UNKNOWN);
+        assertTrue(tracker.update(node0, 3));
+        assertEquals(3, tracker.getBlockNumber());
+    }
+
+    @Test
+    public void unknownTest() {
+        BlockNumberTracker tracker = new BlockNumberTracker();
+        assertEquals(BlockNumberTracker.UNKNOWN, tracker.getBlockNumber());
+        assertEquals(
+                BigInteger.valueOf(BlockNumberTracker.UNKNOWN + 600), tracker.getBlockLimit(600));
+    }
+
+    @Test
+    public void blockLimitTest() {
+        BlockNumberTracker tracker = new BlockNumberTracker();
+        tracker.set(100);
+        BigInteger blockLimit = tracker.getBlockLimit(600);
+        assertEquals(BigInteger.valueOf(700), blockLimit);
+        assertSame(blockLimit, tracker.getBlockLimit(600));
+        assertEquals(BigInteger.valueOf(500), tracker.getBlockLimit(400));
+
+        tracker.raise(101);
+        assertEquals(BigInteger.valueOf(501), tracker.getBlockLimit(400));
+    }
+
+    @Test
+    public void concurrentUpdateTest() throws Exception {
+        BlockNumberTracker tracker = new BlockNumberTracker();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; ++i) {
+            EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+            int offset = i;
+            threads.add(
+                    new Thread(
+                            () -> {
+                                for (long number = 0; number < 10000; ++number) {
+                                    tracker.update(channel, number * 4 + offset);
+                                }
+                            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(9999 * 4 + 3, tracker.getBlockNumber());
+    }
+}
@@ -0,0 +1,152 @@
+package org.fisco.bcos.channel.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.fisco.bcos.channel.dto.BcosRequest;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameter;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.Response;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.junit.Test;
+
+public class ReceiptReconcilerTest {
+
+    private static class ReceiptCallback extends TransactionSucCallback {
+        private final List<TransactionReceipt> receipts = new ArrayList<>();
+
+        @Override
+        public void onResponse(TransactionReceipt response) {
+            receipts.add(response);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Response<?>> Request<?, T> requestReturning(T response) {
+        Request<?, T> request = mock(Request.class);
+        when(request.sendAsync()).thenReturn(CompletableFuture.completedFuture(response));
+        return request;
+    }
+
+    private static BcosBlock block(String... transactionHashes) {
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        for (String transactionHash : transactionHashes) {
+            transactions.add(new BcosBlock.TransactionHash(transactionHash));
+        }
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setTransactions(transactions);
+        BcosBlock response = new BcosBlock();
+        response.setResult(block);
+        return response;
+    }
+
+    private static BcosRequest request(String seq, Request<?, ?> jsonRequest) {
+        BcosRequest request = new BcosRequest();
+        request.setMessageID(seq);
+        request.setJsonContent(jsonRequest);
+        return request;
+    }
+
+    private static BcosRequest sendRawTransaction(String seq, String signedTransaction) {
+        return request(
+                seq,
+                new Request<>(
+                        "sendRawTransaction",
+                        Arrays.asList(1, signedTransaction),
+                        null,
+                        SendTransaction.class));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void reconcileTest() {
+        String lostHash = CryptoSuite.ECDSA.hash("0xf8aa");
+        String aliveHash = CryptoSuite.ECDSA.hash("0xf8bb");
+        Web3j web3j = mock(Web3j.class);
+        when(web3j.getCryptoSuite()).thenReturn(CryptoSuite.ECDSA);
+        Request block11 = requestReturning(block());
+        Request block12 = requestReturning(block(aliveHash, lostHash));
+        when(web3j.getBlockByNumber(any(DefaultBlockParameter.class), eq(false)))
+                .thenReturn(block11, block12);
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(lostHash);
+        receipt.setStatus("0x0");
+        BcosTransactionReceipt receiptResponse = new BcosTransactionReceipt();
+        receiptResponse.setResult(receipt);
+        Request receiptRequest = requestReturning(receiptResponse);
+        when(web3j.getTransactionReceipt(lostHash)).thenReturn(receiptRequest);
+
+        Service service = new Service();
+        service.setNumber(BigInteger.TEN);
+        ReceiptReconciler reconciler = new ReceiptReconciler(web3j);
+        service.setReceiptReconciler(reconciler);
+
+        ChannelHandlerContext lost =
+                new EmbeddedChannel(new ChannelInboundHandlerAdapter()).pipeline().firstContext();
+        ChannelHandlerContext alive =
+                new EmbeddedChannel(new ChannelInboundHandlerAdapter()).pipeline().firstContext();
+
+        // sent on the lost connection, response lost too, its hash is computed when sent
+        ReceiptCallback callback = new ReceiptCallback();
+        String seq = service.newSeq();
+        service.getSeq2TransactionCallback().put(seq, callback);
+        reconciler.onSent(sendRawTransaction(seq, "0xf8aa"), lost, 10);
+
+        // not a raw transaction, sent on the lost connection with its response lost
+        String unmatched = service.newSeq();
+        service.getSeq2TransactionCallback().put(unmatched, new ReceiptCallback());
+        reconciler.onSent(request(unmatched, null), lost, 10);
+
+        // sent on a connection still alive, the hash returned does not replace the computed one
+        ReceiptCallback aliveCallback = new ReceiptCallback();
+        String aliveSeq = service.newSeq();
+        service.getSeq2TransactionCallback().put(aliveSeq, aliveCallback);
+        reconciler.onSent(sendRawTransaction(aliveSeq, "0xf8bb"), alive, 10);
+        service.onTransactionHash(aliveSeq, "0xbb");
+
+        // nothing to reconcile yet
+        reconciler.onBlockNotify(BigInteger.valueOf(11));
+        verify(web3j, never()).getBlockByNumber(any(DefaultBlockParameter.class), eq(false));
+
+        reconciler.onDisconnect(lost);
+        assertEquals(1, reconciler.getReconcilingCount());
+        assertEquals(1, reconciler.getUnmatchedCount());
+
+        reconciler.onBlockNotify(BigInteger.valueOf(12));
+        verify(web3j, times(2)).getBlockByNumber(any(DefaultBlockParameter.class), eq(false));
+        verify(web3j, never()).getTransactionReceipt(aliveHash);
+        assertEquals(Collections.singletonList(receipt), callback.receipts);
+        assertFalse(service.getSeq2TransactionCallback().containsKey(seq));
+        assertEquals(0, reconciler.getReconcilingCount());
+        assertEquals(1, reconciler.getReconciledCount());
+        assertEquals(2, reconciler.getScannedBlockCount());
+        assertEquals(0, aliveCallback.receipts.size());
+
+        // nothing left, later blocks are not fetched
+        reconciler.onBlockNotify(BigInteger.valueOf(13));
+        verify(web3j, times(2)).getBlockByNumber(any(DefaultBlockParameter.class), eq(false));
+        verify(web3j, times(1)).getTransactionReceipt(anyString());
+    }
+}
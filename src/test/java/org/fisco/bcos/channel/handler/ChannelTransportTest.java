@@ -0,0 +1,102 @@
+package org.fisco.bcos.channel.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import java.security.cert.CertificateException;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+public class ChannelTransportTest {
+
+    private static final String SECP256K1_CERTIFICATE =
+            "-----BEGIN CERTIFICATE-----\n"
+                    + "MIIBnjCCAUSgAwIBAgIUDX72e2wZ2x/sgIEdVdTiOcVTjBYwCgYIKoZIzj0EAwIw\n"
+                    + "JTEOMAwGA1UEAwwFY2hhaW4xEzARBgNVBAoMCmZpc2NvLWJjb3MwIBcNMjYxMDE4\n"
+                    + "MTgzODIxWhgPMjEyNjA5MjQxODM4MjFaMCUxDjAMBgNVBAMMBWNoYWluMRMwEQYD\n"
+                    + "VQQKDApmaXNjby1iY29zMFYwEAYHKoZIzj0CAQYFK4EEAAoDQgAE/Yx9kZVV9mDs\n"
+                    + "4/CC6auenoPXJ1boNEdNDHSnsmE/26rH1KJWznTVhCCWewaeBgYViFV4C0shqldt\n"
+                    + "vj9NpBusOqNTMFEwHQYDVR0OBBYEFIV/+4UdFVf0YptQhLWEjov6BsZ8MB8GA1Ud\n"
+                    + "IwQYMBaAFIV/+4UdFVf0YptQhLWEjov6BsZ8MA8GA1UdEwEB/wQFMAMBAf8wCgYI\n"
+                    + "KoZIzj0EAwIDSAAwRQIhALgHUPcqETULvfEI68V04g9W+tbmVs3oHBNsu/PpUvoZ\n"
+                    + "AiBSbFEiI8lXo0h0aewClNQKixWj4rHixaqAU7kMKn9snw==\n"
+                    + "-----END CERTIFICATE-----\n";
+
+    private static final String SECP256R1_CERTIFICATE =
+            "-----BEGIN CERTIFICATE-----\n"
+                    + "MIIBoTCCAUegAwIBAgIUA1MLSU5pwV5NeT+RbQ5nTtNY5iAwCgYIKoZIzj0EAwIw\n"
+                    + "JTEOMAwGA1UEAwwFY2hhaW4xEzARBgNVBAoMCmZpc2NvLWJjb3MwIBcNMjYxMDE4\n"
+                    + "MTgzODIxWhgPMjEyNjA5MjQxODM4MjFaMCUxDjAMBgNVBAMMBWNoYWluMRMwEQYD\n"
+                    + "VQQKDApmaXNjby1iY29zMFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE1n4MbKKn\n"
+                    + "svrIEiX1EfIbEeiL3G8sVBUxl0D/fuSHPGuN2J+aZ5cbHx75UrLaSbU/E59JZmzp\n"
+                    + "goETrCVu760ZVKNTMFEwHQYDVR0OBBYEFCokXN2EL9zQexg/hEk3QdHs65cLMB8G\n"
+                    + "A1UdIwQYMBaAFCokXN2EL9zQexg/hEk3QdHs65cLMA8GA1UdEwEB/wQFMAMBAf8w\n"
+                    + "CgYIKoZIzj0EAwIDSAAwRQIgUJCdrJf8cjIxzqLik73G18VF2EHTyU2+/5IQMmaB\n"
+                    + "ngACIQCW9zExAXbRvzrxKI9cHMzL65elVn43TigJwRGSchah3A==\n"
+                    + "-----END CERTIFICATE-----\n";
+
+    private static Resource pem(String... certificates) {
+        return new ByteArrayResource(String.join("", certificates).getBytes());
+    }
+
+    @Test
+    public void testNioTransport() throws Exception {
+        EventLoopGroup group = ChannelTransport.newEventLoopGroup(false, 1);
+        try {
+            assertTrue(group instanceof NioEventLoopGroup);
+            assertEquals(NioSocketChannel.class, ChannelTransport.socketChannelClass(group));
+            assertEquals(
+                    NioServerSocketChannel.class, ChannelTransport.serverSocketChannelClass(group));
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void testOpenSslSupportedRsa() throws Exception {
+        SelfSignedCertificate rsa;
+        try {
+            rsa = new SelfSignedCertificate();
+        } catch (CertificateException | LinkageError e) {
+            // neither the jdk internal nor the bouncycastle certificate generator is available
+            Assume.assumeNoException(e);
+            return;
+        }
+        try {
+            assertTrue(
+                    ChannelTransport.isOpenSslSupported(new FileSystemResource(rsa.certificate())));
+        } finally {
+            rsa.delete();
+        }
+    }
+
+    @Test
+    public void testOpenSslSupported() throws Exception {
+        assertTrue(ChannelTransport.isOpenSslSupported(pem(SECP256R1_CERTIFICATE)));
+
+        // secp256k1 anywhere in the chain keeps the jdk engine
+        assertFalse(ChannelTransport.isOpenSslSupported(pem(SECP256K1_CERTIFICATE)));
+        assertFalse(
+                ChannelTransport.isOpenSslSupported(
+                        pem(SECP256R1_CERTIFICATE, SECP256K1_CERTIFICATE)));
+        assertFalse(ChannelTransport.isOpenSslSupported(pem("not a certificate")));
+    }
+
+    @Test
+    public void testSslProvider() {
+        assertEquals(
+                SslProvider.JDK, ChannelTransport.sslProvider(false, pem(SECP256R1_CERTIFICATE)));
+        assertEquals(
+                SslProvider.JDK, ChannelTransport.sslProvider(true, pem(SECP256K1_CERTIFICATE)));
+    }
+}
@@ -0,0 +1,188 @@
+package org.fisco.bcos.channel.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.dto.ChannelMessage2;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
+import org.junit.Test;
+
+public class SharedChannelConnectionsTest {
+
+    private static class RecordingCallback implements ChannelConnections.Callback {
+        private final List<Short> messages = new ArrayList<Short>();
+        private int connected = 0;
+
+        @Override
+        public void onConnect(ChannelHandlerContext ctx) {
+            ++connected;
+        }
+
+        @Override
+        public void onDisconnect(ChannelHandlerContext ctx) {}
+
+        @Override
+        public void onMessage(ChannelHandlerContext ctx, ByteBuf message) {
+            messages.add(message.getShort(message.readerIndex() + 4));
+            message.release();
+        }
+
+        @Override
+        public void sendHeartbeat(ChannelHandlerContext ctx) {}
+    }
+
+    private static Service newService(int groupId) {
+        Service service = new Service();
+        service.setGroupId(groupId);
+        return service;
+    }
+
+    private static ChannelConnections newConnections(
+            int groupId, RecordingCallback callback, String... nodes) {
+        ChannelConnections connections = new ChannelConnections();
+        connections.setGroupId(groupId);
+        connections.setConnectionsStr(Arrays.asList(nodes));
+        connections.setCallback(callback);
+        connections.init();
+        return connections;
+    }
+
+    private static ByteBuf frame(ChannelHandlerContext ctx, Message message) {
+        ByteBuf out = ctx.alloc().buffer();
+        message.writeHeader(out);
+        message.writeExtra(out);
+        return out;
+    }
+
+    @Test
+    public void shareTest() throws Exception {
+        SharedChannelConnections shared = new SharedChannelConnections();
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        Service service1 = newService(1);
+        Service service2 = newService(2);
+        ChannelConnections group1 = newConnections(1, callback1, "127.0.0.1:20200");
+        ChannelConnections group2 =
+                newConnections(2, callback2, "127.0.0.1:20200", "127.0.0.1:20201");
+
+        shared.addGroup(group1, service1);
+        shared.addGroup(group2, service2);
+        // nodes of both groups are connected once
+        assertEquals(2, shared.getConnections().size());
+
+        ChannelHandlerContext ctx0 =
+                new EmbeddedChannel(new ChannelInboundHandlerAdapter()).pipeline().firstContext();
+        shared.setAndGetNetworkConnectionByHost("127.0.0.1", 20200, ctx0);
+        shared.getCallback().onConnect(ctx0);
+        assertSame(ctx0, group1.getNetworkConnectionByHost("127.0.0.1", 20200));
+        assertSame(ctx0, group2.getNetworkConnectionByHost("127.0.0.1", 20200));
+        // negotiated once, by the first group of the node
+        assertEquals(1, callback1.connected);
+        assertEquals(0, callback2.connected);
+
+        // each group has its node on the connection, all available with the protocol
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx0, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        shared.onNegotiated(ctx0, callback1);
+        assertEquals(1, callback1.connected);
+        assertEquals(1, callback2.connected);
+        assertNotSame(group1.getNode(ctx0), group2.getNode(ctx0));
+        assertSame(group1.getNode(ctx0), group1.selectNode());
+        assertSame(group2.getNode(ctx0), group2.selectNode());
+        group1.getNode(ctx0).updateBlockNumber(10);
+        group2.getNode(ctx0).updateBlockNumber(20);
+        assertEquals(10, group1.selectNode().getBlockNumber());
+        assertEquals(20, group2.selectNode().getBlockNumber());
+
+        // responses by seq
+        BcosMessage response = new BcosMessage();
+        response.setSeq(service2.newSeq());
+        response.setType((short) ChannelMessageType.CHANNEL_RPC_REQUEST.getType());
+        response.setResult(0);
+        response.setData("{}".getBytes());
+        shared.getCallback().onMessage(ctx0, frame(ctx0, response));
+        response.setSeq(service1.newSeq());
+        response.setType((short) ChannelMessageType.TRANSACTION_NOTIFY.getType());
+        shared.getCallback().onMessage(ctx0, frame(ctx0, response));
+        assertEquals(
+                Arrays.asList((short) ChannelMessageType.TRANSACTION_NOTIFY.getType()),
+                callback1.messages);
+        assertEquals(
+                Arrays.asList((short) ChannelMessageType.CHANNEL_RPC_REQUEST.getType()),
+                callback2.messages);
+
+        // block notify by group topic
+        ChannelMessage2 notify = new ChannelMessage2();
+        notify.setSeq(service1.newSeq());
+        notify.setType((short) ChannelMessageType.BLOCK_NOTIFY.getType());
+        notify.setResult(0);
+        notify.setTopic("_block_notify_2");
+        notify.setData("2,100".getBytes());
+        shared.getCallback().onMessage(ctx0, frame(ctx0, notify));
+        assertEquals(2, callback2.messages.size());
+        assertEquals(1, callback1.messages.size());
+
+        // amop multicast to every group subscribing the topic, a request to the first only
+        service1.setTopics(new HashSet<String>(Arrays.asList("topic")));
+        service2.setTopics(new HashSet<String>(Arrays.asList("topic")));
+        ChannelMessage2 push = new ChannelMessage2();
+        push.setSeq(service2.newSeq());
+        push.setType((short) ChannelMessageType.AMOP_MULBROADCAST.getType());
+        push.setResult(0);
+        push.setTopic("topic");
+        push.setData("multicast".getBytes());
+        ByteBuf multicast = frame(ctx0, push);
+        shared.getCallback().onMessage(ctx0, multicast);
+        assertEquals(0, multicast.refCnt());
+        assertEquals(2, callback1.messages.size());
+        assertEquals(3, callback2.messages.size());
+        push.setType((short) ChannelMessageType.AMOP_REQUEST.getType());
+        shared.getCallback().onMessage(ctx0, frame(ctx0, push));
+        assertEquals(
+                Arrays.asList(
+                        (short) ChannelMessageType.TRANSACTION_NOTIFY.getType(),
+                        (short) ChannelMessageType.AMOP_MULBROADCAST.getType(),
+                        (short) ChannelMessageType.AMOP_REQUEST.getType()),
+                callback1.messages);
+        assertEquals(3, callback2.messages.size());
+
+        assertTrue(shared.getTopics().contains("_block_notify_1"));
+        assertTrue(shared.getTopics().contains("_block_notify_2"));
+
+        // a released group does not see the connection anymore
+        assertTrue(shared.removeGroup(group2));
+        assertNull(group2.getNetworkConnectionByHost("127.0.0.1", 20200));
+        assertNull(group2.getNode(ctx0));
+        assertNotNull(group1.getNode(ctx0));
+        try {
+            group2.selectNode();
+            fail("no node should be selected");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("no active connection"));
+        }
+        assertEquals(1, shared.getGroupCount());
+
+        // a late group is indexed with the established connection
+        RecordingCallback callback3 = new RecordingCallback();
+        ChannelConnections group3 = newConnections(3, callback3, "127.0.0.1:20200");
+        shared.addGroup(group3, newService(3));
+        assertEquals(1, callback3.connected);
+        assertSame(group3.getNode(ctx0), group3.selectNode());
+    }
+}
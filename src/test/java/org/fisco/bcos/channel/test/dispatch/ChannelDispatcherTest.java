@@ -0,0 +1,162 @@
+package org.fisco.bcos.channel.test.dispatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.dispatch.ChannelDispatcher;
+import org.fisco.bcos.channel.dispatch.DispatchLane;
+import org.fisco.bcos.channel.handler.ChannelConnections;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.junit.Test;
+
+public class ChannelDispatcherTest {
+
+    private static class BlockingCallback implements ChannelConnections.Callback {
+        private final CountDownLatch unblock = new CountDownLatch(1);
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onConnect(ChannelHandlerContext ctx) {}
+
+        @Override
+        public void onDisconnect(ChannelHandlerContext ctx) {}
+
+        @Override
+        public void onMessage(ChannelHandlerContext ctx, ByteBuf message) {
+            try {
+                unblock.await(10, TimeUnit.SECONDS);
+                received.add(message.getInt(message.readerIndex() + 6));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                message.release();
+            }
+        }
+
+        @Override
+        public void sendHeartbeat(ChannelHandlerContext ctx) {}
+    }
+
+    private static ByteBuf frame(ChannelMessageType type, int sequence) {
+        ByteBuf frame = Unpooled.buffer(10);
+        frame.writeInt(10);
+        frame.writeShort(type.getType());
+        frame.writeInt(sequence);
+        return frame;
+    }
+
+    @Test
+    public void laneTest() {
+        assertEquals(
+                DispatchLane.RESPONSE,
+                DispatchLane.of(ChannelMessageType.CHANNEL_RPC_REQUEST.getType()));
+        assertEquals(
+                DispatchLane.RECEIPT,
+                DispatchLane.of(ChannelMessageType.TRANSACTION_NOTIFY.getType()));
+        assertEquals(DispatchLane.AMOP, DispatchLane.of(ChannelMessageType.AMOP_REQUEST.getType()));
+        assertEquals(
+                DispatchLane.EVENT, DispatchLane.of(ChannelMessageType.EVENT_LOG_PUSH.getType()));
+        assertEquals(
+                DispatchLane.CONTROL, DispatchLane.of(ChannelMessageType.BLOCK_NOTIFY.getType()));
+        assertEquals(DispatchLane.CONTROL, DispatchLane.of(0x7fff));
+    }
+
+    @Test
+    public void backPressureTest() throws Exception {
+        ChannelDispatcher dispatcher = new ChannelDispatcher();
+        dispatcher.setLaneThreads(DispatchLane.RECEIPT, 4);
+        dispatcher.setHighWaterMark(8);
+        dispatcher.setLowWaterMark(2);
+
+        BlockingCallback callback = new BlockingCallback();
+        ChannelConnections connections = new ChannelConnections();
+        connections.setCallback(callback);
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+
+        try {
+            // the first frame blocks the partition, the others queue up
+            for (int i = 0; i < 20; ++i) {
+                dispatcher.dispatch(
+                        connections, ctx, frame(ChannelMessageType.TRANSACTION_NOTIFY, i));
+            }
+            assertFalse(channel.config().isAutoRead());
+            assertEquals(1, dispatcher.getPauseCount(DispatchLane.RECEIPT));
+            assertTrue(dispatcher.getMaxQueueDepth(DispatchLane.RECEIPT) >= 19);
+
+            callback.unblock.countDown();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (dispatcher.getDispatchedCount(DispatchLane.RECEIPT) < 20
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // nothing dropped, the order of the connection is kept and reading resumed
+            assertEquals(20, callback.received.size());
+            for (int i = 0; i < 20; ++i) {
+                assertEquals(i, callback.received.get(i).intValue());
+            }
+            assertTrue(channel.config().isAutoRead());
+            assertEquals(0, dispatcher.getQueueDepth(DispatchLane.RECEIPT));
+            assertEquals(0, dispatcher.getDispatchedCount(DispatchLane.RESPONSE));
+        } finally {
+            dispatcher.stop();
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void stopTest() {
+        ChannelDispatcher dispatcher = new ChannelDispatcher();
+        dispatcher.start();
+        dispatcher.stop();
+
+        ByteBuf frame = frame(ChannelMessageType.CHANNEL_RPC_REQUEST, 0);
+        dispatcher.dispatch(
+                new ChannelConnections(),
+                new EmbeddedChannel(new ChannelInboundHandlerAdapter()).pipeline().firstContext(),
+                frame);
+        assertEquals(0, frame.refCnt());
+    }
+
+    @Test
+    public void releaseTest() {
+        ChannelDispatcher dispatcher = new ChannelDispatcher();
+        dispatcher.start();
+        dispatcher.acquire();
+        dispatcher.acquire();
+
+        // stopped with the last service using it
+        dispatcher.release();
+        assertFalse(dispatcher.isStopped());
+        dispatcher.release();
+        assertTrue(dispatcher.isStopped());
+    }
+
+    @Test
+    public void serviceStopTest() {
+        ChannelDispatcher dispatcher = new ChannelDispatcher();
+        dispatcher.start();
+        Service service = new Service();
+        service.setDispatcher(dispatcher);
+        dispatcher.acquire();
+
+        // a dispatcher the service did not start using is left running
+        service.stop();
+        assertFalse(dispatcher.isStopped());
+        dispatcher.release();
+        assertTrue(dispatcher.isStopped());
+    }
+}
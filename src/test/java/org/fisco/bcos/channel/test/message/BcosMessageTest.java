@@ -0,0 +1,116 @@
+package org.fisco.bcos.channel.test.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.dto.BcosResponse;
+import org.fisco.bcos.channel.handler.Message;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BlockNumber;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.junit.Test;
+
+public class BcosMessageTest {
+    private static final String RECEIPT =
+            "{\"transactionHash\":\"0x1d\",\"blockNumber\":\"0x10\",\"status\":\"0x0\","
+                    + "\"output\":\"0x\",\"logs\":[]}";
+    private static final String BLOCK_NUMBER = "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":\"0x1f\"}";
+
+    private static ByteBuf frame(String content) {
+        BcosMessage message = new BcosMessage();
+        message.setSeq("a3b1c2d4e5f60718293a4b5c6d7e8f90");
+        message.setType((short) ChannelMessageType.TRANSACTION_NOTIFY.getType());
+        message.setResult(0);
+        message.setData(content.getBytes(StandardCharsets.UTF_8));
+
+        // direct buffer like the frames of the ssl handler
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+        message.writeHeader(out);
+        message.writeExtra(out);
+        return out;
+    }
+
+    private static BcosMessage slice(ByteBuf in) {
+        BcosMessage message = new BcosMessage();
+        message.readHeader(in);
+        message.sliceExtra(in);
+        return message;
+    }
+
+    @Test
+    public void sliceExtraTest() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        ByteBuf in = frame(RECEIPT);
+        try {
+            BcosMessage message = slice(in);
+            assertEquals(0, in.readableBytes());
+
+            TransactionReceipt receipt = message.readData(objectMapper, TransactionReceipt.class);
+            assertEquals("0x1d", receipt.getTransactionHash());
+            assertEquals("0x0", receipt.getStatus());
+            // parsing does not consume the payload
+            assertEquals(RECEIPT, message.getDataString());
+            assertEquals(RECEIPT, new String(message.getData(), StandardCharsets.UTF_8));
+        } finally {
+            in.release();
+        }
+    }
+
+    @Test
+    public void readValueTest() throws Exception {
+        ByteBuf heap = PooledByteBufAllocator.DEFAULT.heapBuffer();
+        heap.writeBytes("xx".getBytes());
+        heap.writeBytes(BLOCK_NUMBER.getBytes());
+        heap.skipBytes(2);
+        try {
+            BlockNumber blockNumber =
+                    Message.readValue(
+                            ObjectMapperFactory.getObjectMapper(), heap, BlockNumber.class);
+            assertEquals(31, blockNumber.getBlockNumber().intValue());
+            assertEquals(BLOCK_NUMBER.length(), heap.readableBytes());
+        } finally {
+            heap.release();
+        }
+    }
+
+    @Test
+    public void responseContentTest() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+        // content parsed while attached to the frame is still there once it is released
+        ByteBuf in = frame(BLOCK_NUMBER);
+        BcosResponse response = new BcosResponse();
+        response.setContent(slice(in).getPayload());
+        assertEquals(
+                31,
+                response.readContent(objectMapper, BlockNumber.class).getBlockNumber().intValue());
+        response.detachContent();
+        in.release();
+        assertEquals(
+                31,
+                response.readContent(objectMapper, BlockNumber.class).getBlockNumber().intValue());
+        assertEquals(BLOCK_NUMBER, response.getContent());
+
+        // content not parsed is copied before the frame is released
+        in = frame(BLOCK_NUMBER);
+        response = new BcosResponse();
+        response.setContent(slice(in).getPayload());
+        response.detachContent();
+        in.release();
+        assertEquals(BLOCK_NUMBER, response.getContent());
+        assertEquals(
+                31,
+                response.readContent(objectMapper, BlockNumber.class).getBlockNumber().intValue());
+
+        // string content is unchanged
+        response.setContent(BLOCK_NUMBER);
+        response.detachContent();
+        assertSame(BLOCK_NUMBER, response.getContent());
+    }
+}
@@ -0,0 +1,123 @@
+package org.fisco.bcos.channel.test.message;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Compares decoding a transaction receipt frame by copying the payload into a byte array and a
+ * string before parsing (the previous path) against parsing straight from a slice of the frame.
+ *
+ * <p>Usage: InboundDecodeBenchmark [logs per receipt] [count]
+ */
+public class InboundDecodeBenchmark {
+
+    interface Path {
+        TransactionReceipt decode(ByteBuf frame) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int logs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        ByteBuf frame = frame(receipt(logs));
+
+        Path copy =
+                in -> {
+                    BcosMessage message = new BcosMessage();
+                    message.readHeader(in);
+                    message.readExtra(in);
+                    return objectMapper.readValue(
+                            new String(message.getData()), TransactionReceipt.class);
+                };
+        Path slice =
+                in -> {
+                    BcosMessage message = new BcosMessage();
+                    message.readHeader(in);
+                    message.sliceExtra(in);
+                    return message.readData(objectMapper, TransactionReceipt.class);
+                };
+
+        // warm up
+        run(copy, frame, count / 4);
+        run(slice, frame, count / 4);
+
+        System.out.println("frame bytes: " + frame.readableBytes());
+        report("copy to string", copy, frame, count);
+        report("slice of frame", slice, frame, count);
+        frame.release();
+    }
+
+    private static String receipt(int logs) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"transactionHash\":\"0x")
+                .append(hex(64))
+                .append("\",\"blockNumber\":\"0x10\",\"status\":\"0x0\",\"output\":\"0x")
+                .append(hex(64))
+                .append("\",\"logs\":[");
+        for (int i = 0; i < logs; ++i) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"address\":\"0x")
+                    .append(hex(40))
+                    .append("\",\"topics\":[\"0x")
+                    .append(hex(64))
+                    .append("\"],\"data\":\"0x")
+                    .append(hex(256))
+                    .append("\"}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String hex(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            builder.append(Character.forDigit(i % 16, 16));
+        }
+        return builder.toString();
+    }
+
+    private static ByteBuf frame(String content) {
+        BcosMessage message = new BcosMessage();
+        message.setSeq("a3b1c2d4e5f60718293a4b5c6d7e8f90");
+        message.setType((short) ChannelMessageType.TRANSACTION_NOTIFY.getType());
+        message.setResult(0);
+        message.setData(content.getBytes(StandardCharsets.UTF_8));
+
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+        message.writeHeader(out);
+        message.writeExtra(out);
+        return out;
+    }
+
+    private static void report(String name, Path path, ByteBuf frame, int count) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        run(path, frame, count);
+        long elapsed = System.nanoTime() - start;
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.println(
+                String.format(
+                        "%-16s ops/s: %.0f, allocated bytes/op: %d",
+                        name, count * 1e9 / elapsed, bytes / count));
+    }
+
+    private static void run(Path path, ByteBuf frame, int count) throws Exception {
+        for (int i = 0; i < count; ++i) {
+            path.decode(frame.duplicate());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.fisco.bcos.channel.test.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.dto.ChannelMessage2;
+import org.fisco.bcos.channel.handler.MessageEncoder;
+import org.fisco.bcos.channel.protocol.ChannelMessageType;
+import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.junit.Test;
+
+public class MessageEncoderTest {
+    private static final String SEQ = "a3b1c2d4e5f60718293a4b5c6d7e8f90";
+
+    @Test
+    public void encoderTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MessageEncoder());
+
+        ChannelMessage2 message = new ChannelMessage2();
+        message.setSeq(SEQ);
+        message.setResult(0);
+        message.setType((short) ChannelMessageType.AMOP_REQUEST.getType());
+        message.setTopic("中文topic");
+        message.setData("content".getBytes());
+        assertTrue(channel.writeOutbound(message));
+
+        ByteBuf out = channel.readOutbound();
+        try {
+            // the buffer is sized to the frame
+            assertTrue(out.isDirect());
+            assertEquals(message.encodedLength(), out.readableBytes());
+            assertEquals(out.capacity(), out.readableBytes());
+
+            ChannelMessage2 decoded = new ChannelMessage2();
+            decoded.readHeader(out);
+            decoded.readExtra(out);
+            assertEquals(message.encodedLength(), decoded.getLength().intValue());
+            assertEquals("中文topic", decoded.getTopic());
+            assertEquals("content", new String(decoded.getData()));
+            assertEquals(SEQ, decoded.getSeq());
+        } finally {
+            out.release();
+        }
+        channel.finish();
+    }
+
+    @Test
+    public void writeJsonTest() throws Exception {
+        Request<?, ?> request = new Request<>("getBlockNumber", Arrays.asList(1), null, null);
+        String json = ObjectMapperFactory.getObjectMapper().writeValueAsString(request);
+
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer(16);
+        try {
+            out.writeByte(7);
+            BcosMessage message = new BcosMessage();
+            message.setSeq(SEQ);
+            message.setResult(0);
+            message.setType((short) ChannelMessageType.CHANNEL_RPC_REQUEST.getType());
+            message.writeJson(out, ObjectMapperFactory.getObjectMapper(), request);
+            assertEquals(1 + message.getLength(), out.readableBytes());
+
+            out.skipBytes(1);
+            BcosMessage decoded = new BcosMessage();
+            decoded.readHeader(out);
+            decoded.readExtra(out);
+            assertEquals(message.getLength(), decoded.getLength());
+            assertEquals(SEQ, decoded.getSeq());
+            assertEquals(
+                    ChannelMessageType.CHANNEL_RPC_REQUEST.getType(), decoded.getType().intValue());
+            assertEquals(json, new String(decoded.getData(), StandardCharsets.UTF_8));
+        } finally {
+            out.release();
+        }
+    }
+}
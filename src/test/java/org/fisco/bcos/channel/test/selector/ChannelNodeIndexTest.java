@@ -0,0 +1,119 @@
+package org.fisco.bcos.channel.test.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.HashSet;
+import java.util.Set;
+import org.fisco.bcos.channel.handler.ChannelConnections;
+import org.fisco.bcos.channel.handler.ChannelHandlerContextHelper;
+import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.channel.selector.ChannelNodeIndex;
+import org.fisco.bcos.channel.selector.LeastInFlightStrategy;
+import org.fisco.bcos.channel.selector.MaxBlockRandomStrategy;
+import org.fisco.bcos.channel.selector.RoundRobinStrategy;
+import org.junit.Test;
+
+public class ChannelNodeIndexTest {
+
+    private static ChannelHandlerContext newContext() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        return channel.pipeline().firstContext();
+    }
+
+    @Test
+    public void indexTest() {
+        ChannelNodeIndex index = new ChannelNodeIndex();
+        ChannelHandlerContext ctx0 = newContext();
+        ChannelHandlerContext ctx1 = newContext();
+
+        ChannelNode node0 = index.addNode("127.0.0.1:20200", ctx0);
+        ChannelNode node1 = index.addNode("127.0.0.1:20201", ctx1);
+        assertSame(node0, ChannelNode.of(ctx0));
+        // not selectable before the protocol is negotiated
+        assertTrue(index.getSnapshot().isEmpty());
+
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx0, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx1, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        assertEquals(2, index.getSnapshot().getNodes().size());
+        // no block number known, every node qualifies
+        assertEquals(2, index.getSnapshot().getMaxBlockNodes().size());
+
+        node0.updateBlockNumber(10);
+        node1.updateBlockNumber(9);
+        assertEquals(1, index.getSnapshot().getMaxBlockNodes().size());
+        assertSame(node0, index.getSnapshot().getMaxBlockNodes().get(0));
+        assertEquals(10, index.getSnapshot().getMaxBlockNumber());
+
+        node1.updateBlockNumber(10);
+        assertEquals(2, index.getSnapshot().getMaxBlockNodes().size());
+
+        // a stale connection does not remove the reconnected node
+        ChannelHandlerContext ctx2 = newContext();
+        ChannelNode node2 = index.addNode("127.0.0.1:20201", ctx2);
+        index.removeNode("127.0.0.1:20201", ctx1);
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx2, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        assertEquals(2, index.getSnapshot().getNodes().size());
+        assertTrue(index.getSnapshot().getNodes().contains(node2));
+
+        index.removeNode("127.0.0.1:20201", ctx2);
+        index.removeNode("127.0.0.1:20200", ctx0);
+        assertTrue(index.getSnapshot().isEmpty());
+    }
+
+    @Test
+    public void strategyTest() throws Exception {
+        ChannelConnections connections = new ChannelConnections();
+        ChannelHandlerContext ctx0 = newContext();
+        ChannelHandlerContext ctx1 = newContext();
+        ChannelHandlerContext ctx2 = newContext();
+        connections.setAndGetNetworkConnectionByHost("127.0.0.1", 20200, ctx0);
+        connections.setAndGetNetworkConnectionByHost("127.0.0.1", 20201, ctx1);
+        connections.setAndGetNetworkConnectionByHost("127.0.0.1", 20202, ctx2);
+        for (ChannelHandlerContext ctx : new ChannelHandlerContext[] {ctx0, ctx1, ctx2}) {
+            ChannelHandlerContextHelper.setProtocolVersion(
+                    ctx, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        }
+        ChannelNode.of(ctx0).updateBlockNumber(5);
+        ChannelNode.of(ctx1).updateBlockNumber(5);
+        ChannelNode.of(ctx2).updateBlockNumber(4);
+
+        // the default strategy, load based routing is opt-in
+        assertTrue(connections.getNodeSelectionStrategy() instanceof MaxBlockRandomStrategy);
+        connections.setNodeSelectionStrategy(new MaxBlockRandomStrategy());
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(5, connections.selectNode().getBlockNumber());
+        }
+
+        connections.setNodeSelectionStrategy(new RoundRobinStrategy());
+        Set<ChannelNode> selected = new HashSet<ChannelNode>();
+        for (int i = 0; i < 3; ++i) {
+            selected.add(connections.selectNode());
+        }
+        assertEquals(3, selected.size());
+
+        connections.setNodeSelectionStrategy(new LeastInFlightStrategy());
+        ChannelNode.of(ctx0).getStats().onSend();
+        ChannelNode.of(ctx2).getStats().onSend();
+        assertSame(ChannelNode.of(ctx1), connections.selectNode());
+
+        connections.removeNetworkConnectionByHost("127.0.0.1", 20200, ctx0);
+        connections.removeNetworkConnectionByHost("127.0.0.1", 20201, ctx1);
+        connections.removeNetworkConnectionByHost("127.0.0.1", 20202, ctx2);
+        try {
+            connections.selectNode();
+            fail("no node should be selected");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("no active connection"));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.fisco.bcos.channel.test.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.channel.handler.ChannelHandlerContextHelper;
+import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.channel.selector.ChannelNodeIndex;
+import org.fisco.bcos.channel.selector.ChannelNodeStats;
+import org.fisco.bcos.channel.selector.LeastLoadedStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LeastLoadedStrategyTest {
+    private ChannelNodeIndex index;
+    private ChannelNode node0;
+    private ChannelNode node1;
+    private ChannelNode node2;
+    private LeastLoadedStrategy strategy;
+
+    private ChannelNode newNode(String endpoint) {
+        ChannelHandlerContext ctx =
+                new EmbeddedChannel(new ChannelInboundHandlerAdapter()).pipeline().firstContext();
+        ChannelNode node = index.addNode(endpoint, ctx);
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+        node.updateBlockNumber(100);
+        return node;
+    }
+
+    private static void complete(ChannelNode node, int count, long latencyMillis, boolean error) {
+        for (int i = 0; i < count; ++i) {
+            node.getStats().onSend();
+            node.getStats().onComplete(TimeUnit.MILLISECONDS.toNanos(latencyMillis), error);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        index = new ChannelNodeIndex();
+        node0 = newNode("127.0.0.1:20200");
+        node1 = newNode("127.0.0.1:20201");
+        node2 = newNode("127.0.0.1:20202");
+        strategy = new LeastLoadedStrategy();
+        strategy.setMinOutlierLatency(1);
+    }
+
+    @Test
+    public void leastLoadedTest() {
+        complete(node0, 10, 10, false);
+        complete(node1, 10, 10, false);
+        complete(node2, 10, 15, false);
+
+        node0.getStats().onSend();
+        assertSame(node1, strategy.select(index.getSnapshot()));
+
+        node1.getStats().onSend();
+        node1.getStats().onSend();
+        // node2 is slower but has nothing in flight
+        assertSame(node2, strategy.select(index.getSnapshot()));
+
+        // a lagging node is only used if nothing else is left
+        node2.updateBlockNumber(98);
+        assertSame(node0, strategy.select(index.getSnapshot()));
+    }
+
+    @Test
+    public void outlierEjectionTest() {
+        complete(node0, 10, 10, false);
+        complete(node1, 10, 10, true);
+        complete(node2, 10, 100, false);
+
+        // selection does not eject
+        strategy.select(index.getSnapshot());
+        assertFalse(node1.getStats().isEjected());
+        assertFalse(node2.getStats().isEjected());
+
+        strategy.checkOutliers(index.getSnapshot());
+        for (int i = 0; i < 100; ++i) {
+            assertSame(node0, strategy.select(index.getSnapshot()));
+        }
+        assertTrue(node1.getStats().isEjected());
+        assertTrue(node2.getStats().isEjected());
+        assertEquals(1, node2.getStats().getEjectionCount());
+        assertFalse(node0.getStats().isEjected());
+
+        // every node ejected, still select one
+        node0.getStats().eject(System.currentTimeMillis() + 60000);
+        assertNotNull(strategy.select(index.getSnapshot()));
+
+        // the averages restart once the ejection ends
+        ChannelNodeStats stats = node2.getStats();
+        stats.eject(System.currentTimeMillis() - 1);
+        assertFalse(stats.isEjected());
+        assertEquals(0, stats.getSampleCount());
+        assertEquals(0, stats.getLatency(), 0);
+        assertEquals(10, stats.getRequestCount());
+        assertNotSame(node0, strategy.select(index.getSnapshot()));
+    }
+}
@@ -0,0 +1,168 @@
+package org.fisco.bcos.channel.test.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.handler.Message;
+import org.fisco.bcos.channel.seq.ConcurrentLongObjectMap;
+import org.fisco.bcos.channel.seq.SeqCallbackMap;
+import org.fisco.bcos.channel.seq.SeqGenerator;
+import org.fisco.bcos.channel.seq.StripedSeqGenerator;
+import org.fisco.bcos.channel.seq.UUIDSeqGenerator;
+import org.junit.Test;
+
+public class SeqCallbackMapTest {
+
+    @Test
+    public void seqGeneratorTest() {
+        StripedSeqGenerator generator = new StripedSeqGenerator(4);
+        Set<String> seqs = new HashSet<String>();
+        for (int i = 0; i < 10000; ++i) {
+            String seq = generator.newSeq();
+            assertEquals(SeqGenerator.SEQ_LENGTH, seq.length());
+            assertTrue(seqs.add(seq));
+
+            long id = generator.toId(seq);
+            assertTrue(id >= 0);
+            assertEquals(seq, generator.toSeq(id));
+        }
+
+        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        assertEquals(SeqGenerator.NO_SEQ, generator.toId(uuid));
+        assertEquals(SeqGenerator.NO_SEQ, generator.toId(new StripedSeqGenerator().newSeq()));
+        assertEquals(SeqGenerator.NO_SEQ, generator.toId(""));
+    }
+
+    @Test
+    public void messageHeaderTest() {
+        StripedSeqGenerator generator = new StripedSeqGenerator();
+        String seq = generator.newSeq();
+
+        BcosMessage message = new BcosMessage();
+        message.setSeq(seq);
+        message.setType((short) 0x12);
+        message.setResult(0);
+        message.setData("content".getBytes());
+
+        ByteBuf buffer = Unpooled.buffer();
+        message.writeHeader(buffer);
+        message.writeExtra(buffer);
+
+        Message header = new Message();
+        header.readHeader(buffer, generator);
+        BcosMessage decoded = new BcosMessage(header);
+        decoded.readExtra(buffer);
+
+        assertEquals(generator.toId(seq), decoded.getSeqId());
+        assertEquals(seq, decoded.getSeq());
+        assertEquals("content", new String(decoded.getData()));
+
+        // seq of other clients is kept as string
+        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        message.setSeq(uuid);
+        buffer = Unpooled.buffer();
+        message.writeHeader(buffer);
+        message.writeExtra(buffer);
+
+        header = new Message();
+        header.readHeader(buffer, generator);
+        assertEquals(SeqGenerator.NO_SEQ, header.getSeqId());
+        assertEquals(uuid, header.getSeq());
+    }
+
+    @Test
+    public void uuidSeqGeneratorTest() {
+        UUIDSeqGenerator generator = new UUIDSeqGenerator();
+        String seq = generator.newSeq();
+        assertEquals(SeqGenerator.SEQ_LENGTH, seq.length());
+        assertEquals(SeqGenerator.NO_SEQ, generator.toId(seq));
+
+        // callbacks are string keyed, no seq is rebuilt from an id
+        SeqCallbackMap<Object> map = new SeqCallbackMap<Object>(generator);
+        Object callback = new Object();
+        map.put(seq, callback);
+        assertEquals(callback, map.get(seq));
+        assertEquals(seq, map.entrySet().iterator().next().getKey());
+    }
+
+    @Test
+    public void seqCallbackMapTest() {
+        StripedSeqGenerator generator = new StripedSeqGenerator();
+        SeqCallbackMap<Object> callbacks = new SeqCallbackMap<Object>(generator);
+
+        String seq = generator.newSeq();
+        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        Object callback0 = new Object();
+        Object callback1 = new Object();
+
+        callbacks.put(seq, callback0);
+        callbacks.put(uuid, callback1);
+        assertEquals(2, callbacks.size());
+        assertEquals(callback0, callbacks.get(seq));
+        assertEquals(callback0, callbacks.getById(generator.toId(seq)));
+        assertEquals(callback1, callbacks.get(SeqGenerator.NO_SEQ, uuid));
+        assertEquals(2, callbacks.entrySet().size());
+
+        assertEquals(callback0, callbacks.remove(generator.toId(seq), seq));
+        assertEquals(callback1, callbacks.remove(uuid));
+        assertTrue(callbacks.isEmpty());
+        assertNull(callbacks.get(seq));
+    }
+
+    @Test
+    public void concurrentLongObjectMapTest() throws InterruptedException {
+        ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<Long>(1, 4);
+        for (long i = 0; i < 1000; ++i) {
+            assertNull(map.put(i * 7, i));
+        }
+        assertEquals(1000, map.size());
+
+        // remove every other key, the rest must still be reachable
+        for (long i = 0; i < 1000; i += 2) {
+            assertEquals(Long.valueOf(i), map.remove(i * 7));
+        }
+        for (long i = 0; i < 1000; ++i) {
+            if (i % 2 == 0) {
+                assertFalse(map.containsKey(i * 7));
+            } else {
+                assertEquals(Long.valueOf(i), map.get(i * 7));
+            }
+        }
+        assertEquals(500, map.size());
+
+        ConcurrentLongObjectMap<Object> shared = new ConcurrentLongObjectMap<Object>();
+        StripedSeqGenerator generator = new StripedSeqGenerator();
+        int threads = 8;
+        CountDownLatch latch = new CountDownLatch(threads);
+        AtomicInteger errors = new AtomicInteger(0);
+        for (int t = 0; t < threads; ++t) {
+            new Thread(
+                            () -> {
+                                Object value = new Object();
+                                for (int i = 0; i < 20000; ++i) {
+                                    long id = generator.nextId();
+                                    shared.put(id, value);
+                                    if (shared.get(id) != value || shared.remove(id) != value) {
+                                        errors.incrementAndGet();
+                                    }
+                                }
+                                latch.countDown();
+                            })
+                    .start();
+        }
+        latch.await();
+
+        assertEquals(0, errors.get());
+        assertTrue(shared.isEmpty());
+    }
+}
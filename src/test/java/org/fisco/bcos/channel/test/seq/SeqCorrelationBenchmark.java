@@ -0,0 +1,124 @@
+package org.fisco.bcos.channel.test.seq;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.handler.Message;
+import org.fisco.bcos.channel.seq.SeqCallbackMap;
+import org.fisco.bcos.channel.seq.StripedSeqGenerator;
+import org.fisco.bcos.channel.seq.UUIDSeqGenerator;
+
+/**
+ * Compares the request correlation path of the uuid seq with string keyed map against the striped
+ * seq with id keyed map: generate seq, register callback, encode header, decode header, look up and
+ * remove the callback.
+ *
+ * <p>Usage: SeqCorrelationBenchmark [threads] [count per thread]
+ */
+public class SeqCorrelationBenchmark {
+
+    interface Path {
+        void roundTrip(ByteBuf buffer, Object callback);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+        UUIDSeqGenerator uuidGenerator = new UUIDSeqGenerator();
+        Map<String, Object> legacyCallbacks = new ConcurrentHashMap<String, Object>();
+        Path legacy =
+                (buffer, callback) -> {
+                    String seq = uuidGenerator.newSeq();
+                    legacyCallbacks.put(seq, callback);
+                    writeHeader(buffer, seq);
+
+                    Message msg = new Message();
+                    msg.readHeader(buffer);
+                    if (legacyCallbacks.remove(msg.getSeq()) != callback) {
+                        throw new IllegalStateException("legacy callback lost");
+                    }
+                };
+
+        StripedSeqGenerator stripedGenerator = new StripedSeqGenerator();
+        SeqCallbackMap<Object> callbacks = new SeqCallbackMap<Object>(stripedGenerator);
+        Path striped =
+                (buffer, callback) -> {
+                    String seq = stripedGenerator.newSeq();
+                    callbacks.put(seq, callback);
+                    writeHeader(buffer, seq);
+
+                    Message msg = new Message();
+                    msg.readHeader(buffer, stripedGenerator);
+                    if (callbacks.remove(msg.getSeqId(), null) != callback) {
+                        throw new IllegalStateException("striped callback lost");
+                    }
+                };
+
+        // warm up
+        run(legacy, threads, count / 4);
+        run(striped, threads, count / 4);
+
+        report("uuid seq + string map", legacy, threads, count);
+        report("striped seq + id map", striped, threads, count);
+    }
+
+    private static void writeHeader(ByteBuf buffer, String seq) {
+        buffer.clear();
+        BcosMessage message = new BcosMessage();
+        message.setSeq(seq);
+        message.setType((short) 0x12);
+        message.setResult(0);
+        message.setLength(Message.HEADER_LENGTH);
+        message.writeHeader(buffer);
+    }
+
+    private static void report(String name, Path path, int threads, int count)
+            throws InterruptedException {
+        long bytes = allocatedBytes(path, count);
+        long elapsed = run(path, threads, count);
+        long total = (long) threads * count;
+
+        System.out.println(
+                String.format(
+                        "%-24s threads: %d, ops/s: %.0f, allocated bytes/op: %d",
+                        name, threads, total * 1e9 / elapsed, bytes / count));
+    }
+
+    private static long run(Path path, int threads, int count) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; ++t) {
+            new Thread(
+                            () -> {
+                                ByteBuf buffer = Unpooled.buffer(Message.HEADER_LENGTH);
+                                Object callback = new Object();
+                                for (int i = 0; i < count; ++i) {
+                                    path.roundTrip(buffer, callback);
+                                }
+                                latch.countDown();
+                            })
+                    .start();
+        }
+        latch.await();
+        return System.nanoTime() - start;
+    }
+
+    private static long allocatedBytes(Path path, int count) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        ByteBuf buffer = Unpooled.buffer(Message.HEADER_LENGTH);
+        Object callback = new Object();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < count; ++i) {
+            path.roundTrip(buffer, callback);
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
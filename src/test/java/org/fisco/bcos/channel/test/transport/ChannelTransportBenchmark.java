@@ -0,0 +1,190 @@
+package org.fisco.bcos.channel.test.transport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.channel.handler.ChannelTransport;
+
+/**
+ * TLS handshake time and encrypted throughput over loopback for each transport (nio, epoll) and TLS
+ * engine (jdk, openssl) available on this host, with a self-signed RSA certificate. Handshakes are
+ * run one after the other on new connections, throughput is measured by sending 64k frames on one
+ * connection to a server that discards them.
+ *
+ * <p>Usage: ChannelTransportBenchmark [handshakes] [megabytes]
+ */
+public class ChannelTransportBenchmark {
+
+    private static final int FRAME_SIZE = 64 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int handshakes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long megabytes = args.length > 1 ? Long.parseLong(args[1]) : 256;
+
+        SelfSignedCertificate certificate = new SelfSignedCertificate();
+        try {
+            for (boolean nativeTransport : new boolean[] {false, true}) {
+                if (nativeTransport && !Epoll.isAvailable()) {
+                    System.out.println("epoll not available: " + Epoll.unavailabilityCause());
+                    continue;
+                }
+                for (SslProvider provider :
+                        new SslProvider[] {SslProvider.JDK, SslProvider.OPENSSL}) {
+                    if (provider == SslProvider.OPENSSL && !OpenSsl.isAvailable()) {
+                        System.out.println(
+                                "openssl not available: " + OpenSsl.unavailabilityCause());
+                        continue;
+                    }
+                    run(nativeTransport, provider, certificate, handshakes, megabytes);
+                }
+            }
+        } finally {
+            certificate.delete();
+        }
+    }
+
+    private static void run(
+            boolean nativeTransport,
+            SslProvider provider,
+            SelfSignedCertificate certificate,
+            int handshakes,
+            long megabytes)
+            throws Exception {
+        SslContext serverContext =
+                SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey())
+                        .sslProvider(provider)
+                        .build();
+        SslContext clientContext =
+                SslContextBuilder.forClient()
+                        .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                        .sslProvider(provider)
+                        .build();
+
+        long total = megabytes * 1024 * 1024;
+        DiscardHandler discard = new DiscardHandler(total);
+
+        EventLoopGroup serverGroup = ChannelTransport.newEventLoopGroup(nativeTransport, 1);
+        EventLoopGroup clientGroup = ChannelTransport.newEventLoopGroup(nativeTransport, 1);
+        try {
+            Channel server =
+                    new ServerBootstrap()
+                            .group(serverGroup)
+                            .channel(ChannelTransport.serverSocketChannelClass(serverGroup))
+                            .childHandler(
+                                    new ChannelInitializer<SocketChannel>() {
+                                        @Override
+                                        public void initChannel(SocketChannel ch) {
+                                            ch.pipeline()
+                                                    .addLast(
+                                                            serverContext.newHandler(ch.alloc()),
+                                                            discard);
+                                        }
+                                    })
+                            .bind(new InetSocketAddress("127.0.0.1", 0))
+                            .sync()
+                            .channel();
+
+            Bootstrap bootstrap =
+                    new Bootstrap()
+                            .group(clientGroup)
+                            .channel(ChannelTransport.socketChannelClass(clientGroup))
+                            .handler(
+                                    new ChannelInitializer<SocketChannel>() {
+                                        @Override
+                                        public void initChannel(SocketChannel ch) {
+                                            ch.pipeline()
+                                                    .addLast(clientContext.newHandler(ch.alloc()));
+                                        }
+                                    });
+
+            // warm up
+            handshake(bootstrap, server, handshakes / 4 + 1).close().sync();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < handshakes; ++i) {
+                handshake(bootstrap, server, 1).close().sync();
+            }
+            long handshakeNanos = (System.nanoTime() - start) / handshakes;
+
+            Channel client = handshake(bootstrap, server, 1);
+            ByteBuf frame = client.alloc().directBuffer(FRAME_SIZE).writeZero(FRAME_SIZE);
+            start = System.nanoTime();
+            for (long sent = 0; sent < total; sent += FRAME_SIZE) {
+                ChannelFuture future = client.writeAndFlush(frame.retainedDuplicate());
+                if (!client.isWritable()) {
+                    future.sync();
+                }
+            }
+            discard.done.await(5, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - start;
+            frame.release();
+            client.close().sync();
+            server.close().sync();
+
+            System.out.println(
+                    String.format(
+                            "%-5s %-8s handshake ms: %7.3f, throughput MB/s: %8.1f",
+                            nativeTransport ? "epoll" : "nio",
+                            provider.name().toLowerCase(),
+                            handshakeNanos / 1e6,
+                            discard.received.get() / 1048576.0 / (elapsed / 1e9)));
+        } finally {
+            clientGroup.shutdownGracefully().sync();
+            serverGroup.shutdownGracefully().sync();
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static class DiscardHandler extends ChannelInboundHandlerAdapter {
+        private final long total;
+        private final AtomicLong received = new AtomicLong();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        DiscardHandler(long total) {
+            this.total = total;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ByteBuf in = (ByteBuf) msg;
+            if (received.addAndGet(in.readableBytes()) >= total) {
+                done.countDown();
+            }
+            in.release();
+        }
+    }
+
+    /** connect count times, returns the last connection once its handshake is done */
+    private static Channel handshake(Bootstrap bootstrap, Channel server, int count)
+            throws Exception {
+        Channel channel = null;
+        for (int i = 0; i < count; ++i) {
+            if (channel != null) {
+                channel.close().sync();
+            }
+            channel = bootstrap.connect(server.localAddress()).sync().channel();
+            channel.pipeline().get(SslHandler.class).handshakeFuture().sync();
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,206 @@
+package org.fisco.bcos.web3j.abi;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Bool;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
+import org.fisco.bcos.web3j.abi.datatypes.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Uint;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Bytes32;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Encode and decode throughput of typical contract calls: an ERC20 style transfer, a getter
+ * returning mixed static and dynamic values and a getter returning a dynamic array of 32 addresses.
+ * Each call builds its {@link Function} the way generated wrappers do. Returns are decoded from the
+ * hex string and from bytes, with the bytes allocated per operation. Parameters of a transfer and
+ * of a batch call with three dynamic arrays of 32 elements are encoded with the string encoder
+ * built from {@link TypeEncoder} and into bytes.
+ *
+ * <p>Usage: AbiCodecBenchmark [milliseconds per case]
+ */
+public class AbiCodecBenchmark {
+
+    interface Case {
+        Object run();
+    }
+
+    private static final Address ADDRESS =
+            new Address("0x692a70d2e424a56d2c6c27aa97d1a86395877b3a");
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        List<Type> mixedValues =
+                Arrays.<Type>asList(
+                        new Uint256(BigInteger.valueOf(Long.MAX_VALUE)),
+                        ADDRESS,
+                        new Bool(true),
+                        new Bytes32(new byte[32]),
+                        new Utf8String("Hello, world!"));
+        String mixedOutput = FunctionEncoder.encodeConstructor(mixedValues);
+
+        Address[] addresses = new Address[32];
+        Arrays.fill(addresses, ADDRESS);
+        String arrayOutput =
+                FunctionEncoder.encodeConstructor(
+                        Arrays.<Type>asList(new DynamicArray<Address>(addresses)));
+        byte[] mixedBytes = Numeric.hexStringToByteArray(mixedOutput);
+        byte[] arrayBytes = Numeric.hexStringToByteArray(arrayOutput);
+        List<TypeReference<Type>> mixedTypes =
+                Utils.convert(
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<Uint256>() {},
+                                new TypeReference<Address>() {},
+                                new TypeReference<Bool>() {},
+                                new TypeReference<Bytes32>() {},
+                                new TypeReference<Utf8String>() {}));
+        List<TypeReference<Type>> arrayTypes =
+                Utils.convert(
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<DynamicArray<Address>>() {}));
+
+        report(
+                "encode transfer",
+                millis,
+                () ->
+                        FunctionEncoder.encode(
+                                new Function(
+                                        "transfer",
+                                        Arrays.<Type>asList(
+                                                ADDRESS, new Uint256(BigInteger.valueOf(100))),
+                                        Arrays.<TypeReference<?>>asList(
+                                                new TypeReference<Bool>() {}))));
+        List<Type> transferValues =
+                Arrays.<Type>asList(ADDRESS, new Uint256(BigInteger.valueOf(100)));
+        Uint256[] amounts = new Uint256[32];
+        Utf8String[] memos = new Utf8String[32];
+        for (int i = 0; i < 32; ++i) {
+            amounts[i] = new Uint256(BigInteger.valueOf(i * 1000));
+            memos[i] = new Utf8String("memo " + i);
+        }
+        List<Type> batchValues =
+                Arrays.<Type>asList(
+                        new DynamicArray<Address>(addresses),
+                        new DynamicArray<Uint256>(amounts),
+                        new DynamicArray<Utf8String>(memos));
+        report("encode transfer hex", millis, () -> encodeHex(transferValues));
+        report(
+                "encode transfer bytes",
+                millis,
+                () -> FunctionEncoder.encodeParameters(transferValues));
+        report("encode batch hex", millis, () -> encodeHex(batchValues));
+        report("encode batch bytes", millis, () -> FunctionEncoder.encodeParameters(batchValues));
+        report(
+                "decode mixed",
+                millis,
+                () ->
+                        FunctionReturnDecoder.decode(
+                                mixedOutput,
+                                new Function(
+                                                "get",
+                                                Arrays.<Type>asList(),
+                                                Arrays.<TypeReference<?>>asList(
+                                                        new TypeReference<Uint256>() {},
+                                                        new TypeReference<Address>() {},
+                                                        new TypeReference<Bool>() {},
+                                                        new TypeReference<Bytes32>() {},
+                                                        new TypeReference<Utf8String>() {}))
+                                        .getOutputParameters()));
+        report(
+                "decode address[32]",
+                millis,
+                () ->
+                        FunctionReturnDecoder.decode(
+                                arrayOutput,
+                                new Function(
+                                                "list",
+                                                Arrays.<Type>asList(),
+                                                Arrays.<TypeReference<?>>asList(
+                                                        new TypeReference<
+                                                                DynamicArray<Address>>() {}))
+                                        .getOutputParameters()));
+        report(
+                "decode mixed hex",
+                millis,
+                () -> FunctionReturnDecoder.decode(mixedOutput, mixedTypes));
+        report(
+                "decode mixed bytes",
+                millis,
+                () -> FunctionReturnDecoder.decode(mixedBytes, mixedTypes));
+        report(
+                "decode address[32] hex",
+                millis,
+                () -> FunctionReturnDecoder.decode(arrayOutput, arrayTypes));
+        report(
+                "decode address[32] bytes",
+                millis,
+                () -> FunctionReturnDecoder.decode(arrayBytes, arrayTypes));
+    }
+
+    // the string encoder FunctionEncoder used before writing into bytes
+    private static String encodeHex(List<Type> parameters) {
+        StringBuilder result = new StringBuilder();
+        int dynamicDataOffset = Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
+        StringBuilder dynamicData = new StringBuilder();
+        for (Type parameter : parameters) {
+            String encodedValue = TypeEncoder.encode(parameter);
+            if (parameter.dynamicType()) {
+                result.append(
+                        TypeEncoder.encodeNumeric(new Uint(BigInteger.valueOf(dynamicDataOffset))));
+                dynamicData.append(encodedValue);
+                dynamicDataOffset += (encodedValue.length() >> 1);
+            } else {
+                result.append(encodedValue);
+            }
+        }
+        return result.append(dynamicData).toString();
+    }
+
+    private static void report(String name, long millis, Case benchmarkCase) {
+        // warm up
+        run(benchmarkCase, millis / 2);
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        long count = run(benchmarkCase, millis);
+        long elapsed = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+
+        System.out.println(
+                String.format(
+                        "%-24s ns/op: %9.0f, ops/s: %10.0f, bytes/op: %7.0f",
+                        name,
+                        (double) elapsed / count,
+                        count * 1e9 / elapsed,
+                        (double) allocated / count));
+    }
+
+    // bytes allocated by the current thread, 0 if the JVM does not tell
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long run(Case benchmarkCase, long millis) {
+        long deadline = System.nanoTime() + millis * 1000000;
+        long count = 0;
+        do {
+            for (int i = 0; i < 64; ++i) {
+                benchmarkCase.run();
+            }
+            count += 64;
+        } while (System.nanoTime() < deadline);
+        return count;
+    }
+}
@@ -0,0 +1,170 @@
+package org.fisco.bcos.web3j.abi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Bool;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicArray;
+import org.fisco.bcos.web3j.abi.datatypes.DynamicBytes;
+import org.fisco.bcos.web3j.abi.datatypes.Function;
+import org.fisco.bcos.web3j.abi.datatypes.StaticArray;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Bytes4;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Int256;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Int8;
+import org.fisco.bcos.web3j.abi.datatypes.generated.StaticArray2;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint8;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.Test;
+
+public class DecoderPlanTest {
+
+    @Test
+    public void testRoundTrip() {
+        List<Type> values =
+                Arrays.<Type>asList(
+                        new Uint256(BigInteger.valueOf(Long.MAX_VALUE)),
+                        new Int256(BigInteger.valueOf(-12345)),
+                        new Int8(BigInteger.valueOf(-128)),
+                        new Uint8(BigInteger.valueOf(255)),
+                        new Address("0x692a70d2e424a56d2c6c27aa97d1a86395877b3a"),
+                        new Bool(true),
+                        new Bytes4(new byte[] {1, 2, 3, 4}),
+                        new Utf8String("Hello, world!"),
+                        new DynamicBytes(new byte[] {5, 6, 7}),
+                        new DynamicArray<Uint256>(
+                                new Uint256(BigInteger.ONE), new Uint256(BigInteger.TEN)),
+                        new StaticArray2<Utf8String>(new Utf8String("one"), new Utf8String("two")),
+                        new DynamicArray<Utf8String>(new Utf8String("three")));
+
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<Uint256>() {},
+                                new TypeReference<Int256>() {},
+                                new TypeReference<Int8>() {},
+                                new TypeReference<Uint8>() {},
+                                new TypeReference<Address>() {},
+                                new TypeReference<Bool>() {},
+                                new TypeReference<Bytes4>() {},
+                                new TypeReference<Utf8String>() {},
+                                new TypeReference<DynamicBytes>() {},
+                                new TypeReference<DynamicArray<Uint256>>() {},
+                                new TypeReference<StaticArray2<Utf8String>>() {},
+                                new TypeReference<DynamicArray<Utf8String>>() {}));
+
+        String encoded = FunctionEncoder.encodeConstructor(values);
+        assertEquals(values, DecoderPlan.of(outputParameters).decode(encoded));
+        assertEquals(values, FunctionReturnDecoder.decode("0x" + encoded, outputParameters));
+
+        byte[] bytes = Numeric.hexStringToByteArray(encoded);
+        assertEquals(values, FunctionReturnDecoder.decode(bytes, outputParameters));
+        assertEquals(
+                values, FunctionReturnDecoder.decode(ByteBuffer.wrap(bytes), outputParameters));
+
+        // after a method id
+        byte[] input = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, input, 4, bytes.length);
+        assertEquals(values, FunctionReturnDecoder.decode(input, 4, outputParameters));
+        ByteBuffer buffer = ByteBuffer.wrap(input);
+        buffer.position(4);
+        assertEquals(values, FunctionReturnDecoder.decode(buffer, outputParameters));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(values, FunctionReturnDecoder.decode(direct, outputParameters));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTruncatedInput() {
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(Arrays.<TypeReference<?>>asList(new TypeReference<Utf8String>() {}));
+        byte[] bytes =
+                Numeric.hexStringToByteArray(
+                        FunctionEncoder.encodeConstructor(
+                                Arrays.<Type>asList(new Utf8String("Hello, world!"))));
+
+        FunctionReturnDecoder.decode(Arrays.copyOf(bytes, bytes.length - 32), outputParameters);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testStaticArrayWithoutLength() {
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<StaticArray<Uint256>>() {}));
+
+        FunctionReturnDecoder.decode(
+                FunctionEncoder.encodeConstructor(Arrays.<Type>asList(new Uint256(BigInteger.ONE))),
+                outputParameters);
+    }
+
+    @Test
+    public void testEmptyInput() {
+        DecoderPlan plan =
+                DecoderPlan.of(Utils.convert(Arrays.asList(new TypeReference<Uint256>() {})));
+
+        assertEquals(Collections.emptyList(), plan.decode("0x"));
+        assertEquals(1, plan.size());
+    }
+
+    @Test
+    public void testEmptyDynamicArray() {
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(Arrays.asList(new TypeReference<DynamicArray<Address>>() {}));
+
+        assertEquals(
+                Collections.singletonList(DynamicArray.empty("address")),
+                DecoderPlan.of(outputParameters)
+                        .decode(
+                                "0000000000000000000000000000000000000000000000000000000000000020"
+                                        + "0000000000000000000000000000000000000000000000000000000000000000"));
+    }
+
+    @Test
+    public void testPlanCache() {
+        // new type references of the same types share the plan
+        DecoderPlan plan =
+                DecoderPlan.of(
+                        Utils.convert(
+                                Arrays.asList(
+                                        new TypeReference<Uint256>() {},
+                                        new TypeReference<DynamicArray<Address>>() {})));
+
+        assertSame(
+                plan,
+                DecoderPlan.of(
+                        Utils.convert(
+                                Arrays.asList(
+                                        TypeReference.create(Uint256.class),
+                                        new TypeReference<DynamicArray<Address>>() {}))));
+    }
+
+    @Test
+    public void testMethodId() {
+        Function function =
+                new Function(
+                        "transfer",
+                        Arrays.<Type>asList(
+                                new Address("0x692a70d2e424a56d2c6c27aa97d1a86395877b3a"),
+                                new Uint256(BigInteger.TEN)),
+                        Collections.<TypeReference<?>>emptyList());
+
+        for (CryptoSuite cryptoSuite : Arrays.asList(CryptoSuite.ECDSA, CryptoSuite.SM2)) {
+            String methodId =
+                    FunctionEncoder.buildMethodId("transfer(address,uint256)", cryptoSuite);
+            for (int i = 0; i < 2; ++i) {
+                assertTrue(FunctionEncoder.encode(function, cryptoSuite).startsWith(methodId));
+            }
+        }
+    }
+}
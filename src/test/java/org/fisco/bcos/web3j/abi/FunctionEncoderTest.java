@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import org.fisco.bcos.web3j.abi.datatypes.*;
@@ -15,6 +16,7 @@ import org.fisco.bcos.web3j.abi.datatypes.generated.StaticArray3;
 import org.fisco.bcos.web3j.abi.datatypes.generated.StaticArray6;
 import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
 import org.fisco.bcos.web3j.abi.datatypes.generated.Uint32;
+import org.fisco.bcos.web3j.utils.Numeric;
 import org.junit.Test;
 
 public class FunctionEncoderTest {
@@ -962,4 +964,61 @@ public class FunctionEncoderTest {
                                 + "0000000000000000000000000000000000000000000000000000000000000005"
                                 + "7468726565000000000000000000000000000000000000000000000000000000"));
     }
+
+    @Test
+    public void testEncodeToBytes() {
+        Function function =
+                new Function(
+                        "f",
+                        Arrays.asList(
+                                new Uint(BigInteger.valueOf(0x123)),
+                                new Int256(BigInteger.valueOf(-2)),
+                                new Int256(BigInteger.ONE.shiftLeft(200).negate()),
+                                new Uint256(BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE)),
+                                new Address("0x00000000000000000000000000000000000000ff"),
+                                new Bool(true),
+                                new DynamicArray<>(
+                                        new Utf8String("\u4e2d\u6587"),
+                                        new Utf8String("\ud83d\ude00 emoji"),
+                                        new Utf8String("\ud83d unpaired")),
+                                new StaticArray2<>(
+                                        new DynamicArray<>(new Uint32(BigInteger.ONE)),
+                                        new DynamicArray<>(
+                                                new Uint32(BigInteger.valueOf(2)),
+                                                new Uint32(BigInteger.valueOf(3)))),
+                                new StaticArray2<>(
+                                        new Bytes3(new byte[3]), new Bytes3(new byte[3])),
+                                new DynamicBytes(new byte[33])),
+                        Collections.<TypeReference<?>>emptyList());
+
+        StringBuilder expected = new StringBuilder();
+        StringBuilder dynamicData = new StringBuilder();
+        int dynamicDataOffset = Utils.getLength(function.getInputParameters()) * 32;
+        for (Type parameter : function.getInputParameters()) {
+            String encodedValue = TypeEncoder.encode(parameter);
+            if (parameter.dynamicType()) {
+                expected.append(
+                        TypeEncoder.encodeNumeric(new Uint(BigInteger.valueOf(dynamicDataOffset))));
+                dynamicData.append(encodedValue);
+                dynamicDataOffset += encodedValue.length() >> 1;
+            } else {
+                expected.append(encodedValue);
+            }
+        }
+        expected.append(dynamicData);
+
+        byte[] encoded = FunctionEncoder.encodeToBytes(function);
+        assertThat(Numeric.toHexString(encoded), is(FunctionEncoder.encode(function)));
+        assertThat(Numeric.toHexStringNoPrefix(encoded).substring(8), is(expected.toString()));
+
+        // encoded after the position of a buffer already used
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length + 8);
+        Arrays.fill(buffer.array(), (byte) 0xff);
+        buffer.position(4);
+        FunctionEncoder.encodeParameters(function.getInputParameters(), buffer);
+        assertThat(buffer.position(), is(encoded.length));
+        assertThat(
+                Arrays.copyOfRange(buffer.array(), 4, encoded.length),
+                is(Arrays.copyOfRange(encoded, 4, encoded.length)));
+    }
 }
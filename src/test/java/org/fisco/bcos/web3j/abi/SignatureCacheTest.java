@@ -0,0 +1,50 @@
+package org.fisco.bcos.web3j.abi;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.fisco.bcos.web3j.utils.Strings;
+import org.junit.Test;
+
+public class SignatureCacheTest {
+
+    @Test
+    public void testHashSuites() {
+        String signature = "transfer(address,uint256)";
+        assertThat(SignatureCache.getMethodId(signature, CryptoSuite.ECDSA), is("0xa9059cbb"));
+        assertThat(
+                SignatureCache.getEventTopic(signature, CryptoSuite.ECDSA),
+                is(Numeric.toHexString(CryptoSuite.ECDSA.hash(signature.getBytes()))));
+        assertThat(
+                SignatureCache.getEventTopic(signature, CryptoSuite.SM2),
+                is(Numeric.toHexString(CryptoSuite.SM2.hash(signature.getBytes()))));
+        assertThat(
+                SignatureCache.getMethodId(signature, CryptoSuite.SM2),
+                is(not(SignatureCache.getMethodId(signature, CryptoSuite.ECDSA))));
+        assertThat(
+                FunctionEncoder.buildMethodId(signature, CryptoSuite.SM2),
+                is(SignatureCache.getMethodId(signature, CryptoSuite.SM2)));
+    }
+
+    @Test
+    public void testRegister() {
+        String signature = "registered(uint256)";
+        String ecdsaHash = "0x" + Strings.repeat('1', 64);
+        String sm2Hash = "0x" + Strings.repeat('2', 64);
+        String[] signatureHashes = {signature, ecdsaHash, sm2Hash};
+
+        assertThat(SignatureCache.register(signatureHashes), is(signatureHashes));
+        // registered hashes are used as they are, not computed again
+        assertThat(SignatureCache.getMethodId(signature, CryptoSuite.ECDSA), is("0x11111111"));
+        assertThat(SignatureCache.getEventTopic(signature, CryptoSuite.SM2), is(sm2Hash));
+        assertThat(EventEncoder.buildEventSignature(signature, CryptoSuite.ECDSA), is(ecdsaHash));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterIncomplete() {
+        SignatureCache.register("registered(uint256)", "0x00");
+    }
+}
@@ -0,0 +1,67 @@
+package org.fisco.bcos.web3j.codegen;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.fisco.bcos.web3j.abi.EventEncoder;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SolidityFunctionWrapperTest {
+
+    private static final String ABI =
+            "[{\"constant\":false,\"inputs\":[{\"name\":\"to\",\"type\":\"address\"},"
+                    + "{\"name\":\"value\",\"type\":\"uint256\"}],\"name\":\"transfer\","
+                    + "\"outputs\":[{\"name\":\"\",\"type\":\"bool\"}],\"payable\":false,"
+                    + "\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\","
+                    + "\"type\":\"address\"},{\"indexed\":false,\"name\":\"value\","
+                    + "\"type\":\"uint256\"}],\"name\":\"Sent\",\"type\":\"event\"},"
+                    + "{\"inputs\":[],\"payable\":false,\"stateMutability\":\"nonpayable\","
+                    + "\"type\":\"constructor\"}]";
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String hashes(String signature) {
+        return "\""
+                + signature
+                + "\", \""
+                + EventEncoder.buildEventSignature(signature, CryptoSuite.ECDSA)
+                + "\", \""
+                + EventEncoder.buildEventSignature(signature, CryptoSuite.SM2)
+                + "\"";
+    }
+
+    @Test
+    public void testSignatureHashes() throws Exception {
+        new SolidityFunctionWrapper(false)
+                .generateJavaFiles(
+                        "Token", "6060", ABI, folder.getRoot().getPath(), "org.fisco.bcos.test");
+        String source =
+                new String(
+                        Files.readAllBytes(
+                                new File(folder.getRoot(), "org/fisco/bcos/test/Token.java")
+                                        .toPath()),
+                        StandardCharsets.UTF_8);
+
+        int signatureHashes =
+                source.indexOf(
+                        "public static final String[] SIGNATURE_HASHES = SignatureCache.register(");
+        int transfer = source.indexOf(hashes("transfer(address,uint256)"), signatureHashes);
+        int sent = source.indexOf(hashes("Sent(address,uint256)"), signatureHashes);
+        int transactionDecoder =
+                source.indexOf("public static final TransactionDecoder transactionDecoder");
+
+        assertTrue(signatureHashes >= 0);
+        // the functions and events in abi order, the constructor has no signature hash
+        assertTrue(transfer > signatureHashes);
+        assertTrue(sent > transfer);
+        // registered before the transaction decoder is built from the abi
+        assertTrue(transactionDecoder > sent);
+        assertTrue(source.contains("import org.fisco.bcos.web3j.abi.SignatureCache;"));
+    }
+}
@@ -0,0 +1,114 @@
+package org.fisco.bcos.web3j.crypto;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import org.fisco.bcos.channel.client.Merkle;
+import org.fisco.bcos.channel.event.filter.TopicTools;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
+import org.fisco.bcos.web3j.precompile.permission.Permission;
+import org.fisco.bcos.web3j.protocol.core.methods.response.MerkleProofUnit;
+import org.fisco.bcos.web3j.rlp.RlpDecoder;
+import org.fisco.bcos.web3j.rlp.RlpList;
+import org.fisco.bcos.web3j.rlp.RlpString;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.After;
+import org.junit.Test;
+
+public class CryptoSuiteTest {
+    private static final String PRIVATE_KEY =
+            "a392604efc2fad9c0b3da43b5f698a2e3f270f170d859912be0d54742275c5f6";
+
+    @After
+    public void tearDown() {
+        new EncryptType(EncryptType.ECDSA_TYPE);
+    }
+
+    private static RawTransaction createTransaction() {
+        return RawTransaction.createTransaction(
+                BigInteger.valueOf(500),
+                BigInteger.ONE,
+                BigInteger.TEN,
+                BigInteger.valueOf(501),
+                "0xadd5355",
+                BigInteger.ZERO,
+                "0x01");
+    }
+
+    @Test
+    public void defaultSuiteTest() {
+        assertSame(CryptoSuite.ECDSA, CryptoSuite.getDefault());
+        assertTrue(Hash.getHashInterface() instanceof SHA3Digest);
+
+        new EncryptType(EncryptType.SM2_TYPE);
+        assertSame(CryptoSuite.SM2, CryptoSuite.getDefault());
+        assertTrue(Hash.getHashInterface() instanceof SM3Digest);
+        assertEquals(CryptoSuite.SM2.hash("0x01"), Hash.sha3("0x01"));
+    }
+
+    @Test
+    public void credentialsTest() {
+        Credentials ecdsa = CryptoSuite.ECDSA.createCredentials(PRIVATE_KEY);
+        Credentials sm2 = CryptoSuite.SM2.createCredentials(PRIVATE_KEY);
+        assertSame(CryptoSuite.ECDSA, ecdsa.getCryptoSuite());
+        assertSame(CryptoSuite.SM2, sm2.getCryptoSuite());
+        assertEquals(GenCredential.create(PRIVATE_KEY).getAddress(), ecdsa.getAddress());
+
+        // the same as selecting sm2 globally
+        new EncryptType(EncryptType.SM2_TYPE);
+        assertEquals(GenCredential.create(PRIVATE_KEY).getAddress(), sm2.getAddress());
+        assertNotEquals(ecdsa.getAddress(), sm2.getAddress());
+    }
+
+    @Test
+    public void suiteOfTheChainTest() {
+        // the default suite is ECDSA, the chain is SM2
+        assertSame(
+                CryptoSuite.SM2,
+                GenCredential.create(PRIVATE_KEY, CryptoSuite.SM2).getCryptoSuite());
+        assertEquals(
+                CryptoSuite.SM2.createCredentials(PRIVATE_KEY).getAddress(),
+                GenCredential.create(PRIVATE_KEY, CryptoSuite.SM2).getAddress());
+        assertEquals(
+                Numeric.toHexString(CryptoSuite.SM2.hash("topic".getBytes())),
+                TopicTools.stringToTopic("topic", CryptoSuite.SM2));
+        assertNotEquals(
+                TopicTools.stringToTopic("topic"),
+                TopicTools.stringToTopic("topic", CryptoSuite.SM2));
+
+        // a node without siblings hashes the hash below it
+        String leaf = CryptoSuite.SM2.hash("0x01");
+        MerkleProofUnit unit =
+                new MerkleProofUnit(Collections.emptyList(), Collections.emptyList());
+        assertEquals(
+                CryptoSuite.SM2.hash(leaf),
+                Merkle.calculateMerkleRoot(Collections.singletonList(unit), leaf, CryptoSuite.SM2));
+        assertEquals(Permission.SM_BINARY, Permission.getBinary(CryptoSuite.SM2));
+    }
+
+    @Test
+    public void signWithBothSuitesTest() {
+        Credentials ecdsa = CryptoSuite.ECDSA.createCredentials(PRIVATE_KEY);
+        Credentials sm2 = CryptoSuite.SM2.createCredentials(PRIVATE_KEY);
+        RawTransaction rawTransaction = createTransaction();
+
+        byte[] expected = TransactionEncoder.signMessage(rawTransaction, ecdsa);
+
+        // the global suite does not change transactions of ecdsa credentials
+        new EncryptType(EncryptType.SM2_TYPE);
+        assertArrayEquals(expected, TransactionEncoder.signMessage(rawTransaction, ecdsa));
+        new EncryptType(EncryptType.ECDSA_TYPE);
+
+        // nor of sm2 credentials, which carry the public key in the signature
+        SignedTransaction signed = TransactionEncoder.signTransaction(rawTransaction, sm2);
+        RlpList values = (RlpList) RlpDecoder.decode(signed.getSignedMessage()).getValues().get(0);
+        assertEquals(10, values.getValues().size());
+        assertArrayEquals(
+                Numeric.toBytesPadded(sm2.getEcKeyPair().getPublicKey(), 64),
+                ((RlpString) values.getValues().get(7)).getBytes());
+        assertEquals(CryptoSuite.SM2.hash(signed.getHexValue()), signed.getTransactionHash());
+        assertNotEquals(Hash.sha3(signed.getHexValue()), signed.getTransactionHash());
+    }
+}
@@ -0,0 +1,119 @@
+package org.fisco.bcos.web3j.crypto;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.Test;
+
+public class DigestHashTest {
+    private static final int[] SIZES = {0, 1, 31, 32, 511, 512, 513, 4096, 65536};
+
+    private static byte[] keccak(byte[] input) {
+        Keccak.DigestKeccak kecc = new Keccak.Digest256();
+        kecc.update(input, 0, input.length);
+        return kecc.digest();
+    }
+
+    private static byte[] sm3(byte[] input) {
+        // the incremental sm3 implementation of the sdk
+        SM3Digest sm3 = new SM3Digest();
+        sm3.update(input, 0, input.length);
+        byte[] md = new byte[32];
+        sm3.doFinal(md, 0);
+        return md;
+    }
+
+    private static void check(HashInterface hash, byte[] input, byte[] expected) {
+        assertArrayEquals(expected, hash.hash(input));
+        assertEquals(Numeric.toHexString(expected), hash.hash(Numeric.toHexString(input)));
+
+        byte[] padded = new byte[input.length + 3];
+        System.arraycopy(input, 0, padded, 2, input.length);
+        assertArrayEquals(expected, hash.hash(padded, 2, input.length));
+
+        byte[] out = new byte[40];
+        assertEquals(32, hash.hash(padded, 2, input.length, out, 8));
+        for (int i = 0; i < 32; ++i) {
+            assertEquals(expected[i], out[i + 8]);
+        }
+
+        ByteBuffer heap = ByteBuffer.wrap(padded, 2, input.length).slice();
+        assertArrayEquals(expected, hash.hash(heap));
+        assertFalse(heap.hasRemaining());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(input.length);
+        direct.put(input).flip();
+        assertArrayEquals(expected, hash.hash(direct));
+        assertFalse(direct.hasRemaining());
+    }
+
+    @Test
+    public void sha3Test() {
+        Random random = new Random(1);
+        HashInterface hash = new SHA3Digest();
+        for (int size : SIZES) {
+            byte[] input = new byte[size];
+            random.nextBytes(input);
+            check(hash, input, keccak(input));
+        }
+        // odd hex input has an implicit leading zero
+        assertEquals(hash.hash("0x0abc"), hash.hash("abc"));
+    }
+
+    @Test
+    public void sm3Test() {
+        Random random = new Random(2);
+        HashInterface hash = new SM3Digest();
+        for (int size : SIZES) {
+            byte[] input = new byte[size];
+            random.nextBytes(input);
+            check(hash, input, sm3(input));
+        }
+    }
+
+    @Test
+    public void failedHashTest() {
+        HashInterface hash = new SHA3Digest();
+        byte[] input = {1, 2, 3};
+        try {
+            hash.hash(input, 0, input.length, new byte[16], 0);
+            fail();
+        } catch (RuntimeException e) {
+            // output too short
+        }
+        // the digest of this thread is not left dirty
+        assertArrayEquals(keccak(input), hash.hash(input));
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        HashInterface hash = new SHA3Digest();
+        byte[] input = new byte[1000];
+        new Random(3).nextBytes(input);
+        byte[] expected = keccak(input);
+
+        Thread[] threads = new Thread[4];
+        boolean[] failed = new boolean[1];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 1000; ++i) {
+                                    if (!Arrays.equals(expected, hash.hash(input))) {
+                                        failed[0] = true;
+                                    }
+                                }
+                            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed[0]);
+    }
+}
@@ -0,0 +1,108 @@
+package org.fisco.bcos.web3j.crypto;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.fisco.bcos.web3j.crypto.gm.sm3.SM3Digest;
+
+/**
+ * Compares hashing with a digest allocated per call, as the sdk used to do, against {@link
+ * DigestHash} with a digest reused per thread, for SHA3 and SM3 at payload sizes from 32B to 64KB.
+ *
+ * <p>Usage: HashBenchmark [milliseconds per case]
+ */
+public class HashBenchmark {
+
+    interface Case {
+        void hash(byte[] input, ByteBuffer direct, byte[] out);
+    }
+
+    private static final int[] SIZES = {32, 256, 1024, 4096, 16384, 65536};
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+
+        SHA3Digest sha3 = new SHA3Digest();
+        SM3Digest sm3 = new SM3Digest();
+
+        for (int size : SIZES) {
+            byte[] input = new byte[size];
+            new Random(size).nextBytes(input);
+            ByteBuffer direct = ByteBuffer.allocateDirect(size);
+            direct.put(input).flip();
+
+            report(
+                    "sha3 new digest",
+                    size,
+                    millis,
+                    input,
+                    direct,
+                    (in, buffer, out) -> {
+                        Keccak.DigestKeccak kecc = new Keccak.Digest256();
+                        kecc.update(in, 0, in.length);
+                        kecc.digest();
+                    });
+            report(
+                    "sha3 thread digest",
+                    size,
+                    millis,
+                    input,
+                    direct,
+                    (in, buffer, out) -> sha3.hash(in, 0, in.length, out, 0));
+            report(
+                    "sha3 direct buffer",
+                    size,
+                    millis,
+                    input,
+                    direct,
+                    (in, buffer, out) -> sha3.hash(buffer.duplicate()));
+            report(
+                    "sm3 new digest",
+                    size,
+                    millis,
+                    input,
+                    direct,
+                    (in, buffer, out) -> {
+                        SM3Digest digest = new SM3Digest();
+                        digest.update(in, 0, in.length);
+                        digest.doFinal(out, 0);
+                    });
+            report(
+                    "sm3 thread digest",
+                    size,
+                    millis,
+                    input,
+                    direct,
+                    (in, buffer, out) -> sm3.hash(in, 0, in.length, out, 0));
+        }
+    }
+
+    private static void report(
+            String name, int size, long millis, byte[] input, ByteBuffer direct, Case hashCase) {
+        byte[] out = new byte[32];
+        // warm up
+        run(hashCase, millis / 2, input, direct, out);
+
+        long start = System.nanoTime();
+        long count = run(hashCase, millis, input, direct, out);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(
+                String.format(
+                        "%-20s size: %6d, ns/op: %9.0f, MB/s: %8.1f",
+                        name, size, (double) elapsed / count, count * size * 1e3 / elapsed));
+    }
+
+    private static long run(
+            Case hashCase, long millis, byte[] input, ByteBuffer direct, byte[] out) {
+        long deadline = System.nanoTime() + millis * 1000000;
+        long count = 0;
+        do {
+            for (int i = 0; i < 64; ++i) {
+                hashCase.hash(input, direct, out);
+            }
+            count += 64;
+        } while (System.nanoTime() < deadline);
+        return count;
+    }
+}
@@ -0,0 +1,110 @@
+package org.fisco.bcos.web3j.crypto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2PrecomputedKey;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2Sign;
+import org.fisco.bcos.web3j.crypto.gm.sm2.crypto.asymmetric.SM2Algorithm;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.After;
+import org.junit.Test;
+
+public class SM2PrecomputedKeyTest {
+
+    private static final byte[] TEST_MESSAGE = "A test message".getBytes();
+
+    private final ECKeyPair keyPair = CryptoSuite.SM2.createKeyPair();
+
+    @After
+    public void tearDown() {
+        SM2PrecomputedKey.setCacheCapacity(SM2PrecomputedKey.DEFAULT_CACHE_CAPACITY);
+        SM2PrecomputedKey.clearCache();
+    }
+
+    @Test
+    public void testSignVerify() {
+        Sign.SignatureData signatureData = SM2Sign.sign2(TEST_MESSAGE, keyPair);
+
+        assertArrayEquals(
+                Numeric.toBytesPadded(keyPair.getPublicKey(), 64), signatureData.getPub());
+        assertTrue(SM2Sign.verify(TEST_MESSAGE, signatureData));
+        assertFalse(SM2Sign.verify("Another message".getBytes(), signatureData));
+    }
+
+    @Test
+    public void testSignVerifyWithoutCache() {
+        SM2PrecomputedKey.setCacheCapacity(0);
+        SM2PrecomputedKey.clearCache();
+
+        Sign.SignatureData signatureData = SM2Sign.sign2(TEST_MESSAGE, keyPair);
+        assertTrue(SM2Sign.verify(TEST_MESSAGE, signatureData));
+        assertNotSame(SM2PrecomputedKey.of(keyPair), SM2PrecomputedKey.of(keyPair));
+        // keys past the capacity are verified without building a comb table
+        assertFalse(SM2PrecomputedKey.ofPublicKey(keyPair.getPublicKey()).isPrecomputed());
+    }
+
+    @Test
+    public void testCache() {
+        SM2PrecomputedKey signingKey = SM2PrecomputedKey.of(keyPair);
+        SM2PrecomputedKey verifyingKey = SM2PrecomputedKey.ofPublicKey(keyPair.getPublicKey());
+
+        assertSame(signingKey, SM2PrecomputedKey.of(keyPair));
+        assertSame(verifyingKey, SM2PrecomputedKey.ofPublicKey(keyPair.getPublicKey()));
+        assertEquals(signingKey.getPublicPoint(), verifyingKey.getPublicPoint());
+        assertArrayEquals(signingKey.getZ(), verifyingKey.getZ());
+        assertTrue(verifyingKey.isPrecomputed());
+
+        SM2PrecomputedKey.clearCache();
+        assertNotSame(signingKey, SM2PrecomputedKey.of(keyPair));
+    }
+
+    @Test
+    public void testSignedBySM2Algorithm() throws Exception {
+        byte[] md = CryptoSuite.SM2.hash(TEST_MESSAGE);
+        byte[] signature = SM2Algorithm.sign(md, keyPair.getPrivateKey());
+
+        String publicKey = Numeric.toHexStringNoPrefixZeroPadded(keyPair.getPublicKey(), 128);
+        assertTrue(
+                SM2Algorithm.verify(
+                        md, signature, publicKey.substring(0, 64), publicKey.substring(64)));
+    }
+
+    @Test
+    public void testTamperedSignature() {
+        Sign.SignatureData signatureData = SM2Sign.sign2(TEST_MESSAGE, keyPair);
+        BigInteger s = new BigInteger(1, signatureData.getS()).add(BigInteger.ONE);
+
+        assertFalse(
+                SM2Sign.verify(
+                        TEST_MESSAGE,
+                        new Sign.SignatureData(
+                                (byte) 0,
+                                signatureData.getR(),
+                                SM2Algorithm.getEncoded(s),
+                                signatureData.getPub())));
+    }
+
+    @Test
+    public void testInvalidPublicKey() {
+        Sign.SignatureData signatureData = SM2Sign.sign2(TEST_MESSAGE, keyPair);
+        byte[] pub = signatureData.getPub().clone();
+        pub[63] ^= 1;
+
+        assertFalse(
+                SM2Sign.verify(
+                        TEST_MESSAGE,
+                        new Sign.SignatureData(
+                                (byte) 0, signatureData.getR(), signatureData.getS(), pub)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSignWithVerifyingKey() {
+        SM2PrecomputedKey.ofPublicKey(keyPair.getPublicKey()).sign(new byte[32]);
+    }
+}
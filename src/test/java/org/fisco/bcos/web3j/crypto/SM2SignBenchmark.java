@@ -0,0 +1,111 @@
+package org.fisco.bcos.web3j.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.params.ParametersWithID;
+import org.bouncycastle.crypto.params.ParametersWithRandom;
+import org.bouncycastle.math.ec.ECPoint;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2Sign;
+import org.fisco.bcos.web3j.crypto.gm.sm2.SM2Signer;
+import org.fisco.bcos.web3j.crypto.gm.sm2.crypto.asymmetric.SM2Algorithm;
+
+/**
+ * Compares SM2 signing and verification through {@link SM2Signer}, as the sdk used to do, against
+ * {@link SM2Sign} on cached {@link org.fisco.bcos.web3j.crypto.gm.sm2.SM2PrecomputedKey}s. The
+ * verification cases check signatures of one signer, like a client checking the same nodes.
+ *
+ * <p>Usage: SM2SignBenchmark [milliseconds per case]
+ */
+public class SM2SignBenchmark {
+
+    interface Case {
+        void run() throws Exception;
+    }
+
+    private static final byte[] MESSAGE = "A test message".getBytes();
+
+    private static final ECDomainParameters domainParameters =
+            new ECDomainParameters(SM2Algorithm.sm2Curve, SM2Algorithm.sm2Point, SM2Algorithm.n);
+
+    public static void main(String[] args) throws Exception {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        ECKeyPair keyPair = CryptoSuite.SM2.createKeyPair();
+        byte[] md = CryptoSuite.SM2.hash(MESSAGE);
+        Sign.SignatureData signatureData = SM2Sign.sign2(MESSAGE, keyPair);
+        BigInteger r = new BigInteger(1, signatureData.getR());
+        BigInteger s = new BigInteger(1, signatureData.getS());
+        BigInteger x = new BigInteger(1, Arrays.copyOfRange(signatureData.getPub(), 0, 32));
+        BigInteger y = new BigInteger(1, Arrays.copyOfRange(signatureData.getPub(), 32, 64));
+
+        report(
+                "sign SM2Signer",
+                millis,
+                () -> {
+                    SM2Signer signer = new SM2Signer();
+                    signer.initWithCache(
+                            true,
+                            new ParametersWithID(
+                                    new ParametersWithRandom(
+                                            new ECPrivateKeyParameters(
+                                                    keyPair.getPrivateKey(), domainParameters)),
+                                    SM2Algorithm.USER_ID));
+                    signer.update(md, 0, md.length);
+                    signer.generateSignature2();
+                });
+        report("sign precomputed", millis, () -> SM2Sign.sign2(MESSAGE, keyPair));
+
+        report(
+                "verify SM2Signer",
+                millis,
+                () -> {
+                    // a point without comb table, as decoded from each signature
+                    ECPoint publicPoint = SM2Algorithm.sm2Curve.createPoint(x, y);
+                    SM2Signer signer = new SM2Signer();
+                    signer.init(
+                            false,
+                            new ParametersWithID(
+                                    new ECPublicKeyParameters(publicPoint, domainParameters),
+                                    SM2Algorithm.USER_ID));
+                    signer.update(md, 0, md.length);
+                    if (!signer.verifySignature(signer.derEncode(r, s))) {
+                        throw new IllegalStateException("verify failed");
+                    }
+                });
+        report(
+                "verify precomputed",
+                millis,
+                () -> {
+                    if (!SM2Sign.verify(MESSAGE, signatureData)) {
+                        throw new IllegalStateException("verify failed");
+                    }
+                });
+    }
+
+    private static void report(String name, long millis, Case benchmarkCase) throws Exception {
+        // warm up
+        run(benchmarkCase, millis / 2);
+
+        long start = System.nanoTime();
+        long count = run(benchmarkCase, millis);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(
+                String.format(
+                        "%-20s us/op: %8.1f, ops/s: %8.0f",
+                        name, elapsed / 1e3 / count, count * 1e9 / elapsed));
+    }
+
+    private static long run(Case benchmarkCase, long millis) throws Exception {
+        long deadline = System.nanoTime() + millis * 1000000;
+        long count = 0;
+        do {
+            benchmarkCase.run();
+            ++count;
+        } while (System.nanoTime() < deadline);
+        return count;
+    }
+}
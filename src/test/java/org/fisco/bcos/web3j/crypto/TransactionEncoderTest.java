@@ -69,6 +69,67 @@ public class TransactionEncoderTest {
         //      assertThat(rlpStrings.get(3), is(RlpString.create("")));
     }
 
+    @Test
+    public void testEncodeDataBytes() {
+        String data =
+                "0x0a0b0c0d" + "0000000000000000000000000000000000000000000000000000000000000001";
+        RawTransaction hexTransaction =
+                RawTransaction.createTransaction(
+                        BigInteger.ONE,
+                        gasPrice,
+                        gasLimit,
+                        BigInteger.TEN,
+                        "0x0000000000000000000000000000000000000001",
+                        BigInteger.ZERO,
+                        data);
+        RawTransaction bytesTransaction =
+                RawTransaction.createTransaction(
+                        BigInteger.ONE,
+                        gasPrice,
+                        gasLimit,
+                        BigInteger.TEN,
+                        "0x0000000000000000000000000000000000000001",
+                        BigInteger.ZERO,
+                        Numeric.hexStringToByteArray(data));
+
+        assertThat(bytesTransaction.getData(), is(hexTransaction.getData()));
+        assertThat(
+                TransactionEncoder.encode(bytesTransaction),
+                is(TransactionEncoder.encode(hexTransaction)));
+        // the bytes are used as they are, the transaction holds no converted copy
+        assertThat(bytesTransaction.getDataBytes() == bytesTransaction.getDataBytes(), is(true));
+
+        ExtendedRawTransaction extendedHexTransaction =
+                ExtendedRawTransaction.createTransaction(
+                        BigInteger.ONE,
+                        gasPrice,
+                        gasLimit,
+                        BigInteger.TEN,
+                        "0x0000000000000000000000000000000000000001",
+                        BigInteger.ZERO,
+                        data,
+                        BigInteger.ONE,
+                        BigInteger.ONE,
+                        "");
+        ExtendedRawTransaction extendedBytesTransaction =
+                ExtendedRawTransaction.createTransaction(
+                        BigInteger.ONE,
+                        gasPrice,
+                        gasLimit,
+                        BigInteger.TEN,
+                        "0x0000000000000000000000000000000000000001",
+                        BigInteger.ZERO,
+                        Numeric.hexStringToByteArray(data),
+                        BigInteger.ONE,
+                        BigInteger.ONE,
+                        "");
+
+        assertThat(extendedBytesTransaction.getData(), is(extendedHexTransaction.getData()));
+        assertThat(
+                ExtendedTransactionEncoder.encode(extendedBytesTransaction),
+                is(ExtendedTransactionEncoder.encode(extendedHexTransaction)));
+    }
+
     //    @Test
     //    public void testEip155Encode() {
     //        assertThat(TransactionEncoder.encode(createEip155RawTransaction(), (byte) 1),
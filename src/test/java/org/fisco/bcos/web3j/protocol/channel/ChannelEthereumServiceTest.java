@@ -0,0 +1,84 @@
+package org.fisco.bcos.web3j.protocol.channel;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.dto.BcosRequest;
+import org.fisco.bcos.channel.dto.BcosResponse;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BlockNumber;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChannelEthereumServiceTest {
+    private Service channelService;
+    private ChannelEthereumService channelEthereumService;
+    private CompletableFuture<BcosResponse> pending;
+
+    @Before
+    public void setUp() {
+        channelService = mock(Service.class);
+        when(channelService.newSeq()).thenReturn("0123456789abcdef0123456789abcdef");
+        pending = new CompletableFuture<>();
+        when(channelService.sendEthereumMessageAsync(any(BcosRequest.class))).thenReturn(pending);
+
+        channelEthereumService = new ChannelEthereumService();
+        channelEthereumService.setChannelService(channelService);
+    }
+
+    private Request<Integer, BlockNumber> blockNumberRequest() {
+        return new Request<>(
+                "getBlockNumber", Arrays.asList(1), channelEthereumService, BlockNumber.class);
+    }
+
+    private static BcosResponse response(int errorCode, String content) {
+        BcosResponse response = new BcosResponse();
+        response.setErrorCode(errorCode);
+        response.setErrorMessage("error " + errorCode);
+        response.setContent(content);
+        return response;
+    }
+
+    @Test
+    public void sendAsyncCompletesFromResponse() throws Exception {
+        CompletableFuture<BlockNumber> future = blockNumberRequest().sendAsync();
+        assertFalse(future.isDone());
+
+        pending.complete(response(0, "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":\"0x10\"}"));
+
+        assertTrue(future.isDone());
+        assertEquals(BigInteger.valueOf(16), future.get().getBlockNumber());
+        verify(channelService, never()).sendEthereumMessage(any(BcosRequest.class));
+    }
+
+    @Test
+    public void sendAsyncFailsOnErrorResponse() throws Exception {
+        CompletableFuture<BlockNumber> future = blockNumberRequest().sendAsync();
+        pending.complete(response(-1, ""));
+
+        try {
+            future.get();
+            fail("future should complete exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void sendThrowsIOException() {
+        pending.complete(response(-1, ""));
+        try {
+            blockNumberRequest().send();
+            fail("send should throw IOException");
+        } catch (IOException e) {
+            assertEquals("error -1", e.getMessage());
+        }
+    }
+}
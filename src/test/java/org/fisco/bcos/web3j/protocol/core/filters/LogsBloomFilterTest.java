@@ -0,0 +1,299 @@
+package org.fisco.bcos.web3j.protocol.core.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.reactivex.Flowable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.fisco.bcos.web3j.abi.EventEncoder;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.Response;
+import org.fisco.bcos.web3j.protocol.core.methods.request.BcosFilter;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.fisco.bcos.web3j.protocol.rx.JsonRpc2_0Rx;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.Test;
+
+public class LogsBloomFilterTest {
+
+    private static final String ADDRESS = "0x692a70d2e424a56d2c6c27aa97d1a86395877b3a";
+    private static final String OTHER_ADDRESS = "0x0000000000000000000000000000000000000001";
+    private static final String TOPIC =
+            EventEncoder.buildEventSignature("Transfer(address,address,uint256)");
+    private static final String OTHER_TOPIC =
+            EventEncoder.buildEventSignature("Approval(address,address,uint256)");
+
+    private static Log log(String address, String... topics) {
+        Log log = new Log();
+        log.setAddress(address);
+        log.setTopics(Arrays.asList(topics));
+        return log;
+    }
+
+    private static String bloom(CryptoSuite cryptoSuite, Log... logs) {
+        return Numeric.toHexString(LogsBloomFilter.bloomOf(Arrays.asList(logs), cryptoSuite));
+    }
+
+    @Test
+    public void mayMatchTest() {
+        for (CryptoSuite cryptoSuite : Arrays.asList(CryptoSuite.ECDSA, CryptoSuite.SM2)) {
+            String bloom = bloom(cryptoSuite, log(ADDRESS, TOPIC));
+
+            assertTrue(
+                    new LogsBloomFilter(
+                                    Collections.singletonList(ADDRESS.toUpperCase()),
+                                    Collections.singletonList(TOPIC),
+                                    cryptoSuite)
+                            .mayMatch(bloom));
+            assertTrue(new LogsBloomFilter(null, null, cryptoSuite).mayMatch(bloom));
+            assertFalse(
+                    new LogsBloomFilter(Collections.singletonList(OTHER_ADDRESS), null, cryptoSuite)
+                            .mayMatch(bloom));
+            assertFalse(
+                    new LogsBloomFilter(null, Collections.singletonList(OTHER_TOPIC), cryptoSuite)
+                            .mayMatch(bloom));
+            assertTrue(
+                    new LogsBloomFilter(
+                                    Arrays.asList(OTHER_ADDRESS, ADDRESS),
+                                    Collections.singletonList(Arrays.asList(OTHER_TOPIC, TOPIC)),
+                                    cryptoSuite)
+                            .mayMatch(bloom));
+            // the topic is looked for in the bloom whatever its position in the log
+            assertTrue(
+                    new LogsBloomFilter(null, Arrays.asList(null, TOPIC), cryptoSuite)
+                            .mayMatch(bloom));
+
+            // absent blooms cannot be used to skip
+            LogsBloomFilter otherFilter =
+                    new LogsBloomFilter(
+                            Collections.singletonList(OTHER_ADDRESS), null, cryptoSuite);
+            assertTrue(otherFilter.mayMatch((String) null));
+            assertTrue(otherFilter.mayMatch("0x"));
+        }
+
+        // the bits depend on the hash of the chain
+        assertFalse(
+                new LogsBloomFilter(
+                                Collections.singletonList(ADDRESS),
+                                Collections.singletonList(TOPIC),
+                                CryptoSuite.SM2)
+                        .mayMatch(bloom(CryptoSuite.ECDSA, log(ADDRESS, TOPIC))));
+    }
+
+    @Test
+    public void bloomBitsTest() {
+        byte[] bloom =
+                LogsBloomFilter.bloomOf(
+                        Collections.singletonList(log(ADDRESS, TOPIC)), CryptoSuite.ECDSA);
+        assertEquals(LogsBloomFilter.BLOOM_BYTES, bloom.length);
+        int bits = 0;
+        for (byte b : bloom) {
+            bits += Integer.bitCount(b & 0xff);
+        }
+        assertTrue(bits > 0 && bits <= 6);
+        assertTrue(
+                LogsBloomFilter.contains(
+                        bloom,
+                        LogsBloomFilter.bloomBits(
+                                Numeric.hexStringToByteArray(ADDRESS), CryptoSuite.ECDSA)));
+    }
+
+    // logsBloom of a receipt with one Transfer log of ADDRESS, for each hash, computed outside the
+    // SDK with reference Keccak-256 and SM3 implementations
+    private static final String KECCAK_LOGS_BLOOM =
+            "0x0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000080000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000001000000000"
+                    + "0000000000000000000000200000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000800000"
+                    + "0000000200000000000000000000000000000000000000000000002000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000";
+    private static final String SM3_TRANSFER_TOPIC =
+            "0x18f84334255a242551aa98c68047b5da8063eab9fbeaec1eddeea280044b9ff1";
+    private static final String SM3_LOGS_BLOOM =
+            "0x0000000000000104000000000000000000040000000000000000000000000002"
+                    + "0000000000000000000000000800000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000040000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000";
+
+    @Test
+    public void knownAnswerTest() {
+        assertEquals("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef", TOPIC);
+        assertEquals(
+                SM3_TRANSFER_TOPIC,
+                EventEncoder.buildEventSignature(
+                        "Transfer(address,address,uint256)", CryptoSuite.SM2));
+
+        assertEquals(KECCAK_LOGS_BLOOM, bloom(CryptoSuite.ECDSA, log(ADDRESS, TOPIC)));
+        assertEquals(SM3_LOGS_BLOOM, bloom(CryptoSuite.SM2, log(ADDRESS, SM3_TRANSFER_TOPIC)));
+        assertTrue(
+                new LogsBloomFilter(
+                                Collections.singletonList(ADDRESS),
+                                Collections.singletonList(TOPIC),
+                                CryptoSuite.ECDSA)
+                        .mayMatch(KECCAK_LOGS_BLOOM));
+        assertTrue(
+                new LogsBloomFilter(
+                                Collections.singletonList(ADDRESS),
+                                Collections.singletonList(SM3_TRANSFER_TOPIC),
+                                CryptoSuite.SM2)
+                        .mayMatch(SM3_LOGS_BLOOM));
+        assertFalse(
+                new LogsBloomFilter(null, Collections.singletonList(OTHER_TOPIC), CryptoSuite.ECDSA)
+                        .mayMatch(KECCAK_LOGS_BLOOM));
+
+        // the bits of 100 values, as in the bloom test of go-ethereum whose blooms the node shares
+        byte[] bloom = new byte[LogsBloomFilter.BLOOM_BYTES];
+        for (int i = 0; i < 100; ++i) {
+            byte[] value = ("xxxxxxxxxx data " + i + " yyyyyyyyyyyyyy").getBytes();
+            for (int bit : LogsBloomFilter.bloomBits(value, CryptoSuite.ECDSA)) {
+                bloom[LogsBloomFilter.BLOOM_BYTES - 1 - bit / 8] |= (byte) (1 << (bit % 8));
+            }
+        }
+        assertEquals(
+                "0xc8d3ca65cdb4874300a9e39475508f23ed6da09fdbc487f89a2dcf50b09eb263",
+                Numeric.toHexString(CryptoSuite.ECDSA.hash(bloom)));
+    }
+
+    @Test
+    public void matchesTest() {
+        LogsBloomFilter filter =
+                new LogsBloomFilter(
+                        Collections.singletonList(ADDRESS),
+                        Arrays.asList(null, Arrays.asList(TOPIC, OTHER_TOPIC)),
+                        CryptoSuite.ECDSA);
+        assertTrue(filter.matches(log(ADDRESS.toUpperCase(), OTHER_TOPIC, TOPIC)));
+        assertTrue(filter.matches(log(ADDRESS, TOPIC, OTHER_TOPIC.toUpperCase())));
+        assertFalse(filter.matches(log(OTHER_ADDRESS, TOPIC, TOPIC)));
+        assertFalse(filter.matches(log(ADDRESS, TOPIC)));
+        assertFalse(filter.matches(log(ADDRESS, TOPIC, ADDRESS)));
+
+        BcosFilter bcosFilter =
+                new BcosFilter(
+                                new DefaultBlockParameterNumber(1),
+                                new DefaultBlockParameterNumber(2),
+                                ADDRESS)
+                        .addSingleTopic(TOPIC)
+                        .addNullTopic()
+                        .addOptionalTopics(OTHER_TOPIC, null);
+        LogsBloomFilter ofFilter = LogsBloomFilter.of(bcosFilter, CryptoSuite.ECDSA);
+        assertTrue(ofFilter.matches(log(ADDRESS, TOPIC, OTHER_TOPIC, ADDRESS)));
+        assertFalse(ofFilter.matches(log(ADDRESS, OTHER_TOPIC)));
+        assertEquals(
+                1,
+                ofFilter.filter(Arrays.asList(log(ADDRESS, TOPIC), log(OTHER_ADDRESS, TOPIC)))
+                        .size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Response<?>> Request<?, T> requestReturning(T response) {
+        Request<?, T> request = mock(Request.class);
+        when(request.flowable()).thenReturn(Flowable.just(response));
+        return request;
+    }
+
+    private static BcosBlock block(String logsBloom, String... transactionHashes) {
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        for (String transactionHash : transactionHashes) {
+            transactions.add(new BcosBlock.TransactionHash(transactionHash));
+        }
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setLogsBloom(logsBloom);
+        block.setTransactions(transactions);
+        BcosBlock response = new BcosBlock();
+        response.setResult(block);
+        return response;
+    }
+
+    private static BcosTransactionReceipt receipt(Log... logs) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setLogs(Arrays.asList(logs));
+        receipt.setLogsBloom(bloom(CryptoSuite.ECDSA, logs));
+        BcosTransactionReceipt response = new BcosTransactionReceipt();
+        response.setResult(receipt);
+        return response;
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void replayLogsTest() {
+        Log transfer = log(ADDRESS, TOPIC);
+        Log approval = log(ADDRESS, OTHER_TOPIC);
+
+        Web3j web3j = mock(Web3j.class);
+        when(web3j.getCryptoSuite()).thenReturn(CryptoSuite.ECDSA);
+        Request block1 = requestReturning(block(bloom(CryptoSuite.ECDSA, approval), "0x01"));
+        Request block2 =
+                requestReturning(
+                        block(bloom(CryptoSuite.ECDSA, transfer, approval), "0x02", "0x03"));
+        when(web3j.getBlockByNumber(
+                        argThat(
+                                p ->
+                                        p != null
+                                                && ((DefaultBlockParameterNumber) p)
+                                                        .getBlockNumber()
+                                                        .equals(BigInteger.ONE)),
+                        eq(false)))
+                .thenReturn(block1);
+        when(web3j.getBlockByNumber(
+                        argThat(
+                                p ->
+                                        p != null
+                                                && ((DefaultBlockParameterNumber) p)
+                                                        .getBlockNumber()
+                                                        .equals(BigInteger.valueOf(2))),
+                        eq(false)))
+                .thenReturn(block2);
+        Request receipt2 = requestReturning(receipt(approval, transfer));
+        Request receipt3 = requestReturning(receipt(approval));
+        when(web3j.getTransactionReceipt("0x02")).thenReturn(receipt2);
+        when(web3j.getTransactionReceipt("0x03")).thenReturn(receipt3);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            List<Log> logs =
+                    new JsonRpc2_0Rx(web3j, executor)
+                            .replayLogsFlowable(
+                                    new BcosFilter(
+                                                    new DefaultBlockParameterNumber(1),
+                                                    new DefaultBlockParameterNumber(2),
+                                                    ADDRESS)
+                                            .addSingleTopic(TOPIC))
+                            .toList()
+                            .blockingGet();
+            assertEquals(Collections.singletonList(transfer), logs);
+        } finally {
+            executor.shutdown();
+        }
+
+        // block 1 cannot hold a transfer, its receipts are not fetched
+        verify(web3j, never()).getTransactionReceipt("0x01");
+        verify(web3j, times(2)).getTransactionReceipt(anyString());
+    }
+}
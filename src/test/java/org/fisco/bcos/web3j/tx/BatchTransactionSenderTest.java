@@ -0,0 +1,119 @@
+package org.fisco.bcos.web3j.tx;
+
+import static org.junit.Assert.*;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
+import org.fisco.bcos.channel.dto.BcosMessage;
+import org.fisco.bcos.channel.handler.ChannelConnections;
+import org.fisco.bcos.channel.handler.ChannelHandlerContextHelper;
+import org.fisco.bcos.channel.handler.GroupChannelConnectionsConfig;
+import org.fisco.bcos.channel.handler.Message;
+import org.fisco.bcos.channel.protocol.EnumChannelProtocolVersion;
+import org.fisco.bcos.channel.selector.ChannelNode;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchTransactionSenderTest {
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+    private Service service;
+    private ChannelEthereumService channelEthereumService;
+    private List<TransactionReceipt> receipts = new ArrayList<TransactionReceipt>();
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ctx = channel.pipeline().firstContext();
+
+        ChannelConnections channelConnections = new ChannelConnections();
+        channelConnections.setGroupId(1);
+        channelConnections.setAndGetNetworkConnectionByHost("127.0.0.1", 20200, ctx);
+        ChannelHandlerContextHelper.setProtocolVersion(
+                ctx, EnumChannelProtocolVersion.VERSION_1, "2.0.0");
+
+        GroupChannelConnectionsConfig config = new GroupChannelConnectionsConfig();
+        config.setAllChannelConnections(Arrays.asList(channelConnections));
+
+        service = new Service();
+        service.setGroupId(1);
+        service.setAllChannelConnections(config);
+
+        channelEthereumService = new ChannelEthereumService();
+        channelEthereumService.setChannelService(service);
+    }
+
+    private TransactionSucCallback callback() {
+        return new TransactionSucCallback() {
+            @Override
+            public void onResponse(TransactionReceipt response) {
+                receipts.add(response);
+            }
+        };
+    }
+
+    private List<BcosMessage> readFrames() {
+        return decode(channel.readOutbound());
+    }
+
+    private List<BcosMessage> decode(ByteBuf out) {
+        List<BcosMessage> frames = new ArrayList<BcosMessage>();
+        while (out.isReadable()) {
+            Message header = new Message();
+            header.readHeader(out, service.getSeqGenerator());
+            BcosMessage message = new BcosMessage(header);
+            message.readExtra(out);
+            frames.add(message);
+        }
+        out.release();
+        return frames;
+    }
+
+    @Test
+    public void batchTest() throws Exception {
+        BatchTransactionSender sender =
+                new BatchTransactionSender(channelEthereumService, 1, 3, 60000);
+
+        sender.sendRawTransaction("0x01", callback());
+        sender.sendRawTransaction("0x02", callback());
+        assertNull(channel.readOutbound());
+
+        sender.sendRawTransaction("0x03", callback());
+        // the full batch is a single write
+        List<BcosMessage> frames = readFrames();
+        assertNull(channel.readOutbound());
+        assertEquals(3, frames.size());
+        assertTrue(new String(frames.get(2).getData()).contains("0x03"));
+        assertEquals(3, ChannelNode.of(ctx).getInFlight());
+
+        sender.sendRawTransaction("0x04", callback());
+        sender.close();
+        assertEquals(1, readFrames().size());
+
+        // a rejected transaction is reported through its callback
+        BcosMessage response = new BcosMessage();
+        response.setSeq(frames.get(0).getSeq());
+        response.setResult(0);
+        response.setType((short) 0x12);
+        response.setData(
+                "{\"id\":1,\"jsonrpc\":\"2.0\",\"error\":{\"code\":10000,\"message\":\"nonce check fail\"}}"
+                        .getBytes());
+        ByteBuf in = channel.alloc().buffer();
+        response.writeHeader(in);
+        response.writeExtra(in);
+        service.onReceiveEthereumMessage(ctx, decode(in).get(0));
+
+        assertEquals(1, receipts.size());
+        assertEquals("10000", receipts.get(0).getStatus());
+        assertEquals(3, ChannelNode.of(ctx).getInFlight());
+    }
+}
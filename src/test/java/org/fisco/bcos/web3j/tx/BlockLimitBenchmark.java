@@ -0,0 +1,114 @@
+package org.fisco.bcos.web3j.tx;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.channel.client.BlockNumberTracker;
+import org.fisco.bcos.web3j.crypto.RawTransaction;
+import org.fisco.bcos.web3j.utils.BlockLimit;
+
+/**
+ * Measures the block notify and transaction build path of {@link BlockNumberTracker} against the
+ * BigInteger map the Service used to keep: the endpoint string built on each notify, the scan of
+ * all the nodes for the highest number and the block limit added on each transaction.
+ *
+ * <p>Usage: BlockLimitBenchmark [transactions] [transactions per block] [nodes]
+ */
+public class BlockLimitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5000000;
+        int perBlock = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int nodes = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        Channel[] channels = new Channel[nodes];
+        for (int i = 0; i < nodes; ++i) {
+            channels[i] = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        }
+
+        for (int round = 0; round < 2; ++round) {
+            // the first round warms up
+            long elapsed = map(channels, count, perBlock);
+            report("map of BigInteger", count, elapsed, round);
+
+            elapsed = tracker(channels, count, perBlock);
+            report("block number tracker", count, elapsed, round);
+        }
+    }
+
+    private static long map(Channel[] channels, int count, int perBlock) {
+        ConcurrentHashMap<String, BigInteger> nodeToBlockNumberMap =
+                new ConcurrentHashMap<String, BigInteger>();
+        BigInteger number = BigInteger.ZERO;
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            if (i % perBlock == 0) {
+                int node = (i / perBlock) % channels.length;
+                BigInteger blkNumber = BigInteger.valueOf(i / perBlock);
+                nodeToBlockNumberMap.put("127.0.0.1" + (20200 + node), blkNumber);
+                BigInteger maxBlockNumber = blkNumber;
+                for (String key : nodeToBlockNumberMap.keySet()) {
+                    BigInteger blockNumber = nodeToBlockNumberMap.get(key);
+                    if (blockNumber.compareTo(maxBlockNumber) >= 0) {
+                        maxBlockNumber = blockNumber;
+                    }
+                }
+                if (maxBlockNumber.compareTo(number) > 0) {
+                    number = maxBlockNumber;
+                }
+            }
+            BigInteger blockLimit = number.add(new BigInteger(BlockLimit.blockLimit.toString()));
+            sink += build(i, blockLimit);
+        }
+        long elapsed = System.nanoTime() - start;
+        consume(sink);
+        return elapsed;
+    }
+
+    private static long tracker(Channel[] channels, int count, int perBlock) {
+        BlockNumberTracker tracker = new BlockNumberTracker();
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            if (i % perBlock == 0) {
+                tracker.update(channels[(i / perBlock) % channels.length], i / perBlock);
+            }
+            sink += build(i, tracker.getBlockLimit(BlockLimit.blockLimit));
+        }
+        long elapsed = System.nanoTime() - start;
+        consume(sink);
+        return elapsed;
+    }
+
+    private static int build(int i, BigInteger blockLimit) {
+        RawTransaction rawTransaction =
+                RawTransaction.createTransaction(
+                        BigInteger.valueOf(i),
+                        BigInteger.ONE,
+                        BigInteger.ONE,
+                        blockLimit,
+                        "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a",
+                        BigInteger.ZERO,
+                        "0x");
+        return rawTransaction.getBlockLimit().bitLength();
+    }
+
+    private static void consume(long sink) {
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, int count, long elapsed, int round) {
+        if (round == 0) {
+            return;
+        }
+        System.out.println(
+                String.format(
+                        "%-24s transactions: %d, ns/tx: %.1f, tx/s: %.0f",
+                        name, count, (double) elapsed / count, count * 1e9 / elapsed));
+    }
+}
@@ -0,0 +1,297 @@
+package org.fisco.bcos.web3j.tx;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.Response;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosTransactionReceipt;
+import org.fisco.bcos.web3j.protocol.core.methods.response.SendTransaction;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.fisco.bcos.web3j.protocol.exceptions.TransactionException;
+import org.fisco.bcos.web3j.tx.exceptions.TxHashMismatchException;
+import org.fisco.bcos.web3j.tx.response.PushTransactionReceiptProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PushTransactionReceiptProcessorTest {
+    private static final String TRANSACTION_HASH = "0x00";
+    private static final String OTHER_HASH = "0x01";
+    private Web3j web3j;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Before
+    public void setUp() {
+        web3j = mock(Web3j.class);
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void returnsPushedReceiptWithoutPolling() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 60000, 3, scheduledExecutorService);
+        TransactionSucCallback callback = processor.newCallback(TRANSACTION_HASH);
+        TransactionReceipt transactionReceipt = receipt(TRANSACTION_HASH);
+        new Thread(() -> callback.onResponse(transactionReceipt)).start();
+
+        TransactionReceipt receipt = processor.waitForTransactionReceipt(TRANSACTION_HASH);
+
+        assertThat(receipt, sameInstance(transactionReceipt));
+        assertEquals(1, processor.getPushedCount());
+        verify(web3j, never()).getTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    public void pollsReceiptNotPushed() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 50, 3, scheduledExecutorService);
+        TransactionReceipt transactionReceipt = receipt(TRANSACTION_HASH);
+        List<List<String>> batches = new ArrayList<>();
+        when(web3j.getTransactionReceiptsAsync(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<String> transactionHashes = invocation.getArgument(0);
+                            batches.add(transactionHashes);
+                            List<CompletableFuture<BcosTransactionReceipt>> responses =
+                                    new ArrayList<>();
+                            for (String transactionHash : transactionHashes) {
+                                responses.add(
+                                        completed(
+                                                response(
+                                                        TRANSACTION_HASH.equals(transactionHash)
+                                                                ? transactionReceipt
+                                                                : null)));
+                            }
+                            return responses;
+                        });
+
+        // the pushes were lost, both receipts are polled with one batch, the poll task waits until
+        // both are pending
+        CountDownLatch pending = new CountDownLatch(1);
+        scheduledExecutorService.execute(
+                () -> {
+                    try {
+                        pending.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        processor.newCallback(TRANSACTION_HASH).onTimeout();
+        processor.newCallback(OTHER_HASH).onTimeout();
+        pending.countDown();
+        TransactionReceipt receipt = processor.waitForTransactionReceipt(TRANSACTION_HASH);
+
+        assertThat(receipt, sameInstance(transactionReceipt));
+        assertEquals(1, processor.getPolledCount());
+        assertEquals(0, processor.getPushedCount());
+        assertEquals(2, batches.get(0).size());
+        verify(web3j, never()).getTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    public void retriesFailedPoll() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 50, 5, scheduledExecutorService);
+        TransactionReceipt transactionReceipt = receipt(TRANSACTION_HASH);
+        BcosTransactionReceipt error = new BcosTransactionReceipt();
+        error.setError(new Response.Error(-1, "node busy"));
+        CompletableFuture<BcosTransactionReceipt> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("connection lost"));
+        when(web3j.getTransactionReceiptsAsync(Collections.singletonList(TRANSACTION_HASH)))
+                .thenReturn(Collections.singletonList(failed))
+                .thenReturn(Collections.singletonList(completed(error)))
+                .thenReturn(Collections.singletonList(completed(response(transactionReceipt))));
+
+        TransactionReceipt receipt = processor.waitForTransactionReceipt(TRANSACTION_HASH);
+
+        assertThat(receipt, sameInstance(transactionReceipt));
+        assertEquals(3, processor.getPollRequestCount());
+    }
+
+    @Test
+    public void closeStopsPolling() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 60000, 3, scheduledExecutorService);
+        CompletableFuture<TransactionReceipt> future =
+                processor.getTransactionReceiptAsync(TRANSACTION_HASH);
+
+        processor.close();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, processor.getPendingCount());
+        scheduledExecutorService.shutdown();
+        // the cancelled polling task does not keep the executor running
+        assertTrue(scheduledExecutorService.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void throwsTransactionExceptionWhenReceiptIsNotAvailableInTime() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 50, 3, scheduledExecutorService);
+        when(web3j.getTransactionReceiptsAsync(Collections.singletonList(TRANSACTION_HASH)))
+                .thenAnswer(invocation -> Collections.singletonList(completed(response(null))));
+
+        try {
+            processor.waitForTransactionReceipt(TRANSACTION_HASH);
+            fail("call should fail with TransactionException");
+        } catch (TransactionException e) {
+            assertEquals(TRANSACTION_HASH, e.getTransactionHash().get());
+        }
+        assertTrue(processor.getPollRequestCount() <= 3);
+    }
+
+    @Test
+    public void throwsTransactionExceptionWhenSendFails() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 60000, 3, scheduledExecutorService);
+        TransactionReceipt error = new TransactionReceipt();
+        error.setStatus("-32000");
+        error.setMessage("TxPool is full");
+        processor.newCallback(TRANSACTION_HASH).onResponse(error);
+
+        try {
+            processor.waitForTransactionReceipt(TRANSACTION_HASH);
+            fail("call should fail with TransactionException");
+        } catch (TransactionException e) {
+            assertEquals("-32000", e.getStatus());
+            assertEquals(TRANSACTION_HASH, e.getTransactionHash().get());
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "deprecation"})
+    public void transactionManagerSendsWithCallback() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 60000, 3, scheduledExecutorService);
+        RawTransactionManager transactionManager =
+                new RawTransactionManager(
+                        web3j, Credentials.create("0x1"), ChainId.NONE, processor);
+        when(web3j.getBlockNumberCache()).thenReturn(BigInteger.ONE);
+
+        // the node pushes the receipt of the transaction sent with the callback
+        AtomicReference<TransactionSucCallback> callback = new AtomicReference<>();
+        AtomicReference<String> signedTransaction = new AtomicReference<>();
+        Request<?, SendTransaction> request = mock(Request.class);
+        doAnswer(
+                        invocation -> {
+                            callback.set(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(request)
+                .setTransactionSucCallback(any(TransactionSucCallback.class));
+        doAnswer(
+                        invocation -> {
+                            callback.get()
+                                    .onResponse(
+                                            receipt(
+                                                    transactionManager
+                                                            .getCryptoSuite()
+                                                            .hash(signedTransaction.get())));
+                            return null;
+                        })
+                .when(request)
+                .sendOnly();
+        when(web3j.sendRawTransaction(any(String.class)))
+                .thenAnswer(
+                        invocation -> {
+                            signedTransaction.set(invocation.getArgument(0));
+                            return request;
+                        });
+
+        TransactionReceipt receipt =
+                transactionManager.executeTransaction(
+                        BigInteger.ONE,
+                        BigInteger.ONE,
+                        "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a",
+                        "0x",
+                        BigInteger.ZERO,
+                        null);
+
+        assertEquals(
+                transactionManager.getCryptoSuite().hash(signedTransaction.get()),
+                receipt.getTransactionHash());
+        verify(request).setNeedTransCallback(true);
+        verify(web3j, never()).getTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "deprecation"})
+    public void transactionManagerVerifiesPushedHash() throws Exception {
+        PushTransactionReceiptProcessor processor =
+                new PushTransactionReceiptProcessor(web3j, 60000, 3, scheduledExecutorService);
+        RawTransactionManager transactionManager =
+                new RawTransactionManager(
+                        web3j, Credentials.create("0x1"), ChainId.NONE, processor);
+        when(web3j.getBlockNumberCache()).thenReturn(BigInteger.ONE);
+
+        AtomicReference<TransactionSucCallback> callback = new AtomicReference<>();
+        Request<?, SendTransaction> request = mock(Request.class);
+        doAnswer(
+                        invocation -> {
+                            callback.set(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(request)
+                .setTransactionSucCallback(any(TransactionSucCallback.class));
+        doAnswer(
+                        invocation -> {
+                            callback.get().onResponse(receipt("0xpushed"));
+                            return null;
+                        })
+                .when(request)
+                .sendOnly();
+        when(web3j.sendRawTransaction(any(String.class))).thenReturn((Request) request);
+
+        try {
+            transactionManager.executeTransaction(
+                    BigInteger.ONE,
+                    BigInteger.ONE,
+                    "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a",
+                    "0x",
+                    BigInteger.ZERO,
+                    null);
+            fail("call should fail with TxHashMismatchException");
+        } catch (TxHashMismatchException e) {
+            assertEquals("0xpushed", e.getTxHashRemote());
+        }
+    }
+
+    private static TransactionReceipt receipt(String transactionHash) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(transactionHash);
+        receipt.setStatus("0x0");
+        return receipt;
+    }
+
+    private static CompletableFuture<BcosTransactionReceipt> completed(
+            BcosTransactionReceipt response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static BcosTransactionReceipt response(TransactionReceipt transactionReceipt) {
+        BcosTransactionReceipt response = new BcosTransactionReceipt();
+        response.setResult(transactionReceipt);
+        return response;
+    }
+}
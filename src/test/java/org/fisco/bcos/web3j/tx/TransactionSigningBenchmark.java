@@ -0,0 +1,105 @@
+package org.fisco.bcos.web3j.tx;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.EncryptType;
+import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.RawTransaction;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
+import org.fisco.bcos.web3j.crypto.TransactionEncoder;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.utils.Numeric;
+
+/**
+ * Measures transaction signing throughput of {@link TransactionSigningService} from one thread up
+ * to one thread per core, with ECDSA and SM2. The sequential baseline signs, hex encodes and hashes
+ * the hex string again as RawTransactionManager used to do.
+ *
+ * <p>Usage: TransactionSigningBenchmark [transactions] [max threads]
+ */
+public class TransactionSigningBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxThreads =
+                args.length > 1
+                        ? Integer.parseInt(args[1])
+                        : Runtime.getRuntime().availableProcessors();
+
+        List<RawTransaction> rawTransactions = new ArrayList<RawTransaction>(count);
+        for (int i = 0; i < count; ++i) {
+            rawTransactions.add(TransactionSigningServiceTest.createTransaction(i));
+        }
+
+        try {
+            new EncryptType(EncryptType.ECDSA_TYPE);
+            benchmark("ECDSA", GenCredential.create(), rawTransactions, maxThreads);
+
+            new EncryptType(EncryptType.SM2_TYPE);
+            benchmark("SM2", GenCredential.create(), rawTransactions, maxThreads);
+        } finally {
+            new EncryptType(EncryptType.ECDSA_TYPE);
+        }
+    }
+
+    private static void benchmark(
+            String name,
+            Credentials credentials,
+            List<RawTransaction> rawTransactions,
+            int maxThreads) {
+        // warm up
+        sequential(credentials, rawTransactions);
+        try (TransactionSigningService service = new TransactionSigningService(maxThreads)) {
+            service.signAll(rawTransactions, credentials, ChainId.NONE);
+        }
+
+        long elapsed = sequential(credentials, rawTransactions);
+        report(name + " sequential, hash of hex", 1, rawTransactions.size(), elapsed);
+
+        for (int threads = 1; threads <= maxThreads; threads = nextThreads(threads, maxThreads)) {
+            elapsed = parallel(threads, credentials, rawTransactions);
+            report(name + " signing service", threads, rawTransactions.size(), elapsed);
+        }
+    }
+
+    // 1, 2, 4 ... and maxThreads last
+    private static int nextThreads(int threads, int maxThreads) {
+        if (threads == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    private static long sequential(Credentials credentials, List<RawTransaction> rawTransactions) {
+        long start = System.nanoTime();
+        for (RawTransaction rawTransaction : rawTransactions) {
+            String hexValue =
+                    Numeric.toHexString(
+                            TransactionEncoder.signMessage(rawTransaction, credentials));
+            Hash.sha3(hexValue);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long parallel(
+            int threads, Credentials credentials, List<RawTransaction> rawTransactions) {
+        try (TransactionSigningService service = new TransactionSigningService(threads)) {
+            long start = System.nanoTime();
+            List<SignedTransaction> signed =
+                    service.signAll(rawTransactions, credentials, ChainId.NONE);
+            for (SignedTransaction signedTransaction : signed) {
+                signedTransaction.getTransactionHash();
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private static void report(String name, int threads, int count, long elapsed) {
+        double tps = count * 1e9 / elapsed;
+        System.out.println(
+                String.format(
+                        "%-32s threads: %d, tx/s: %.0f, tx/s per thread: %.0f",
+                        name, threads, tps, tps / threads));
+    }
+}
@@ -0,0 +1,97 @@
+package org.fisco.bcos.web3j.tx;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.ExtendedRawTransaction;
+import org.fisco.bcos.web3j.crypto.ExtendedTransactionEncoder;
+import org.fisco.bcos.web3j.crypto.Hash;
+import org.fisco.bcos.web3j.crypto.RawTransaction;
+import org.fisco.bcos.web3j.crypto.SampleKeys;
+import org.fisco.bcos.web3j.crypto.SignedTransaction;
+import org.fisco.bcos.web3j.crypto.TransactionEncoder;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.Test;
+
+public class TransactionSigningServiceTest {
+    private static final Credentials credentials = SampleKeys.CREDENTIALS;
+
+    static RawTransaction createTransaction(int i) {
+        return RawTransaction.createTransaction(
+                BigInteger.valueOf(i),
+                BigInteger.ONE,
+                BigInteger.TEN,
+                BigInteger.valueOf(500),
+                "0xadd5355",
+                BigInteger.ZERO,
+                "0x" + Integer.toHexString(i));
+    }
+
+    static ExtendedRawTransaction createExtendedTransaction(int i) {
+        return ExtendedRawTransaction.createTransaction(
+                BigInteger.valueOf(i),
+                BigInteger.ONE,
+                BigInteger.TEN,
+                BigInteger.valueOf(500),
+                "0xadd5355",
+                BigInteger.ZERO,
+                "0x" + Integer.toHexString(i),
+                BigInteger.ONE,
+                BigInteger.ONE,
+                "");
+    }
+
+    @Test
+    public void signAllTest() {
+        List<RawTransaction> rawTransactions = new ArrayList<RawTransaction>();
+        for (int i = 0; i < 50; ++i) {
+            rawTransactions.add(createTransaction(i));
+        }
+
+        try (TransactionSigningService service = new TransactionSigningService(4)) {
+            List<SignedTransaction> signed =
+                    service.signAll(rawTransactions, credentials, ChainId.NONE);
+            assertEquals(rawTransactions.size(), signed.size());
+            for (int i = 0; i < rawTransactions.size(); ++i) {
+                String hexValue =
+                        Numeric.toHexString(
+                                TransactionEncoder.signMessage(
+                                        rawTransactions.get(i), credentials));
+                assertEquals(hexValue, signed.get(i).getHexValue());
+                assertEquals(Hash.sha3(hexValue), signed.get(i).getTransactionHash());
+            }
+
+            SignedTransaction withChainId =
+                    service.sign(rawTransactions.get(0), credentials, ChainId.MAINNET).join();
+            assertEquals(
+                    Numeric.toHexString(
+                            TransactionEncoder.signMessage(
+                                    rawTransactions.get(0), ChainId.MAINNET, credentials)),
+                    withChainId.getHexValue());
+        }
+    }
+
+    @Test
+    public void signAllExtendedTest() {
+        List<ExtendedRawTransaction> rawTransactions = new ArrayList<ExtendedRawTransaction>();
+        for (int i = 0; i < 10; ++i) {
+            rawTransactions.add(createExtendedTransaction(i));
+        }
+
+        try (TransactionSigningService service = new TransactionSigningService(2)) {
+            List<SignedTransaction> signed =
+                    service.signAllExtended(rawTransactions, credentials, ChainId.NONE);
+            for (int i = 0; i < rawTransactions.size(); ++i) {
+                String hexValue =
+                        Numeric.toHexString(
+                                ExtendedTransactionEncoder.signMessage(
+                                        rawTransactions.get(i), credentials));
+                assertEquals(hexValue, signed.get(i).getHexValue());
+                assertEquals(Hash.sha3(hexValue), signed.get(i).getTransactionHash());
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.fisco.bcos.web3j.tx.nonce;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the nonces generated per second by the nonce providers against the SecureRandom created
+ * per transaction the transaction managers used to do, from one thread up to one thread per core.
+ *
+ * <p>Usage: NonceProviderBenchmark [nonces per thread] [max threads]
+ */
+public class NonceProviderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int maxThreads =
+                args.length > 1
+                        ? Integer.parseInt(args[1])
+                        : Runtime.getRuntime().availableProcessors();
+
+        NonceProvider perTransaction = () -> new BigInteger(250, new SecureRandom());
+        NonceProvider secureRandom = new SecureRandomNonceProvider();
+        NonceProvider counter = new CounterNonceProvider();
+
+        // warm up
+        run(perTransaction, count / 10, 1);
+        run(secureRandom, count, 1);
+        run(counter, count, 1);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            report(
+                    "SecureRandom per transaction",
+                    threads,
+                    count,
+                    run(perTransaction, count, threads));
+            report("SecureRandom per thread", threads, count, run(secureRandom, count, threads));
+            report("counter", threads, count, run(counter, count, threads));
+        }
+    }
+
+    private static long run(NonceProvider nonceProvider, int count, int threads)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<Thread>();
+        long[] sinks = new long[threads];
+        for (int i = 0; i < threads; ++i) {
+            int index = i;
+            workers.add(
+                    new Thread(
+                            () -> {
+                                long sink = 0;
+                                for (int j = 0; j < count; ++j) {
+                                    sink += nonceProvider.getNonce().bitLength();
+                                }
+                                sinks[index] = sink;
+                            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, int threads, int count, long elapsed) {
+        System.out.println(
+                String.format(
+                        "%-30s threads: %d, nonces/s: %.0f",
+                        name, threads, (double) count * threads * 1e9 / elapsed));
+    }
+}
@@ -0,0 +1,56 @@
+package org.fisco.bcos.web3j.tx.nonce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+
+public class NonceProviderTest {
+
+    @Test
+    public void counterNonceTest() throws Exception {
+        NonceProvider nonceProvider = new CounterNonceProvider();
+        Set<BigInteger> nonces = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; ++i) {
+            threads.add(
+                    new Thread(
+                            () -> {
+                                for (int j = 0; j < 10000; ++j) {
+                                    nonces.add(nonceProvider.getNonce());
+                                }
+                            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, nonces.size());
+        for (BigInteger nonce : nonces) {
+            assertTrue(nonce.signum() >= 0);
+            assertTrue(nonce.bitLength() <= 250);
+        }
+
+        // instances differ by their prefix
+        assertNotEquals(
+                new CounterNonceProvider().getNonce(), new CounterNonceProvider().getNonce());
+    }
+
+    @Test
+    public void secureRandomNonceTest() {
+        NonceProvider nonceProvider = new SecureRandomNonceProvider();
+        BigInteger nonce = nonceProvider.getNonce();
+        assertTrue(nonce.signum() >= 0);
+        assertTrue(nonce.bitLength() <= 250);
+        assertNotEquals(nonce, nonceProvider.getNonce());
+    }
+}
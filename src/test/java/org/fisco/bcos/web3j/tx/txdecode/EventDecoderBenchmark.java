@@ -0,0 +1,120 @@
+package org.fisco.bcos.web3j.tx.txdecode;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.EventEncoder;
+import org.fisco.bcos.web3j.abi.EventValues;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition.NamedType;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Measures the logs decoded per second by {@link EventDecoderRegistry} against the abi parsed and
+ * the event signatures hashed on each log as TransactionDecoder used to do. The receipts mix
+ * transfers and memos of a token contract, with unknown events of other contracts.
+ *
+ * <p>Usage: EventDecoderBenchmark [receipts] [logs per receipt]
+ */
+public class EventDecoderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int receipts = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int logsPerReceipt = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        List<Log> logs = new ArrayList<Log>(receipts * logsPerReceipt);
+        for (int i = 0; i < receipts * logsPerReceipt; ++i) {
+            switch (i % 4) {
+                case 0:
+                case 1:
+                    logs.add(
+                            EventDecoderRegistryTest.transferLog(
+                                    EventDecoderRegistryTest.NFT_ADDRESS, BigInteger.valueOf(i)));
+                    break;
+                case 2:
+                    Log memo = new Log();
+                    memo.setTopics(
+                            Arrays.asList(EventDecoderRegistryTest.topic("Memo(string,uint256)")));
+                    memo.setData(
+                            FunctionEncoder.encodeConstructor(
+                                    Arrays.<Type>asList(
+                                            new Utf8String("memo " + i), new Uint256(i))));
+                    logs.add(memo);
+                    break;
+                default:
+                    Log unknown = new Log();
+                    unknown.setTopics(Arrays.asList(EventDecoderRegistryTest.topic("Unknown()")));
+                    unknown.setData("0x");
+                    logs.add(unknown);
+            }
+        }
+
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        registry.register(EventDecoderRegistryTest.TOKEN_ABI);
+
+        for (int round = 0; round < 2; ++round) {
+            // the first round warms up
+            long start = System.nanoTime();
+            int decoded = parseAbiPerLog(EventDecoderRegistryTest.TOKEN_ABI, logs);
+            report("abi parsed per log", round, decoded, logs.size(), System.nanoTime() - start);
+
+            start = System.nanoTime();
+            decoded = 0;
+            for (Log log : logs) {
+                if (null != registry.decodeEventLog(log)) {
+                    ++decoded;
+                }
+            }
+            report(
+                    "event decoder registry",
+                    round,
+                    decoded,
+                    logs.size(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    private static int parseAbiPerLog(String abi, List<Log> logs) throws BaseException {
+        int decoded = 0;
+        for (Log log : logs) {
+            for (AbiDefinition abiDefinition : ContractAbiUtil.getEventAbiDefinitions(abi)) {
+                String methodSign =
+                        abiDefinition.getName()
+                                + "("
+                                + String.join(",", ContractAbiUtil.getFuncInputType(abiDefinition))
+                                + ")";
+                if (!log.getTopics().get(0).equals(EventEncoder.buildEventSignature(methodSign))) {
+                    continue;
+                }
+
+                EventValues eventValues = ContractAbiUtil.decodeEvent(log, abiDefinition);
+                if (null != eventValues) {
+                    List<EventResultEntity> resultEntityList = new ArrayList<EventResultEntity>();
+                    for (NamedType input : abiDefinition.getInputs()) {
+                        resultEntityList.add(
+                                new EventResultEntity(
+                                        input.getName(), input.getType(), input.isIndexed(), null));
+                    }
+                    ++decoded;
+                    break;
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private static void report(String name, int round, int decoded, int count, long elapsed) {
+        if (round == 0) {
+            return;
+        }
+        System.out.println(
+                String.format(
+                        "%-24s logs: %d, decoded: %d, logs/s: %.0f",
+                        name, count, decoded, count * 1e9 / elapsed));
+    }
+}
@@ -0,0 +1,158 @@
+package org.fisco.bcos.web3j.tx.txdecode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.EventEncoder;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.TypeEncoder;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
+import org.fisco.bcos.web3j.crypto.CryptoSuite;
+import org.fisco.bcos.web3j.protocol.core.filters.LogsBloomFilter;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.fisco.bcos.web3j.tuples.generated.Tuple2;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.junit.Test;
+
+public class EventDecoderRegistryTest {
+
+    static final String TOKEN_ABI =
+            "[{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\",\"type\":\"address\"},"
+                    + "{\"indexed\":true,\"name\":\"to\",\"type\":\"address\"},"
+                    + "{\"indexed\":false,\"name\":\"value\",\"type\":\"uint256\"}],"
+                    + "\"name\":\"Transfer\",\"type\":\"event\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":false,\"name\":\"memo\",\"type\":\"string\"},"
+                    + "{\"indexed\":false,\"name\":\"value\",\"type\":\"uint256\"}],"
+                    + "\"name\":\"Memo\",\"type\":\"event\"}]";
+
+    static final String NFT_ABI =
+            "[{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\",\"type\":\"address\"},"
+                    + "{\"indexed\":true,\"name\":\"to\",\"type\":\"address\"},"
+                    + "{\"indexed\":true,\"name\":\"tokenId\",\"type\":\"uint256\"}],"
+                    + "\"name\":\"Transfer\",\"type\":\"event\"}]";
+
+    static final String NFT_ADDRESS = "0x00000000000000000000000000000000000000ff";
+
+    static final Address FROM = new Address("0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a");
+    static final Address TO = new Address("0x0000000000000000000000000000000000001000");
+
+    static Log transferLog(String address, BigInteger value) {
+        Log log = new Log();
+        log.setAddress(address);
+        log.setTopics(
+                Arrays.asList(
+                        topic("Transfer(address,address,uint256)"),
+                        "0x" + TypeEncoder.encode(FROM),
+                        "0x" + TypeEncoder.encode(TO)));
+        log.setData(FunctionEncoder.encodeConstructor(Arrays.<Type>asList(new Uint256(value))));
+        return log;
+    }
+
+    static String topic(String eventSignature) {
+        return EventEncoder.buildEventSignature(eventSignature);
+    }
+
+    @Test
+    public void decodeTest() throws BaseException {
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        registry.register(TOKEN_ABI);
+        assertEquals(2, registry.size());
+
+        Log log = transferLog("0x0000000000000000000000000000000000000001", BigInteger.TEN);
+        LogResult result = registry.decodeEventLog(log);
+        assertSame(log, result.getLog());
+        List<EventResultEntity> params = result.getLogParams();
+        assertEquals(3, params.size());
+        assertEquals("from", params.get(0).getName());
+        assertTrue(params.get(0).isIndexed());
+        assertEquals(FROM, params.get(0).getTypeObject());
+        assertEquals(TO, params.get(1).getTypeObject());
+        assertEquals(new Uint256(BigInteger.TEN), params.get(2).getTypeObject());
+
+        Log memo = new Log();
+        memo.setTopics(Arrays.asList(topic("Memo(string,uint256)")));
+        memo.setData(
+                FunctionEncoder.encodeConstructor(
+                        Arrays.<Type>asList(new Utf8String("hello"), new Uint256(1))));
+        Tuple2<AbiDefinition, List<EventResultEntity>> event = registry.decodeEvent(memo);
+        assertEquals("Memo", event.getValue1().getName());
+        assertEquals(new Utf8String("hello"), event.getValue2().get(0).getTypeObject());
+
+        // not registered
+        Log unknown = new Log();
+        unknown.setTopics(Arrays.asList("0x01"));
+        assertNull(registry.decodeEventLog(unknown));
+        assertNull(registry.decodeEventLog(new Log()));
+    }
+
+    @Test
+    public void contractDecoderTest() throws BaseException {
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        registry.register(TOKEN_ABI);
+        registry.register(NFT_ADDRESS, NFT_ABI);
+
+        // same signature, the nft contract has the value indexed
+        Log nftLog = transferLog("0x00000000000000000000000000000000000000FF", BigInteger.ZERO);
+        nftLog.setTopics(
+                Arrays.asList(
+                        nftLog.getTopics().get(0),
+                        nftLog.getTopics().get(1),
+                        nftLog.getTopics().get(2),
+                        "0x" + TypeEncoder.encode(new Uint256(7))));
+        nftLog.setData("0x");
+        List<EventResultEntity> params = registry.decodeEventLog(nftLog).getLogParams();
+        assertEquals("tokenId", params.get(2).getName());
+        assertEquals(new Uint256(7), params.get(2).getTypeObject());
+
+        Log tokenLog = transferLog("0x0000000000000000000000000000000000000001", BigInteger.ONE);
+        assertEquals("value", registry.decodeEventLog(tokenLog).getLogParams().get(2).getName());
+    }
+
+    @Test
+    public void transactionDecoderTest() throws Exception {
+        TransactionDecoder decoder = new TransactionDecoder(TOKEN_ABI);
+        Log log = transferLog(NFT_ADDRESS, BigInteger.ONE);
+        assertEquals(3, decoder.decodeEventLogReturnObject(log).getLogParams().size());
+        assertEquals(
+                "Transfer(address,address,uint256)",
+                decoder.decodeEventReturnObject(Arrays.asList(log)).keySet().iterator().next());
+    }
+
+    @Test
+    public void logsBloomTest() throws Exception {
+        TransactionDecoder decoder = new TransactionDecoder(TOKEN_ABI);
+        assertTrue(decoder.getEventDecoderRegistry().mayContainEvents(null));
+
+        Log log = transferLog(NFT_ADDRESS, BigInteger.ONE);
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setLogs(Arrays.asList(log));
+        receipt.setLogsBloom(
+                Numeric.toHexString(
+                        LogsBloomFilter.bloomOf(receipt.getLogs(), CryptoSuite.getDefault())));
+        assertTrue(decoder.getEventDecoderRegistry().mayContainEvents(receipt.getLogsBloom()));
+        assertEquals(1, decoder.decodeEventReturnObject(receipt).size());
+
+        // the logs of a receipt without the events of the abi are not decoded
+        TransactionReceipt otherReceipt = new TransactionReceipt();
+        otherReceipt.setLogs(Arrays.asList(log));
+        otherReceipt.setLogsBloom(
+                Numeric.toHexString(
+                        LogsBloomFilter.bloomOf(
+                                Collections.<Log>emptyList(), CryptoSuite.getDefault())));
+        assertFalse(
+                decoder.getEventDecoderRegistry().mayContainEvents(otherReceipt.getLogsBloom()));
+        assertTrue(decoder.decodeEventReturnObject(otherReceipt).isEmpty());
+    }
+}